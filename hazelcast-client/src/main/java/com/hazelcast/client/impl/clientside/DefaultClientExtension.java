@@ -26,6 +26,7 @@ import com.hazelcast.client.proxy.ClientMapProxy;
 import com.hazelcast.client.proxy.NearCachedClientMapProxy;
 import com.hazelcast.client.spi.ClientExecutionService;
 import com.hazelcast.client.spi.ClientProxyFactory;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
@@ -187,7 +188,8 @@ public class DefaultClientExtension implements ClientExtension {
         ClientExecutionService es = client.getClientExecutionService();
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
         HazelcastProperties properties = client.getProperties();
+        NativeMemoryConfig nativeMemoryConfig = client.getClientConfig().getNativeMemoryConfig();
 
-        return new DefaultNearCacheManager(ss, es, classLoader, properties);
+        return new DefaultNearCacheManager(ss, es, classLoader, properties, nativeMemoryConfig);
     }
 }
@@ -64,6 +64,7 @@ import com.hazelcast.client.spi.impl.listener.SmartClientListenerService;
 import com.hazelcast.client.util.RoundRobinLB;
 import com.hazelcast.collection.impl.list.ListService;
 import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.collection.impl.queue.ShardedQueueProxy;
 import com.hazelcast.collection.impl.set.SetService;
 import com.hazelcast.cp.internal.datastructures.unsafe.atomiclong.AtomicLongService;
 import com.hazelcast.cp.internal.datastructures.unsafe.atomicreference.AtomicReferenceService;
@@ -87,7 +88,9 @@ import com.hazelcast.collection.IList;
 import com.hazelcast.cp.lock.ILock;
 import com.hazelcast.map.IMap;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.cp.ISemaphore;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.core.IdGenerator;
@@ -138,6 +141,7 @@ import com.hazelcast.spi.impl.SerializationServiceSupport;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.topic.impl.TopicService;
+import com.hazelcast.topic.impl.reliable.PartitionedReliableTopicProxy;
 import com.hazelcast.topic.impl.reliable.ReliableTopicService;
 import com.hazelcast.transaction.HazelcastXAResource;
 import com.hazelcast.transaction.TransactionContext;
@@ -477,6 +481,11 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return getDistributedObject(QueueService.SERVICE_NAME, name);
     }
 
+    @Override
+    public <E> IShardedQueue<E> getShardedQueue(String name, int shardCount) {
+        return new ShardedQueueProxy<>(this, name, shardCount);
+    }
+
     @Override
     public <E> ITopic<E> getTopic(String name) {
         checkNotNull(name, "Retrieving a topic instance with a null name is not allowed!");
@@ -526,6 +535,11 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return getDistributedObject(ReliableTopicService.SERVICE_NAME, name);
     }
 
+    @Override
+    public <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount) {
+        return new PartitionedReliableTopicProxy<>(this, name, partitionCount);
+    }
+
     @Override
     public <E> Ringbuffer<E> getRingbuffer(String name) {
         checkNotNull(name, "Retrieving a ringbuffer instance with a null name is not allowed!");
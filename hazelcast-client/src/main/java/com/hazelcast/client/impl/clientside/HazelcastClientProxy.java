@@ -35,7 +35,9 @@ import com.hazelcast.collection.IList;
 import com.hazelcast.cp.lock.ILock;
 import com.hazelcast.map.IMap;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.cp.ISemaphore;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.core.IdGenerator;
@@ -95,6 +97,11 @@ public class HazelcastClientProxy implements HazelcastInstance, SerializationSer
         return getClient().getQueue(name);
     }
 
+    @Override
+    public <E> IShardedQueue<E> getShardedQueue(String name, int shardCount) {
+        return getClient().getShardedQueue(name, shardCount);
+    }
+
     @Override
     public <E> ITopic<E> getTopic(String name) {
         return getClient().getTopic(name);
@@ -105,6 +112,11 @@ public class HazelcastClientProxy implements HazelcastInstance, SerializationSer
         return getClient().getReliableTopic(name);
     }
 
+    @Override
+    public <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount) {
+        return getClient().getPartitionedTopic(name, partitionCount);
+    }
+
     @Override
     public <E> ISet<E> getSet(String name) {
         return getClient().getSet(name);
@@ -19,12 +19,23 @@ package com.hazelcast.client.proxy;
 import com.hazelcast.cardinality.CardinalityEstimator;
 import com.hazelcast.client.impl.clientside.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorAddAllCodec;
 import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorAddCodec;
 import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorEstimateCodec;
+import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorMergeCodec;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.util.executor.CompletedFuture;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.cardinality.impl.CardinalityEstimatorUtil.distinctHashes;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
@@ -33,6 +44,11 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
 public class ClientCardinalityEstimatorProxy
         extends PartitionSpecificClientProxy implements CardinalityEstimator {
 
+    /**
+     * Maximum number of hashes sent in a single add all request.
+     */
+    static final int ADD_ALL_BATCH_SIZE = 10000;
+
     private static final ClientMessageDecoder ADD_DECODER = new ClientMessageDecoder() {
         @Override
         public Void decodeClientMessage(ClientMessage clientMessage) {
@@ -80,4 +96,77 @@ public class ClientCardinalityEstimatorProxy
         ClientMessage request = CardinalityEstimatorEstimateCodec.encodeRequest(name);
         return invokeOnPartitionAsync(request, ESTIMATE_DECODER);
     }
+
+    @Override
+    public void addAll(Collection<?> objects) {
+        addAllAsync(objects).join();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The distinct hashes are sent in batches of at most {@value #ADD_ALL_BATCH_SIZE}
+     * hashes. A batch is only sent after the previous one has been added.
+     */
+    @Override
+    public InternalCompletableFuture<Void> addAllAsync(Collection<?> objects) {
+        long[] hashes = distinctHashes(objects, getSerializationService());
+        Executor userExecutor = getContext().getExecutionService().getUserExecutor();
+        if (hashes.length == 0) {
+            return new CompletedFuture<Void>(getSerializationService(), null, userExecutor);
+        }
+
+        SimpleCompletableFuture<Void> result = new SimpleCompletableFuture<Void>(userExecutor,
+                getContext().getLoggingService().getLogger(getClass()));
+        new AddAllCallback(result, hashes).addNextBatch();
+        return result;
+    }
+
+    @Override
+    public void merge(String... names) {
+        checkNotNull(names, "Names is null.");
+        List<String> sources = new ArrayList<String>(names.length);
+        for (String other : names) {
+            checkNotNull(other, "Name is null.");
+            if (!other.equals(name)) {
+                sources.add(other);
+            }
+        }
+        if (sources.isEmpty()) {
+            return;
+        }
+        invoke(CardinalityEstimatorMergeCodec.encodeRequest(name, sources));
+    }
+
+    private final class AddAllCallback implements ExecutionCallback<Void> {
+        private final SimpleCompletableFuture<Void> result;
+        private final long[] hashes;
+        private int offset;
+
+        private AddAllCallback(SimpleCompletableFuture<Void> result, long[] hashes) {
+            this.result = result;
+            this.hashes = hashes;
+        }
+
+        void addNextBatch() {
+            int length = Math.min(ADD_ALL_BATCH_SIZE, hashes.length - offset);
+            ClientMessage request = CardinalityEstimatorAddAllCodec.encodeRequest(name, hashes, offset, length);
+            offset += length;
+            ClientCardinalityEstimatorProxy.this.<Void>invokeOnPartitionAsync(request, ADD_DECODER).andThen(this);
+        }
+
+        @Override
+        public void onResponse(Void response) {
+            if (offset == hashes.length) {
+                result.setResult(null);
+            } else {
+                addNextBatch();
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            result.setResult(t);
+        }
+    }
 }
@@ -28,7 +28,12 @@ import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.flakeidgen.impl.AutoBatcher;
 import com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy;
 import com.hazelcast.flakeidgen.impl.IdBatch;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.client.spi.properties.ClientProperty.FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED;
+import static com.hazelcast.client.spi.properties.ClientProperty.FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED;
 import static java.util.concurrent.TimeUnit.HOURS;
 
 /**
@@ -42,13 +47,33 @@ public class ClientFlakeIdGeneratorProxy extends ClientProxy implements FlakeIdG
         super(serviceName, objectName, context);
 
         ClientFlakeIdGeneratorConfig config = getContext().getClientConfig().findFlakeIdGeneratorConfig(getName());
+        HazelcastProperties properties = getClient().getProperties();
+        Executor prefetchExecutor = properties.getBoolean(FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED)
+                ? getContext().getExecutionService().getUserExecutor() : null;
         batcher = new AutoBatcher(config.getPrefetchCount(), config.getPrefetchValidityMillis(),
                 new AutoBatcher.IdBatchSupplier() {
                     @Override
                     public IdBatch newIdBatch(int batchSize) {
                         return ClientFlakeIdGeneratorProxy.this.newIdBatch(batchSize);
                     }
-                });
+                }, prefetchExecutor, properties.getBoolean(FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED));
+    }
+
+    @Override
+    protected void onInitialize() {
+        getClient().getMetricsRegistry().scanAndRegister(batcher, "flakeIdGenerator[" + name + "]");
+    }
+
+    @Override
+    protected void onDestroy() {
+        getClient().getMetricsRegistry().deregister(batcher);
+    }
+
+    /**
+     * Returns the batcher which serves the IDs of {@link #newId()}.
+     */
+    public AutoBatcher getBatcher() {
+        return batcher;
     }
 
     @Override
@@ -41,6 +41,7 @@ import com.hazelcast.client.impl.protocol.codec.QueueTakeCodec;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
+import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.collection.IQueue;
 import com.hazelcast.collection.ItemEvent;
@@ -217,6 +218,75 @@ public final class ClientQueueProxy<E> extends PartitionSpecificClientProxy impl
         return toObject(resultParameters.response);
     }
 
+    /**
+     * Asynchronously inserts the specified element into this queue, if
+     * possible without waiting for space to become available.
+     *
+     * @param e the element to add
+     * @return a future that completes with {@code true} if the element was
+     * added, {@code false} otherwise
+     * @see com.hazelcast.client.util.ClientQueueAsyncUtil
+     */
+    public ClientDelegatingFuture<Boolean> offerAsync(@Nonnull E e) {
+        checkNotNull(e, "Null item is not allowed!");
+
+        Data data = toData(e);
+        ClientMessage request = QueueOfferCodec.encodeRequest(name, data, 0);
+        return invokeOnPartitionAsync(request, message -> QueueOfferCodec.decodeResponse(message).response);
+    }
+
+    /**
+     * Asynchronously inserts the specified element into this queue, waiting
+     * for space to become available if necessary.
+     *
+     * @param e the element to add
+     * @return a future that completes when the element was added
+     * @see com.hazelcast.client.util.ClientQueueAsyncUtil
+     */
+    public ClientDelegatingFuture<Void> putAsync(@Nonnull E e) {
+        checkNotNull(e, "Null item is not allowed!");
+
+        Data data = toData(e);
+        ClientMessage request = QueuePutCodec.encodeRequest(name, data);
+        return invokeOnPartitionAsync(request, message -> null);
+    }
+
+    /**
+     * Asynchronously retrieves and removes the head of this queue.
+     *
+     * @return a future that completes with the head of this queue, or
+     * {@code null} if this queue is empty
+     * @see com.hazelcast.client.util.ClientQueueAsyncUtil
+     */
+    public ClientDelegatingFuture<E> pollAsync() {
+        ClientMessage request = QueuePollCodec.encodeRequest(name, 0);
+        return invokeOnPartitionAsync(request, message -> QueuePollCodec.decodeResponse(message).response);
+    }
+
+    /**
+     * Asynchronously retrieves and removes the head of this queue, waiting
+     * until an element becomes available if necessary.
+     *
+     * @return a future that completes with the head of this queue
+     * @see com.hazelcast.client.util.ClientQueueAsyncUtil
+     */
+    public ClientDelegatingFuture<E> takeAsync() {
+        ClientMessage request = QueueTakeCodec.encodeRequest(name);
+        return invokeOnPartitionAsync(request, message -> QueueTakeCodec.decodeResponse(message).response);
+    }
+
+    /**
+     * Asynchronously retrieves, but does not remove, the head of this queue.
+     *
+     * @return a future that completes with the head of this queue, or
+     * {@code null} if this queue is empty
+     * @see com.hazelcast.client.util.ClientQueueAsyncUtil
+     */
+    public ClientDelegatingFuture<E> peekAsync() {
+        ClientMessage request = QueuePeekCodec.encodeRequest(name);
+        return invokeOnPartitionAsync(request, message -> QueuePeekCodec.decodeResponse(message).response);
+    }
+
     @Override
     public int remainingCapacity() {
         ClientMessage request = QueueRemainingCapacityCodec.encodeRequest(name);
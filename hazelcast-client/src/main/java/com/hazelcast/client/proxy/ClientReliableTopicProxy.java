@@ -38,15 +38,20 @@ import com.hazelcast.util.UuidUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import static com.hazelcast.client.proxy.ClientMapProxy.NULL_LISTENER_IS_NOT_ALLOWED;
+import static com.hazelcast.ringbuffer.impl.RingbufferProxy.MAX_BATCH_SIZE;
 import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
 import static com.hazelcast.topic.impl.reliable.ReliableTopicService.SERVICE_NAME;
 import static com.hazelcast.util.ExceptionUtil.peel;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
@@ -142,6 +147,72 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         }
     }
 
+    @Override
+    public void publishAll(@Nonnull Collection<? extends E> payloads) {
+        checkNotNull(payloads, "Null messages is not allowed!");
+        int published = 0;
+        try {
+            int maxBatchSize = (int) min(MAX_BATCH_SIZE, ringbuffer.capacity());
+            List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(min(payloads.size(), maxBatchSize));
+            for (E payload : payloads) {
+                messages.add(new ReliableTopicMessage(serializationService.toData(payload), null));
+                if (messages.size() == maxBatchSize) {
+                    addAll(messages);
+                    published += messages.size();
+                    messages.clear();
+                }
+            }
+            if (!messages.isEmpty()) {
+                addAll(messages);
+            }
+        } catch (Exception e) {
+            throw (RuntimeException) peel(e, null, "Failed to publish " + payloads.size() + " messages to topic:"
+                    + getName() + ", " + published + " messages were published before the failing batch");
+        }
+    }
+
+    private void addAll(List<ReliableTopicMessage> messages) throws Exception {
+        switch (overloadPolicy) {
+            case ERROR:
+                addAllOrFail(messages);
+                break;
+            case DISCARD_OLDEST:
+                ringbuffer.addAllAsync(messages, OverflowPolicy.OVERWRITE).get();
+                break;
+            case DISCARD_NEWEST:
+                ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+                break;
+            case BLOCK:
+                addAllWithBackoff(messages);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
+        }
+    }
+
+    private void addAllOrFail(List<ReliableTopicMessage> messages) throws Exception {
+        long sequenceId = (Long) ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+        if (sequenceId == -1) {
+            throw new TopicOverloadException("Failed to publish " + messages.size() + " messages on topic:" + name);
+        }
+    }
+
+    private void addAllWithBackoff(List<ReliableTopicMessage> messages) throws Exception {
+        long timeoutMs = INITIAL_BACKOFF_MS;
+        for (; ; ) {
+            long result = (Long) ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+            if (result != -1) {
+                break;
+            }
+
+            MILLISECONDS.sleep(timeoutMs);
+            timeoutMs *= 2;
+            if (timeoutMs > MAX_BACKOFF) {
+                timeoutMs = MAX_BACKOFF;
+            }
+        }
+    }
+
     @Nonnull
     @Override
     public String addMessageListener(@Nonnull MessageListener<E> listener) {
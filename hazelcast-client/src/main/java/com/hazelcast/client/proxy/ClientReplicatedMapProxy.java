@@ -16,12 +16,15 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerToKeyCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerToKeyWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerWithPredicateCodec;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddIndexCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddNearCacheEntryListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAggregateCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapClearCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapContainsKeyCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapContainsValueCodec;
@@ -31,6 +34,7 @@ import com.hazelcast.client.impl.protocol.codec.ReplicatedMapIsEmptyCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapKeySetCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapPutAllCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapPutCodec;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapQueryCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapRemoveEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapSizeCodec;
@@ -53,7 +57,9 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.TruePredicate;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
 import com.hazelcast.util.IterationType;
 
@@ -61,6 +67,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -447,6 +454,80 @@ public class ClientReplicatedMapProxy<K, V> extends ClientProxy implements Repli
         return resultSet;
     }
 
+    @Override
+    public Set<K> keySet(Predicate<K, V> predicate) {
+        List<Data> result = query(predicate, IterationType.KEY);
+        Set<K> keySet = new HashSet<K>(result.size());
+        for (Data keyData : result) {
+            K key = toObject(keyData);
+            keySet.add(key);
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values(Predicate<K, V> predicate) {
+        List<Data> result = query(predicate, IterationType.VALUE);
+        List<V> values = new ArrayList<V>(result.size());
+        for (Data valueData : result) {
+            V value = toObject(valueData);
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet(Predicate<K, V> predicate) {
+        List<Data> result = query(predicate, IterationType.ENTRY);
+        Set<Entry<K, V>> entrySet = new HashSet<Entry<K, V>>(result.size() / 2);
+        for (int i = 0; i < result.size(); i += 2) {
+            K key = toObject(result.get(i));
+            V value = toObject(result.get(i + 1));
+            entrySet.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, value));
+        }
+        return entrySet;
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, TruePredicate.<K, V>truePredicate());
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "aggregator cannot be null");
+        checkQueryPredicate(predicate);
+        ClientMessage request = ReplicatedMapAggregateCodec.encodeRequest(name, toData(aggregator), toData(predicate));
+        ClientMessage response = invoke(request);
+        ReplicatedMapAggregateCodec.ResponseParameters result = ReplicatedMapAggregateCodec.decodeResponse(response);
+        return toObject(result.response);
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+        ClientMessage request = ReplicatedMapAddIndexCodec.encodeRequest(name, attribute, ordered);
+        invoke(request);
+    }
+
+    /**
+     * Runs the predicate query on the replica of a member and returns the keys, the values or
+     * the alternating keys and values of the matching entries, depending on the iteration type.
+     */
+    private List<Data> query(Predicate<K, V> predicate, IterationType iterationType) {
+        checkQueryPredicate(predicate);
+        ClientMessage request = ReplicatedMapQueryCodec.encodeRequest(name, toData(predicate), iterationType.getId());
+        ClientMessage response = invoke(request);
+        return ReplicatedMapQueryCodec.decodeResponse(response).response;
+    }
+
+    private static void checkQueryPredicate(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate is not supported by the replicated map queries");
+        }
+    }
+
     private EventHandler<ClientMessage> createHandler(EntryListener<K, V> listener) {
         return new ReplicatedMapEventHandler(listener);
     }
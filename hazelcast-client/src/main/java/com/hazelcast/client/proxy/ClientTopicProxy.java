@@ -33,6 +33,7 @@ import com.hazelcast.topic.impl.DataAwareMessage;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
 
 import static com.hazelcast.client.proxy.ClientMapProxy.NULL_LISTENER_IS_NOT_ALLOWED;
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -55,6 +56,14 @@ public class ClientTopicProxy<E> extends PartitionSpecificClientProxy implements
         invokeOnPartition(request);
     }
 
+    @Override
+    public void publishAll(@Nonnull Collection<? extends E> messages) {
+        checkNotNull(messages, "Null messages is not allowed!");
+        for (E message : messages) {
+            publish(message);
+        }
+    }
+
     @Nonnull
     @Override
     public String addMessageListener(@Nonnull final MessageListener<E> listener) {
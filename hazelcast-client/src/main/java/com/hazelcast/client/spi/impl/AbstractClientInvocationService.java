@@ -168,12 +168,12 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
         invocation.setSendConnection(connection);
     }
 
-    private boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
+    boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
         clientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
         return connection.write(clientMessage);
     }
 
-    private void registerInvocation(ClientInvocation clientInvocation) {
+    void registerInvocation(ClientInvocation clientInvocation) {
         short protocolVersion = client.getProtocolVersion();
 
         ClientMessage clientMessage = clientInvocation.getClientMessage();
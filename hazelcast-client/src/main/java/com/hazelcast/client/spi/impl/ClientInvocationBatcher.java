@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.client.connection.nio.ClientConnection;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionListener;
+import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Batches the messages of invocations that are sent to the same connection.
+ *
+ * Instead of writing every message to the connection as soon as it is sent,
+ * the messages are held back until either the batching window has elapsed or
+ * the maximum batch size has been reached. Then all messages of the batch are
+ * written to the connection back to back, so the outbound pipeline encodes
+ * them into the same buffer and writes them to the socket with a single write.
+ *
+ * The messages of a single connection are written in the order they were
+ * added.
+ */
+public final class ClientInvocationBatcher implements ConnectionListener {
+
+    @Probe(name = "batchedMessages", level = MANDATORY)
+    private final MwCounter batchedMessages = newMwCounter();
+    @Probe(name = "flushedBatches", level = MANDATORY)
+    private final MwCounter flushedBatches = newMwCounter();
+    @Probe(name = "batchDelayNanos", level = MANDATORY)
+    private final MwCounter batchDelayNanos = newMwCounter();
+
+    private final AbstractClientInvocationService invocationService;
+    private final TaskScheduler scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<ClientConnection, Batch> batches = new ConcurrentHashMap<ClientConnection, Batch>();
+    private final ConstructorFunction<ClientConnection, Batch> batchConstructor
+            = new ConstructorFunction<ClientConnection, Batch>() {
+        @Override
+        public Batch createNew(ClientConnection connection) {
+            return new Batch(connection);
+        }
+    };
+
+    public ClientInvocationBatcher(AbstractClientInvocationService invocationService, TaskScheduler scheduler,
+                                   long windowNanos, int maxBatchSize) {
+        this.invocationService = invocationService;
+        this.scheduler = scheduler;
+        this.windowNanos = checkPositive(windowNanos, "windowNanos should be positive");
+        this.maxBatchSize = checkPositive(maxBatchSize, "maxBatchSize should be positive");
+    }
+
+    /**
+     * Adds the invocation to the batch of the connection. The invocation
+     * should already be registered.
+     *
+     * @param invocation the invocation to send
+     * @param connection the connection to send the invocation to
+     */
+    public void add(ClientInvocation invocation, ClientConnection connection) {
+        Batch batch = getOrPutIfAbsent(batches, connection, batchConstructor);
+        batch.invocations.offer(invocation);
+        batchedMessages.inc();
+
+        if (batch.size.incrementAndGet() >= maxBatchSize) {
+            flush(batch);
+        } else if (batch.flushScheduled.compareAndSet(false, true)) {
+            batch.startNanos = System.nanoTime();
+            scheduler.schedule(new FlushTask(batch), windowNanos, NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void connectionAdded(Connection connection) {
+        // no-op
+    }
+
+    @Override
+    public void connectionRemoved(Connection connection) {
+        Batch batch = batches.remove(connection);
+        if (batch != null) {
+            // the pending invocations will fail and be retried if possible
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        List<ClientInvocation> failed = null;
+        synchronized (batch) {
+            long startNanos = batch.startNanos;
+            if (startNanos != 0) {
+                batchDelayNanos.inc(System.nanoTime() - startNanos);
+                batch.startNanos = 0;
+            }
+
+            int flushed = 0;
+            ClientInvocation invocation;
+            while ((invocation = batch.invocations.poll()) != null) {
+                batch.size.decrementAndGet();
+                flushed++;
+                if (!invocationService.writeToConnection(batch.connection, invocation.getClientMessage())) {
+                    if (failed == null) {
+                        failed = new LinkedList<ClientInvocation>();
+                    }
+                    failed.add(invocation);
+                }
+            }
+            if (flushed > 0) {
+                flushedBatches.inc();
+            }
+        }
+
+        if (failed != null) {
+            batches.remove(batch.connection, batch);
+            notifyFailed(batch.connection, failed);
+        }
+    }
+
+    private void notifyFailed(ClientConnection connection, List<ClientInvocation> failed) {
+        for (ClientInvocation invocation : failed) {
+            long callId = invocation.getClientMessage().getCorrelationId();
+            if (invocationService.deRegisterCallId(callId) != null) {
+                invocation.notifyException(new IOException("Packet not sent to " + connection.getEndPoint()));
+            }
+        }
+    }
+
+    private final class FlushTask implements Runnable {
+        private final Batch batch;
+
+        private FlushTask(Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            batch.flushScheduled.set(false);
+            flush(batch);
+        }
+    }
+
+    private static final class Batch {
+        private final ClientConnection connection;
+        private final Queue<ClientInvocation> invocations = new ConcurrentLinkedQueue<ClientInvocation>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        // the time the first message of the current batch was added; 0 if not known
+        private volatile long startNanos;
+
+        private Batch(ClientConnection connection) {
+            this.connection = connection;
+        }
+    }
+}
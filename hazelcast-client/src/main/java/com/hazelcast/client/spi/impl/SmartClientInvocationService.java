@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.spi.impl;
 
+import com.hazelcast.client.HazelcastClientNotActiveException;
 import com.hazelcast.client.LoadBalancer;
 import com.hazelcast.client.connection.nio.ClientConnection;
 import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
@@ -23,16 +24,58 @@ import com.hazelcast.cluster.Member;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.exception.TargetNotMemberException;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.io.IOException;
 
+import static com.hazelcast.client.spi.properties.ClientProperty.INVOCATION_BATCHING_ENABLED;
+import static com.hazelcast.client.spi.properties.ClientProperty.INVOCATION_BATCHING_MAX_SIZE;
+import static com.hazelcast.client.spi.properties.ClientProperty.INVOCATION_BATCHING_WINDOW_MICROS;
+
 public class SmartClientInvocationService extends AbstractClientInvocationService {
 
     private final LoadBalancer loadBalancer;
+    private final ClientInvocationBatcher invocationBatcher;
 
     public SmartClientInvocationService(HazelcastClientInstanceImpl client, LoadBalancer loadBalancer) {
         super(client);
         this.loadBalancer = loadBalancer;
+        this.invocationBatcher = newInvocationBatcher(client);
+    }
+
+    private ClientInvocationBatcher newInvocationBatcher(HazelcastClientInstanceImpl client) {
+        HazelcastProperties properties = client.getProperties();
+        if (!properties.getBoolean(INVOCATION_BATCHING_ENABLED)) {
+            return null;
+        }
+
+        ClientInvocationBatcher batcher = new ClientInvocationBatcher(this, client.getClientExecutionService(),
+                properties.getNanos(INVOCATION_BATCHING_WINDOW_MICROS), properties.getInteger(INVOCATION_BATCHING_MAX_SIZE));
+        client.getMetricsRegistry().scanAndRegister(batcher, "invocations.batching");
+        return batcher;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (invocationBatcher != null) {
+            connectionManager.addConnectionListener(invocationBatcher);
+        }
+    }
+
+    @Override
+    protected void send(ClientInvocation invocation, ClientConnection connection) throws IOException {
+        if (invocationBatcher == null) {
+            super.send(invocation, connection);
+            return;
+        }
+
+        if (isShutdown()) {
+            throw new HazelcastClientNotActiveException("Client is shut down");
+        }
+        registerInvocation(invocation);
+        invocation.setSendConnection(connection);
+        invocationBatcher.add(invocation, connection);
     }
 
     @Override
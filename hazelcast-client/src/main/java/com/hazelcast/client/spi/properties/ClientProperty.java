@@ -18,6 +18,7 @@ package com.hazelcast.client.spi.properties;
 
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -188,6 +189,56 @@ public final class ClientProperty {
     public static final HazelcastProperty RESPONSE_THREAD_DYNAMIC
             = new HazelcastProperty("hazelcast.client.response.thread.dynamic", false);
 
+    /**
+     * Enables batching of invocations on smart clients.
+     *
+     * When enabled, the messages of invocations sent to the same connection
+     * within {@link #INVOCATION_BATCHING_WINDOW_MICROS} are written to the
+     * connection in one go. This way many small messages are written to the
+     * socket with a single write, which reduces the CPU usage on the client
+     * and on the member at the price of a slightly increased latency.
+     */
+    public static final HazelcastProperty INVOCATION_BATCHING_ENABLED
+            = new HazelcastProperty("hazelcast.client.invocation.batching.enabled", false);
+
+    /**
+     * The maximum time a message of an invocation is held back before it is
+     * written to the connection, when invocation batching is enabled.
+     */
+    public static final HazelcastProperty INVOCATION_BATCHING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.invocation.batching.window.micros", 50, MICROSECONDS);
+
+    /**
+     * The maximum number of messages held back for a single connection, when
+     * invocation batching is enabled. When the limit is reached, the messages
+     * are written to the connection immediately.
+     */
+    public static final HazelcastProperty INVOCATION_BATCHING_MAX_SIZE
+            = new HazelcastProperty("hazelcast.client.invocation.batching.max.size", 64);
+
+    /**
+     * Enables prefetching the next batch of IDs of a
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator} asynchronously, before
+     * the current batch is spent. This way the callers of
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator#newId()} don't have to
+     * wait for a round-trip to the cluster when the current batch is spent.
+     */
+    public static final HazelcastProperty FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED
+            = new HazelcastProperty("hazelcast.client.flakeidgen.prefetch.async.enabled", true);
+
+    /**
+     * Enables adapting the size of the batches of IDs prefetched by a
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator} to the rate at which
+     * the IDs are consumed.
+     * <p>
+     * The configured {@link com.hazelcast.client.config.ClientFlakeIdGeneratorConfig#getPrefetchCount()
+     * prefetch count} is used as the minimum batch size, the batch size grows
+     * up to {@link com.hazelcast.config.FlakeIdGeneratorConfig#MAXIMUM_PREFETCH_COUNT}
+     * while the batches are spent quickly.
+     */
+    public static final HazelcastProperty FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.client.flakeidgen.prefetch.adaptive.enabled", false);
+
     /**
      * Token to use when discovering cluster via hazelcast.cloud
      */
@@ -24,12 +24,16 @@ import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ExceptionUtil;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import static com.hazelcast.util.ConcurrencyUtil.CALLER_RUNS;
+
 /**
  * The Client Delegating Future is used to delegate {@link
  * ClientInvocationFuture} to a user type to be used with {@code andThen()} or
@@ -90,6 +94,55 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
         future.andThen(new DelegatingExecutionCallback<V>(callback, deserializeResponse), executor);
     }
 
+    /**
+     * Returns a {@link CompletionStage} that completes with the response of
+     * this future.
+     *
+     * <b>The returned stage is completed on the thread that completes the
+     * invocation</b>; this is a response thread or, when the response threads
+     * are disabled, the io thread. So unlike the callbacks registered with
+     * {@link #andThen(ExecutionCallback)}, there is no handover to the user
+     * executor. Stages depending on the returned stage that are registered
+     * using the non-async methods run on that thread too and must not block,
+     * otherwise the responses of all other invocations are delayed. Use
+     * {@link #toCompletionStage(Executor)}, or the async methods of the stage,
+     * to run blocking code.
+     *
+     * @return the CompletionStage
+     */
+    public CompletionStage<V> toCompletionStage() {
+        return toCompletionStage(CALLER_RUNS);
+    }
+
+    /**
+     * Returns a {@link CompletionStage} that is completed with the response of
+     * this future by the given executor. Stages depending on the returned
+     * stage that are registered using the non-async methods run on the
+     * executor too.
+     *
+     * @param executor the executor completing the stage
+     * @return the CompletionStage
+     */
+    public CompletionStage<V> toCompletionStage(Executor executor) {
+        final CompletableFuture<V> stage = new CompletableFuture<V>();
+        future.andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage message) {
+                try {
+                    stage.complete((V) resolveResponse(message, deserializeResponse));
+                } catch (Throwable t) {
+                    stage.completeExceptionally(t);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                CompletionStageUtil.completeExceptionally(stage, t);
+            }
+        }, executor);
+        return stage;
+    }
+
     @Override
     public boolean complete(Object value) {
         return future.complete(value);
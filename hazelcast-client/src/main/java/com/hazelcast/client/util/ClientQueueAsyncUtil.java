@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.util;
+
+import com.hazelcast.client.proxy.ClientQueueProxy;
+import com.hazelcast.collection.IQueue;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Asynchronous operations of a client {@link IQueue}. {@link IQueue} has no
+ * asynchronous methods, so these operations are offered for the queues
+ * returned by {@link com.hazelcast.core.HazelcastInstance#getQueue(String)}
+ * of a client.
+ * <p>
+ * <b>Threading:</b> the stages returned by the methods without an executor
+ * are completed on the thread that completes the invocation, which is a
+ * response thread or an io thread of the client, see
+ * {@link ClientDelegatingFuture#toCompletionStage()}. Stages depending on
+ * them that are registered using the non-async methods run on that thread
+ * too, so they must not block. Otherwise the responses of all other
+ * invocations of the client are delayed. Pass an executor to complete the
+ * stage on that executor instead.
+ */
+public final class ClientQueueAsyncUtil {
+
+    private ClientQueueAsyncUtil() {
+    }
+
+    /**
+     * Asynchronously inserts the item into the queue, if possible without
+     * waiting for space to become available.
+     *
+     * @param queue the client queue
+     * @param e     the item to add
+     * @param <E>   the type of the items in the queue
+     * @return a stage that completes with {@code true} if the item was added,
+     * {@code false} otherwise
+     * @throws NullPointerException     if the queue or the item is null
+     * @throws IllegalArgumentException if the queue is not a client queue
+     */
+    public static <E> CompletionStage<Boolean> offerAsync(IQueue<E> queue, E e) {
+        return toProxy(queue).offerAsync(e).toCompletionStage();
+    }
+
+    /**
+     * Same as {@link #offerAsync(IQueue, Object)}, but the returned stage is
+     * completed by the given executor.
+     */
+    public static <E> CompletionStage<Boolean> offerAsync(IQueue<E> queue, E e, Executor executor) {
+        return toProxy(queue).offerAsync(e).toCompletionStage(checkExecutor(executor));
+    }
+
+    /**
+     * Asynchronously inserts the item into the queue, waiting for space to
+     * become available if necessary.
+     *
+     * @param queue the client queue
+     * @param e     the item to add
+     * @param <E>   the type of the items in the queue
+     * @return a stage that completes when the item was added
+     * @throws NullPointerException     if the queue or the item is null
+     * @throws IllegalArgumentException if the queue is not a client queue
+     */
+    public static <E> CompletionStage<Void> putAsync(IQueue<E> queue, E e) {
+        return toProxy(queue).putAsync(e).toCompletionStage();
+    }
+
+    /**
+     * Same as {@link #putAsync(IQueue, Object)}, but the returned stage is
+     * completed by the given executor.
+     */
+    public static <E> CompletionStage<Void> putAsync(IQueue<E> queue, E e, Executor executor) {
+        return toProxy(queue).putAsync(e).toCompletionStage(checkExecutor(executor));
+    }
+
+    /**
+     * Asynchronously retrieves and removes the head of the queue.
+     *
+     * @param queue the client queue
+     * @param <E>   the type of the items in the queue
+     * @return a stage that completes with the head of the queue, or
+     * {@code null} if the queue is empty
+     * @throws NullPointerException     if the queue is null
+     * @throws IllegalArgumentException if the queue is not a client queue
+     */
+    public static <E> CompletionStage<E> pollAsync(IQueue<E> queue) {
+        return toProxy(queue).pollAsync().toCompletionStage();
+    }
+
+    /**
+     * Same as {@link #pollAsync(IQueue)}, but the returned stage is completed
+     * by the given executor.
+     */
+    public static <E> CompletionStage<E> pollAsync(IQueue<E> queue, Executor executor) {
+        return toProxy(queue).pollAsync().toCompletionStage(checkExecutor(executor));
+    }
+
+    /**
+     * Asynchronously retrieves and removes the head of the queue, waiting
+     * until an item becomes available if necessary.
+     *
+     * @param queue the client queue
+     * @param <E>   the type of the items in the queue
+     * @return a stage that completes with the head of the queue
+     * @throws NullPointerException     if the queue is null
+     * @throws IllegalArgumentException if the queue is not a client queue
+     */
+    public static <E> CompletionStage<E> takeAsync(IQueue<E> queue) {
+        return toProxy(queue).takeAsync().toCompletionStage();
+    }
+
+    /**
+     * Same as {@link #takeAsync(IQueue)}, but the returned stage is completed
+     * by the given executor.
+     */
+    public static <E> CompletionStage<E> takeAsync(IQueue<E> queue, Executor executor) {
+        return toProxy(queue).takeAsync().toCompletionStage(checkExecutor(executor));
+    }
+
+    /**
+     * Asynchronously retrieves, but does not remove, the head of the queue.
+     *
+     * @param queue the client queue
+     * @param <E>   the type of the items in the queue
+     * @return a stage that completes with the head of the queue, or
+     * {@code null} if the queue is empty
+     * @throws NullPointerException     if the queue is null
+     * @throws IllegalArgumentException if the queue is not a client queue
+     */
+    public static <E> CompletionStage<E> peekAsync(IQueue<E> queue) {
+        return toProxy(queue).peekAsync().toCompletionStage();
+    }
+
+    /**
+     * Same as {@link #peekAsync(IQueue)}, but the returned stage is completed
+     * by the given executor.
+     */
+    public static <E> CompletionStage<E> peekAsync(IQueue<E> queue, Executor executor) {
+        return toProxy(queue).peekAsync().toCompletionStage(checkExecutor(executor));
+    }
+
+    private static <E> ClientQueueProxy<E> toProxy(IQueue<E> queue) {
+        checkNotNull(queue, "queue can't be null");
+        if (!(queue instanceof ClientQueueProxy)) {
+            throw new IllegalArgumentException("Asynchronous queue operations are only supported for client queues, but got: "
+                    + queue.getClass().getName());
+        }
+        return (ClientQueueProxy<E>) queue;
+    }
+
+    private static Executor checkExecutor(Executor executor) {
+        return checkNotNull(executor, "executor can't be null");
+    }
+}
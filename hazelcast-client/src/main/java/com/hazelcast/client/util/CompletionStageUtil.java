@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.util;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static com.hazelcast.util.ConcurrencyUtil.CALLER_RUNS;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Converts the futures returned by the asynchronous methods of the client
+ * proxies, e.g. {@link com.hazelcast.map.IMap#getAsync(Object)} or
+ * {@link com.hazelcast.cache.ICache#putAsync(Object, Object)}, to a
+ * {@link CompletionStage}, so they can be composed without blocking.
+ */
+public final class CompletionStageUtil {
+
+    private CompletionStageUtil() {
+    }
+
+    /**
+     * Returns a {@link CompletionStage} that completes with the result of the
+     * given future.
+     *
+     * If the future is a {@link ClientDelegatingFuture}, the stage is
+     * completed on the thread that completes the invocation, see
+     * {@link ClientDelegatingFuture#toCompletionStage()}. Other futures, e.g.
+     * a future for a value found in the near cache, complete the stage on the
+     * thread completing the future, or immediately when the future already is
+     * completed.
+     *
+     * @param future the future to convert
+     * @param <V>    the type of the result
+     * @return the CompletionStage
+     * @throws NullPointerException if future is null
+     */
+    public static <V> CompletionStage<V> toCompletionStage(ICompletableFuture<V> future) {
+        checkNotNull(future, "future can't be null");
+
+        if (future instanceof ClientDelegatingFuture) {
+            return ((ClientDelegatingFuture<V>) future).toCompletionStage();
+        }
+
+        final CompletableFuture<V> stage = new CompletableFuture<V>();
+        future.andThen(new ExecutionCallback<V>() {
+            @Override
+            public void onResponse(V response) {
+                stage.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                completeExceptionally(stage, t);
+            }
+        }, CALLER_RUNS);
+        return stage;
+    }
+
+    /**
+     * Completes the stage with the given failure. The failures passed to the
+     * callbacks of a future are wrapped in an {@link ExecutionException};
+     * the stage is completed with the actual cause, just like a
+     * {@link CompletableFuture} would be.
+     */
+    static void completeExceptionally(CompletableFuture<?> stage, Throwable t) {
+        if (t instanceof ExecutionException && t.getCause() != null) {
+            stage.completeExceptionally(t.getCause());
+        } else {
+            stage.completeExceptionally(t);
+        }
+    }
+}
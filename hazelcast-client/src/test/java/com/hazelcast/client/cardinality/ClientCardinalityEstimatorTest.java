@@ -36,7 +36,11 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -45,12 +49,13 @@ public class ClientCardinalityEstimatorTest extends HazelcastTestSupport {
 
     private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
 
+    private HazelcastInstance member;
     private HazelcastInstance client;
     private CardinalityEstimator estimator;
 
     @Before
     public void setup() {
-        hazelcastFactory.newHazelcastInstance();
+        member = hazelcastFactory.newHazelcastInstance();
         client = hazelcastFactory.newHazelcastClient();
     }
 
@@ -126,6 +131,63 @@ public class ClientCardinalityEstimatorTest extends HazelcastTestSupport {
         assertEquals(1L, estimator.estimateAsync().get().longValue());
     }
 
+    @Test
+    public void addAll() {
+        estimator = client.getCardinalityEstimator("aggregateAll");
+        List<Object> objects = new ArrayList<Object>();
+        for (long i = 0; i < 100; i++) {
+            objects.add(i);
+            objects.add(i);
+        }
+        objects.add("Test");
+
+        estimator.addAll(objects);
+
+        assertEquals(101L, estimator.estimate());
+    }
+
+    @Test
+    public void addAllAsync() throws Exception {
+        estimator = client.getCardinalityEstimator("aggregateAllAsync");
+        estimator.addAllAsync(asList(1L, 2L, 3L)).get();
+        estimator.addAllAsync(asList(3L, 4L)).get();
+        estimator.addAllAsync(Collections.emptyList()).get();
+
+        assertEquals(4L, estimator.estimateAsync().get().longValue());
+    }
+
+    @Test
+    public void addAll_whenMultipleBatches() {
+        estimator = client.getCardinalityEstimator("aggregateAllBatches");
+        CardinalityEstimator memberEstimator = member.getCardinalityEstimator("aggregateAllBatchesOnMember");
+        // more than two batches of the client proxy
+        List<Object> objects = new ArrayList<Object>();
+        for (long i = 0; i < 25000; i++) {
+            objects.add(i);
+        }
+
+        estimator.addAll(objects);
+        memberEstimator.addAll(objects);
+
+        assertEquals(memberEstimator.estimate(), estimator.estimate());
+    }
+
+    @Test
+    public void merge() {
+        estimator = client.getCardinalityEstimator("merge");
+        CardinalityEstimator first = client.getCardinalityEstimator("mergeFirst");
+        CardinalityEstimator second = client.getCardinalityEstimator("mergeSecond");
+        estimator.addAll(asList(1L, 2L, 3L));
+        first.addAll(asList(3L, 4L, 5L));
+        second.addAll(asList(5L, 6L));
+
+        estimator.merge(first.getName(), second.getName(), estimator.getName());
+
+        assertEquals(6L, estimator.estimate());
+        assertEquals(3L, first.estimate());
+        assertEquals(2L, second.estimate());
+    }
+
     @Test(expected = com.hazelcast.nio.serialization.HazelcastSerializationException.class)
     public void addCustomObject() {
         estimator = client.getCardinalityEstimator("aggregateCustomObject");
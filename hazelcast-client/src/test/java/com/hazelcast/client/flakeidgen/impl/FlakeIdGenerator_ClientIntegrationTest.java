@@ -18,12 +18,15 @@ package com.hazelcast.client.flakeidgen.impl;
 
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.config.ClientFlakeIdGeneratorConfig;
+import com.hazelcast.client.proxy.ClientFlakeIdGeneratorProxy;
 import com.hazelcast.client.test.TestHazelcastFactory;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.flakeidgen.impl.AutoBatcher;
 import com.hazelcast.flakeidgen.impl.FlakeIdConcurrencyTestUtil;
 import com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -32,8 +35,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Supplier;
 
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -90,6 +97,40 @@ public class FlakeIdGenerator_ClientIntegrationTest {
         assertTrue(id1 + FlakeIdGeneratorProxy.INCREMENT * myBatchSize < id3);
     }
 
+    @Test
+    public void metrics() {
+        before(null);
+        FlakeIdGenerator generator = instance.getFlakeIdGenerator("gen");
+        generator.newId();
+
+        MetricsRegistry metricsRegistry = getHazelcastClientInstanceImpl(instance).getMetricsRegistry();
+        assertEquals(1, metricsRegistry.newLongGauge("flakeIdGenerator[gen].batchFetchCount").read());
+        assertEquals(1, metricsRegistry.newLongGauge("flakeIdGenerator[gen].stallCount").read());
+
+        generator.destroy();
+        assertEquals(0, metricsRegistry.newLongGauge("flakeIdGenerator[gen].batchFetchCount").read());
+    }
+
+    @Test
+    public void prefetchTest() {
+        int myBatchSize = 4;
+        before(new ClientConfig().addFlakeIdGeneratorConfig(new ClientFlakeIdGeneratorConfig("gen")
+                .setPrefetchCount(myBatchSize)));
+        FlakeIdGenerator generator = instance.getFlakeIdGenerator("gen");
+        AutoBatcher batcher = ((ClientFlakeIdGeneratorProxy) generator).getBatcher();
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < myBatchSize; i++) {
+            assertTrue(ids.add(generator.newId()));
+        }
+        // the last ID of the first batch triggered the prefetch of the second batch
+        assertTrueEventually(() -> assertEquals(2, batcher.getBatchFetchCount()));
+        for (int i = 0; i < myBatchSize; i++) {
+            assertTrue(ids.add(generator.newId()));
+        }
+        assertEquals(1, batcher.getStallCount());
+    }
+
     @Test
     public void test_init() {
         before(null);
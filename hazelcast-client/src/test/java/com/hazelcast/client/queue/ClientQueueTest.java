@@ -40,10 +40,19 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.client.util.ClientQueueAsyncUtil.offerAsync;
+import static com.hazelcast.client.util.ClientQueueAsyncUtil.peekAsync;
+import static com.hazelcast.client.util.ClientQueueAsyncUtil.pollAsync;
+import static com.hazelcast.client.util.ClientQueueAsyncUtil.putAsync;
+import static com.hazelcast.client.util.ClientQueueAsyncUtil.takeAsync;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -59,6 +68,7 @@ public class ClientQueueTest extends HazelcastTestSupport {
     private static final String QUEUE_WITH_MAX_SIZE = "queueWithMaxSize*";
 
     private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
     private HazelcastInstance client;
 
     @Before
@@ -68,7 +78,7 @@ public class ClientQueueTest extends HazelcastTestSupport {
         QueueConfig queueConfig = config.getQueueConfig(QUEUE_WITH_MAX_SIZE);
         queueConfig.setMaxSize(MAX_SIZE_FOR_QUEUE);
 
-        hazelcastFactory.newHazelcastInstance(config);
+        member = hazelcastFactory.newHazelcastInstance(config);
         client = hazelcastFactory.newHazelcastClient();
     }
 
@@ -97,6 +107,90 @@ public class ClientQueueTest extends HazelcastTestSupport {
         q.offer(null, 1, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testOfferAsync() throws Exception {
+        IQueue<Integer> q = client.getQueue(randomString());
+        assertTrue(offerAsync(q, 1).toCompletableFuture().get());
+        assertEquals(1, q.size());
+    }
+
+    @Test
+    public void testOfferAsync_whenReachingMaximumCapacity() throws Exception {
+        IQueue<Integer> q = client.getQueue(QUEUE_WITH_MAX_SIZE + randomString());
+        for (int i = 0; i < MAX_SIZE_FOR_QUEUE; i++) {
+            assertTrue(offerAsync(q, i).toCompletableFuture().get());
+        }
+        assertFalse(offerAsync(q, MAX_SIZE_FOR_QUEUE).toCompletableFuture().get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfferAsync_whenMemberQueue() {
+        offerAsync(member.getQueue(randomString()), 1);
+    }
+
+    @Test
+    public void testPutAsync_completesWhenSpaceAvailable() throws Exception {
+        IQueue<Integer> q = client.getQueue(QUEUE_WITH_MAX_SIZE + randomString());
+        for (int i = 0; i < MAX_SIZE_FOR_QUEUE; i++) {
+            q.offer(i);
+        }
+
+        CompletableFuture<Void> future = putAsync(q, MAX_SIZE_FOR_QUEUE).toCompletableFuture();
+        sleepMillis(300);
+        assertFalse(future.isDone());
+
+        assertEquals(0, (int) q.poll());
+        future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+        assertTrue(q.contains(MAX_SIZE_FOR_QUEUE));
+    }
+
+    @Test
+    public void testPollAsync() throws Exception {
+        IQueue<Integer> q = client.getQueue(randomString());
+        q.offer(1);
+
+        assertEquals(1, (int) pollAsync(q).toCompletableFuture().get());
+        assertNull(pollAsync(q).toCompletableFuture().get());
+    }
+
+    @Test
+    public void testPollAsync_completesOnExecutor() throws Exception {
+        IQueue<Integer> q = client.getQueue(randomString());
+        q.offer(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "queue-test-executor"));
+        try {
+            String threadName = pollAsync(q, executor)
+                    .thenApply(item -> Thread.currentThread().getName())
+                    .toCompletableFuture().get();
+            assertEquals("queue-test-executor", threadName);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTakeAsync_completesWhenOffered() throws Exception {
+        IQueue<Integer> q = client.getQueue(randomString());
+
+        CompletableFuture<Integer> future = takeAsync(q).toCompletableFuture();
+        sleepMillis(300);
+        assertFalse(future.isDone());
+
+        q.offer(1);
+        assertEquals(1, (int) future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void testPeekAsync() throws Exception {
+        IQueue<Integer> q = client.getQueue(randomString());
+        q.offer(1);
+
+        int doubled = peekAsync(q).thenApply(item -> item * 2).toCompletableFuture().get();
+        assertEquals(2, doubled);
+        assertEquals(1, q.size());
+    }
+
     @Test
     public void testAdd() {
         IQueue<Integer> q = client.getQueue(randomString());
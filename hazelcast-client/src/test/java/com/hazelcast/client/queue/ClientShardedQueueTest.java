@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.queue;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.collection.IShardedQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientShardedQueueTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        member = hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        client = hazelcastFactory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testOfferPoll_betweenClientAndMember() {
+        String name = randomName();
+        IShardedQueue<String> clientQueue = client.getShardedQueue(name, SHARD_COUNT);
+        IShardedQueue<String> memberQueue = member.getShardedQueue(name, SHARD_COUNT);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(clientQueue.offer("item" + i));
+        }
+        assertEquals(100, memberQueue.size());
+
+        Set<String> polled = new HashSet<>();
+        String item;
+        while ((item = memberQueue.poll()) != null) {
+            polled.add(item);
+        }
+        assertEquals(100, polled.size());
+        assertTrue(clientQueue.isEmpty());
+    }
+
+    @Test
+    public void testPoll_inFifoOrder_whenOfferedWithSameKey() {
+        String name = randomName();
+        IShardedQueue<String> clientQueue = client.getShardedQueue(name, SHARD_COUNT);
+        IShardedQueue<String> memberQueue = member.getShardedQueue(name, SHARD_COUNT);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(clientQueue.offer("producer", "item" + i));
+        }
+
+        // the client and the member select the same shard for the key
+        for (int i = 0; i < 10; i++) {
+            assertEquals("item" + i, memberQueue.poll());
+        }
+        assertNull(clientQueue.poll());
+    }
+
+    @Test
+    public void testTake_blocksUntilOffered() throws Exception {
+        final IShardedQueue<String> queue = client.getShardedQueue(randomName(), SHARD_COUNT);
+
+        Future<String> future = spawn(queue::take);
+        sleepMillis(300);
+        assertFalse(future.isDone());
+
+        member.<String>getShardedQueue(queue.getName(), SHARD_COUNT).offer("item");
+        assertEquals("item", future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+    }
+}
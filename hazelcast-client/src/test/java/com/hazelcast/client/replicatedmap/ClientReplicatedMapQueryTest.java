@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.replicatedmap;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.replicatedmap.ReplicatedMap;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientReplicatedMapQueryTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    private HazelcastInstance member;
+    private String mapName = randomMapName();
+    private ReplicatedMap<Integer, Person> map;
+
+    @Before
+    public void setup() {
+        member = factory.newHazelcastInstance();
+        HazelcastInstance client = factory.newHazelcastClient();
+        map = client.getReplicatedMap(mapName);
+        for (int i = 0; i < 20; i++) {
+            map.put(i, new Person(i));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testQuery() {
+        Predicate<Integer, Person> predicate = Predicates.lessThan("age", 3);
+
+        assertEquals(new HashSet<Integer>(asList(0, 1, 2)), map.keySet(predicate));
+        assertEquals(3, map.values(predicate).size());
+        for (Map.Entry<Integer, Person> entry : map.entrySet(predicate)) {
+            assertEquals(entry.getKey().intValue(), entry.getValue().age);
+        }
+    }
+
+    @Test
+    public void testAggregate() {
+        assertEquals(Long.valueOf(20), map.aggregate(Aggregators.<Map.Entry<Integer, Person>>count()));
+        assertEquals(Integer.valueOf(2), map.aggregate(Aggregators.<Map.Entry<Integer, Person>>integerMax("age"),
+                Predicates.lessThan("age", 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuery_withPagingPredicate() {
+        map.values(Predicates.<Integer, Person>pagingPredicate(5));
+    }
+
+    @Test
+    public void testAddIndex_addsIndexOnAllMembers() {
+        HazelcastInstance otherMember = factory.newHazelcastInstance();
+
+        map.addIndex("age", true);
+
+        assertNotNull(getIndexes(member).getIndex("age"));
+        assertNotNull(getIndexes(otherMember).getIndex("age"));
+        assertEquals(new HashSet<Integer>(asList(0, 1, 2)), map.keySet(Predicates.<Integer, Person>lessThan("age", 3)));
+    }
+
+    private Indexes getIndexes(HazelcastInstance instance) {
+        ReplicatedMapService service = getNodeEngineImpl(instance).getService(ReplicatedMapService.SERVICE_NAME);
+        return service.getQueryEngine().getIndexes(mapName);
+    }
+
+    static class Person implements Serializable {
+
+        private final int age;
+
+        Person(int age) {
+            this.age = age;
+        }
+    }
+}
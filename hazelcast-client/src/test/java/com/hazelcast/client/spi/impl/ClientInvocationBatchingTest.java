@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.metrics.LongGauge;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientInvocationBatchingTest extends ClientTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+    }
+
+    @After
+    public void cleanup() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void whenBatchingWindowElapses_thenInvocationsComplete() throws Exception {
+        HazelcastInstance client = newClient("1000", "1000");
+
+        assertInvocationsComplete(client, 100);
+    }
+
+    @Test
+    public void whenMaxBatchSizeReached_thenInvocationsComplete() throws Exception {
+        // the window is so large that the batches can only be flushed because of their size
+        HazelcastInstance client = newClient("60000000", "1");
+
+        assertInvocationsComplete(client, 100);
+    }
+
+    @Test
+    public void whenBatchingEnabled_thenMetricsUpdated() throws Exception {
+        HazelcastInstance client = newClient("1000", "16");
+
+        assertInvocationsComplete(client, 100);
+
+        LongGauge batchedMessages = getHazelcastClientInstanceImpl(client).getMetricsRegistry()
+                .newLongGauge("invocations.batching.batchedMessages");
+        LongGauge flushedBatches = getHazelcastClientInstanceImpl(client).getMetricsRegistry()
+                .newLongGauge("invocations.batching.flushedBatches");
+        assertTrue(batchedMessages.read() >= 200);
+        assertTrue(flushedBatches.read() > 0);
+    }
+
+    private HazelcastInstance newClient(String windowMicros, String maxBatchSize) {
+        ClientConfig config = new ClientConfig()
+                .setProperty(ClientProperty.INVOCATION_BATCHING_ENABLED.getName(), "true")
+                .setProperty(ClientProperty.INVOCATION_BATCHING_WINDOW_MICROS.getName(), windowMicros)
+                .setProperty(ClientProperty.INVOCATION_BATCHING_MAX_SIZE.getName(), maxBatchSize);
+        return hazelcastFactory.newHazelcastClient(config);
+    }
+
+    private static void assertInvocationsComplete(HazelcastInstance client, int count) throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        List<ICompletableFuture<Integer>> futures = new ArrayList<ICompletableFuture<Integer>>();
+        for (int i = 0; i < count; i++) {
+            futures.add(map.putAsync(i, i));
+        }
+        for (ICompletableFuture<Integer> future : futures) {
+            future.get();
+        }
+
+        futures.clear();
+        for (int i = 0; i < count; i++) {
+            futures.add(map.getAsync(i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) futures.get(i).get());
+        }
+    }
+}
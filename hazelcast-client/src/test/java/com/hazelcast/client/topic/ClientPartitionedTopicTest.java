@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.topic;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.IPartitionedTopic;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientPartitionedTopicTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 4;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        member = hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        client = hazelcastFactory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testPublish_fromClient_receivedOnMember() {
+        String name = randomName();
+        IPartitionedTopic<String> clientTopic = client.getPartitionedTopic(name, PARTITION_COUNT);
+        IPartitionedTopic<String> memberTopic = member.getPartitionedTopic(name, PARTITION_COUNT);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        memberTopic.addMessageListener(message -> received.add(message.getMessageObject()));
+
+        for (int i = 0; i < 100; i++) {
+            clientTopic.publish("key" + i % 10, "message" + i);
+        }
+
+        assertTrueEventually(() -> assertEquals(100, received.size()));
+    }
+
+    @Test
+    public void testPublish_fromMember_receivedOnClient_inOrderPerKey() {
+        String name = randomName();
+        IPartitionedTopic<String> clientTopic = client.getPartitionedTopic(name, PARTITION_COUNT);
+        IPartitionedTopic<String> memberTopic = member.getPartitionedTopic(name, PARTITION_COUNT);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        clientTopic.addMessageListener(message -> received.add(message.getMessageObject()));
+
+        for (int i = 0; i < 50; i++) {
+            memberTopic.publish("key", "message" + i);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add("message" + i);
+        }
+        assertTrueEventually(() -> assertEquals(expected, received));
+    }
+
+    @Test
+    public void testRemoveMessageListener() {
+        IPartitionedTopic<String> topic = client.getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        String registrationId = topic.addMessageListener(message -> received.add(message.getMessageObject()));
+
+        assertTrue(topic.removeMessageListener(registrationId));
+        for (int i = 0; i < 10; i++) {
+            topic.publish("key" + i, "message" + i);
+        }
+
+        assertTrueAllTheTime(() -> assertTrue(received.isEmpty()), 2);
+    }
+}
@@ -31,6 +31,7 @@ import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import com.hazelcast.topic.impl.reliable.DurableSubscriptionTest;
+import com.hazelcast.topic.impl.reliable.ReliableBatchMessageListenerMock;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerMock;
 import com.hazelcast.util.Clock;
 import junit.framework.TestCase;
@@ -207,6 +208,27 @@ public class ClientReliableTopicTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void publishAll() {
+        ITopic<String> topic = client.getReliableTopic(randomString());
+        final ReliableBatchMessageListenerMock listener = new ReliableBatchMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final List<String> items = new ArrayList<String>();
+        for (int k = 0; k < 2500; k++) {
+            items.add("" + k);
+        }
+        topic.publishAll(items);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+        assertFalse(listener.batchSizes.isEmpty());
+    }
+
     @Test
     public void testMessageFieldSetCorrectly() {
         ITopic topic = client.getReliableTopic(randomString());
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.client.util;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static com.hazelcast.client.util.CompletionStageUtil.toCompletionStage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompletionStageUtilTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        client = hazelcastFactory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void toCompletionStage_whenNull() {
+        toCompletionStage(null);
+    }
+
+    @Test
+    public void toCompletionStage_whenMapOperations() throws Exception {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        CompletionStage<String> stage = toCompletionStage(map.putAsync("key", "value"))
+                .thenCompose(oldValue -> toCompletionStage(map.getAsync("key")))
+                .thenApply(String::toUpperCase);
+
+        assertEquals("VALUE", stage.toCompletableFuture().get());
+    }
+
+    @Test
+    public void toCompletionStage_whenMissingKey() throws Exception {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        assertNull(toCompletionStage(map.getAsync("key")).toCompletableFuture().get());
+    }
+
+    @Test
+    public void toCompletionStage_whenNearCacheHit() throws Exception {
+        String mapName = randomMapName();
+        ClientConfig config = new ClientConfig()
+                .addNearCacheConfig(new NearCacheConfig(mapName).setInMemoryFormat(InMemoryFormat.OBJECT));
+        HazelcastInstance nearCachedClient = hazelcastFactory.newHazelcastClient(config);
+        IMap<String, String> map = nearCachedClient.getMap(mapName);
+        map.put("key", "value");
+        // populates the near cache
+        map.get("key");
+
+        assertEquals("value", toCompletionStage(map.getAsync("key")).toCompletableFuture().get());
+    }
+
+    @Test
+    public void toCompletionStage_whenFailure() throws Exception {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        CompletionStage<Object> stage = toCompletionStage(map.submitToKey("key", new FailingEntryProcessor()));
+
+        try {
+            stage.toCompletableFuture().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    private static class FailingEntryProcessor implements EntryProcessor<String, String, Object> {
+        @Override
+        public Object process(Map.Entry<String, String> entry) {
+            throw new IllegalStateException("expected");
+        }
+    }
+}
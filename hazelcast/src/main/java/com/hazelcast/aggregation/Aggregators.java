@@ -16,6 +16,9 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.ApproximateDistinctCountAggregator;
+import com.hazelcast.aggregation.impl.ApproximateQuantileAggregator;
+import com.hazelcast.aggregation.impl.ApproximateTopKAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalAverageAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalSumAggregator;
 import com.hazelcast.aggregation.impl.BigIntegerAverageAggregator;
@@ -38,6 +41,7 @@ import com.hazelcast.aggregation.impl.NumberAverageAggregator;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -732,4 +736,104 @@ public final class Aggregators {
     public static <I> Aggregator<I, Double> floatingPointSum(String attributePath) {
         return new FloatingPointSumAggregator<I>(attributePath);
     }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // approximate aggregators
+    // ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values using a HyperLogLog sketch.
+     * The size of the aggregator doesn't depend on the number of distinct values, the standard error
+     * of the estimate is below 1%.
+     * Ignores null input values.
+     * Aggregation result type is Long.
+     * @since 4.0
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount() {
+        return new ApproximateDistinctCountAggregator<I>();
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values extracted from the given
+     * attributePath using a HyperLogLog sketch.
+     * The size of the aggregator doesn't depend on the number of distinct values, the standard error
+     * of the estimate is below 1%.
+     * Ignores null input values and null extracted values.
+     * Aggregation result type is Long.
+     * @since 4.0
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount(String attributePath) {
+        return new ApproximateDistinctCountAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param fraction the quantile to estimate, e.g. 0.5 for the median or 0.99 for the 99th percentile
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the given quantile of the input values using a KLL sketch.
+     * The size of the aggregator doesn't depend on the number of input values, the rank error
+     * of the estimate is about 1%.
+     * Does NOT accept null input values.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @throws IllegalArgumentException if the fraction is not in range [0, 1]
+     * @since 4.0
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(double fraction) {
+        return new ApproximateQuantileAggregator<I>(fraction);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param fraction      the quantile to estimate, e.g. 0.5 for the median or 0.99 for the 99th percentile
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the given quantile of the input values extracted from the given
+     * attributePath using a KLL sketch.
+     * The size of the aggregator doesn't depend on the number of input values, the rank error
+     * of the estimate is about 1%.
+     * Does NOT accept null input values nor null extracted values.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @throws IllegalArgumentException if the fraction is not in range [0, 1]
+     * @since 4.0
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(String attributePath, double fraction) {
+        return new ApproximateQuantileAggregator<I>(attributePath, fraction);
+    }
+
+    /**
+     * @param k the number of the most frequent values to return
+     * @param <I> type of the input object.
+     * @param <R> type of the return object.
+     * @return an aggregator that estimates the k most frequent input values and their counts.
+     * The size of the aggregator depends only on k, the counts are underestimated by at most
+     * {@code n / (8 * k)}, where n is the number of input values.
+     * Ignores null input values.
+     * Aggregation result type is a Map of R to its estimated count, ordered by descending count.
+     * @throws IllegalArgumentException if k is not positive
+     * @since 4.0
+     */
+    public static <I, R> Aggregator<I, Map<R, Long>> approximateTopK(int k) {
+        return new ApproximateTopKAggregator<I, R>(k);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param k             the number of the most frequent values to return
+     * @param <I> type of the input object.
+     * @param <R> type of the return object.
+     * @return an aggregator that estimates the k most frequent input values extracted from the given
+     * attributePath and their counts.
+     * The size of the aggregator depends only on k, the counts are underestimated by at most
+     * {@code n / (8 * k)}, where n is the number of input values.
+     * Ignores null input values and null extracted values.
+     * Aggregation result type is a Map of R to its estimated count, ordered by descending count.
+     * @throws IllegalArgumentException if k is not positive
+     * @since 4.0
+     */
+    public static <I, R> Aggregator<I, Map<R, Long>> approximateTopK(String attributePath, int k) {
+        return new ApproximateTopKAggregator<I, R>(attributePath, k);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.Comparables;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.HashUtil.MurmurHash3_x64_64;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Estimates the number of distinct values using a {@link HyperLogLog}
+ * sketch, so the size of the aggregator doesn't depend on the number of
+ * distinct values.
+ * <p>
+ * The values are hashed independently of the member they are accumulated on:
+ * numbers are canonicalized the same way as by the {@link DistinctValuesAggregator},
+ * strings and enums are hashed by their characters and names, other values by
+ * their {@link Object#hashCode()}, which has to be the same on all members.
+ * Null values are ignored.
+ */
+@SuppressFBWarnings("SE_BAD_FIELD")
+public final class ApproximateDistinctCountAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable {
+
+    private HyperLogLog hyperLogLog = new HyperLogLogImpl();
+
+    public ApproximateDistinctCountAggregator() {
+        super();
+    }
+
+    public ApproximateDistinctCountAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Object value) {
+        if (value != null) {
+            hyperLogLog.add(hash(value));
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateDistinctCountAggregator other = (ApproximateDistinctCountAggregator) aggregator;
+        hyperLogLog.merge(other.hyperLogLog);
+    }
+
+    @Override
+    public Long aggregate() {
+        return hyperLogLog.estimate();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_DISTINCT_COUNT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeObject(hyperLogLog);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.hyperLogLog = in.readObject();
+    }
+
+    static long hash(Object value) {
+        if (value instanceof Comparable) {
+            value = Comparables.canonicalizeForHashLookup((Comparable) value);
+        }
+        if (value instanceof Long) {
+            return MurmurHash3_fmix((Long) value);
+        } else if (value instanceof Double) {
+            return MurmurHash3_fmix(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(UTF_8);
+            return MurmurHash3_x64_64(bytes, 0, bytes.length);
+        } else if (value instanceof Enum) {
+            byte[] bytes = ((Enum) value).name().getBytes(UTF_8);
+            return MurmurHash3_x64_64(bytes, 0, bytes.length);
+        }
+        return MurmurHash3_fmix(value.hashCode());
+    }
+}
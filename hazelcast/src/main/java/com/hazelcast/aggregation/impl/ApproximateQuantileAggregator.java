@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Estimates a quantile of the accumulated numbers using a KLL sketch.
+ * <p>
+ * The sketch is a stack of levels; an item at level {@code h} represents
+ * {@code 2^h} accumulated numbers. When a level is full, it is sorted and
+ * every other item is promoted to the next level, alternating between the
+ * even and the odd items so the rank error doesn't drift into one direction.
+ * The capacity of the levels decreases geometrically from the top level down,
+ * so the size of the sketch is {@code O(k)} regardless of the number of
+ * accumulated numbers and the rank error is about {@code 1.7 / k}. Sketches
+ * are combined by concatenating their levels and compacting the result.
+ */
+public final class ApproximateQuantileAggregator<I> extends AbstractAggregator<I, Number, Double>
+        implements IdentifiedDataSerializable {
+
+    /**
+     * The default accuracy parameter of the sketch, the rank error is about 1%.
+     */
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private double fraction;
+    private int k = DEFAULT_K;
+    private long count;
+    private long compactions;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+
+    public ApproximateQuantileAggregator() {
+        super();
+    }
+
+    public ApproximateQuantileAggregator(double fraction) {
+        this(null, fraction);
+    }
+
+    public ApproximateQuantileAggregator(String attributePath, double fraction) {
+        super(attributePath);
+        checkTrue(fraction >= 0 && fraction <= 1, "fraction must be in range [0, 1]");
+        this.fraction = fraction;
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Number value) {
+        append(0, value.doubleValue());
+        count++;
+        compress();
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateQuantileAggregator other = (ApproximateQuantileAggregator) aggregator;
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        compress();
+    }
+
+    @Override
+    public Double aggregate() {
+        if (count == 0) {
+            return null;
+        }
+
+        long totalWeight = 0;
+        double[][] sorted = new double[levels.length][];
+        for (int level = 0; level < levels.length; level++) {
+            sorted[level] = sizes[level] == 0 ? new double[0] : Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sorted[level]);
+            totalWeight += (long) sizes[level] << level;
+        }
+
+        // merges the sorted levels until the weight of the visited items reaches the requested rank
+        double targetWeight = fraction * totalWeight;
+        int[] positions = new int[levels.length];
+        long weight = 0;
+        double value = Double.NaN;
+        while (true) {
+            int minLevel = -1;
+            for (int level = 0; level < sorted.length; level++) {
+                if (positions[level] < sorted[level].length
+                        && (minLevel == -1 || sorted[level][positions[level]] < sorted[minLevel][positions[minLevel]])) {
+                    minLevel = level;
+                }
+            }
+            if (minLevel == -1) {
+                return value;
+            }
+            value = sorted[minLevel][positions[minLevel]++];
+            weight += 1L << minLevel;
+            if (weight >= targetWeight) {
+                return value;
+            }
+        }
+    }
+
+    private void append(int level, double value) {
+        if (level == levels.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            sizes = Arrays.copyOf(sizes, level + 1);
+        }
+        double[] items = levels[level];
+        if (items == null) {
+            items = new double[MIN_LEVEL_CAPACITY];
+            levels[level] = items;
+        } else if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] >= capacity(level)) {
+                compact(level);
+            }
+        }
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+
+        // an odd item stays at this level, so the total weight is preserved
+        int pairedSize = size & ~1;
+        int offset = (int) (compactions++ & 1);
+        for (int i = offset; i < pairedSize; i += 2) {
+            append(level + 1, items[i]);
+        }
+        if (pairedSize < size) {
+            items[0] = items[size - 1];
+            sizes[level] = 1;
+        } else {
+            sizes[level] = 0;
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_QUANTILE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeDouble(fraction);
+        out.writeInt(k);
+        out.writeLong(count);
+        out.writeLong(compactions);
+        out.writeInt(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            out.writeDoubleArray(sizes[level] == 0 ? new double[0] : Arrays.copyOf(levels[level], sizes[level]));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.fraction = in.readDouble();
+        this.k = in.readInt();
+        this.count = in.readLong();
+        this.compactions = in.readLong();
+        int levelCount = in.readInt();
+        this.levels = new double[levelCount][];
+        this.sizes = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            double[] items = in.readDoubleArray();
+            levels[level] = items.length == 0 ? null : items;
+            sizes[level] = items.length;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.Comparables;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.util.MapUtil.createHashMap;
+import static com.hazelcast.util.MapUtil.createLinkedHashMap;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Estimates the {@code k} most frequent values and their counts using a
+ * frequent items (Misra-Gries) summary.
+ * <p>
+ * The summary keeps at most {@code 2 * k * COUNTERS_PER_ITEM} counters. When
+ * there are more, the count of the {@code k * COUNTERS_PER_ITEM + 1}-th most
+ * frequent value is subtracted from all counters and the counters that drop
+ * to zero are removed. The counts are therefore underestimated by at most
+ * {@code n / (k * COUNTERS_PER_ITEM)}, where {@code n} is the number of
+ * accumulated values. Unlike the space-saving summary, this summary can be
+ * combined by adding up the counters and reducing the result.
+ * <p>
+ * Numeric values are canonicalized the same way as by the
+ * {@link DistinctValuesAggregator}. Null values are ignored.
+ */
+@SuppressFBWarnings("SE_BAD_FIELD")
+public final class ApproximateTopKAggregator<I, R> extends AbstractAggregator<I, R, Map<R, Long>>
+        implements IdentifiedDataSerializable {
+
+    private static final int COUNTERS_PER_ITEM = 8;
+
+    private static final Comparator<Counter> DESCENDING_COUNT = new Comparator<Counter>() {
+        @Override
+        public int compare(Counter o1, Counter o2) {
+            return o1.count < o2.count ? 1 : (o1.count == o2.count ? 0 : -1);
+        }
+    };
+
+    private int k;
+    private Map<Object, Counter> counters = new HashMap<Object, Counter>();
+
+    public ApproximateTopKAggregator() {
+        super();
+    }
+
+    public ApproximateTopKAggregator(int k) {
+        this(null, k);
+    }
+
+    public ApproximateTopKAggregator(String attributePath, int k) {
+        super(attributePath);
+        this.k = checkPositive(k, "k must be positive");
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, R value) {
+        if (value != null) {
+            add(value, 1);
+            reduceIfNeeded();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateTopKAggregator<I, R> other = (ApproximateTopKAggregator<I, R>) aggregator;
+        for (Counter counter : other.counters.values()) {
+            add((R) counter.value, counter.count);
+        }
+        reduceIfNeeded();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<R, Long> aggregate() {
+        List<Counter> sorted = new ArrayList<Counter>(counters.values());
+        Collections.sort(sorted, DESCENDING_COUNT);
+        int size = Math.min(k, sorted.size());
+        Map<R, Long> result = createLinkedHashMap(size);
+        for (int i = 0; i < size; i++) {
+            Counter counter = sorted.get(i);
+            result.put((R) counter.value, counter.count);
+        }
+        return result;
+    }
+
+    private void add(R value, long count) {
+        Object key = value instanceof Comparable ? Comparables.canonicalizeForHashLookup((Comparable) value) : value;
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counters.put(key, new Counter(value, count));
+        } else {
+            counter.count += count;
+        }
+    }
+
+    private void reduceIfNeeded() {
+        int capacity = k * COUNTERS_PER_ITEM;
+        if (counters.size() <= 2 * capacity) {
+            return;
+        }
+
+        long[] counts = new long[counters.size()];
+        int index = 0;
+        for (Counter counter : counters.values()) {
+            counts[index++] = counter.count;
+        }
+        Arrays.sort(counts);
+        long decrement = counts[counts.length - capacity - 1];
+
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count -= decrement;
+            if (counter.count <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_TOP_K;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeInt(k);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeObject(counter.value);
+            out.writeLong(counter.count);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.k = in.readInt();
+        int size = in.readInt();
+        this.counters = createHashMap(size);
+        for (int i = 0; i < size; i++) {
+            R value = in.readObject();
+            add(value, in.readLong());
+        }
+    }
+
+    private static final class Counter {
+        private final Object value;
+        private long count;
+
+        private Counter(Object value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+    }
+}
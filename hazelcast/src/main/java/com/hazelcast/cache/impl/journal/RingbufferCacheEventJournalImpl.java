@@ -282,7 +282,7 @@ public class RingbufferCacheEventJournalImpl implements CacheEventJournal {
     private RingbufferContainer<InternalEventJournalCacheEvent, Object> getOrCreateRingbufferContainer(
             ObjectNamespace namespace, int partitionId, EventJournalConfig config) {
         RingbufferConfig ringbufferConfig = toRingbufferConfig(config, namespace);
-        return getRingbufferService().getOrCreateContainer(partitionId, namespace, ringbufferConfig);
+        return getRingbufferService().getOrCreateContainer(partitionId, namespace, ringbufferConfig, config);
     }
 
     private RingbufferService getRingbufferService() {
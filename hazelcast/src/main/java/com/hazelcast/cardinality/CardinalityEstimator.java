@@ -19,6 +19,8 @@ package com.hazelcast.cardinality;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.ICompletableFuture;
 
+import java.util.Collection;
+
 /**
  * CardinalityEstimator is a redundant and highly available distributed data-structure used
  * for probabilistic cardinality estimation purposes, on unique items, in significantly sized data cultures.
@@ -116,4 +118,51 @@ public interface CardinalityEstimator extends DistributedObject {
      * @since 3.8
      */
     ICompletableFuture<Long> estimateAsync();
+
+    /**
+     * Adds all objects of the given collection in the estimation set. This is
+     * the method you want to use to feed many objects into the estimator.
+     * <p>
+     * Objects are considered identical if they are serialized into the same binary blob.
+     * In other words: It does <strong>not</strong> use Java equality.
+     * <p>
+     * The objects are serialized and hashed by the caller, and the distinct
+     * hashes are sent to the estimator in a single request. This is much
+     * cheaper than calling {@link #add(Object)} for every object.
+     *
+     * @param objects objects to add in the estimation set.
+     * @throws NullPointerException if objects is null or contains a null element
+     * @since 4.0
+     */
+    void addAll(Collection<?> objects);
+
+    /**
+     * Adds all objects of the given collection in the estimation set.
+     * <p>
+     * Objects are considered identical if they are serialized into the same binary blob.
+     * In other words: It does <strong>not</strong> use Java equality.
+     * <p>
+     * This method will dispatch a request and return immediately an {@link ICompletableFuture}.
+     * See {@link #addAll(Collection)} for details.
+     *
+     * @param objects objects to add in the estimation set.
+     * @return an {@link ICompletableFuture} API consumers can use to track execution of this request.
+     * @throws NullPointerException if objects is null or contains a null element
+     * @since 4.0
+     */
+    ICompletableFuture<Void> addAllAsync(Collection<?> objects);
+
+    /**
+     * Merges the estimation sets of the estimators with the given names into
+     * the estimation set of this estimator, so this estimator estimates the
+     * cardinality of their union afterwards.
+     * <p>
+     * The other estimators are not changed. The estimation sets are merged by
+     * the members, without transferring them to the caller.
+     *
+     * @param names names of the estimators to merge into this estimator.
+     * @throws NullPointerException if names is null or contains a null element
+     * @since 4.0
+     */
+    void merge(String... names);
 }
@@ -53,6 +53,30 @@ public class CardinalityEstimatorContainer
         hll.add(hash);
     }
 
+    public void addAll(long[] hashes) {
+        hll.addAll(hashes);
+    }
+
+    /**
+     * Merges the given {@link HyperLogLog} into the {@link HyperLogLog} of
+     * this container, so it estimates the union of both estimation sets.
+     *
+     * @param other the {@link HyperLogLog} to merge
+     */
+    public void union(HyperLogLog other) {
+        hll.merge(other);
+    }
+
+    /**
+     * @return a copy of the {@link HyperLogLog} of this container, which
+     * isn't affected by later updates of the container
+     */
+    public HyperLogLog copyValue() {
+        HyperLogLog copy = new HyperLogLogImpl();
+        copy.merge(hll);
+        return copy;
+    }
+
     public long estimate() {
         return hll.estimate();
     }
@@ -19,12 +19,17 @@ package com.hazelcast.cardinality.impl;
 import com.hazelcast.cardinality.impl.hyperloglog.impl.DenseHyperLogLogEncoder;
 import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
 import com.hazelcast.cardinality.impl.hyperloglog.impl.SparseHyperLogLogEncoder;
+import com.hazelcast.cardinality.impl.operations.AggregateAllBackupOperation;
+import com.hazelcast.cardinality.impl.operations.AggregateAllOperation;
 import com.hazelcast.cardinality.impl.operations.AggregateBackupOperation;
 import com.hazelcast.cardinality.impl.operations.AggregateOperation;
 import com.hazelcast.cardinality.impl.operations.EstimateOperation;
 import com.hazelcast.cardinality.impl.operations.MergeBackupOperation;
 import com.hazelcast.cardinality.impl.operations.MergeOperation;
+import com.hazelcast.cardinality.impl.operations.ReadHyperLogLogOperation;
 import com.hazelcast.cardinality.impl.operations.ReplicationOperation;
+import com.hazelcast.cardinality.impl.operations.UnionBackupOperation;
+import com.hazelcast.cardinality.impl.operations.UnionOperation;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -49,6 +54,11 @@ public final class CardinalityEstimatorDataSerializerHook
     public static final int HLL_SPARSE_ENC = 7;
     public static final int MERGE = 8;
     public static final int MERGE_BACKUP = 9;
+    public static final int ADD_ALL = 10;
+    public static final int AGGREGATE_ALL_BACKUP = 11;
+    public static final int READ_HLL = 12;
+    public static final int UNION = 13;
+    public static final int UNION_BACKUP = 14;
 
     @Override
     public int getFactoryId() {
@@ -81,6 +91,16 @@ public final class CardinalityEstimatorDataSerializerHook
                         return new MergeOperation();
                     case MERGE_BACKUP:
                         return new MergeBackupOperation();
+                    case ADD_ALL:
+                        return new AggregateAllOperation();
+                    case AGGREGATE_ALL_BACKUP:
+                        return new AggregateAllBackupOperation();
+                    case READ_HLL:
+                        return new ReadHyperLogLogOperation();
+                    case UNION:
+                        return new UnionOperation();
+                    case UNION_BACKUP:
+                        return new UnionBackupOperation();
                     default:
                         return null;
                 }
@@ -17,14 +17,26 @@
 package com.hazelcast.cardinality.impl;
 
 import com.hazelcast.cardinality.CardinalityEstimator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.cardinality.impl.operations.AggregateAllOperation;
 import com.hazelcast.cardinality.impl.operations.AggregateOperation;
 import com.hazelcast.cardinality.impl.operations.EstimateOperation;
+import com.hazelcast.cardinality.impl.operations.ReadHyperLogLogOperation;
+import com.hazelcast.cardinality.impl.operations.UnionOperation;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.cardinality.impl.CardinalityEstimatorUtil.distinctHashes;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
 public class CardinalityEstimatorProxy
@@ -80,6 +92,107 @@ public class CardinalityEstimatorProxy
         return invokeOnPartition(operation);
     }
 
+    @Override
+    public void addAll(Collection<?> objects) {
+        addAllAsync(objects).join();
+    }
+
+    @Override
+    public InternalCompletableFuture<Void> addAllAsync(Collection<?> objects) {
+        long[] hashes = distinctHashes(objects, getNodeEngine().getSerializationService());
+        Operation operation = new AggregateAllOperation(name, hashes)
+                .setPartitionId(partitionId);
+        return invokeOnPartition(operation);
+    }
+
+    @Override
+    public void merge(String... names) {
+        mergeAsync(names).join();
+    }
+
+    /**
+     * Asynchronously merges the estimators with the given names into this
+     * estimator, see {@link #merge(String...)}. The sketches of the other
+     * estimators are read in parallel and applied with a single union.
+     *
+     * @param names the names of the estimators to merge into this one
+     * @return a future which is completed once the union is applied
+     */
+    public InternalCompletableFuture<Void> mergeAsync(String... names) {
+        checkNotNull(names, "Names is null.");
+        List<String> others = new ArrayList<String>(names.length);
+        for (String other : names) {
+            checkNotNull(other, "Name is null.");
+            if (!other.equals(name)) {
+                others.add(other);
+            }
+        }
+        SimpleCompletableFuture<Void> result = new SimpleCompletableFuture<Void>(getNodeEngine());
+        if (others.isEmpty()) {
+            result.setResult(null);
+            return result;
+        }
+
+        MergeCallback callback = new MergeCallback(result, others.size());
+        for (String other : others) {
+            readHyperLogLogAsync(other).andThen(callback);
+        }
+        return result;
+    }
+
+    private InternalCompletableFuture<HyperLogLog> readHyperLogLogAsync(String other) {
+        NodeEngine nodeEngine = getNodeEngine();
+        int otherPartitionId = nodeEngine.getPartitionService()
+                .getPartitionId(nodeEngine.getSerializationService().toData(other, PARTITIONING_STRATEGY));
+        Operation operation = new ReadHyperLogLogOperation(other)
+                .setPartitionId(otherPartitionId);
+        return invokeOnPartition(operation);
+    }
+
+    /**
+     * Collects the sketches of the other estimators and applies their union
+     * once all of them are read.
+     */
+    private final class MergeCallback implements ExecutionCallback<HyperLogLog> {
+        private final SimpleCompletableFuture<Void> result;
+        private final HyperLogLog union = new HyperLogLogImpl();
+        private int remaining;
+
+        private MergeCallback(SimpleCompletableFuture<Void> result, int count) {
+            this.result = result;
+            this.remaining = count;
+        }
+
+        @Override
+        public void onResponse(HyperLogLog response) {
+            synchronized (this) {
+                union.merge(response);
+                if (--remaining > 0) {
+                    return;
+                }
+            }
+            Operation operation = new UnionOperation(name, union)
+                    .setPartitionId(partitionId);
+            CardinalityEstimatorProxy.this.<Void>invokeOnPartition(operation).andThen(new ExecutionCallback<Void>() {
+                @Override
+                public void onResponse(Void response) {
+                    result.setResult(null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setResult(t);
+                }
+            });
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            // only the first completion of the future has an effect
+            result.setResult(t);
+        }
+    }
+
     @Override
     public String toString() {
         return "CardinalityEstimator{" + "name='" + name + '\'' + '}';
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl;
+
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Utility methods shared by the member and the client side proxies of the
+ * {@link com.hazelcast.cardinality.CardinalityEstimator}.
+ */
+public final class CardinalityEstimatorUtil {
+
+    private CardinalityEstimatorUtil() {
+    }
+
+    /**
+     * Serializes the given objects and returns the distinct hashes of their
+     * serialized forms, so a batch doesn't carry duplicate hashes.
+     *
+     * @param objects              the objects to hash
+     * @param serializationService the serialization service to serialize the objects with
+     * @return the sorted, distinct hashes of the objects
+     * @throws NullPointerException if objects is null or contains a null element
+     */
+    public static long[] distinctHashes(Collection<?> objects, SerializationService serializationService) {
+        checkNotNull(objects, "Objects is null.");
+        long[] hashes = new long[objects.size()];
+        int size = 0;
+        for (Object object : objects) {
+            checkNotNull(object, "Object is null.");
+            if (size == hashes.length) {
+                // the collection grew while iterating
+                hashes = Arrays.copyOf(hashes, size * 2 + 1);
+            }
+            hashes[size++] = serializationService.toData(object).hash64();
+        }
+
+        Arrays.sort(hashes, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || hashes[distinct - 1] != hashes[i]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return distinct == hashes.length ? hashes : Arrays.copyOf(hashes, distinct);
+    }
+}
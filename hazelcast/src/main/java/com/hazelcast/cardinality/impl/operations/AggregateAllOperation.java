@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl.operations;
+
+import com.hazelcast.cardinality.impl.CardinalityEstimatorDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+
+/**
+ * Adds a batch of hashes to the estimation set with a single operation.
+ *
+ * @since 4.0
+ */
+public class AggregateAllOperation
+        extends CardinalityEstimatorBackupAwareOperation
+        implements MutatingOperation {
+
+    private long[] hashes;
+
+    public AggregateAllOperation() {
+    }
+
+    public AggregateAllOperation(String name, long[] hashes) {
+        super(name);
+        this.hashes = hashes;
+    }
+
+    @Override
+    public int getClassId() {
+        return CardinalityEstimatorDataSerializerHook.ADD_ALL;
+    }
+
+    @Override
+    public void run() throws Exception {
+        getCardinalityEstimatorContainer().addAll(hashes);
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new AggregateAllBackupOperation(name, hashes);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLongArray(hashes);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        hashes = in.readLongArray();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl.operations;
+
+import com.hazelcast.cardinality.impl.CardinalityEstimatorDataSerializerHook;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
+
+/**
+ * Returns a copy of the {@link HyperLogLog} of an estimator, so it can be
+ * merged into another estimator.
+ *
+ * @since 4.0
+ */
+public class ReadHyperLogLogOperation
+        extends AbstractCardinalityEstimatorOperation
+        implements ReadonlyOperation {
+
+    private HyperLogLog hyperLogLog;
+
+    public ReadHyperLogLogOperation() {
+    }
+
+    public ReadHyperLogLogOperation(String name) {
+        super(name);
+    }
+
+    @Override
+    public int getClassId() {
+        return CardinalityEstimatorDataSerializerHook.READ_HLL;
+    }
+
+    @Override
+    public void run() throws Exception {
+        hyperLogLog = getCardinalityEstimatorContainer().copyValue();
+    }
+
+    @Override
+    public Object getResponse() {
+        return hyperLogLog;
+    }
+}
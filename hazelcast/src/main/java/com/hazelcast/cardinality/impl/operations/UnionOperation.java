@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl.operations;
+
+import com.hazelcast.cardinality.impl.CardinalityEstimatorDataSerializerHook;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+
+/**
+ * Merges the given {@link HyperLogLog} into the {@link HyperLogLog} of an
+ * estimator, so the estimator estimates the union of both estimation sets.
+ *
+ * @since 4.0
+ */
+public class UnionOperation
+        extends CardinalityEstimatorBackupAwareOperation
+        implements MutatingOperation {
+
+    private HyperLogLog value;
+
+    public UnionOperation() {
+    }
+
+    public UnionOperation(String name, HyperLogLog value) {
+        super(name);
+        this.value = value;
+    }
+
+    @Override
+    public int getClassId() {
+        return CardinalityEstimatorDataSerializerHook.UNION;
+    }
+
+    @Override
+    public void run() throws Exception {
+        getCardinalityEstimatorContainer().union(value);
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        // merging is idempotent, so the backup merges the same value
+        return new UnionBackupOperation(name, value);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(value);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        value = in.readObject();
+    }
+}
@@ -32,6 +32,7 @@ import com.hazelcast.client.impl.protocol.task.MessageTask;
 import com.hazelcast.client.impl.protocol.task.PingMessageTask;
 import com.hazelcast.client.impl.protocol.task.TransactionalMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.AbstractMapQueryMessageTask;
+import com.hazelcast.client.impl.protocol.task.replicatedmap.AbstractReplicatedMapQueryMessageTask;
 import com.hazelcast.client.api.Client;
 import com.hazelcast.client.api.ClientListener;
 import com.hazelcast.client.api.ClientType;
@@ -282,7 +283,8 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PreJoinAware
     }
 
     private boolean isQuery(MessageTask messageTask) {
-        return messageTask instanceof AbstractMapQueryMessageTask;
+        return messageTask instanceof AbstractMapQueryMessageTask
+                || messageTask instanceof AbstractReplicatedMapQueryMessageTask;
     }
 
     @Override
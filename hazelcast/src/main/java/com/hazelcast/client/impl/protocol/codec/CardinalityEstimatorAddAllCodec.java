@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.constants.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+
+/**
+ * Adds a batch of hashes to a cardinality estimator with a single request.
+ * <p>
+ * This codec follows the layout of the codecs generated by the client
+ * protocol and takes the next free message type of the cardinality
+ * estimator.
+ */
+public final class CardinalityEstimatorAddAllCodec {
+
+    public static final int REQUEST_TYPE = 0x1c03;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.VOID;
+
+    private CardinalityEstimatorAddAllCodec() {
+    }
+
+    public static ClientMessage encodeRequest(String name, long[] hashes, int offset, int length) {
+        int dataSize = RequestParameters.calculateDataSize(name, length);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(false);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("CardinalityEstimator.addAll");
+        clientMessage.set(name);
+        clientMessage.set(length);
+        for (int i = offset; i < offset + length; i++) {
+            clientMessage.set(hashes[i]);
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        if (clientMessage.isComplete()) {
+            return parameters;
+        }
+        parameters.name = clientMessage.getStringUtf8();
+        long[] hashes = new long[clientMessage.getInt()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = clientMessage.getLong();
+        }
+        parameters.hashes = hashes;
+        return parameters;
+    }
+
+    public static ClientMessage encodeResponse() {
+        ClientMessage clientMessage = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static class RequestParameters {
+
+        public String name;
+        public long[] hashes;
+
+        public static int calculateDataSize(String name, int hashCount) {
+            return ClientMessage.HEADER_SIZE
+                    + ParameterUtil.calculateDataSize(name)
+                    + Bits.INT_SIZE_IN_BYTES
+                    + hashCount * Bits.LONG_SIZE_IN_BYTES;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.constants.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges other cardinality estimators into a cardinality estimator.
+ * <p>
+ * This codec follows the layout of the codecs generated by the client
+ * protocol and takes the next free message type of the cardinality
+ * estimator.
+ */
+public final class CardinalityEstimatorMergeCodec {
+
+    public static final int REQUEST_TYPE = 0x1c04;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.VOID;
+
+    private CardinalityEstimatorMergeCodec() {
+    }
+
+    public static ClientMessage encodeRequest(String name, List<String> sources) {
+        int dataSize = RequestParameters.calculateDataSize(name, sources);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(false);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("CardinalityEstimator.merge");
+        clientMessage.set(name);
+        clientMessage.set(sources.size());
+        for (String source : sources) {
+            clientMessage.set(source);
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        if (clientMessage.isComplete()) {
+            return parameters;
+        }
+        parameters.name = clientMessage.getStringUtf8();
+        int size = clientMessage.getInt();
+        List<String> sources = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            sources.add(clientMessage.getStringUtf8());
+        }
+        parameters.sources = sources;
+        return parameters;
+    }
+
+    public static ClientMessage encodeResponse() {
+        ClientMessage clientMessage = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static class RequestParameters {
+
+        public String name;
+        public List<String> sources;
+
+        public static int calculateDataSize(String name, List<String> sources) {
+            int dataSize = ClientMessage.HEADER_SIZE
+                    + ParameterUtil.calculateDataSize(name)
+                    + Bits.INT_SIZE_IN_BYTES;
+            for (String source : sources) {
+                dataSize += ParameterUtil.calculateDataSize(source);
+            }
+            return dataSize;
+        }
+    }
+}
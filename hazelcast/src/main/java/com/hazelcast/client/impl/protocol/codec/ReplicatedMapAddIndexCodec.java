@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.constants.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+
+/**
+ * Adds an index to the replicas of a replicated map on all members.
+ * <p>
+ * This codec follows the layout of the codecs generated by the client
+ * protocol and takes the next free message type of the replicated map.
+ */
+public final class ReplicatedMapAddIndexCodec {
+
+    public static final int REQUEST_TYPE = 0x0e15;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.VOID;
+
+    private ReplicatedMapAddIndexCodec() {
+    }
+
+    public static ClientMessage encodeRequest(String name, String attribute, boolean ordered) {
+        int dataSize = RequestParameters.calculateDataSize(name, attribute);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(false);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("ReplicatedMap.addIndex");
+        clientMessage.set(name);
+        clientMessage.set(attribute);
+        clientMessage.set(ordered);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        if (clientMessage.isComplete()) {
+            return parameters;
+        }
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.attribute = clientMessage.getStringUtf8();
+        parameters.ordered = clientMessage.getBoolean();
+        return parameters;
+    }
+
+    public static ClientMessage encodeResponse() {
+        ClientMessage clientMessage = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static class RequestParameters {
+
+        public String name;
+        public String attribute;
+        public boolean ordered;
+
+        public static int calculateDataSize(String name, String attribute) {
+            return ClientMessage.HEADER_SIZE
+                    + ParameterUtil.calculateDataSize(name)
+                    + ParameterUtil.calculateDataSize(attribute)
+                    + Bits.BOOLEAN_SIZE_IN_BYTES;
+        }
+    }
+}
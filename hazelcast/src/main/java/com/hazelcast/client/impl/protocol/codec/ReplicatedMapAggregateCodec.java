@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.constants.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Aggregates the entries of the replica of a replicated map of the member
+ * receiving the request that satisfy a predicate.
+ * <p>
+ * This codec follows the layout of the codecs generated by the client
+ * protocol and takes the next free message type of the replicated map.
+ */
+public final class ReplicatedMapAggregateCodec {
+
+    public static final int REQUEST_TYPE = 0x0e14;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.DATA;
+
+    private ReplicatedMapAggregateCodec() {
+    }
+
+    public static ClientMessage encodeRequest(String name, Data aggregator, Data predicate) {
+        int dataSize = RequestParameters.calculateDataSize(name, aggregator, predicate);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(true);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("ReplicatedMap.aggregate");
+        clientMessage.set(name);
+        clientMessage.set(aggregator);
+        clientMessage.set(predicate);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        if (clientMessage.isComplete()) {
+            return parameters;
+        }
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.aggregator = clientMessage.getData();
+        parameters.predicate = clientMessage.getData();
+        return parameters;
+    }
+
+    public static ClientMessage encodeResponse(Data response) {
+        int dataSize = ResponseParameters.calculateDataSize(response);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.set(response == null);
+        if (response != null) {
+            clientMessage.set(response);
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        boolean isNull = clientMessage.getBoolean();
+        if (!isNull) {
+            parameters.response = clientMessage.getData();
+        }
+        return parameters;
+    }
+
+    public static class RequestParameters {
+
+        public String name;
+        public Data aggregator;
+        public Data predicate;
+
+        public static int calculateDataSize(String name, Data aggregator, Data predicate) {
+            return ClientMessage.HEADER_SIZE
+                    + ParameterUtil.calculateDataSize(name)
+                    + ParameterUtil.calculateDataSize(aggregator)
+                    + ParameterUtil.calculateDataSize(predicate);
+        }
+    }
+
+    public static class ResponseParameters {
+
+        public Data response;
+
+        public static int calculateDataSize(Data response) {
+            int dataSize = ClientMessage.HEADER_SIZE + Bits.BOOLEAN_SIZE_IN_BYTES;
+            if (response != null) {
+                dataSize += ParameterUtil.calculateDataSize(response);
+            }
+            return dataSize;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.constants.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs a predicate query on the replica of a replicated map of the member
+ * receiving the request. The iteration type selects whether the keys, the
+ * values or the entries are returned; the entries are returned as a flat
+ * list of alternating keys and values.
+ * <p>
+ * This codec follows the layout of the codecs generated by the client
+ * protocol and takes the next free message type of the replicated map.
+ */
+public final class ReplicatedMapQueryCodec {
+
+    public static final int REQUEST_TYPE = 0x0e13;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.LIST_DATA;
+
+    private ReplicatedMapQueryCodec() {
+    }
+
+    public static ClientMessage encodeRequest(String name, Data predicate, byte iterationType) {
+        int dataSize = RequestParameters.calculateDataSize(name, predicate);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(true);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("ReplicatedMap.query");
+        clientMessage.set(name);
+        clientMessage.set(predicate);
+        clientMessage.set(iterationType);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        if (clientMessage.isComplete()) {
+            return parameters;
+        }
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.predicate = clientMessage.getData();
+        parameters.iterationType = clientMessage.getByte();
+        return parameters;
+    }
+
+    public static ClientMessage encodeResponse(Collection<Data> response) {
+        int dataSize = ResponseParameters.calculateDataSize(response);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.set(response);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        parameters.response = clientMessage.getDataList();
+        return parameters;
+    }
+
+    public static class RequestParameters {
+
+        public String name;
+        public Data predicate;
+        public byte iterationType;
+
+        public static int calculateDataSize(String name, Data predicate) {
+            return ClientMessage.HEADER_SIZE
+                    + ParameterUtil.calculateDataSize(name)
+                    + ParameterUtil.calculateDataSize(predicate)
+                    + Bits.BYTE_SIZE_IN_BYTES;
+        }
+    }
+
+    public static class ResponseParameters {
+
+        public List<Data> response;
+
+        public static int calculateDataSize(Collection<Data> response) {
+            int dataSize = ClientMessage.HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+            for (Data data : response) {
+                dataSize += ParameterUtil.calculateDataSize(data);
+            }
+            return dataSize;
+        }
+    }
+}
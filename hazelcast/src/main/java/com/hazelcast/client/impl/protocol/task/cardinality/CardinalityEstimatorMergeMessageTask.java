@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.cardinality;
+
+import com.hazelcast.cardinality.impl.CardinalityEstimatorProxy;
+import com.hazelcast.cardinality.impl.CardinalityEstimatorService;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorMergeCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractMessageTask;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.CardinalityEstimatorPermission;
+
+import java.security.Permission;
+
+/**
+ * Merges the estimators like the member side proxy does: the sketches of
+ * the sources are read and applied to the target with a single union.
+ */
+public class CardinalityEstimatorMergeMessageTask
+        extends AbstractMessageTask<CardinalityEstimatorMergeCodec.RequestParameters>
+        implements ExecutionCallback<Void> {
+
+    public CardinalityEstimatorMergeMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected void processMessage() {
+        CardinalityEstimatorProxy estimator = (CardinalityEstimatorProxy) nodeEngine.getProxyService()
+                .getDistributedObject(CardinalityEstimatorService.SERVICE_NAME, parameters.name);
+        estimator.mergeAsync(parameters.sources.toArray(new String[0])).andThen(this);
+    }
+
+    @Override
+    public void onResponse(Void response) {
+        sendResponse(null);
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        handleProcessingFailure(t);
+    }
+
+    @Override
+    protected CardinalityEstimatorMergeCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return CardinalityEstimatorMergeCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return CardinalityEstimatorMergeCodec.encodeResponse();
+    }
+
+    @Override
+    public String getServiceName() {
+        return CardinalityEstimatorService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new CardinalityEstimatorPermission(parameters.name, ActionConstants.ACTION_MODIFY);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "merge";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return parameters.sources.toArray();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.replicatedmap;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+
+import java.util.Collection;
+
+import static com.hazelcast.quorum.QuorumType.READ;
+
+/**
+ * Base class of the message tasks which run a predicate query on the replica
+ * of a replicated map of this member. The tasks are run on the query executor.
+ */
+public abstract class AbstractReplicatedMapQueryMessageTask<P> extends AbstractCallableMessageTask<P> {
+
+    protected AbstractReplicatedMapQueryMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    protected Collection<QueryableEntry> query(String name, Data predicateData) {
+        ReplicatedMapService service = getService(ReplicatedMapService.SERVICE_NAME);
+        service.ensureQuorumPresent(name, READ);
+        Predicate predicate = serializationService.toObject(predicateData);
+        return service.getQueryEngine().query(name, predicate);
+    }
+
+    @Override
+    public String getServiceName() {
+        return ReplicatedMapService.SERVICE_NAME;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.replicatedmap;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddIndexCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractMultiTargetMessageTask;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.operation.AddIndexOperation;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.ReplicatedMapPermission;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.security.Permission;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Adds the index on all members, since the queries of the client may run on
+ * any of them.
+ */
+public class ReplicatedMapAddIndexMessageTask
+        extends AbstractMultiTargetMessageTask<ReplicatedMapAddIndexCodec.RequestParameters> {
+
+    public ReplicatedMapAddIndexMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Supplier<Operation> createOperationSupplier() {
+        return () -> new AddIndexOperation(parameters.name, parameters.attribute, parameters.ordered);
+    }
+
+    @Override
+    protected Object reduce(Map<Member, Object> map) throws Throwable {
+        for (Object result : map.values()) {
+            if (result instanceof Throwable) {
+                throw (Throwable) result;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<Member> getTargets() {
+        return nodeEngine.getClusterService().getMembers();
+    }
+
+    @Override
+    protected ReplicatedMapAddIndexCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return ReplicatedMapAddIndexCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return ReplicatedMapAddIndexCodec.encodeResponse();
+    }
+
+    @Override
+    public String getServiceName() {
+        return ReplicatedMapService.SERVICE_NAME;
+    }
+
+    public Permission getRequiredPermission() {
+        return new ReplicatedMapPermission(parameters.name, ActionConstants.ACTION_INDEX);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "addIndex";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.attribute, parameters.ordered};
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.replicatedmap;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAggregateCodec;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.ReplicatedMapPermission;
+
+import java.security.Permission;
+
+public class ReplicatedMapAggregateMessageTask
+        extends AbstractReplicatedMapQueryMessageTask<ReplicatedMapAggregateCodec.RequestParameters> {
+
+    public ReplicatedMapAggregateMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() throws Exception {
+        Aggregator aggregator = serializationService.toObject(parameters.aggregator);
+        for (QueryableEntry entry : query(parameters.name, parameters.predicate)) {
+            aggregator.accumulate(entry);
+        }
+        aggregator.onAccumulationFinished();
+        aggregator.onCombinationFinished();
+        return serializationService.toData(aggregator.aggregate());
+    }
+
+    @Override
+    protected ReplicatedMapAggregateCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return ReplicatedMapAggregateCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return ReplicatedMapAggregateCodec.encodeResponse(serializationService.toData(response));
+    }
+
+    public Permission getRequiredPermission() {
+        return new ReplicatedMapPermission(parameters.name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "aggregate";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.aggregator, parameters.predicate};
+    }
+}
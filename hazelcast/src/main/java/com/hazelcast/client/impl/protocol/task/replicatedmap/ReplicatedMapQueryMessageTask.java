@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.replicatedmap;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.ReplicatedMapQueryCodec;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.ReplicatedMapPermission;
+import com.hazelcast.util.IterationType;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ReplicatedMapQueryMessageTask
+        extends AbstractReplicatedMapQueryMessageTask<ReplicatedMapQueryCodec.RequestParameters> {
+
+    public ReplicatedMapQueryMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() throws Exception {
+        Collection<QueryableEntry> entries = query(parameters.name, parameters.predicate);
+        IterationType iterationType = IterationType.getById(parameters.iterationType);
+        List<Data> result = new ArrayList<Data>(iterationType == IterationType.ENTRY ? 2 * entries.size() : entries.size());
+        for (QueryableEntry entry : entries) {
+            if (iterationType != IterationType.VALUE) {
+                result.add(entry.getKeyData());
+            }
+            if (iterationType != IterationType.KEY) {
+                result.add(entry.getValueData());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected ReplicatedMapQueryCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return ReplicatedMapQueryCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ClientMessage encodeResponse(Object response) {
+        return ReplicatedMapQueryCodec.encodeResponse((List<Data>) response);
+    }
+
+    public Permission getRequiredPermission() {
+        return new ReplicatedMapPermission(parameters.name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        switch (IterationType.getById(parameters.iterationType)) {
+            case KEY:
+                return "keySet";
+            case VALUE:
+                return "values";
+            default:
+                return "entrySet";
+        }
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.predicate};
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent, blocking, distributed queue whose items are spread over
+ * multiple {@link IQueue} shards living in different partitions.
+ * <p>
+ * An {@link IQueue} is kept in a single partition, so all operations of a
+ * hot queue are executed by a single partition thread of a single member.
+ * A sharded queue distributes its items over {@link #getShardCount()}
+ * shards, so the producers and consumers of the queue are served by
+ * multiple partition threads and members in parallel.
+ * <p>
+ * Items offered without a key are spread over the shards round-robin, so
+ * even a single producer uses all shards. Items offered with a key, e.g.
+ * by {@link #offer(Object, Object)}, all go to the shard of that key. Items
+ * are kept in FIFO order within a shard only, hence only the items offered
+ * with the same key are polled in the order they were offered. A producer
+ * which needs its items in order offers them with its own key, for
+ * instance a producer id.
+ * <p>
+ * A consumer polls the shards one by one, starting from the next shard in
+ * round-robin order, until it finds an item. So a poll of an empty sharded
+ * queue visits every shard, and a blocking poll waits on a single shard
+ * for a short time before it visits the other shards again.
+ * <p>
+ * A sharded queue is identified by its name and shard count. The shards
+ * are named {@code name@<partition-key>}, so the {@link
+ * com.hazelcast.config.QueueConfig} of the sharded queue name applies to
+ * each shard. Since the config applies per shard, the max size of the
+ * sharded queue is the configured max size multiplied by the shard count.
+ * An offer without a key only fails, or blocks, when all shards are full.
+ * An offer with a key fails, or blocks, when the shard of the key is full,
+ * even if other shards still have room.
+ * <p>
+ * The bulk operations, such as {@link #size()}, {@link #contains(Object)},
+ * {@link #iterator()} and {@link #clear()}, visit every shard one by one
+ * and they are not atomic.
+ *
+ * @param <E> the type of the items in the queue
+ * @see com.hazelcast.core.HazelcastInstance#getShardedQueue(String, int)
+ * @since 4.0
+ */
+public interface IShardedQueue<E> extends BlockingQueue<E>, BaseQueue<E> {
+
+    /*
+     * Added poll(), poll(long timeout, TimeUnit unit) and take()
+     * methods here to prevent wrong method return type issue when
+     * compiled with java 8. See IQueue for details.
+     */
+
+    /**
+     * {@inheritDoc}
+     */
+    E poll();
+
+    /**
+     * {@inheritDoc}
+     */
+    E poll(long timeout, @Nonnull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    E take() throws InterruptedException;
+
+    /**
+     * Inserts the item into the shard of the given key if it is possible to
+     * do so immediately without exceeding the capacity of the shard.
+     * The items offered with the same key are polled in FIFO order.
+     *
+     * @param key the key which selects the shard
+     * @param e   the item to add
+     * @return {@code true} if the item was added, {@code false} otherwise
+     * @throws NullPointerException if the key or the item is {@code null}
+     */
+    boolean offer(@Nonnull Object key, @Nonnull E e);
+
+    /**
+     * Inserts the item into the shard of the given key, waiting if necessary
+     * for space to become available in that shard.
+     * The items offered with the same key are polled in FIFO order.
+     *
+     * @param key the key which selects the shard
+     * @param e   the item to add
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the key or the item is {@code null}
+     */
+    void put(@Nonnull Object key, @Nonnull E e) throws InterruptedException;
+
+    /**
+     * Inserts the item into the shard of the given key, waiting up to the
+     * given time for space to become available in that shard.
+     * The items offered with the same key are polled in FIFO order.
+     *
+     * @param key     the key which selects the shard
+     * @param e       the item to add
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit    the time unit of the {@code timeout} argument
+     * @return {@code true} if the item was added, {@code false} if the
+     * waiting time elapsed before space was available
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the key or the item is {@code null}
+     */
+    boolean offer(@Nonnull Object key, @Nonnull E e, long timeout, @Nonnull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the number of shards of this sharded queue.
+     *
+     * @return the number of shards
+     */
+    int getShardCount();
+
+    /**
+     * Destroys all shards of this sharded queue cluster-wide.
+     * Clears and releases all resources of the shards.
+     */
+    void destroy();
+}
@@ -30,18 +30,19 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.collection.Long2ObjectHashMap;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +59,9 @@ import static com.hazelcast.util.SetUtil.createHashSet;
  * <li>transactional operation functionalities</li>
  * <li>schedules queue destruction if it is configured to be destroyed once empty</li>
  * </ul>
+ * On the partition owner the items are kept in an array-backed ring buffer ordered by item ID. On a backup
+ * replica, where items are polled and removed by ID, they are kept in an open-addressing map with primitive
+ * {@code long} keys. Both structures avoid allocating a node or entry object per item.
  */
 @SuppressWarnings("checkstyle:methodcount")
 public class QueueContainer implements IdentifiedDataSerializable {
@@ -69,7 +73,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
     private final Map<Long, Data> dataMap = new HashMap<Long, Data>();
     private QueueWaitNotifyKey pollWaitNotifyKey;
     private QueueWaitNotifyKey offerWaitNotifyKey;
-    private LinkedList<QueueItem> itemQueue;
+    private ArrayDeque<QueueItem> itemQueue;
     private Map<Long, QueueItem> backupMap;
     private QueueConfig config;
     private QueueStoreWrapper store;
@@ -281,17 +285,23 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return true;
     }
 
-    @SuppressWarnings("unchecked")
     private void addTxItemOrdered(TxQueueItem txQueueItem) {
-        ListIterator<QueueItem> iterator = ((List<QueueItem>) getItemQueue()).listIterator();
-        while (iterator.hasNext()) {
-            QueueItem queueItem = iterator.next();
-            if (txQueueItem.itemId < queueItem.itemId) {
-                iterator.previous();
-                break;
-            }
+        Deque<QueueItem> itemQueue = getItemQueue();
+        QueueItem lastItem = itemQueue.peekLast();
+        if (lastItem == null || lastItem.itemId <= txQueueItem.itemId) {
+            itemQueue.offerLast(txQueueItem);
+            return;
+        }
+        // the items in front of the rolled back item are moved out temporarily;
+        // usually the rolled back item was polled from the head, so there are none
+        List<QueueItem> precedingItems = new ArrayList<QueueItem>();
+        while (itemQueue.peekFirst().itemId <= txQueueItem.itemId) {
+            precedingItems.add(itemQueue.pollFirst());
+        }
+        itemQueue.offerFirst(txQueueItem);
+        for (int i = precedingItems.size() - 1; i >= 0; i--) {
+            itemQueue.offerFirst(precedingItems.get(i));
         }
-        iterator.add(txQueueItem);
     }
 
     // TX Offer
@@ -593,8 +603,12 @@ public class QueueContainer implements IdentifiedDataSerializable {
             maxSizeParam = getItemQueue().size();
         }
         Map<Long, Data> map = createLinkedHashMap(maxSizeParam);
+        if (!store.isEnabled()) {
+            drainInMemory(maxSizeParam, map);
+            return map;
+        }
         mapDrainIterator(maxSizeParam, map);
-        if (store.isEnabled() && maxSizeParam != 0) {
+        if (maxSizeParam != 0) {
             try {
                 store.deleteAll(map.keySet());
             } catch (Exception e) {
@@ -613,6 +627,25 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return map;
     }
 
+    /**
+     * Polls the items from the queue and collects them in a single pass.
+     * Only used when the queue store is disabled, so all item data is in memory
+     * and the items can't fail to be deleted from the store.
+     */
+    private void drainInMemory(int maxSize, Map<Long, Data> map) {
+        Deque<QueueItem> itemQueue = getItemQueue();
+        long current = Clock.currentTimeMillis();
+        for (int i = 0; i < maxSize; i++) {
+            QueueItem item = itemQueue.poll();
+            map.put(item.getItemId(), item.getData());
+            // for stats
+            age(item, current);
+        }
+        if (maxSize != 0) {
+            scheduleEvictionIfEmpty();
+        }
+    }
+
     public void mapDrainIterator(int maxSize, Map<Long, Data> map) {
         Iterator<QueueItem> iterator = getItemQueue().iterator();
         for (int i = 0; i < maxSize; i++) {
@@ -726,6 +759,16 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return true if the queue contains all items, false otherwise
      */
     public boolean contains(Collection<Data> dataSet) {
+        if (dataSet.size() > 1) {
+            // build an index of the item data once, instead of scanning the queue for each data
+            Set<Data> itemDataSet = createHashSet(getItemQueue().size());
+            for (QueueItem item : getItemQueue()) {
+                if (item.getData() != null) {
+                    itemDataSet.add(item.getData());
+                }
+            }
+            return itemDataSet.containsAll(dataSet);
+        }
         for (Data data : dataSet) {
             boolean contains = false;
             for (QueueItem item : getItemQueue()) {
@@ -775,6 +818,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      */
     public Map<Long, Data> compareAndRemove(Collection<Data> dataList, boolean retain) {
         LinkedHashMap<Long, Data> map = new LinkedHashMap<Long, Data>();
+        Collection<Data> dataCollection = dataList.size() > 1 ? new HashSet<Data>(dataList) : dataList;
         for (QueueItem item : getItemQueue()) {
             if (item.getData() == null && store.isEnabled()) {
                 try {
@@ -783,7 +827,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
                     throw new HazelcastException(e);
                 }
             }
-            boolean contains = dataList.contains(item.getData());
+            boolean contains = dataCollection.contains(item.getData());
             if ((retain && !contains) || (!retain && contains)) {
                 map.put(item.getItemId(), item.getData());
             }
@@ -812,13 +856,18 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        Iterator<QueueItem> iterator = getItemQueue().iterator();
-        while (iterator.hasNext()) {
-            QueueItem item = iterator.next();
+        // removing items from the middle of the ring buffer one by one shifts the
+        // remaining items each time, so the retained items are re-added in one pass
+        Deque<QueueItem> itemQueue = getItemQueue();
+        long current = Clock.currentTimeMillis();
+        int size = itemQueue.size();
+        for (int i = 0; i < size; i++) {
+            QueueItem item = itemQueue.poll();
             if (map.containsKey(item.getItemId())) {
-                iterator.remove();
                 // for stats
-                age(item, Clock.currentTimeMillis());
+                age(item, current);
+            } else {
+                itemQueue.offer(item);
             }
         }
         scheduleEvictionIfEmpty();
@@ -895,7 +944,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      */
     public Deque<QueueItem> getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = new LinkedList<QueueItem>();
+            itemQueue = new ArrayDeque<QueueItem>(backupMap != null ? backupMap.size() : 0);
             if (backupMap != null && !backupMap.isEmpty()) {
                 List<QueueItem> values = new ArrayList<QueueItem>(backupMap.values());
                 Collections.sort(values);
@@ -930,14 +979,14 @@ public class QueueContainer implements IdentifiedDataSerializable {
     public Map<Long, QueueItem> getBackupMap() {
         if (backupMap == null) {
             if (itemQueue != null) {
-                backupMap = createHashMap(itemQueue.size());
+                backupMap = new Long2ObjectHashMap<QueueItem>(itemQueue.size());
                 for (QueueItem item : itemQueue) {
                     backupMap.put(item.getItemId(), item);
                 }
                 itemQueue.clear();
                 itemQueue = null;
             } else {
-                backupMap = new HashMap<Long, QueueItem>();
+                backupMap = new Long2ObjectHashMap<QueueItem>();
             }
         }
         return backupMap;
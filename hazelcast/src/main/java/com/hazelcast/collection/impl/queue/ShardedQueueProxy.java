@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.partition.PartitionService;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static com.hazelcast.util.PartitionKeyUtil.getShardPartitionKeys;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link IShardedQueue} implementation which keeps its items in multiple
+ * {@link IQueue} shards. The shards are plain queues whose names carry
+ * a partition key, so they are created on both members and clients through
+ * the {@link HazelcastInstance} and are served by different partitions.
+ * <p>
+ * The partition keys of the shards are computed deterministically from
+ * the name and the shard count, so all members and clients use the same
+ * shards for the same sharded queue. Items offered without a key are
+ * spread over the shards round-robin by a counter of this proxy, items
+ * offered with a key go to the shard of the partition of the key.
+ *
+ * @param <E> the type of the items in the queue
+ */
+public class ShardedQueueProxy<E> extends AbstractQueue<E> implements IShardedQueue<E> {
+
+    /**
+     * Maximum time in milliseconds a blocking poll waits on a single shard
+     * before it tries to steal an item from the other shards again.
+     */
+    static final long STEAL_INTERVAL_MILLIS = 100;
+
+    private final String name;
+    private final PartitionService partitionService;
+    private final IQueue<E>[] shards;
+    private final AtomicInteger nextOfferShard = new AtomicInteger();
+    private final AtomicInteger nextPollShard = new AtomicInteger();
+
+    public ShardedQueueProxy(HazelcastInstance instance, String name, int shardCount) {
+        checkNotNull(name, "Retrieving a sharded queue instance with a null name is not allowed!");
+        checkFalse(name.indexOf('@') >= 0, "Sharded queue name: " + name + " must not contain '@'!");
+        checkPositive(shardCount, "Shard count: " + shardCount + " must be positive!");
+        this.name = name;
+        this.partitionService = instance.getPartitionService();
+        this.shards = createShards(instance, name, shardCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> IQueue<E>[] createShards(HazelcastInstance instance, String name, int shardCount) {
+        String[] partitionKeys = getShardPartitionKeys(instance.getPartitionService(), name, shardCount);
+        IQueue<E>[] shards = new IQueue[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = instance.getQueue(name + '@' + partitionKeys[i]);
+        }
+        return shards;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * A sharded queue is spread over multiple partitions, so the partition
+     * key doesn't have a meaning. The name of the queue is returned.
+     */
+    @Override
+    public String getPartitionKey() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the underlying queue of the given shard.
+     */
+    IQueue<E> getShard(int shardIndex) {
+        return shards[shardIndex];
+    }
+
+    @Override
+    public void destroy() {
+        for (IQueue<E> shard : shards) {
+            shard.destroy();
+        }
+    }
+
+    /**
+     * Offers the item to the next shard in round-robin order. If that shard
+     * is full, the other shards are tried one by one.
+     */
+    @Override
+    public boolean offer(@Nonnull E e) {
+        return offer(nextShardIndex(nextOfferShard), e);
+    }
+
+    /**
+     * Offers the item to the shards without blocking, starting from the next
+     * shard in round-robin order. If all shards are full, blocks on that shard.
+     */
+    @Override
+    public void put(@Nonnull E e) throws InterruptedException {
+        int first = nextShardIndex(nextOfferShard);
+        if (!offer(first, e)) {
+            shards[first].put(e);
+        }
+    }
+
+    /**
+     * Offers the item to the shards without blocking, starting from the next
+     * shard in round-robin order. If all shards are full, waits on that shard
+     * for the given time.
+     */
+    @Override
+    public boolean offer(@Nonnull E e, long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        int first = nextShardIndex(nextOfferShard);
+        return offer(first, e) || shards[first].offer(e, timeout, unit);
+    }
+
+    private boolean offer(int first, E e) {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[(first + i) % shards.length].offer(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(@Nonnull Object key, @Nonnull E e) {
+        return shards[keyShardIndex(key)].offer(e);
+    }
+
+    @Override
+    public void put(@Nonnull Object key, @Nonnull E e) throws InterruptedException {
+        shards[keyShardIndex(key)].put(e);
+    }
+
+    @Override
+    public boolean offer(@Nonnull Object key, @Nonnull E e, long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        return shards[keyShardIndex(key)].offer(e, timeout, unit);
+    }
+
+    @Override
+    public E poll() {
+        return poll(nextShardIndex(nextPollShard));
+    }
+
+    private E poll(int first) {
+        for (int i = 0; i < shards.length; i++) {
+            E item = shards[(first + i) % shards.length].poll();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    @Override
+    public E take() throws InterruptedException {
+        E item;
+        do {
+            item = pollOrWait(STEAL_INTERVAL_MILLIS);
+        } while (item == null);
+        return item;
+    }
+
+    @Override
+    public E poll(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        long remainingMillis = max(unit.toMillis(timeout), 0);
+        long deadline = System.currentTimeMillis() + remainingMillis;
+        for (; ; ) {
+            E item = pollOrWait(min(remainingMillis, STEAL_INTERVAL_MILLIS));
+            remainingMillis = deadline - System.currentTimeMillis();
+            if (item != null || remainingMillis <= 0) {
+                return item;
+            }
+        }
+    }
+
+    /**
+     * Polls the shards without blocking, starting from the next shard in
+     * round-robin order. If all shards are empty, waits on that shard for
+     * the given time.
+     */
+    private E pollOrWait(long waitMillis) throws InterruptedException {
+        int first = nextShardIndex(nextPollShard);
+        E item = poll(first);
+        if (item != null || waitMillis <= 0) {
+            return item;
+        }
+        return shards[first].poll(waitMillis, MILLISECONDS);
+    }
+
+    @Override
+    public E peek() {
+        int first = nextShardIndex(nextPollShard);
+        for (int i = 0; i < shards.length; i++) {
+            E item = shards[(first + i) % shards.length].peek();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        long remainingCapacity = 0;
+        for (IQueue<E> shard : shards) {
+            remainingCapacity += shard.remainingCapacity();
+        }
+        return (int) min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (IQueue<E> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (IQueue<E> shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (IQueue<E> shard : shards) {
+            if (shard.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (IQueue<E> shard : shards) {
+            if (shard.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull Collection<?> c) {
+        boolean changed = false;
+        for (IQueue<E> shard : shards) {
+            changed |= shard.removeAll(c);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull Collection<?> c) {
+        boolean changed = false;
+        for (IQueue<E> shard : shards) {
+            changed |= shard.retainAll(c);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        for (IQueue<E> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> c, int maxElements) {
+        int first = nextShardIndex(nextPollShard);
+        int drained = 0;
+        for (int i = 0; i < shards.length && drained < maxElements; i++) {
+            drained += shards[(first + i) % shards.length].drainTo(c, maxElements - drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the items of the shards.
+     * The iterator does not support {@link Iterator#remove()}.
+     */
+    @Nonnull
+    @Override
+    public Iterator<E> iterator() {
+        List<Iterator<E>> iterators = new ArrayList<>(shards.length);
+        for (IQueue<E> shard : shards) {
+            iterators.add(shard.iterator());
+        }
+        return new ShardedQueueIterator<>(iterators);
+    }
+
+    /**
+     * Returns the next shard of the given round-robin counter.
+     */
+    private int nextShardIndex(AtomicInteger counter) {
+        return hashToIndex(counter.getAndIncrement(), shards.length);
+    }
+
+    /**
+     * Returns the shard of the given key. The shard is derived from the
+     * partition of the key, so the same key selects the same shard on every
+     * member and client.
+     */
+    private int keyShardIndex(Object key) {
+        checkNotNull(key, "Null key is not allowed!");
+        return partitionService.getPartition(key).getPartitionId() % shards.length;
+    }
+
+    @Override
+    public String toString() {
+        return "IShardedQueue{name='" + name + "', shardCount=" + shards.length + '}';
+    }
+
+    private static final class ShardedQueueIterator<E> implements Iterator<E> {
+
+        private final List<Iterator<E>> iterators;
+        private int index;
+
+        ShardedQueueIterator(List<Iterator<E>> iterators) {
+            this.iterators = iterators;
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (; index < iterators.size(); index++) {
+                if (iterators.get(index).hasNext()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterators.get(index).next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported!");
+        }
+    }
+}
@@ -889,6 +889,8 @@ public class ConfigXmlGenerator {
         gen.open("event-journal", "enabled", c.isEnabled())
                 .node("capacity", c.getCapacity())
                 .node("time-to-live-seconds", c.getTimeToLiveSeconds())
+                .node("overflow-max-size-mb", c.getOverflowMaxSizeMb())
+                .node("overflow-time-to-live-seconds", c.getOverflowTimeToLiveSeconds())
                 .close();
     }
 
@@ -1426,6 +1428,9 @@ public class ConfigXmlGenerator {
                 .node("uncommitted-entry-count-to-reject-new-appends",
                         raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends())
                 .node("append-request-backoff-timeout-in-millis", raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis())
+                .node("append-request-max-inflight-count", raftAlgorithmConfig.getAppendRequestMaxInflightCount())
+                .node("leader-lease-enabled", raftAlgorithmConfig.isLeaderLeaseEnabled())
+                .node("leader-lease-clock-drift-bound-in-millis", raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis())
                 .close();
 
         gen.open("semaphores");
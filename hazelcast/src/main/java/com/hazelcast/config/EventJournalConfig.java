@@ -19,9 +19,11 @@ package com.hazelcast.config;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.cluster.Versions.V4_0;
 import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
@@ -35,7 +37,7 @@ import static com.hazelcast.util.Preconditions.checkPositive;
  * This config is intended to be used with <a href="http://jet.hazelcast.org">Hazelcast Jet</a>
  * and does not expose any features in Hazelcast IMDG.
  */
-public class EventJournalConfig implements IdentifiedDataSerializable {
+public class EventJournalConfig implements IdentifiedDataSerializable, Versioned {
 
     /**
      * Default value of capacity of the event journal.
@@ -45,10 +47,21 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
      * Default value for the time to live property.
      */
     public static final int DEFAULT_TTL_SECONDS = 0;
+    /**
+     * Default value of the maximum size of the overflow. The overflow is
+     * disabled by default.
+     */
+    public static final int DEFAULT_OVERFLOW_MAX_SIZE_MB = 0;
+    /**
+     * Default value for the overflow time to live property.
+     */
+    public static final int DEFAULT_OVERFLOW_TTL_SECONDS = 0;
 
     private boolean enabled;
     private int capacity = DEFAULT_CAPACITY;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
+    private int overflowMaxSizeMb = DEFAULT_OVERFLOW_MAX_SIZE_MB;
+    private int overflowTimeToLiveSeconds = DEFAULT_OVERFLOW_TTL_SECONDS;
 
     public EventJournalConfig() {
     }
@@ -64,6 +77,8 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         this.enabled = config.enabled;
         this.capacity = config.capacity;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
+        this.overflowMaxSizeMb = config.overflowMaxSizeMb;
+        this.overflowTimeToLiveSeconds = config.overflowTimeToLiveSeconds;
     }
 
     /**
@@ -133,12 +148,80 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Gets the maximum size of the overflow of the event journal in megabytes.
+     *
+     * @return the maximum size of the overflow in megabytes. Returns 0 if the overflow is disabled.
+     * @see #setOverflowMaxSizeMb(int)
+     */
+    public int getOverflowMaxSizeMb() {
+        return overflowMaxSizeMb;
+    }
+
+    /**
+     * Sets the maximum size of the overflow of the event journal in megabytes.
+     * <p>
+     * When the overflow is enabled, the events which are overwritten in the
+     * in-memory journal are moved to memory-mapped segment files in the local
+     * file system instead of being discarded, so readers can still read them.
+     * When the overflow exceeds its maximum size, its oldest segments are
+     * removed. The directory of the segment files is configured with the
+     * {@code hazelcast.event.journal.overflow.dir} property.
+     * <p>
+     * <b>NOTE</b>
+     * Like the capacity, the maximum size is shared equally between all
+     * partitions. The overflow is local to a member and isn't replicated, so
+     * the overflowed events of a partition are lost when the partition
+     * migrates.
+     * <p>
+     * The overflow can be disabled by setting overflowMaxSizeMb to 0.
+     *
+     * @param overflowMaxSizeMb the maximum size of the overflow in megabytes
+     * @return the updated config
+     * @throws IllegalArgumentException if overflowMaxSizeMb smaller than 0.
+     */
+    public EventJournalConfig setOverflowMaxSizeMb(int overflowMaxSizeMb) {
+        this.overflowMaxSizeMb = checkNotNegative(overflowMaxSizeMb, "overflowMaxSizeMb can't be smaller than 0");
+        return this;
+    }
+
+    /**
+     * Gets the time to live of the events in the overflow in seconds.
+     *
+     * @return the time to live in seconds. Returns 0 if the events in the overflow don't expire.
+     */
+    public int getOverflowTimeToLiveSeconds() {
+        return overflowTimeToLiveSeconds;
+    }
+
+    /**
+     * Sets the time to live of the events in the overflow in seconds.
+     * Events are removed from the overflow in whole segments, once the
+     * newest event of a segment has been in the overflow for longer than the
+     * time to live.
+     * <p>
+     * Time to live can be disabled by setting overflowTimeToLiveSeconds to 0.
+     * This means that the events in the overflow are only removed when the
+     * overflow exceeds its maximum size.
+     *
+     * @param overflowTimeToLiveSeconds the time to live period in seconds
+     * @return the updated config
+     * @throws IllegalArgumentException if overflowTimeToLiveSeconds smaller than 0.
+     */
+    public EventJournalConfig setOverflowTimeToLiveSeconds(int overflowTimeToLiveSeconds) {
+        this.overflowTimeToLiveSeconds = checkNotNegative(overflowTimeToLiveSeconds,
+                "overflowTimeToLiveSeconds can't be smaller than 0");
+        return this;
+    }
+
     @Override
     public String toString() {
         return "EventJournalConfig{"
                 + "enabled=" + enabled
                 + ", capacity=" + capacity
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
+                + ", overflowMaxSizeMb=" + overflowMaxSizeMb
+                + ", overflowTimeToLiveSeconds=" + overflowTimeToLiveSeconds
                 + '}';
     }
 
@@ -187,6 +270,11 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         out.writeBoolean(enabled);
         out.writeInt(capacity);
         out.writeInt(timeToLiveSeconds);
+        // RU_COMPAT_3_12
+        if (out.getVersion().isGreaterOrEqual(V4_0)) {
+            out.writeInt(overflowMaxSizeMb);
+            out.writeInt(overflowTimeToLiveSeconds);
+        }
     }
 
     @Override
@@ -194,6 +282,11 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         enabled = in.readBoolean();
         capacity = in.readInt();
         timeToLiveSeconds = in.readInt();
+        // RU_COMPAT_3_12
+        if (in.getVersion().isGreaterOrEqual(V4_0)) {
+            overflowMaxSizeMb = in.readInt();
+            overflowTimeToLiveSeconds = in.readInt();
+        }
     }
 
     @Override
@@ -212,8 +305,13 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         if (capacity != that.capacity) {
             return false;
         }
-        return timeToLiveSeconds == that.timeToLiveSeconds;
-
+        if (timeToLiveSeconds != that.timeToLiveSeconds) {
+            return false;
+        }
+        if (overflowMaxSizeMb != that.overflowMaxSizeMb) {
+            return false;
+        }
+        return overflowTimeToLiveSeconds == that.overflowTimeToLiveSeconds;
     }
 
     @Override
@@ -221,6 +319,8 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         int result = (enabled ? 1 : 0);
         result = 31 * result + capacity;
         result = 31 * result + timeToLiveSeconds;
+        result = 31 * result + overflowMaxSizeMb;
+        result = 31 * result + overflowTimeToLiveSeconds;
         return result;
     }
 
@@ -240,6 +340,16 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
             throw new UnsupportedOperationException("This config is read-only");
         }
 
+        @Override
+        public EventJournalConfig setOverflowMaxSizeMb(int overflowMaxSizeMb) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public EventJournalConfig setOverflowTimeToLiveSeconds(int overflowTimeToLiveSeconds) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
         @Override
         public EventJournalConfig setEnabled(boolean enabled) {
             throw new UnsupportedOperationException("This config is read-only");
@@ -2867,6 +2867,12 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 raftAlgorithmConfig.setMaxMissedLeaderHeartbeatCount(Integer.parseInt(value));
             } else if ("append-request-max-entry-count".equals(nodeName)) {
                 raftAlgorithmConfig.setAppendRequestMaxEntryCount(Integer.parseInt(value));
+            } else if ("append-request-max-inflight-count".equals(nodeName)) {
+                raftAlgorithmConfig.setAppendRequestMaxInflightCount(Integer.parseInt(value));
+            } else if ("leader-lease-enabled".equals(nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseEnabled(getBooleanValue(value));
+            } else if ("leader-lease-clock-drift-bound-in-millis".equals(nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseClockDriftBoundInMillis(Long.parseLong(value));
             } else if ("commit-index-advance-count-to-snapshot".equals(nodeName)) {
                 raftAlgorithmConfig.setCommitIndexAdvanceCountToSnapshot(Integer.parseInt(value));
             } else if ("uncommitted-entry-count-to-reject-new-appends".equals(nodeName)) {
@@ -47,6 +47,11 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * large tree depths if the latency of the comparison operation is high.
  * The default depth is {@value DEFAULT_DEPTH}.
  * <p>
+ * When enabled for a map, the merkle trees are also used by the partition
+ * anti-entropy mechanism: a backup replica which is found to be out of sync
+ * with the primary replica receives only the entries belonging to the merkle
+ * tree leaves that differ, instead of the whole partition data of the map.
+ * <p>
  * See https://en.wikipedia.org/wiki/Merkle_tree.
  *
  * @since 3.11
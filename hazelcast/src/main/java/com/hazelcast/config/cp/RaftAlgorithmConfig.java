@@ -16,6 +16,7 @@
 
 package com.hazelcast.config.cp;
 
+import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
@@ -63,6 +64,18 @@ public class RaftAlgorithmConfig {
      */
     public static final long DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS = 100;
 
+    /**
+     * Default max number of in-flight append requests per follower.
+     * See {@link #appendRequestMaxInflightCount}.
+     */
+    public static final int DEFAULT_APPEND_REQUEST_MAX_INFLIGHT_COUNT = 4;
+
+    /**
+     * Default max clock drift in millis assumed for the leader lease.
+     * See {@link #leaderLeaseClockDriftBoundInMillis}.
+     */
+    public static final long DEFAULT_LEADER_LEASE_CLOCK_DRIFT_BOUND_IN_MILLIS = 500;
+
     /**
      * Leader election timeout in milliseconds. If a candidate cannot win
      * majority of the votes in time, a new election round is initiated.
@@ -107,6 +120,37 @@ public class RaftAlgorithmConfig {
      */
     private long appendRequestBackoffTimeoutInMillis = DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS;
 
+    /**
+     * Maximum number of append requests carrying log entries that the leader
+     * sends to a follower without waiting for the responses. When the limit
+     * is reached, the leader waits for a response of the follower or
+     * the append request backoff timeout before sending a new one.
+     * Pipelining kicks in once the leader has learned the match index
+     * of the follower. If it is set to 1, the leader waits for the response
+     * of every append request.
+     */
+    private int appendRequestMaxInflightCount = DEFAULT_APPEND_REQUEST_MAX_INFLIGHT_COUNT;
+
+    /**
+     * Enables the leader lease for linearizable queries. Once the majority
+     * of the followers have confirmed the leadership for a batch of
+     * linearizable queries, the leader runs the following linearizable
+     * queries locally until the lease expires. Since followers do not vote
+     * for another candidate until the leader election timeout passes after
+     * the last append request of the leader, the lease is valid for
+     * the leader election timeout minus {@link #leaderLeaseClockDriftBoundInMillis}.
+     */
+    private boolean leaderLeaseEnabled;
+
+    /**
+     * Maximum clock drift in milliseconds between the Raft group members
+     * during a leader election timeout. It shortens the leader lease, so
+     * the leader stops running queries locally before any follower can vote
+     * for another candidate. It must be smaller than the leader election
+     * timeout for the leader lease to be used.
+     */
+    private long leaderLeaseClockDriftBoundInMillis = DEFAULT_LEADER_LEASE_CLOCK_DRIFT_BOUND_IN_MILLIS;
+
     public RaftAlgorithmConfig() {
     }
 
@@ -118,6 +162,9 @@ public class RaftAlgorithmConfig {
         this.uncommittedEntryCountToRejectNewAppends = config.uncommittedEntryCountToRejectNewAppends;
         this.maxMissedLeaderHeartbeatCount = config.maxMissedLeaderHeartbeatCount;
         this.appendRequestBackoffTimeoutInMillis = config.appendRequestBackoffTimeoutInMillis;
+        this.appendRequestMaxInflightCount = config.appendRequestMaxInflightCount;
+        this.leaderLeaseEnabled = config.leaderLeaseEnabled;
+        this.leaderLeaseClockDriftBoundInMillis = config.leaderLeaseClockDriftBoundInMillis;
     }
 
     public long getLeaderElectionTimeoutInMillis() {
@@ -194,4 +241,35 @@ public class RaftAlgorithmConfig {
         this.appendRequestBackoffTimeoutInMillis = appendRequestBackoffTimeoutInMillis;
         return this;
     }
+
+    public int getAppendRequestMaxInflightCount() {
+        return appendRequestMaxInflightCount;
+    }
+
+    public RaftAlgorithmConfig setAppendRequestMaxInflightCount(int appendRequestMaxInflightCount) {
+        checkPositive(appendRequestMaxInflightCount, "append request max inflight count: " + appendRequestMaxInflightCount
+                + " must be positive!");
+        this.appendRequestMaxInflightCount = appendRequestMaxInflightCount;
+        return this;
+    }
+
+    public boolean isLeaderLeaseEnabled() {
+        return leaderLeaseEnabled;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+        return this;
+    }
+
+    public long getLeaderLeaseClockDriftBoundInMillis() {
+        return leaderLeaseClockDriftBoundInMillis;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseClockDriftBoundInMillis(long leaderLeaseClockDriftBoundInMillis) {
+        checkNotNegative(leaderLeaseClockDriftBoundInMillis, "leader lease clock drift bound: "
+                + leaderLeaseClockDriftBoundInMillis + " must not be negative!");
+        this.leaderLeaseClockDriftBoundInMillis = leaderLeaseClockDriftBoundInMillis;
+        return this;
+    }
 }
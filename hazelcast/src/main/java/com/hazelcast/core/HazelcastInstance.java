@@ -19,6 +19,7 @@ package com.hazelcast.core;
 import com.hazelcast.cardinality.CardinalityEstimator;
 import com.hazelcast.collection.IList;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.client.api.Client;
 import com.hazelcast.client.api.ClientService;
@@ -44,6 +45,7 @@ import com.hazelcast.replicatedmap.ReplicatedMap;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.transaction.HazelcastXAResource;
 import com.hazelcast.transaction.TransactionContext;
@@ -84,6 +86,19 @@ public interface HazelcastInstance {
      */
     <E> IQueue<E> getQueue(String name);
 
+    /**
+     * Creates or returns the sharded distributed queue instance with the specified
+     * name and shard count. The items of the queue are spread over the given
+     * number of {@link IQueue} shards living in different partitions.
+     *
+     * @param name       name of the sharded distributed queue
+     * @param shardCount number of shards of the queue
+     * @return sharded distributed queue instance with the specified name and shard count
+     * @see IShardedQueue
+     * @since 4.0
+     */
+    <E> IShardedQueue<E> getShardedQueue(String name, int shardCount);
+
     /**
      * Creates or returns the distributed topic instance with the specified name.
      *
@@ -182,6 +197,19 @@ public interface HazelcastInstance {
      */
     <E> ITopic<E> getReliableTopic(String name);
 
+    /**
+     * Creates or returns the partitioned reliable topic instance with the specified
+     * name and partition count. The messages of the topic are spread over the given
+     * number of reliable topics living in different partitions.
+     *
+     * @param name           name of the partitioned reliable topic
+     * @param partitionCount number of partitions of the topic
+     * @return the partitioned reliable topic
+     * @see IPartitionedTopic
+     * @since 4.0
+     */
+    <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount);
+
     /**
      * Returns the Cluster that this Hazelcast instance is part of.
      * Cluster interface allows you to add a listener for membership
@@ -48,7 +48,12 @@ public enum QueryPolicy {
      * Query Raft state in a linearizable manner, either by appending
      * a log entry to Raft log or using the algorithm defined in
      * <i>6.4 Processing read-only queries more efficiently</i>
-     * section of Raft dissertation.
+     * section of Raft dissertation. The queries waiting for the same
+     * heartbeat round are executed together once the majority confirms
+     * the leadership. If the leader lease is enabled, the leader executes
+     * the queries locally until the lease expires after such a round.
+     *
+     * @see com.hazelcast.config.cp.RaftAlgorithmConfig#isLeaderLeaseEnabled()
      */
     LINEARIZABLE
 }
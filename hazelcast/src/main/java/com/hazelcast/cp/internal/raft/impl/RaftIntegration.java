@@ -170,6 +170,15 @@ public interface RaftIntegration {
      */
     void execute(Runnable task);
 
+    /**
+     * Submits the task to underlying task execution mechanism. Unlike
+     * {@link #execute(Runnable)}, the task is never run by the caller
+     * thread. It is run after the tasks that have already been submitted.
+     *
+     * @param task the task
+     */
+    void submit(Runnable task);
+
     /**
      * Schedules the task on underlying scheduling mechanism.
      *
@@ -80,6 +80,7 @@ import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.UPDATING_GROUP_
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.FOLLOWER;
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -104,16 +105,21 @@ public class RaftNodeImpl implements RaftNode {
     private final int leaderElectionTimeout;
     private final int maxUncommittedEntryCount;
     private final int appendRequestMaxEntryCount;
+    private final int appendRequestMaxInflightCount;
     private final int commitIndexAdvanceCountToSnapshot;
     private final int maxMissedLeaderHeartbeatCount;
     private final long appendRequestBackoffTimeoutInMillis;
     private final int maxNumberOfLogsToKeepAfterSnapshot;
+    private final long leaderLeaseDurationInMillis;
     private final Runnable appendRequestBackoffResetTask;
+    private final Runnable flushTask;
 
     private long lastAppendEntriesTimestamp;
     private boolean appendRequestBackoffResetTaskScheduled;
+    private boolean flushTaskSubmitted;
     private volatile RaftNodeStatus status = ACTIVE;
 
+    @SuppressWarnings("checkstyle:executablestatementcount")
     public RaftNodeImpl(CPGroupId groupId, Endpoint localMember, Collection<Endpoint> members,
                         RaftAlgorithmConfig raftAlgorithmConfig, RaftIntegration raftIntegration) {
         checkNotNull(groupId);
@@ -124,16 +130,31 @@ public class RaftNodeImpl implements RaftNode {
         this.localMember = localMember;
         this.maxUncommittedEntryCount = raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends();
         this.appendRequestMaxEntryCount = raftAlgorithmConfig.getAppendRequestMaxEntryCount();
+        this.appendRequestMaxInflightCount = raftAlgorithmConfig.getAppendRequestMaxInflightCount();
         this.commitIndexAdvanceCountToSnapshot = raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot();
         this.leaderElectionTimeout = (int) raftAlgorithmConfig.getLeaderElectionTimeoutInMillis();
         this.heartbeatPeriodInMillis = raftAlgorithmConfig.getLeaderHeartbeatPeriodInMillis();
         this.maxMissedLeaderHeartbeatCount = raftAlgorithmConfig.getMaxMissedLeaderHeartbeatCount();
         this.maxNumberOfLogsToKeepAfterSnapshot = (int) (commitIndexAdvanceCountToSnapshot * RATIO_TO_KEEP_LOGS_AFTER_SNAPSHOT);
         this.appendRequestBackoffTimeoutInMillis = raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis();
+        this.leaderLeaseDurationInMillis = getLeaderLeaseDurationInMillis(raftAlgorithmConfig);
         int logCapacity = commitIndexAdvanceCountToSnapshot + maxUncommittedEntryCount + maxNumberOfLogsToKeepAfterSnapshot;
         this.state = new RaftState(groupId, localMember, members, logCapacity);
         this.logger = getLogger(RaftNode.class);
         this.appendRequestBackoffResetTask = new AppendRequestBackoffResetTask();
+        this.flushTask = new FlushTask();
+    }
+
+    private static long getLeaderLeaseDurationInMillis(RaftAlgorithmConfig raftAlgorithmConfig) {
+        if (!raftAlgorithmConfig.isLeaderLeaseEnabled()) {
+            return 0;
+        }
+
+        // followers do not vote for another candidate until the leader election timeout passes
+        // after the last append request of the leader, but their clocks can be a bit faster
+        long duration = raftAlgorithmConfig.getLeaderElectionTimeoutInMillis()
+                - raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis();
+        return max(duration, 0);
     }
 
     public ILogger getLogger(Class clazz) {
@@ -397,6 +418,31 @@ public class RaftNodeImpl implements RaftNode {
         return queryState.queryCount() < maxUncommittedEntryCount;
     }
 
+    /**
+     * Returns true if the leader lease is enabled and has not expired yet.
+     * While the leader lease is valid, no other node can become the leader,
+     * so linearizable queries can be run locally without confirming
+     * the leadership with the followers.
+     *
+     * @see RaftAlgorithmConfig#isLeaderLeaseEnabled()
+     */
+    public boolean isLeaderLeaseValid() {
+        LeaderState leaderState = state.leaderState();
+        return leaderLeaseDurationInMillis > 0 && leaderState != null
+                && leaderState.isLeaseValid(Clock.currentTimeMillis());
+    }
+
+    /**
+     * Extends the leader lease after the majority of the followers
+     * acknowledge the query round started at the given time.
+     * This method can be invoked only when the local Raft node is the leader.
+     */
+    public void extendLeaderLease(long queryRoundStartTimestamp) {
+        if (leaderLeaseDurationInMillis > 0) {
+            state.leaderState().extendLease(queryRoundStartTimestamp + leaderLeaseDurationInMillis);
+        }
+    }
+
     /**
      * Returns true if the linearizable read optimization is enabled.
      */
@@ -457,12 +503,35 @@ public class RaftNodeImpl implements RaftNode {
         updateLastAppendEntriesTimestamp();
     }
 
+    /**
+     * Submits a task to broadcast append-entries requests for the newly
+     * appended log entries, if not submitted already.
+     * <p>
+     * The task runs after the tasks that are already waiting to be executed
+     * by this node. This way, the entries appended by multiple consecutive
+     * {@link ReplicateTask}s are sent to the followers in a single
+     * append-entries request instead of one request per entry.
+     */
+    public void flushAppendRequests() {
+        if (flushTaskSubmitted) {
+            return;
+        }
+
+        flushTaskSubmitted = true;
+        raftIntegration.submit(flushTask);
+    }
+
     /**
      * Sends an append-entries request to the follower member.
      * <p>
      * Log entries between follower's known nextIndex and latest appended entry index are sent in a batch.
      * Batch size can be {@link RaftAlgorithmConfig#getAppendRequestMaxEntryCount()} at most.
      * <p>
+     * Once the leader learns the matchIndex of the follower, it does not wait for the response
+     * of an append-entries request before sending the next batch of log entries. At most
+     * {@link RaftAlgorithmConfig#getAppendRequestMaxInflightCount()} append-entries requests
+     * can wait for their responses at the same time.
+     * <p>
      * If follower's nextIndex is behind the latest snapshot index, then {@link InstallSnapshot} request is sent.
      * <p>
      * If leader doesn't know follower's matchIndex (if {@code matchIndex == 0}), then an empty append-entries is sent
@@ -530,6 +599,12 @@ public class RaftNodeImpl implements RaftNode {
                 // the leader should begin to send the actual entries
                 long end = min(nextIndex + appendRequestMaxEntryCount, raftLog.lastLogOrSnapshotIndex());
                 entries = raftLog.getEntriesBetween(nextIndex, end);
+                if (appendRequestMaxInflightCount > 1) {
+                    // The next append request will continue from the entry after the last one sent here.
+                    // We back off only when the follower has too many append requests to respond.
+                    followerState.appendRequestSent(end);
+                    setAppendRequestBackoff = followerState.inflightAppendRequestCount() >= appendRequestMaxInflightCount;
+                }
             } else {
                 // The follower has caught up with the leader. Sending an empty append request as a heartbeat...
                 entries = new LogEntry[0];
@@ -1074,6 +1149,10 @@ public class RaftNodeImpl implements RaftNode {
                     if (followerState.completeAppendRequestBackoffRound()) {
                         // This follower has not sent a response to the last append request.
                         // Send another append request
+                        if (followerState.inflightAppendRequestCount() > 0) {
+                            // The in-flight append requests may be lost. Start again after the match index
+                            followerState.resetInflightAppendRequests();
+                        }
                         sendAppendRequest(entry.getKey());
                     }
                     // Schedule the task again, we still have backoff flag set followers
@@ -1082,4 +1161,24 @@ public class RaftNodeImpl implements RaftNode {
             }
         }
     }
+
+    /**
+     * Broadcasts append-entries requests for the log entries
+     * appended since the last run of this task.
+     *
+     * @see #flushAppendRequests()
+     */
+    private class FlushTask extends RaftNodeStatusAwareTask {
+        FlushTask() {
+            super(RaftNodeImpl.this);
+        }
+
+        @Override
+        protected void innerRun() {
+            flushTaskSubmitted = false;
+            if (state.role() == LEADER) {
+                broadcastAppendRequest();
+            }
+        }
+    }
 }
@@ -31,6 +31,8 @@ import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
  * or {@link InstallSnapshotHandlerTask} after an install snapshot request.
  * <p>
  * Decrements {@code nextIndex} of the follower by 1 if the response is valid.
+ * If the follower has missed one of the in-flight append requests, its
+ * {@code nextIndex} is moved back to the entry following its {@code matchIndex}.
  * <p>
  * See <i>5.3 Log replication</i> section of
  * <i>In Search of an Understandable Consensus Algorithm</i>
@@ -81,6 +83,19 @@ public class AppendFailureResponseHandlerTask extends AbstractResponseHandlerTas
         long nextIndex = followerState.nextIndex();
         long matchIndex = followerState.matchIndex();
 
+        if (resp.expectedNextIndex() <= nextIndex && followerState.inflightAppendRequestCount() > 0) {
+            // The follower has rejected one of the in-flight append requests,
+            // hence it will reject the following ones too. Starting again after the match index...
+            followerState.resetAppendRequestBackoff();
+            followerState.resetInflightAppendRequests();
+
+            if (logger.isFineEnabled()) {
+                logger.fine("Resetting next index: " + followerState.nextIndex() + " for follower: " + resp.follower()
+                        + " after in-flight append requests are rejected");
+            }
+            return true;
+        }
+
         if (resp.expectedNextIndex() == nextIndex) {
             // Received a response for the last append request. Resetting the flag...
             followerState.resetAppendRequestBackoff();
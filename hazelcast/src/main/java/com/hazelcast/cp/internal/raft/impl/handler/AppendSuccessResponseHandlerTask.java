@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
+import static java.lang.Math.max;
 import static java.util.Arrays.sort;
 
 /**
@@ -103,8 +104,10 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
         if (followerLastLogIndex > matchIndex) {
             // Received a response for the last append request. Resetting the flag...
             followerState.resetAppendRequestBackoff();
+            followerState.appendResponseReceived();
 
-            long newNextIndex = followerLastLogIndex + 1;
+            // next index can be already ahead if there are in-flight append requests
+            long newNextIndex = max(followerState.nextIndex(), followerLastLogIndex + 1);
             followerState.matchIndex(followerLastLogIndex);
             followerState.nextIndex(newNextIndex);
 
@@ -198,6 +201,8 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
                     + ", query round: " + queryState.queryRound());
         }
 
+        raftNode.extendLeaderLease(queryState.queryRoundStartTimestamp());
+
         for (Tuple2<Object, SimpleCompletableFuture> t : operations) {
             raftNode.runQuery(t.element1, t.element2);
         }
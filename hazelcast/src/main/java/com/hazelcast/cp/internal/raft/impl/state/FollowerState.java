@@ -28,6 +28,9 @@ import static java.lang.Math.min;
  * on server (initialized to 0, increases monotonically)</li>
  * <li>{@code appendRequestBackoff}: a boolean flag indicating that leader is still
  * waiting for a response to the last sent append request</li>
+ * <li>{@code inflightAppendRequestCount}: number of append requests carrying
+ * log entries that are sent to the follower while the responses of the former
+ * ones are not received yet</li>
  * </ul>
  */
 public class FollowerState {
@@ -42,6 +45,8 @@ public class FollowerState {
 
     private int nextBackoffPower;
 
+    private int inflightAppendRequestCount;
+
     FollowerState(long matchIndex, long nextIndex) {
         this.matchIndex = matchIndex;
         this.nextIndex = nextIndex;
@@ -119,9 +124,48 @@ public class FollowerState {
         nextBackoffPower = 0;
     }
 
+    /**
+     * Returns the number of append requests sent to the follower
+     * without receiving their responses yet.
+     */
+    public int inflightAppendRequestCount() {
+        return inflightAppendRequestCount;
+    }
+
+    /**
+     * Registers an append request carrying log entries up to
+     * {@code lastEntryIndex}. The next index is advanced optimistically,
+     * so that the next append request continues from the following entry
+     * without waiting for the response of this one.
+     */
+    public void appendRequestSent(long lastEntryIndex) {
+        nextIndex = lastEntryIndex + 1;
+        inflightAppendRequestCount++;
+    }
+
+    /**
+     * Registers the response of an append request sent to the follower.
+     */
+    public void appendResponseReceived() {
+        if (inflightAppendRequestCount > 0) {
+            inflightAppendRequestCount--;
+        }
+    }
+
+    /**
+     * Discards the in-flight append requests and moves the next index
+     * back to the entry following the match index. It is called when
+     * the follower misses one of the in-flight append requests.
+     */
+    public void resetInflightAppendRequests() {
+        inflightAppendRequestCount = 0;
+        nextIndex = matchIndex + 1;
+    }
+
     @Override
     public String toString() {
         return "FollowerState{" + "matchIndex=" + matchIndex + ", nextIndex=" + nextIndex + ", backoffRound=" + backoffRound
-                + ", nextBackoffRound=" + nextBackoffRound() + '}';
+                + ", nextBackoffRound=" + nextBackoffRound() + ", inflightAppendRequestCount=" + inflightAppendRequestCount
+                + '}';
     }
 }
@@ -33,6 +33,12 @@ public class LeaderState {
     private final Map<Endpoint, FollowerState> followerStates = new HashMap<>();
     private final QueryState queryState = new QueryState();
 
+    /**
+     * The time until the leader is allowed to run linearizable queries
+     * locally without confirming its leadership with the followers.
+     */
+    private long leaseExpirationTimestamp;
+
     LeaderState(Collection<Endpoint> remoteMembers, long lastLogIndex) {
         for (Endpoint follower : remoteMembers) {
             followerStates.put(follower, new FollowerState(0L, lastLogIndex + 1));
@@ -47,6 +53,7 @@ public class LeaderState {
     public void add(Endpoint follower, long lastLogIndex) {
         assert !followerStates.containsKey(follower) : "Already known follower " + follower;
         followerStates.put(follower, new FollowerState(0L, lastLogIndex + 1));
+        resetLease();
     }
 
     /**
@@ -55,6 +62,7 @@ public class LeaderState {
     public void remove(Endpoint follower) {
         FollowerState removed = followerStates.remove(follower);
         queryState.removeAck(follower);
+        resetLease();
         assert removed != null : "Unknown follower " + follower;
     }
 
@@ -90,4 +98,31 @@ public class LeaderState {
     public long queryRound() {
         return queryState.queryRound();
     }
+
+    /**
+     * Extends the leader lease until the given timestamp,
+     * if the current lease expires earlier.
+     */
+    public void extendLease(long expirationTimestamp) {
+        if (expirationTimestamp > leaseExpirationTimestamp) {
+            leaseExpirationTimestamp = expirationTimestamp;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the leader lease has not expired
+     * at the given timestamp.
+     */
+    public boolean isLeaseValid(long timestamp) {
+        return timestamp < leaseExpirationTimestamp;
+    }
+
+    /**
+     * Invalidates the leader lease. It is called when the group members
+     * change, since the majority that confirmed the lease may not be
+     * a majority of the new members.
+     */
+    public void resetLease() {
+        leaseExpirationTimestamp = 0;
+    }
 }
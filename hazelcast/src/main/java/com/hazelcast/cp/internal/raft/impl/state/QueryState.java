@@ -19,6 +19,7 @@ package com.hazelcast.cp.internal.raft.impl.state;
 import com.hazelcast.cluster.Endpoint;
 import com.hazelcast.cp.internal.util.Tuple2;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
+import com.hazelcast.util.Clock;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -61,6 +62,14 @@ public class QueryState {
      */
     private long queryRound;
 
+    /**
+     * The time when the current query round is started. Since the followers
+     * acknowledge the append requests sent after this time, the leader is
+     * known to be the leader at this time once the majority acknowledges
+     * the current query round.
+     */
+    private long queryRoundStartTimestamp;
+
     /**
      * Queries waiting to be executed.
      */
@@ -91,6 +100,7 @@ public class QueryState {
         int size = operations.size();
         if (size == 1) {
             queryRound++;
+            queryRoundStartTimestamp = Clock.currentTimeMillis();
         }
 
         return size;
@@ -137,6 +147,13 @@ public class QueryState {
         return queryRound;
     }
 
+    /**
+     * Returns the time when the current query round is started.
+     */
+    public long queryRoundStartTimestamp() {
+        return queryRoundStartTimestamp;
+    }
+
     /**
      * Returns {@code true} if there are queries waiting and acks are received
      * from the majority. Fails with {@link IllegalStateException} if
@@ -122,6 +122,15 @@ public class QueryTask implements Runnable {
             return;
         }
 
+        if (raftNode.isLeaderLeaseValid()) {
+            // no other node can become the leader until the lease expires
+            if (logger.isFineEnabled()) {
+                logger.fine("Querying: " + operation + " with the leader lease in term: " + state.term());
+            }
+            raftNode.runQuery(operation, resultFuture);
+            return;
+        }
+
         long commitIndex = state.commitIndex();
         QueryState queryState = state.leaderState().queryState();
 
@@ -130,7 +139,8 @@ public class QueryTask implements Runnable {
         }
 
         if (queryState.addQuery(commitIndex, operation, resultFuture) == 1) {
-            raftNode.broadcastAppendRequest();
+            // the queries that are already waiting to be executed by the node join this query round as well
+            raftNode.flushAppendRequests();
         }
     }
 
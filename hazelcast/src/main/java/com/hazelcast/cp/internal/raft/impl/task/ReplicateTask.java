@@ -35,7 +35,9 @@ import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
 
 /**
  * ReplicateTask is executed to append an operation to Raft log
- * and replicate the new entry to followers. It's scheduled by
+ * and replicate the new entry to followers. The new entry is sent to followers
+ * together with the other entries appended by the ReplicateTasks executed
+ * in a row (see {@link RaftNodeImpl#flushAppendRequests()}). It's scheduled by
  * {@link com.hazelcast.cp.internal.raft.impl.RaftNode#replicate(Object)}
  * or by {@link MembershipChangeTask} for membership changes.
  * <p>
@@ -94,7 +96,7 @@ public class ReplicateTask implements Runnable {
 
             preApplyRaftGroupCmd(newEntryLogIndex, operation);
 
-            raftNode.broadcastAppendRequest();
+            raftNode.flushAppendRequests();
         } catch (Throwable t) {
             logger.severe(operation + " could not be replicated to leader: " + raftNode.getLocalMember(), t);
             resultFuture.setResult(new CPSubsystemException("Internal failure", raftNode.getLeader(), t));
@@ -55,6 +55,13 @@ public abstract class AbstractCRDTReplicationOperation<T extends IdentifiedDataS
         this.replicationData = replicationData;
     }
 
+    /**
+     * Returns the map from CRDT name to CRDT state to replicate.
+     */
+    protected Map<String, T> getReplicationData() {
+        return replicationData;
+    }
+
     @Override
     public void run() throws Exception {
         final CRDTReplicationAwareService<T> service = getService();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.crdt;
 
+import com.hazelcast.crdt.pncounter.PNCounterDeltaReplicationOperation;
 import com.hazelcast.crdt.pncounter.PNCounterImpl;
 import com.hazelcast.crdt.pncounter.PNCounterReplicationOperation;
 import com.hazelcast.crdt.pncounter.operations.AddOperation;
@@ -45,6 +46,8 @@ public final class CRDTDataSerializerHook implements DataSerializerHook {
     public static final int PN_COUNTER_GET_OPERATION = 4;
     /** The constant for the PNCounter {@link CRDTTimestampedLong} */
     public static final int CRDT_TIMESTAMPED_LONG = 5;
+    /** The (de)serialization constant for a PNCounter delta replication operation */
+    public static final int PN_COUNTER_DELTA_REPLICATION = 6;
 
     @Override
     public int getFactoryId() {
@@ -67,6 +70,8 @@ public final class CRDTDataSerializerHook implements DataSerializerHook {
                         return new GetOperation();
                     case CRDT_TIMESTAMPED_LONG:
                         return new CRDTTimestampedLong();
+                    case PN_COUNTER_DELTA_REPLICATION:
+                        return new PNCounterDeltaReplicationOperation();
                     default:
                         return null;
                 }
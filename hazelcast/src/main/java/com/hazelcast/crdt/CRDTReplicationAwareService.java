@@ -38,6 +38,10 @@ public interface CRDTReplicationAwareService<T> {
      * be of the same type.
      * A return value of {@code null} means that there should not be any
      * replication operation.
+     * <p>
+     * The replication operation may respond with a collection of CRDT names
+     * for which the target needs the whole state. The vector clocks of these
+     * CRDTs are then not passed to the next invocation of this method.
      *
      * @param lastReplicatedVectorClock last successfully replicated vector clock
      * @param targetIndex               the index of the replication target in
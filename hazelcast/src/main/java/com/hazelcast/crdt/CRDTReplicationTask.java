@@ -25,6 +25,7 @@ import com.hazelcast.spi.impl.operationservice.OperationService;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -110,9 +111,10 @@ class CRDTReplicationTask implements Runnable {
         }
         try {
             logger.finest("Replicating " + service.getName() + " to " + target);
-            operationService.invokeOnTarget(null, replicationOperation.getOperation(), target.getAddress()).join();
+            final Object response = operationService
+                    .invokeOnTarget(null, replicationOperation.getOperation(), target.getAddress()).join();
             replicationMigrationService.setReplicatedVectorClocks(service.getName(), target.getUuid(),
-                    replicationOperation.getVectorClocks());
+                    getReplicatedVectorClocks(replicationOperation, response));
         } catch (Exception e) {
             if (logger.isFineEnabled()) {
                 logger.fine("Failed replication of " + service.getName() + " for target " + target, e);
@@ -122,6 +124,27 @@ class CRDTReplicationTask implements Runnable {
         }
     }
 
+    /**
+     * Returns the vector clocks of the CRDT states which were successfully
+     * replicated by the given operation. The replication operation may
+     * respond with a collection of CRDT names for which the target needs the
+     * whole state; these CRDTs are treated as never replicated to the target.
+     *
+     * @param replicationOperation the replication operation
+     * @param response             the response of the replication operation
+     * @return the successfully replicated vector clocks
+     */
+    private Map<String, VectorClock> getReplicatedVectorClocks(CRDTReplicationContainer replicationOperation,
+                                                               Object response) {
+        final Map<String, VectorClock> vectorClocks = replicationOperation.getVectorClocks();
+        if (!(response instanceof Collection) || ((Collection) response).isEmpty()) {
+            return vectorClocks;
+        }
+        final Map<String, VectorClock> replicatedVectorClocks = new HashMap<String, VectorClock>(vectorClocks);
+        replicatedVectorClocks.keySet().removeAll((Collection) response);
+        return replicatedVectorClocks;
+    }
+
     /**
      * Returns the index of the {@code member} in the membership list containing
      * only data members.
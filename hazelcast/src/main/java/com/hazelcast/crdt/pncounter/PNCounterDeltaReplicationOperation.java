@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.crdt.pncounter;
+
+import com.hazelcast.cluster.impl.VectorClock;
+import com.hazelcast.crdt.AbstractCRDTReplicationOperation;
+import com.hazelcast.crdt.CRDTDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.util.MapUtil.createHashMap;
+
+/**
+ * CRDT replication operation which replicates only the changed parts of
+ * the {@link PNCounter} states to a replica.
+ * <p>
+ * Every delta is accompanied by the vector clock of the state which the
+ * sender assumes the replica already has. If the replica hasn't seen all
+ * of the updates of that vector clock (e.g. because it lost its state),
+ * the delta is still merged but the name of the PN counter is returned in
+ * the response, so the sender can replicate the whole state next time.
+ *
+ * @see PNCounterImpl#deltaSince(VectorClock)
+ * @see AbstractCRDTReplicationOperation
+ */
+public class PNCounterDeltaReplicationOperation extends AbstractCRDTReplicationOperation<PNCounterImpl> {
+    /** Map from PN counter name to the vector clock of the state the delta was created from */
+    private Map<String, VectorClock> baseVectorClocks;
+    /** Names of the PN counters for which the whole state needs to be replicated */
+    private Collection<String> staleCounters;
+
+    public PNCounterDeltaReplicationOperation() {
+    }
+
+    /**
+     * @param deltas           the map from PN counter name to the delta of its state
+     * @param baseVectorClocks the map from PN counter name to the vector clock
+     *                         of the state the delta was created from; the
+     *                         deltas without a vector clock contain the
+     *                         whole state
+     */
+    PNCounterDeltaReplicationOperation(Map<String, PNCounterImpl> deltas, Map<String, VectorClock> baseVectorClocks) {
+        super(deltas);
+        this.baseVectorClocks = baseVectorClocks;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final PNCounterService service = getService();
+        staleCounters = new ArrayList<String>();
+        for (Entry<String, PNCounterImpl> entry : getReplicationData().entrySet()) {
+            final String name = entry.getKey();
+            if (!service.mergeDelta(name, entry.getValue(), baseVectorClocks.get(name))) {
+                staleCounters.add(name);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the PN counters for which the whole state needs
+     * to be replicated.
+     */
+    @Override
+    public Object getResponse() {
+        return staleCounters;
+    }
+
+    @Override
+    public String getServiceName() {
+        return PNCounterService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getClassId() {
+        return CRDTDataSerializerHook.PN_COUNTER_DELTA_REPLICATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(baseVectorClocks.size());
+        for (Entry<String, VectorClock> entry : baseVectorClocks.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        final int size = in.readInt();
+        baseVectorClocks = createHashMap(size);
+        for (int i = 0; i < size; i++) {
+            final String name = in.readUTF();
+            final VectorClock vectorClock = in.readObject();
+            baseVectorClocks.put(name, vectorClock);
+        }
+    }
+}
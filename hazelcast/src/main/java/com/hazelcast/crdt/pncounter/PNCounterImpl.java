@@ -298,6 +298,73 @@ public class PNCounterImpl implements CRDT<PNCounterImpl>, IdentifiedDataSeriali
         }
     }
 
+    /**
+     * Returns the part of the state of this PN counter which changed after
+     * the given vector clock. The returned delta contains the counts and
+     * the logical timestamps only for the replicas whose timestamps are
+     * greater than in the given vector clock, so it can be merged into any
+     * other replica of this PN counter.
+     * <p>
+     * If the given vector clock is {@code null}, the delta contains the
+     * whole state of this PN counter.
+     *
+     * @param vectorClock the vector clock of the state already known, may be
+     *                    {@code null}
+     * @return the delta or {@code null} if the state didn't change after the
+     * given vector clock
+     */
+    public PNCounterImpl deltaSince(VectorClock vectorClock) {
+        stateReadLock.lock();
+        try {
+            PNCounterImpl delta = null;
+            for (Entry<String, Long> timestampEntry : stateVectorClock.entrySet()) {
+                final String replicaId = timestampEntry.getKey();
+                final long timestamp = timestampEntry.getValue();
+                final Long knownTimestamp = vectorClock != null ? vectorClock.getTimestampForReplica(replicaId) : null;
+                if (knownTimestamp != null && knownTimestamp >= timestamp) {
+                    continue;
+                }
+                if (delta == null) {
+                    delta = new PNCounterImpl();
+                    delta.name = name;
+                }
+                final long[] pnValues = state.get(replicaId);
+                if (pnValues != null) {
+                    delta.state.put(replicaId, new long[]{pnValues[0], pnValues[1]});
+                }
+                delta.stateVectorClock.setReplicaTimestamp(replicaId, timestamp);
+            }
+            return delta;
+        } finally {
+            stateReadLock.unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the state of this PN counter reflects all of
+     * the updates of the given vector clock, i.e. if a delta created from
+     * the state at the given vector clock can be merged into this PN counter
+     * without missing any of the earlier updates.
+     *
+     * @param vectorClock the vector clock to check against
+     * @return {@code true} if this PN counter has seen all of the updates of
+     * the given vector clock
+     */
+    public boolean hasSeen(VectorClock vectorClock) {
+        for (Entry<String, Long> timestampEntry : vectorClock.entrySet()) {
+            final long timestamp = timestampEntry.getValue();
+            if (timestamp == Long.MIN_VALUE) {
+                // a replica without any updates
+                continue;
+            }
+            final Long localTimestamp = stateVectorClock.getTimestampForReplica(timestampEntry.getKey());
+            if (localTimestamp == null || localTimestamp < timestamp) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public VectorClock getCurrentVectorClock() {
         return new VectorClock(stateVectorClock);
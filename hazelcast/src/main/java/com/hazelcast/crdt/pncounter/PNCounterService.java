@@ -82,6 +82,15 @@ public class PNCounterService implements
                 }
             });
 
+    /** Cache for replica counts */
+    private final Memoizer<String, Integer> replicaCountCache = new Memoizer<String, Integer>(
+            new ConstructorFunction<String, Integer>() {
+                @Override
+                public Integer createNew(String name) {
+                    return nodeEngine.getConfig().findPNCounterConfig(name).getReplicaCount();
+                }
+            });
+
     /** Map from PN counter name to counter statistics */
     private final ConcurrentMap<String, LocalPNCounterStatsImpl> statsMap
             = new ConcurrentHashMap<String, LocalPNCounterStatsImpl>();
@@ -156,33 +165,56 @@ public class PNCounterService implements
         counters.remove(objectName);
         statsMap.remove(objectName);
         quorumConfigCache.remove(objectName);
+        replicaCountCache.remove(objectName);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the deltas of the PN counter states which changed since the
+     * last successful replication to the target are replicated. The whole
+     * state is replicated for PN counters which haven't been replicated to
+     * the target yet.
+     *
+     * @see PNCounterImpl#deltaSince(VectorClock)
+     */
     @Override
     public CRDTReplicationContainer prepareReplicationOperation(
             Map<String, VectorClock> previouslyReplicatedVectorClocks, int targetIndex) {
         final HashMap<String, VectorClock> currentVectorClocks = new HashMap<String, VectorClock>();
-        final HashMap<String, PNCounterImpl> counters = new HashMap<String, PNCounterImpl>();
-        final Config config = nodeEngine.getConfig();
+        final HashMap<String, PNCounterImpl> deltas = new HashMap<String, PNCounterImpl>();
+        final HashMap<String, VectorClock> baseVectorClocks = new HashMap<String, VectorClock>();
 
         for (Entry<String, PNCounterImpl> counterEntry : this.counters.entrySet()) {
             final String counterName = counterEntry.getKey();
             final PNCounterImpl counter = counterEntry.getValue();
-            if (targetIndex >= config.findPNCounterConfig(counterName).getReplicaCount()) {
+            if (targetIndex >= replicaCountCache.getOrCalculate(counterName)) {
                 continue;
             }
-            final VectorClock counterCurrentVectorClock = counter.getCurrentVectorClock();
             final VectorClock counterPreviousVectorClock = previouslyReplicatedVectorClocks.get(counterName);
+            final PNCounterImpl delta = counter.deltaSince(counterPreviousVectorClock);
+            if (delta == null) {
+                // the state didn't change since the last replication
+                currentVectorClocks.put(counterName, counterPreviousVectorClock);
+                continue;
+            }
 
-            if (counterPreviousVectorClock == null || counterCurrentVectorClock.isAfter(counterPreviousVectorClock)) {
-                counters.put(counterName, counter);
+            deltas.put(counterName, delta);
+            final VectorClock counterCurrentVectorClock;
+            if (counterPreviousVectorClock != null) {
+                baseVectorClocks.put(counterName, counterPreviousVectorClock);
+                counterCurrentVectorClock = new VectorClock(counterPreviousVectorClock);
+                counterCurrentVectorClock.merge(delta.getCurrentVectorClock());
+            } else {
+                counterCurrentVectorClock = delta.getCurrentVectorClock();
             }
             currentVectorClocks.put(counterName, counterCurrentVectorClock);
         }
 
-        return counters.isEmpty()
+        return deltas.isEmpty()
                 ? null
-                : new CRDTReplicationContainer(new PNCounterReplicationOperation(counters), currentVectorClocks);
+                : new CRDTReplicationContainer(new PNCounterDeltaReplicationOperation(deltas, baseVectorClocks),
+                currentVectorClocks);
     }
 
     @Override
@@ -198,6 +230,26 @@ public class PNCounterService implements
         getLocalPNCounterStats(name).setValue(counterValue);
     }
 
+    /**
+     * Merges the delta of the PN counter state created from the state at
+     * the given vector clock into the local PN counter with the given name.
+     *
+     * @param name             the PN counter name
+     * @param delta            the delta of the PN counter state
+     * @param baseVectorClock  the vector clock of the state the delta was
+     *                         created from or {@code null} if the delta
+     *                         contains the whole state
+     * @return {@code true} if the local PN counter has seen all updates of
+     * the base vector clock, {@code false} if the whole state of the PN counter
+     * needs to be replicated
+     */
+    public boolean mergeDelta(String name, PNCounterImpl delta, VectorClock baseVectorClock) {
+        final PNCounterImpl counter = getCounter(name);
+        final boolean hasSeenBase = baseVectorClock == null || counter.hasSeen(baseVectorClock);
+        merge(name, delta);
+        return hasSeenBase;
+    }
+
     @Override
     public CRDTReplicationContainer prepareMigrationOperation(int maxConfiguredReplicaCount) {
         final HashMap<String, VectorClock> currentVectorClocks = new HashMap<String, VectorClock>();
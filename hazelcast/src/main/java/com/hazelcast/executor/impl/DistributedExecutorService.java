@@ -17,38 +17,59 @@
 package com.hazelcast.executor.impl;
 
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.ManagedContext;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalExecutorStats;
 import com.hazelcast.monitor.impl.LocalExecutorStatsImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.MemberAttributeServiceEvent;
+import com.hazelcast.spi.MembershipAwareService;
+import com.hazelcast.spi.MembershipServiceEvent;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.QuorumAwareService;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.StatisticsAwareService;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ContextMutexFactory;
 import com.hazelcast.util.MapUtil;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import static com.hazelcast.executor.impl.WorkStealingTask.sendStolenTaskResult;
+import static com.hazelcast.spi.properties.GroupProperty.EXECUTOR_WORK_STEALING_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.EXECUTOR_WORK_STEALING_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
+import static com.hazelcast.util.UuidUtil.newUnsecureUuidString;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
-public class DistributedExecutorService implements ManagedService, RemoteService,
+@SuppressWarnings("checkstyle:methodcount")
+public class DistributedExecutorService implements ManagedService, RemoteService, MembershipAwareService,
         StatisticsAwareService<LocalExecutorStats>, QuorumAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:executorService";
@@ -60,6 +81,19 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     private static final AtomicReferenceFieldUpdater<Processor, Boolean> RESPONSE_FLAG =
             AtomicReferenceFieldUpdater.newUpdater(Processor.class, Boolean.class, "responseFlag");
 
+    private static final AtomicIntegerFieldUpdater<Processor> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Processor.class, "state");
+    // queued on this member
+    private static final int PENDING = 0;
+    // being executed on this member
+    private static final int RUNNING = 1;
+    // sent to another member, which has not claimed it yet
+    private static final int OFFERED = 2;
+    // claimed by another member, which executes it
+    private static final int STOLEN = 3;
+    // cancelled before it was executed
+    private static final int CANCELLED = 4;
+
     // package-local access to allow test to inspect the map's values
     final ConcurrentMap<String, ExecutorConfig> executorConfigCache = new ConcurrentHashMap<String, ExecutorConfig>();
 
@@ -71,6 +105,10 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     private final ConcurrentHashMap<String, LocalExecutorStatsImpl> statsMap = new ConcurrentHashMap<>();
     private final ConstructorFunction<String, LocalExecutorStatsImpl> localExecutorStatsConstructorFunction
             = key -> new LocalExecutorStatsImpl();
+    private final ConcurrentMap<String, Workload> workloads = new ConcurrentHashMap<>();
+    private final ConstructorFunction<String, Workload> workloadConstructorFunction = key -> new Workload();
+    // the tasks stolen from this member by other members, by steal id
+    private final ConcurrentMap<String, Processor> stolenTasks = new ConcurrentHashMap<>();
 
     private final ConcurrentMap<String, Object> quorumConfigCache = new ConcurrentHashMap<String, Object>();
     private final ContextMutexFactory quorumConfigCacheMutexFactory = new ContextMutexFactory();
@@ -84,12 +122,24 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     };
 
     private ILogger logger;
+    private boolean workStealingEnabled;
+    private long offerTimeoutMillis;
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.nodeEngine = nodeEngine;
         this.executionService = nodeEngine.getExecutionService();
         this.logger = nodeEngine.getLogger(DistributedExecutorService.class);
+
+        HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
+        this.workStealingEnabled = hazelcastProperties.getBoolean(EXECUTOR_WORK_STEALING_ENABLED);
+        if (workStealingEnabled) {
+            long intervalMillis = hazelcastProperties.getMillis(EXECUTOR_WORK_STEALING_INTERVAL_MILLIS);
+            // by then the steal request has timed out, so the tasks won't be claimed anymore
+            this.offerTimeoutMillis = hazelcastProperties.getMillis(OPERATION_CALL_TIMEOUT_MILLIS);
+            executionService.scheduleWithRepetition(new WorkStealingTask(nodeEngine, this),
+                    intervalMillis, intervalMillis, MILLISECONDS);
+        }
     }
 
     @Override
@@ -98,6 +148,8 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         submittedTasks.clear();
         statsMap.clear();
         executorConfigCache.clear();
+        workloads.clear();
+        stolenTasks.clear();
     }
 
     @Override
@@ -105,38 +157,309 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         reset();
     }
 
-    public <T> void execute(String name, String uuid, T task, Operation op) {
+    /**
+     * Executes the task on the executor with the given name.
+     *
+     * @param stealable {@code true} if the task may be taken over by an idle member while it is
+     *                  waiting in the queue of the executor, {@code false} otherwise
+     */
+    public <T> void execute(String name, String uuid, T task, Operation op, boolean stealable) {
         ExecutorConfig cfg = getOrFindExecutorConfig(name);
-        if (cfg.isStatisticsEnabled()) {
-            startPending(name);
+        Processor processor = newProcessor(name, uuid, task, op, cfg.isStatisticsEnabled());
+        processor.stealable = workStealingEnabled && stealable;
+        if (uuid != null) {
+            submittedTasks.put(uuid, processor);
         }
-        Processor processor;
+        submit(processor, true);
+    }
+
+    private Processor newProcessor(String name, String uuid, Object task, Operation op, boolean statisticsEnabled) {
         if (task instanceof Runnable) {
-            processor = new Processor(name, uuid, (Runnable) task, op, cfg.isStatisticsEnabled());
+            return new Processor(name, uuid, (Runnable) task, op, statisticsEnabled);
         } else {
-            processor = new Processor(name, uuid, (Callable) task, op, cfg.isStatisticsEnabled());
+            return new Processor(name, uuid, (Callable) task, op, statisticsEnabled);
         }
-        if (uuid != null) {
-            submittedTasks.put(uuid, processor);
+    }
+
+    /**
+     * @param countPending {@code true} if the task should be counted as a new pending task in the statistics
+     */
+    private void submit(Processor processor, boolean countPending) {
+        String name = processor.name;
+        if (processor.statisticsEnabled && countPending) {
+            startPending(name);
+        }
+        Workload workload = workStealingEnabled ? getWorkload(name) : null;
+        if (workload != null) {
+            workload.inFlight.incrementAndGet();
+            if (processor.stealable) {
+                workload.stealable.offer(processor);
+            }
         }
 
         try {
             executionService.execute(name, processor);
         } catch (RejectedExecutionException e) {
-            if (cfg.isStatisticsEnabled()) {
+            if (workload != null) {
+                workload.inFlight.decrementAndGet();
+                workload.stealable.removeLastOccurrence(processor);
+            }
+            if (processor.statisticsEnabled) {
                 rejectExecution(name);
             }
-            logger.warning("While executing " + task + " on Executor[" + name + "]", e);
-            if (uuid != null) {
-                submittedTasks.remove(uuid);
+            logger.warning("While executing " + processor.taskToString + " on Executor[" + name + "]", e);
+            if (processor.uuid != null) {
+                submittedTasks.remove(processor.uuid);
             }
             processor.sendResponse(e);
         }
     }
 
+    /**
+     * Returns the number of threads of the executor with the given name which
+     * have no task to execute on this member. Always 0 when work stealing is
+     * disabled or the executor is shut down.
+     */
+    int getIdleThreadCount(String name) {
+        if (!workStealingEnabled || isShutdown(name)) {
+            return 0;
+        }
+        Workload workload = workloads.get(name);
+        int inFlight = workload == null ? 0 : workload.inFlight.get();
+        return Math.max(getOrFindExecutorConfig(name).getPoolSize() - inFlight, 0);
+    }
+
+    /**
+     * Marks that this member is stealing tasks for the executor with the given
+     * name, so there is at most a single steal request in flight per executor.
+     *
+     * @return {@code true} if no other steal request is in flight, {@code false} otherwise
+     */
+    boolean tryStartStealing(String name) {
+        return getWorkload(name).stealing.compareAndSet(false, true);
+    }
+
+    void finishStealing(String name) {
+        getWorkload(name).stealing.set(false);
+    }
+
+    /**
+     * Offers some of the tasks waiting in the queue of the executor with the
+     * given name to the given member. Only tasks which could not be started
+     * soon on this member are offered: the tasks are taken from the tail of
+     * the queue and only while there are more tasks than threads.
+     * <p>
+     * The offered tasks are not executed on this member anymore, but the
+     * other member only executes them after it has
+     * {@link #claimStolenTasks(List, Address) claimed} them. Offered tasks
+     * which are not claimed in time are taken back by
+     * {@link #reclaimUnclaimedTasks()}.
+     *
+     * @param name     the name of the executor
+     * @param maxCount the maximum number of tasks to offer
+     * @param thief    the address of the member which executes the stolen tasks
+     * @return the offered tasks
+     */
+    public List<StolenTask> stealTasks(String name, int maxCount, Address thief) {
+        Workload workload = workStealingEnabled ? workloads.get(name) : null;
+        if (workload == null) {
+            return Collections.emptyList();
+        }
+        int poolSize = getOrFindExecutorConfig(name).getPoolSize();
+        List<StolenTask> tasks = new ArrayList<>();
+        while (tasks.size() < maxCount && workload.inFlight.get() > poolSize) {
+            Processor processor = workload.stealable.pollLast();
+            if (processor == null) {
+                break;
+            }
+            if (processor.state != PENDING) {
+                // already started or cancelled, it was left in the deque to avoid a linear removal
+                continue;
+            }
+            Data task;
+            try {
+                task = nodeEngine.toData(processor.task);
+            } catch (HazelcastSerializationException e) {
+                // the task is left in the queue and will be executed locally
+                continue;
+            }
+            processor.thief = thief;
+            processor.offerTime = Clock.currentTimeMillis();
+            if (!STATE.compareAndSet(processor, PENDING, OFFERED)) {
+                continue;
+            }
+            workload.inFlight.decrementAndGet();
+            String stealId = newUnsecureUuidString();
+            stolenTasks.put(stealId, processor);
+            tasks.add(new StolenTask(stealId, task, processor.offerTime - processor.creationTime));
+        }
+        return tasks;
+    }
+
+    /**
+     * Hands over the offered tasks to the member which requested them. A task
+     * which has meanwhile been cancelled or taken back is not handed over.
+     *
+     * @param stealIds the steal ids of the offered tasks
+     * @param thief    the address of the member which requested the tasks
+     * @return the steal ids of the tasks which may be executed by the member
+     */
+    public List<String> claimStolenTasks(List<String> stealIds, Address thief) {
+        List<String> claimed = new ArrayList<>(stealIds.size());
+        for (String stealId : stealIds) {
+            Processor processor = stolenTasks.get(stealId);
+            if (processor == null || !thief.equals(processor.thief)) {
+                continue;
+            }
+            if (STATE.compareAndSet(processor, OFFERED, STOLEN)) {
+                if (processor.statisticsEnabled) {
+                    getLocalExecutorStats(processor.name).stealExecution();
+                }
+                claimed.add(stealId);
+            } else if (processor.state == STOLEN) {
+                // the claim is repeated
+                claimed.add(stealId);
+            } else if (processor.state == CANCELLED) {
+                stolenTasks.remove(stealId, processor);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Takes back the tasks which were offered to or claimed by the given
+     * member, which won't execute them, and executes them on this member.
+     *
+     * @param stealIds the steal ids of the tasks
+     * @param thief    the address of the member which gives back the tasks
+     */
+    public void releaseStolenTasks(List<String> stealIds, Address thief) {
+        for (String stealId : stealIds) {
+            Processor processor = stolenTasks.get(stealId);
+            if (processor != null && thief.equals(processor.thief)) {
+                reclaim(stealId, processor);
+            }
+        }
+    }
+
+    /**
+     * Takes back the tasks which were offered to another member, but not
+     * claimed in time, e.g. because the response to the steal request was
+     * lost, and executes them on this member.
+     */
+    void reclaimUnclaimedTasks() {
+        long now = Clock.currentTimeMillis();
+        for (Map.Entry<String, Processor> entry : stolenTasks.entrySet()) {
+            Processor processor = entry.getValue();
+            int state = processor.state;
+            if (state == CANCELLED) {
+                stolenTasks.remove(entry.getKey(), processor);
+            } else if (state == OFFERED && now - processor.offerTime > offerTimeoutMillis) {
+                reclaim(entry.getKey(), processor);
+            }
+        }
+    }
+
+    /**
+     * Takes back an offered or stolen task to execute it on this member. The
+     * state transition decides between this and a concurrent claim, cancel or
+     * reclaim, so the task is executed at most once.
+     */
+    private void reclaim(String stealId, Processor processor) {
+        for (; ; ) {
+            int state = processor.state;
+            if (state != OFFERED && state != STOLEN) {
+                // claimed, cancelled or reclaimed concurrently
+                return;
+            }
+            if (STATE.compareAndSet(processor, state, PENDING)) {
+                stolenTasks.remove(stealId, processor);
+                processor.stealable = false;
+                // a stolen task has left the pending tasks in the statistics, an offered task not yet
+                submit(processor, state == STOLEN);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Executes the tasks which were stolen from the given member.
+     */
+    void executeStolenTasks(String name, Address victim, List<StolenTask> tasks) {
+        boolean statisticsEnabled = getOrFindExecutorConfig(name).isStatisticsEnabled();
+        ManagedContext managedContext = nodeEngine.getSerializationService().getManagedContext();
+        for (StolenTask stolenTask : tasks) {
+            Object task;
+            try {
+                task = managedContext.initialize(nodeEngine.toObject(stolenTask.getTask()));
+            } catch (Exception e) {
+                sendStolenTaskResult(nodeEngine, stolenTask.getStealId(), victim, e);
+                continue;
+            }
+            Processor processor = newProcessor(name, null, task, null, statisticsEnabled);
+            processor.stealId = stolenTask.getStealId();
+            processor.victim = victim;
+            processor.creationTime -= stolenTask.getWaitedMillis();
+            submit(processor, true);
+        }
+    }
+
+    /**
+     * Responds to the caller of a task which was stolen from this member,
+     * with the result sent by the member which executed the task.
+     *
+     * @param stealId the steal id of the task
+     * @param result  the serialized result or exception of the task
+     */
+    public void completeStolenTask(String stealId, Data result) {
+        Processor processor = stolenTasks.remove(stealId);
+        if (processor == null || !STATE.compareAndSet(processor, STOLEN, RUNNING)) {
+            // the task was taken back and executed locally, because the member which stole it has left
+            return;
+        }
+        if (processor.uuid != null) {
+            submittedTasks.remove(processor.uuid);
+        }
+        Object response;
+        try {
+            response = nodeEngine.toObject(result);
+        } catch (HazelcastSerializationException e) {
+            response = e;
+        }
+        processor.sendResponse(response);
+    }
+
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+    }
+
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        if (!workStealingEnabled) {
+            return;
+        }
+        Address address = event.getMember().getAddress();
+        for (Map.Entry<String, Processor> entry : stolenTasks.entrySet()) {
+            Processor processor = entry.getValue();
+            // the result of the task will never arrive, so it is executed locally instead
+            if (address.equals(processor.thief) && stolenTasks.remove(entry.getKey(), processor)) {
+                reclaim(entry.getKey(), processor);
+            }
+        }
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeServiceEvent event) {
+    }
+
+    private Workload getWorkload(String name) {
+        return ConcurrencyUtil.getOrPutIfAbsent(workloads, name, workloadConstructorFunction);
+    }
+
     public boolean cancel(String uuid, boolean interrupt) {
-        Processor processor = submittedTasks.remove(uuid);
-        if (processor != null && processor.cancel(interrupt)) {
+        Processor processor = submittedTasks.get(uuid);
+        if (processor != null && processor.tryCancel(interrupt)) {
+            submittedTasks.remove(uuid, processor);
             if (processor.sendResponse(new CancellationException())) {
                 if (processor.isStatisticsEnabled()) {
                     getLocalExecutorStats(processor.name).cancelExecution();
@@ -177,6 +500,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         statsMap.remove(name);
         executorConfigCache.remove(name);
         quorumConfigCache.remove(name);
+        workloads.remove(name);
     }
 
     LocalExecutorStatsImpl getLocalExecutorStats(String name) {
@@ -240,19 +564,30 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     private final class Processor extends FutureTask implements Runnable {
         //is being used through the RESPONSE_FLAG. Can't be private due to reflection constraint.
         volatile Boolean responseFlag = Boolean.FALSE;
+        //is being used through the STATE. Can't be private due to reflection constraint.
+        volatile int state = PENDING;
 
         private final String name;
         private final String uuid;
+        private final Object task;
         private final Operation op;
         private final String taskToString;
-        private final long creationTime = Clock.currentTimeMillis();
         private final boolean statisticsEnabled;
+        private long creationTime = Clock.currentTimeMillis();
+        private boolean stealable;
+        // the member which stole this task and when it was offered; only set on the member the task was stolen from
+        private volatile Address thief;
+        private volatile long offerTime;
+        // the member this task was stolen from and the id of the steal; only set on the member executing a stolen task
+        private String stealId;
+        private Address victim;
 
         private Processor(String name, String uuid, Callable callable, Operation op, boolean statisticsEnabled) {
             //noinspection unchecked
             super(callable);
             this.name = name;
             this.uuid = uuid;
+            this.task = callable;
             this.taskToString = String.valueOf(callable);
             this.op = op;
             this.statisticsEnabled = statisticsEnabled;
@@ -263,6 +598,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
             super(runnable, null);
             this.name = name;
             this.uuid = uuid;
+            this.task = runnable;
             this.taskToString = String.valueOf(runnable);
             this.op = op;
             this.statisticsEnabled = statisticsEnabled;
@@ -270,6 +606,10 @@ public class DistributedExecutorService implements ManagedService, RemoteService
 
         @Override
         public void run() {
+            if (!claim()) {
+                // the task has been stolen by another member or is already executed
+                return;
+            }
             long start = Clock.currentTimeMillis();
             if (statisticsEnabled) {
                 startExecution(name, start - creationTime);
@@ -293,6 +633,59 @@ public class DistributedExecutorService implements ManagedService, RemoteService
                         finishExecution(name, Clock.currentTimeMillis() - start);
                     }
                 }
+                if (workStealingEnabled) {
+                    getWorkload(name).inFlight.decrementAndGet();
+                }
+            }
+        }
+
+        private boolean claim() {
+            if (!STATE.compareAndSet(this, PENDING, RUNNING)) {
+                return false;
+            }
+            if (stealable) {
+                pruneStealable(getWorkload(name).stealable);
+            }
+            return true;
+        }
+
+        /**
+         * Removes the tasks which can't be stolen anymore from the head of the
+         * deque. The executor runs the tasks in submission order, so they
+         * typically are at the head and each removal takes constant time.
+         * Any other task which can't be stolen anymore is skipped and dropped
+         * when the deque is polled by {@link #stealTasks(String, int, Address)}.
+         */
+        private void pruneStealable(Deque<Processor> deque) {
+            for (Processor head = deque.peekFirst(); head != null && head.state != PENDING; head = deque.peekFirst()) {
+                deque.removeFirstOccurrence(head);
+            }
+        }
+
+        /**
+         * Cancels the task, unless it has been claimed by another member. A
+         * task which has not been started yet won't be executed anywhere.
+         */
+        private boolean tryCancel(boolean interrupt) {
+            for (; ; ) {
+                int current = state;
+                if (current == STOLEN) {
+                    // the task is executed by another member
+                    return false;
+                }
+                if (current != PENDING && current != OFFERED) {
+                    return cancel(interrupt);
+                }
+                if (STATE.compareAndSet(this, current, CANCELLED)) {
+                    if (current == PENDING && workStealingEnabled) {
+                        getWorkload(name).inFlight.decrementAndGet();
+                    }
+                    if (statisticsEnabled) {
+                        // the task leaves the pending tasks without being started
+                        rejectExecution(name);
+                    }
+                    return cancel(interrupt);
+                }
             }
         }
 
@@ -304,6 +697,10 @@ public class DistributedExecutorService implements ManagedService, RemoteService
 
         private boolean sendResponse(Object result) {
             if (RESPONSE_FLAG.compareAndSet(this, Boolean.FALSE, Boolean.TRUE)) {
+                if (stealId != null) {
+                    sendStolenTaskResult(nodeEngine, stealId, victim, result);
+                    return true;
+                }
                 try {
                     op.sendResponse(result);
                 } catch (HazelcastSerializationException e) {
@@ -320,4 +717,16 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         }
     }
 
+    /**
+     * The tasks of an executor on this member, used to decide whether tasks
+     * should be stolen by or from other members.
+     */
+    private static final class Workload {
+        // the number of tasks which are queued or running
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // the queued tasks which may be stolen, in submission order
+        private final Deque<Processor> stealable = new ConcurrentLinkedDeque<>();
+        private final AtomicBoolean stealing = new AtomicBoolean();
+    }
+
 }
@@ -18,8 +18,11 @@ package com.hazelcast.executor.impl;
 
 import com.hazelcast.executor.impl.operations.CallableTaskOperation;
 import com.hazelcast.executor.impl.operations.CancellationOperation;
+import com.hazelcast.executor.impl.operations.ClaimStolenTasksOperation;
 import com.hazelcast.executor.impl.operations.MemberCallableTaskOperation;
 import com.hazelcast.executor.impl.operations.ShutdownOperation;
+import com.hazelcast.executor.impl.operations.StealTasksOperation;
+import com.hazelcast.executor.impl.operations.StolenTaskResultOperation;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -37,6 +40,10 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
     public static final int RUNNABLE_ADAPTER = 2;
     public static final int CANCELLATION = 3;
     public static final int SHUTDOWN = 4;
+    public static final int STOLEN_TASK = 5;
+    public static final int STEAL_TASKS = 6;
+    public static final int STOLEN_TASK_RESULT = 7;
+    public static final int CLAIM_STOLEN_TASKS = 8;
 
     @Override
     public int getFactoryId() {
@@ -59,6 +66,14 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
                         return new CancellationOperation();
                     case SHUTDOWN:
                         return new ShutdownOperation();
+                    case STOLEN_TASK:
+                        return new StolenTask();
+                    case STEAL_TASKS:
+                        return new StealTasksOperation();
+                    case STOLEN_TASK_RESULT:
+                        return new StolenTaskResultOperation();
+                    case CLAIM_STOLEN_TASKS:
+                        return new ClaimStolenTasksOperation();
                     default:
                         return null;
                 }
@@ -215,7 +215,7 @@ public class ExecutorServiceProxy
         String uuid = newUnsecureUuidString();
         int partitionId = getTaskPartitionId(callable);
 
-        Operation op = new CallableTaskOperation(name, uuid, callableData)
+        Operation op = new CallableTaskOperation(name, uuid, callableData, !hasPartitionKey(callable))
                 .setPartitionId(partitionId);
         InternalCompletableFuture future = invokeOnPartition(op);
         boolean sync = checkSync();
@@ -239,10 +239,11 @@ public class ExecutorServiceProxy
     @Override
     public <T> Future<T> submit(Callable<T> task) {
         final int partitionId = getTaskPartitionId(task);
-        return submitToPartitionOwner(task, partitionId, false);
+        return submitToPartitionOwner(task, partitionId, false, !hasPartitionKey(task));
     }
 
-    private <T> Future<T> submitToPartitionOwner(Callable<T> task, int partitionId, boolean preventSync) {
+    private <T> Future<T> submitToPartitionOwner(Callable<T> task, int partitionId, boolean preventSync,
+                                                 boolean stealable) {
         checkNotNull(task, "task can't be null");
         checkNotShutdown();
 
@@ -251,7 +252,7 @@ public class ExecutorServiceProxy
         String uuid = newUnsecureUuidString();
 
         boolean sync = !preventSync && checkSync();
-        Operation op = new CallableTaskOperation(name, uuid, taskData)
+        Operation op = new CallableTaskOperation(name, uuid, taskData, stealable)
                 .setPartitionId(partitionId);
         InternalCompletableFuture future = invokeOnPartition(op);
         if (sync) {
@@ -293,10 +294,18 @@ public class ExecutorServiceProxy
         return random.nextInt(partitionCount);
     }
 
+    /**
+     * Checks if the task has a partition key. The tasks without a partition key are sent to a random
+     * partition, so they may be stolen by another member.
+     */
+    private static boolean hasPartitionKey(Callable<?> task) {
+        return task instanceof PartitionAware && ((PartitionAware) task).getPartitionKey() != null;
+    }
+
     @Override
     public <T> Future<T> submitToKeyOwner(Callable<T> task, Object key) {
         NodeEngine nodeEngine = getNodeEngine();
-        return submitToPartitionOwner(task, nodeEngine.getPartitionService().getPartitionId(key), false);
+        return submitToPartitionOwner(task, nodeEngine.getPartitionService().getPartitionId(key), false, false);
     }
 
     @Override
@@ -377,12 +386,13 @@ public class ExecutorServiceProxy
         submitToAllMembers(callable, callback);
     }
 
-    private <T> void submitToPartitionOwner(Callable<T> task, ExecutionCallback<T> callback, int partitionId) {
+    private <T> void submitToPartitionOwner(Callable<T> task, ExecutionCallback<T> callback, int partitionId,
+                                            boolean stealable) {
         checkNotShutdown();
 
         NodeEngine nodeEngine = getNodeEngine();
         Data taskData = nodeEngine.toData(task);
-        CallableTaskOperation op = new CallableTaskOperation(name, null, taskData);
+        CallableTaskOperation op = new CallableTaskOperation(name, null, taskData, stealable);
         OperationService operationService = nodeEngine.getOperationService();
         operationService.createInvocationBuilder(DistributedExecutorService.SERVICE_NAME, op, partitionId)
                 .setExecutionCallback((ExecutionCallback) callback).invoke();
@@ -391,13 +401,13 @@ public class ExecutorServiceProxy
     @Override
     public <T> void submit(Callable<T> task, ExecutionCallback<T> callback) {
         int partitionId = getTaskPartitionId(task);
-        submitToPartitionOwner(task, callback, partitionId);
+        submitToPartitionOwner(task, callback, partitionId, !hasPartitionKey(task));
     }
 
     @Override
     public <T> void submitToKeyOwner(Callable<T> task, Object key, ExecutionCallback<T> callback) {
         NodeEngine nodeEngine = getNodeEngine();
-        submitToPartitionOwner(task, callback, nodeEngine.getPartitionService().getPartitionId(key));
+        submitToPartitionOwner(task, callback, nodeEngine.getPartitionService().getPartitionId(key), false);
     }
 
     private  <T> void submitToMember(Data taskData, Member member, ExecutionCallback<T> callback) {
@@ -477,7 +487,7 @@ public class ExecutorServiceProxy
             for (Callable<T> task : tasks) {
                 long start = System.nanoTime();
                 int partitionId = getTaskPartitionId(task);
-                futures.add(submitToPartitionOwner(task, partitionId, true));
+                futures.add(submitToPartitionOwner(task, partitionId, true, !hasPartitionKey(task)));
                 timeoutNanos -= System.nanoTime() - start;
             }
             if (timeoutNanos <= 0L) {
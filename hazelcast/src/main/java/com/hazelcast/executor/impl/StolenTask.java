@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A pending task which was taken over from the queue of a busy member to
+ * be executed by an idle member.
+ *
+ * The result of the task is sent back to the busy member under the
+ * {@link #getStealId() steal id}, so the busy member can respond to the
+ * original caller.
+ */
+public final class StolenTask implements IdentifiedDataSerializable {
+
+    private String stealId;
+    private Data task;
+    private long waitedMillis;
+
+    public StolenTask() {
+    }
+
+    public StolenTask(String stealId, Data task, long waitedMillis) {
+        this.stealId = stealId;
+        this.task = task;
+        this.waitedMillis = waitedMillis;
+    }
+
+    public String getStealId() {
+        return stealId;
+    }
+
+    public Data getTask() {
+        return task;
+    }
+
+    /**
+     * @return the time in milliseconds the task waited in the queue of the
+     * busy member before it was stolen
+     */
+    public long getWaitedMillis() {
+        return waitedMillis;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return ExecutorDataSerializerHook.STOLEN_TASK;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(stealId);
+        out.writeData(task);
+        out.writeLong(waitedMillis);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        stealId = in.readUTF();
+        task = in.readData();
+        waitedMillis = in.readLong();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.executor.impl.operations.ClaimStolenTasksOperation;
+import com.hazelcast.executor.impl.operations.StealTasksOperation;
+import com.hazelcast.executor.impl.operations.StolenTaskResultOperation;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.executor.impl.DistributedExecutorService.SERVICE_NAME;
+
+/**
+ * Periodically steals queued tasks from a random busy member for each
+ * executor which has idle threads on this member.
+ *
+ * At most a single steal request per executor is in flight. The busy
+ * member decides how many tasks it can spare, so a request to a member
+ * which is not busy simply returns no tasks. The stolen tasks are only
+ * executed after they were claimed from the busy member, which takes
+ * back the tasks that are not claimed in time.
+ *
+ * Each run also lets this member take back its own unclaimed tasks.
+ */
+final class WorkStealingTask implements Runnable {
+
+    private final NodeEngine nodeEngine;
+    private final DistributedExecutorService service;
+    private final ILogger logger;
+
+    WorkStealingTask(NodeEngine nodeEngine, DistributedExecutorService service) {
+        this.nodeEngine = nodeEngine;
+        this.service = service;
+        this.logger = nodeEngine.getLogger(WorkStealingTask.class);
+    }
+
+    @Override
+    public void run() {
+        service.reclaimUnclaimedTasks();
+        List<Address> victims = null;
+        for (String name : nodeEngine.getProxyService().getDistributedObjectNames(SERVICE_NAME)) {
+            int idleThreadCount = service.getIdleThreadCount(name);
+            if (idleThreadCount == 0) {
+                continue;
+            }
+            if (victims == null) {
+                victims = getVictims();
+                if (victims.isEmpty()) {
+                    return;
+                }
+            }
+            if (service.tryStartStealing(name)) {
+                Address victim = victims.get(ThreadLocalRandomProvider.get().nextInt(victims.size()));
+                steal(name, idleThreadCount, victim);
+            }
+        }
+    }
+
+    private List<Address> getVictims() {
+        List<Address> victims = new ArrayList<>();
+        Address thisAddress = nodeEngine.getThisAddress();
+        for (Member member : nodeEngine.getClusterService().getMembers(DATA_MEMBER_SELECTOR)) {
+            if (!member.getAddress().equals(thisAddress)) {
+                victims.add(member.getAddress());
+            }
+        }
+        return victims;
+    }
+
+    private void steal(final String name, int maxCount, final Address victim) {
+        try {
+            nodeEngine.getOperationService()
+                    .<List<StolenTask>>invokeOnTarget(SERVICE_NAME, new StealTasksOperation(name, maxCount), victim)
+                    .andThen(new ExecutionCallback<List<StolenTask>>() {
+                        @Override
+                        public void onResponse(List<StolenTask> tasks) {
+                            if (tasks.isEmpty()) {
+                                service.finishStealing(name);
+                            } else {
+                                claim(name, victim, tasks);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            // the victim takes back the tasks it offered, once they are not claimed in time
+                            service.finishStealing(name);
+                            logFailure(name, victim, t);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            service.finishStealing(name);
+            throw e;
+        }
+    }
+
+    /**
+     * Claims the offered tasks from the victim and executes the claimed ones.
+     * When the claim fails, the tasks are given back to the victim, which
+     * also takes them back by itself if the release is lost as well.
+     */
+    private void claim(final String name, final Address victim, final List<StolenTask> tasks) {
+        final List<String> stealIds = new ArrayList<>(tasks.size());
+        for (StolenTask task : tasks) {
+            stealIds.add(task.getStealId());
+        }
+        OperationService operationService = nodeEngine.getOperationService();
+        try {
+            operationService.<List<String>>invokeOnTarget(SERVICE_NAME, new ClaimStolenTasksOperation(stealIds, false), victim)
+                    .andThen(new ExecutionCallback<List<String>>() {
+                        @Override
+                        public void onResponse(List<String> claimed) {
+                            try {
+                                service.executeStolenTasks(name, victim, getClaimedTasks(tasks, claimed));
+                            } finally {
+                                service.finishStealing(name);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            service.finishStealing(name);
+                            logFailure(name, victim, t);
+                            nodeEngine.getOperationService()
+                                    .invokeOnTarget(SERVICE_NAME, new ClaimStolenTasksOperation(stealIds, true), victim);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            service.finishStealing(name);
+            throw e;
+        }
+    }
+
+    private static List<StolenTask> getClaimedTasks(List<StolenTask> tasks, List<String> claimed) {
+        if (claimed.size() == tasks.size()) {
+            return tasks;
+        }
+        Set<String> claimedIds = new HashSet<>(claimed);
+        List<StolenTask> claimedTasks = new ArrayList<>(claimed.size());
+        for (StolenTask task : tasks) {
+            if (claimedIds.contains(task.getStealId())) {
+                claimedTasks.add(task);
+            }
+        }
+        return claimedTasks;
+    }
+
+    private void logFailure(String name, Address victim, Throwable t) {
+        if (logger.isFinestEnabled()) {
+            logger.finest("Could not steal tasks of Executor[" + name + "] from " + victim, t);
+        }
+    }
+
+    /**
+     * Sends the result of a stolen task back to the member it was stolen from.
+     * When the result can't be serialized, the serialization exception is sent.
+     */
+    static void sendStolenTaskResult(NodeEngine nodeEngine, String stealId, Address victim, Object result) {
+        Data data;
+        try {
+            data = nodeEngine.toData(result);
+        } catch (HazelcastSerializationException e) {
+            data = nodeEngine.toData(e);
+        }
+        nodeEngine.getOperationService()
+                .invokeOnTarget(SERVICE_NAME, new StolenTaskResultOperation(stealId, data), victim);
+    }
+}
@@ -50,6 +50,13 @@ abstract class AbstractCallableTaskOperation extends Operation implements NamedO
         return new OffloadImpl();
     }
 
+    /**
+     * @return true if the task may be stolen and executed by another member, false otherwise
+     */
+    boolean isStealable() {
+        return false;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -94,7 +101,7 @@ abstract class AbstractCallableTaskOperation extends Operation implements NamedO
         @Override
         public void start() {
             DistributedExecutorService service = getService();
-            service.execute(name, uuid, loadTask(), AbstractCallableTaskOperation.this);
+            service.execute(name, uuid, loadTask(), AbstractCallableTaskOperation.this, isStealable());
         }
 
         private <T> T loadTask() {
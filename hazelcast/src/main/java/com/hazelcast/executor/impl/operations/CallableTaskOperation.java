@@ -17,18 +17,50 @@
 package com.hazelcast.executor.impl.operations;
 
 import com.hazelcast.executor.impl.ExecutorDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.impl.operationservice.MutatingOperation;
 
+import java.io.IOException;
+
 public final class CallableTaskOperation extends AbstractCallableTaskOperation
         implements IdentifiedDataSerializable, MutatingOperation {
 
+    private boolean stealable;
+
     public CallableTaskOperation() {
     }
 
     public CallableTaskOperation(String name, String uuid, Data callableData) {
+        this(name, uuid, callableData, false);
+    }
+
+    /**
+     * @param stealable {@code true} if the task was submitted without a partition key, so it may
+     *                  be executed by another member when work stealing is enabled
+     */
+    public CallableTaskOperation(String name, String uuid, Data callableData, boolean stealable) {
         super(name, uuid, callableData);
+        this.stealable = stealable;
+    }
+
+    @Override
+    boolean isStealable() {
+        return stealable;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(stealable);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        stealable = in.readBoolean();
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor.impl.operations;
+
+import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.executor.impl.ExecutorDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sent by a member which received tasks from a {@link StealTasksOperation}
+ * to the member it stole them from, either to claim the tasks before
+ * executing them or to give them back.
+ *
+ * The response to a claim is the list of steal ids of the tasks which may
+ * be executed. The other tasks have been cancelled or taken back meanwhile.
+ */
+public final class ClaimStolenTasksOperation extends Operation implements IdentifiedDataSerializable {
+
+    private List<String> stealIds;
+    private boolean release;
+    private List<String> response;
+
+    public ClaimStolenTasksOperation() {
+    }
+
+    public ClaimStolenTasksOperation(List<String> stealIds, boolean release) {
+        this.stealIds = stealIds;
+        this.release = release;
+    }
+
+    @Override
+    public String getServiceName() {
+        return DistributedExecutorService.SERVICE_NAME;
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        if (release) {
+            service.releaseStolenTasks(stealIds, getCallerAddress());
+        } else {
+            response = service.claimStolenTasks(stealIds, getCallerAddress());
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(stealIds.size());
+        for (String stealId : stealIds) {
+            out.writeUTF(stealId);
+        }
+        out.writeBoolean(release);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        stealIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            stealIds.add(in.readUTF());
+        }
+        release = in.readBoolean();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return ExecutorDataSerializerHook.CLAIM_STOLEN_TASKS;
+    }
+}
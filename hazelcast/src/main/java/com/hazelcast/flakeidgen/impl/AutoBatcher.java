@@ -16,26 +16,92 @@
 
 package com.hazelcast.flakeidgen.impl;
 
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.util.Clock;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
+import static com.hazelcast.config.FlakeIdGeneratorConfig.MAXIMUM_PREFETCH_COUNT;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 /**
  * A utility to serve IDs from IdBatch one by one, watching for validity.
  * It's a separate class due to testability.
+ * <p>
+ * If a prefetch executor is given, the next batch is fetched asynchronously
+ * as soon as only a quarter of the current batch is left, so that the
+ * callers of {@link #newId()} don't have to wait for a round-trip when the
+ * current batch is spent. If adaptive batch sizing is enabled, the size of
+ * the next batch is doubled or halved depending on how long the current
+ * batch is projected to last at the observed consumption rate; it stays
+ * between the configured batch size and {@link
+ * com.hazelcast.config.FlakeIdGeneratorConfig#MAXIMUM_PREFETCH_COUNT}.
  */
 public class AutoBatcher {
+
+    /**
+     * The time a batch should last when adaptive batch sizing is enabled.
+     * It is also limited by half of the validity of the batches.
+     */
+    static final long TARGET_BATCH_DURATION_MILLIS = 1000;
+
+    private static final int PREFETCH_THRESHOLD_DIVISOR = 4;
+
+    @Probe(name = "stallCount", level = MANDATORY)
+    private final MwCounter stallCount = newMwCounter();
+    @Probe(name = "batchFetchCount", level = MANDATORY)
+    private final MwCounter batchFetchCount = newMwCounter();
+    @Probe(name = "batchFetchLatencyNanos", level = MANDATORY)
+    private final MwCounter batchFetchLatencyNanos = newMwCounter();
+    @Probe(name = "batchSize", level = MANDATORY)
+    private volatile int currentBatchSize;
+
     private final int batchSize;
     private final long validity;
+    private final long targetBatchDurationMillis;
+    private final Executor prefetchExecutor;
+    private final boolean adaptive;
 
     private volatile Block block = new Block(new IdBatch(0, 0, 0), 0);
+    // the prefetched block or null if no prefetch was started; guarded by this
+    private CompletableFuture<Block> nextBlock;
 
     private final IdBatchSupplier batchIdSupplier;
 
     public AutoBatcher(int batchSize, long validity, IdBatchSupplier idGenerator) {
+        this(batchSize, validity, idGenerator, null, false);
+    }
+
+    /**
+     * @param batchSize        the size of the batches, or the minimum size if
+     *                         {@code adaptive} is {@code true}
+     * @param validity         the validity of the batches in milliseconds, 0 or
+     *                         negative for unlimited validity
+     * @param idGenerator      the supplier of the batches
+     * @param prefetchExecutor the executor to prefetch the next batch on or
+     *                         {@code null} to fetch the batches only when
+     *                         the current batch is spent
+     * @param adaptive         {@code true} to adapt the batch size to the
+     *                         consumption rate
+     */
+    public AutoBatcher(int batchSize, long validity, IdBatchSupplier idGenerator, Executor prefetchExecutor,
+                       boolean adaptive) {
         this.batchSize = batchSize;
         this.validity = validity;
         this.batchIdSupplier = idGenerator;
+        this.prefetchExecutor = prefetchExecutor;
+        this.adaptive = adaptive;
+        this.currentBatchSize = batchSize;
+        this.targetBatchDurationMillis = validity > 0
+                ? min(TARGET_BATCH_DURATION_MILLIS, max(1, validity / 2))
+                : TARGET_BATCH_DURATION_MILLIS;
     }
 
     /**
@@ -47,6 +113,9 @@ public class AutoBatcher {
             Block block = this.block;
             long res = block.next();
             if (res != Long.MIN_VALUE) {
+                if (prefetchExecutor != null && block.isPrefetchTrigger(res)) {
+                    prefetch(block);
+                }
                 return res;
             }
 
@@ -55,22 +124,139 @@ public class AutoBatcher {
                     // new block was assigned in the meantime
                     continue;
                 }
-                this.block = new Block(batchIdSupplier.newIdBatch(batchSize), validity);
+                this.block = takeNextBlock(block);
             }
         }
     }
 
+    /**
+     * Returns the number of times a caller of {@link #newId()} had to wait
+     * for a batch to be fetched.
+     */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /**
+     * Returns the number of batches fetched from the supplier.
+     */
+    public long getBatchFetchCount() {
+        return batchFetchCount.get();
+    }
+
+    /**
+     * Returns the total time spent fetching batches from the supplier in
+     * nanoseconds.
+     */
+    public long getBatchFetchLatencyNanos() {
+        return batchFetchLatencyNanos.get();
+    }
+
+    /**
+     * Returns the size of the next batch to be fetched.
+     */
+    public int getCurrentBatchSize() {
+        return currentBatchSize;
+    }
+
+    private void prefetch(Block block) {
+        CompletableFuture<Block> future = new CompletableFuture<>();
+        int size;
+        synchronized (this) {
+            if (block != this.block || nextBlock != null) {
+                return;
+            }
+            nextBlock = future;
+            size = nextBatchSize(block);
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    future.complete(fetchBlock(size));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (Throwable t) {
+            // e.g. the executor rejected the task; the block will be fetched synchronously
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Returns the block which replaces the given spent or expired block.
+     * Called while holding the lock.
+     */
+    private Block takeNextBlock(Block spent) {
+        CompletableFuture<Block> next = nextBlock;
+        nextBlock = null;
+        if (next != null) {
+            boolean done = next.isDone();
+            try {
+                Block prefetched = next.join();
+                if (prefetched.isValid()) {
+                    if (!done) {
+                        stallCount.inc();
+                    }
+                    return prefetched;
+                }
+            } catch (RuntimeException e) {
+                // the prefetch failed, let's try again synchronously
+                ignore(e);
+            }
+        }
+        stallCount.inc();
+        return fetchBlock(nextBatchSize(spent));
+    }
+
+    private Block fetchBlock(int size) {
+        long start = System.nanoTime();
+        IdBatch idBatch = batchIdSupplier.newIdBatch(size);
+        batchFetchLatencyNanos.inc(System.nanoTime() - start);
+        batchFetchCount.inc();
+        return new Block(idBatch, validity);
+    }
+
+    /**
+     * Calculates the size of the batch following the given block from the
+     * rate at which the IDs of the block are consumed.
+     */
+    private int nextBatchSize(Block block) {
+        int size = currentBatchSize;
+        if (!adaptive) {
+            return size;
+        }
+        int consumed = block.numReturned;
+        if (consumed == 0) {
+            return size;
+        }
+        long elapsedMillis = max(1, Clock.currentTimeMillis() - block.createdAt);
+        long projectedDurationMillis = elapsedMillis * block.idBatch.batchSize() / consumed;
+        if (projectedDurationMillis < targetBatchDurationMillis / 2) {
+            size = (int) min((long) size * 2, max(batchSize, MAXIMUM_PREFETCH_COUNT));
+        } else if (projectedDurationMillis > targetBatchDurationMillis * 2) {
+            size = max(size / 2, batchSize);
+        }
+        currentBatchSize = size;
+        return size;
+    }
+
     private static final class Block {
         private static final AtomicIntegerFieldUpdater<Block> NUM_RETURNED = AtomicIntegerFieldUpdater
                 .newUpdater(Block.class, "numReturned");
 
         private final IdBatch idBatch;
+        private final long createdAt;
         private final long invalidSince;
+        private final int prefetchAt;
         private volatile int numReturned;
 
         private Block(IdBatch idBatch, long validity) {
             this.idBatch = idBatch;
-            this.invalidSince = validity > 0 ? Clock.currentTimeMillis() + validity : Long.MAX_VALUE;
+            this.createdAt = Clock.currentTimeMillis();
+            this.invalidSince = validity > 0 ? createdAt + validity : Long.MAX_VALUE;
+            int size = idBatch.batchSize();
+            this.prefetchAt = size - max(1, size / PREFETCH_THRESHOLD_DIVISOR);
         }
 
         /**
@@ -89,10 +275,21 @@ public class AutoBatcher {
             } while (!NUM_RETURNED.compareAndSet(this, index, index + 1));
             return idBatch.base() + index * idBatch.increment();
         }
+
+        boolean isValid() {
+            return invalidSince > Clock.currentTimeMillis();
+        }
+
+        /**
+         * Returns {@code true} if the given ID returned by {@link #next()} is
+         * the one after which the next block should be prefetched.
+         */
+        boolean isPrefetchTrigger(long id) {
+            return id == idBatch.base() + prefetchAt * idBatch.increment();
+        }
     }
 
     public interface IdBatchSupplier {
         IdBatch newIdBatch(int batchSize);
     }
 }
-
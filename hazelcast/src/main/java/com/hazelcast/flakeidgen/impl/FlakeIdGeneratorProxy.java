@@ -77,7 +77,7 @@ public class FlakeIdGeneratorProxy
     private final AtomicLong generatedValue = new AtomicLong(Long.MIN_VALUE);
 
     private volatile Member randomMember;
-    private AutoBatcher batcher;
+    private final AutoBatcher batcher;
 
     /**
      * Set of member UUIDs of which we know have node IDs out of range. These members are never again used
@@ -108,7 +108,7 @@ public class FlakeIdGeneratorProxy
                         }
                         return result.idBatch;
                     }
-                });
+                }, service.getPrefetchExecutor(), service.isAdaptivePrefetch());
 
         if (logger.isFinestEnabled()) {
             logger.finest("Created FlakeIdGeneratorProxy, name='" + name + "'");
@@ -122,6 +122,13 @@ public class FlakeIdGeneratorProxy
         return batcher.newId();
     }
 
+    /**
+     * Returns the batcher which serves the IDs of {@link #newId()}.
+     */
+    AutoBatcher getBatcher() {
+        return batcher;
+    }
+
     @Override
     public boolean init(long id) {
         // Add 1 hour worth of IDs as a reserve: due to long batch validity some clients might be still getting
@@ -24,13 +24,20 @@ import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.StatisticsAwareService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
+import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 
 public class FlakeIdGeneratorService implements ManagedService, RemoteService,
@@ -39,6 +46,9 @@ public class FlakeIdGeneratorService implements ManagedService, RemoteService,
     public static final String SERVICE_NAME = "hz:impl:flakeIdGeneratorService";
 
     private NodeEngine nodeEngine;
+    private Executor prefetchExecutor;
+    private boolean adaptivePrefetch;
+    private final ConcurrentMap<String, AutoBatcher> batchers = new ConcurrentHashMap<String, AutoBatcher>();
     private final ConcurrentHashMap<String, LocalFlakeIdGeneratorStatsImpl> statsMap
         = new ConcurrentHashMap<String, LocalFlakeIdGeneratorStatsImpl>();
     private final ConstructorFunction<String, LocalFlakeIdGeneratorStatsImpl> localFlakeIdStatsConstructorFunction
@@ -55,6 +65,11 @@ public class FlakeIdGeneratorService implements ManagedService, RemoteService,
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.nodeEngine = nodeEngine;
+        HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
+        if (hazelcastProperties.getBoolean(FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED)) {
+            prefetchExecutor = nodeEngine.getExecutionService().getExecutor(ASYNC_EXECUTOR);
+        }
+        adaptivePrefetch = hazelcastProperties.getBoolean(FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED);
     }
 
     @Override
@@ -65,16 +80,25 @@ public class FlakeIdGeneratorService implements ManagedService, RemoteService,
     @Override
     public void shutdown(boolean terminate) {
         reset();
+        batchers.clear();
     }
 
     @Override
     public DistributedObject createDistributedObject(String name) {
-        return new FlakeIdGeneratorProxy(name, nodeEngine, this);
+        FlakeIdGeneratorProxy proxy = new FlakeIdGeneratorProxy(name, nodeEngine, this);
+        AutoBatcher batcher = proxy.getBatcher();
+        batchers.put(name, batcher);
+        ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(batcher, "flakeIdGenerator[" + name + "]");
+        return proxy;
     }
 
     @Override
     public void destroyDistributedObject(String name) {
         statsMap.remove(name);
+        AutoBatcher batcher = batchers.remove(name);
+        if (batcher != null) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry().deregister(batcher);
+        }
     }
 
     @Override
@@ -93,6 +117,22 @@ public class FlakeIdGeneratorService implements ManagedService, RemoteService,
         getLocalFlakeIdStats(name).update(batchSize);
     }
 
+    /**
+     * Returns the executor to prefetch the batches of IDs on or {@code null}
+     * if the batches should be fetched only when the current batch is spent.
+     */
+    Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    /**
+     * Returns {@code true} if the size of the prefetched batches of IDs
+     * should adapt to the consumption rate.
+     */
+    boolean isAdaptivePrefetch() {
+        return adaptivePrefetch;
+    }
+
     private LocalFlakeIdGeneratorStatsImpl getLocalFlakeIdStats(String name) {
         return getOrPutIfAbsent(statsMap, name, localFlakeIdStatsConstructorFunction);
     }
@@ -24,9 +24,11 @@ import com.hazelcast.cluster.Cluster;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.collection.IList;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.collection.impl.list.ListService;
 import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.collection.impl.queue.ShardedQueueProxy;
 import com.hazelcast.collection.impl.set.SetService;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.DistributedObject;
@@ -76,8 +78,10 @@ import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
 import com.hazelcast.scheduledexecutor.impl.DistributedScheduledExecutorService;
 import com.hazelcast.spi.ProxyService;
 import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.topic.impl.TopicService;
+import com.hazelcast.topic.impl.reliable.PartitionedReliableTopicProxy;
 import com.hazelcast.topic.impl.reliable.ReliableTopicService;
 import com.hazelcast.transaction.HazelcastXAResource;
 import com.hazelcast.transaction.TransactionContext;
@@ -186,6 +190,11 @@ public class HazelcastInstanceImpl implements HazelcastInstance, SerializationSe
         return getDistributedObject(QueueService.SERVICE_NAME, name);
     }
 
+    @Override
+    public <E> IShardedQueue<E> getShardedQueue(String name, int shardCount) {
+        return new ShardedQueueProxy<>(this, name, shardCount);
+    }
+
     @Override
     public <E> ITopic<E> getTopic(String name) {
         checkNotNull(name, "Retrieving a topic instance with a null name is not allowed!");
@@ -198,6 +207,11 @@ public class HazelcastInstanceImpl implements HazelcastInstance, SerializationSe
         return getDistributedObject(ReliableTopicService.SERVICE_NAME, name);
     }
 
+    @Override
+    public <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount) {
+        return new PartitionedReliableTopicProxy<>(this, name, partitionCount);
+    }
+
     @Override
     public <E> ISet<E> getSet(String name) {
         checkNotNull(name, "Retrieving a set instance with a null name is not allowed!");
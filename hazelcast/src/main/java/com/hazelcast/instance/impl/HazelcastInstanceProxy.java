@@ -22,6 +22,7 @@ import com.hazelcast.cluster.Cluster;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.collection.IList;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.DistributedObject;
@@ -51,6 +52,7 @@ import com.hazelcast.replicatedmap.ReplicatedMap;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
 import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.transaction.HazelcastXAResource;
 import com.hazelcast.transaction.TransactionContext;
@@ -101,6 +103,11 @@ public final class HazelcastInstanceProxy implements HazelcastInstance, Serializ
         return getOriginal().getQueue(name);
     }
 
+    @Override
+    public <E> IShardedQueue<E> getShardedQueue(String name, int shardCount) {
+        return getOriginal().getShardedQueue(name, shardCount);
+    }
+
     @Override
     public <E> ITopic<E> getTopic(String name) {
         return getOriginal().getTopic(name);
@@ -111,6 +118,11 @@ public final class HazelcastInstanceProxy implements HazelcastInstance, Serializ
         return getOriginal().getReliableTopic(name);
     }
 
+    @Override
+    public <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount) {
+        return getOriginal().getPartitionedTopic(name, partitionCount);
+    }
+
     @Override
     public <E> ISet<E> getSet(String name) {
         return getOriginal().getSet(name);
@@ -40,26 +40,43 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeC
  * established yet. The {@code ExtendedBindMessage} itself includes a
  * schema version so it can be extended in future versions without having
  * to use another packet type.
+ * <p>
+ * Since schema version 2, the message also carries the index of the
+ * connection stripe it binds. Stripe {@code 0} is the regular member
+ * connection; other stripes are the additional connections configured with
+ * {@link com.hazelcast.spi.properties.GroupProperty#TCP_CONNECTIONS_PER_MEMBER}.
  *
  * @since 3.12
  * @see BindMessage
  */
 public class ExtendedBindMessage implements IdentifiedDataSerializable {
 
+    /**
+     * The first schema version carrying the connection stripe index.
+     */
+    public static final byte STRIPED_SCHEMA_VERSION = 2;
+
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
     private Address targetAddress;
     private boolean reply;
+    private int stripeIndex;
 
     public ExtendedBindMessage() {
     }
 
     public ExtendedBindMessage(byte schemaVersion, Map<ProtocolType, Collection<Address>> localAddresses,
                                Address targetAddress, boolean reply) {
+        this(schemaVersion, localAddresses, targetAddress, reply, 0);
+    }
+
+    public ExtendedBindMessage(byte schemaVersion, Map<ProtocolType, Collection<Address>> localAddresses,
+                               Address targetAddress, boolean reply, int stripeIndex) {
         this.schemaVersion = schemaVersion;
         this.localAddresses = new EnumMap<>(localAddresses);
         this.targetAddress = targetAddress;
         this.reply = reply;
+        this.stripeIndex = stripeIndex;
     }
 
     byte getSchemaVersion() {
@@ -78,6 +95,10 @@ public class ExtendedBindMessage implements IdentifiedDataSerializable {
         return reply;
     }
 
+    public int getStripeIndex() {
+        return stripeIndex;
+    }
+
     @Override
     public int getFactoryId() {
         return ClusterDataSerializerHook.F_ID;
@@ -95,12 +116,14 @@ public class ExtendedBindMessage implements IdentifiedDataSerializable {
         out.writeBoolean(reply);
         int size = (localAddresses == null) ? 0 : localAddresses.size();
         out.writeInt(size);
-        if (size == 0) {
-            return;
+        if (size > 0) {
+            for (Map.Entry<ProtocolType, Collection<Address>> addressEntry : localAddresses.entrySet()) {
+                out.writeInt(addressEntry.getKey().ordinal());
+                writeCollection(addressEntry.getValue(), out);
+            }
         }
-        for (Map.Entry<ProtocolType, Collection<Address>> addressEntry : localAddresses.entrySet()) {
-            out.writeInt(addressEntry.getKey().ordinal());
-            writeCollection(addressEntry.getValue(), out);
+        if (schemaVersion >= STRIPED_SCHEMA_VERSION) {
+            out.writeInt(stripeIndex);
         }
     }
 
@@ -112,20 +135,23 @@ public class ExtendedBindMessage implements IdentifiedDataSerializable {
         int size = in.readInt();
         if (size == 0) {
             localAddresses = Collections.emptyMap();
-            return;
+        } else {
+            Map<ProtocolType, Collection<Address>> addressesPerProtocolType = new EnumMap<>(ProtocolType.class);
+            for (int i = 0; i < size; i++) {
+                ProtocolType protocolType = ProtocolType.valueOf(in.readInt());
+                Collection<Address> addresses = readCollection(in);
+                addressesPerProtocolType.put(protocolType, addresses);
+            }
+            this.localAddresses = addressesPerProtocolType;
         }
-        Map<ProtocolType, Collection<Address>> addressesPerProtocolType = new EnumMap<>(ProtocolType.class);
-        for (int i = 0; i < size; i++) {
-            ProtocolType protocolType = ProtocolType.valueOf(in.readInt());
-            Collection<Address> addresses = readCollection(in);
-            addressesPerProtocolType.put(protocolType, addresses);
+        if (schemaVersion >= STRIPED_SCHEMA_VERSION) {
+            stripeIndex = in.readInt();
         }
-        this.localAddresses = addressesPerProtocolType;
     }
 
     @Override
     public String toString() {
         return "ExtendedBindMessage{" + "schemaVersion=" + schemaVersion + ", localAddresses=" + localAddresses
-                + ", targetAddress=" + targetAddress + ", reply=" + reply + '}';
+                + ", targetAddress=" + targetAddress + ", reply=" + reply + ", stripeIndex=" + stripeIndex + '}';
     }
 }
@@ -258,12 +258,16 @@ public final class ConfigValidator {
      */
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
-        checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        // clients support NATIVE Near Caches also in the open source version
+        boolean nativeSupported = isClient || getBuildInfo().isEnterprise();
+        if (!isClient) {
+            checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        }
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         checkEvictionConfig(nearCacheConfig.getEvictionConfig(), true);
         checkOnHeapNearCacheMaxSizePolicy(nearCacheConfig);
         checkNearCacheNativeMemoryConfig(nearCacheConfig.getInMemoryFormat(),
-                nativeMemoryConfig, getBuildInfo().isEnterprise());
+                nativeMemoryConfig, nativeSupported);
 
         if (isClient && nearCacheConfig.isCacheLocalEntries()) {
             throw new IllegalArgumentException("The Near Cache option `cache-local-entries` is not supported in "
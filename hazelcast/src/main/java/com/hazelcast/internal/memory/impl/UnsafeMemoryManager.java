@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkState;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryManager} which allocates blocks of native memory directly from
+ * the operating system by using {@link sun.misc.Unsafe}.
+ * <p>
+ * Every allocation is a separate {@code malloc()} call, so this memory manager
+ * is meant for a moderate number of blocks with a medium to large size, e.g.
+ * the serialized values of a Near Cache. The total amount of allocated memory
+ * is bounded by the capacity given at construction time; an allocation which
+ * would exceed it fails with a {@link NativeOutOfMemoryError}.
+ * <p>
+ * The memory manager doesn't keep track of the individual blocks, so
+ * {@link #dispose()} doesn't free the blocks which are still allocated; they
+ * have to be freed by their owners.
+ */
+public class UnsafeMemoryManager implements MemoryManager {
+
+    private final long capacity;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    public UnsafeMemoryManager(long capacity) {
+        checkState(UNSAFE_AVAILABLE && MEM_AVAILABLE, "Native memory can't be allocated, since Unsafe is not available");
+        this.capacity = checkPositive(capacity, "capacity should be positive");
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public void dispose() {
+        malloc.dispose();
+    }
+
+    /**
+     * @return the maximum number of bytes which can be allocated
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of bytes which are currently allocated
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    private void reserve(long size) {
+        for (; ; ) {
+            long used = usedMemory.get();
+            long newUsed = used + size;
+            if (newUsed > capacity) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory to allocate %d bytes!"
+                        + " Used: %d bytes, capacity: %d bytes", size, used, capacity));
+            }
+            if (usedMemory.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            checkPositive(size, "size should be positive");
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                usedMemory.addAndGet(-size);
+                throw new NativeOutOfMemoryError("Failed to allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            checkPositive(newSize, "newSize should be positive");
+            long delta = newSize - currentSize;
+            if (delta > 0) {
+                reserve(delta);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (delta > 0) {
+                    usedMemory.addAndGet(-delta);
+                }
+                throw new NativeOutOfMemoryError("Failed to reallocate " + newSize + " bytes of native memory", e);
+            }
+            if (delta > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, delta, (byte) 0);
+            } else {
+                usedMemory.addAndGet(delta);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            if (address == NULL_ADDRESS) {
+                return;
+            }
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            // the blocks are freed by their owners
+        }
+    }
+}
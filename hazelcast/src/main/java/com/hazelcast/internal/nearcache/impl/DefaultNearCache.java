@@ -19,9 +19,11 @@ package com.hazelcast.internal.nearcache.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheNativeRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.nio.serialization.Data;
@@ -48,6 +50,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     private final boolean serializeKeys;
     private final HazelcastProperties properties;
+    private final UnsafeMemoryManager memoryManager;
 
     private volatile boolean preloadDone;
 
@@ -58,10 +61,28 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 serializationService, scheduler, classLoader, properties);
     }
 
+    public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                            SerializationService serializationService, TaskScheduler scheduler,
+                            ClassLoader classLoader, HazelcastProperties properties,
+                            UnsafeMemoryManager memoryManager) {
+        this(name, nearCacheConfig, null,
+                serializationService, scheduler, classLoader, properties, memoryManager);
+    }
+
     public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
                             NearCacheRecordStore<K, V> nearCacheRecordStore,
                             SerializationService serializationService, TaskScheduler scheduler,
                             ClassLoader classLoader, HazelcastProperties properties) {
+        this(name, nearCacheConfig, nearCacheRecordStore,
+                serializationService, scheduler, classLoader, properties, null);
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    private DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                             NearCacheRecordStore<K, V> nearCacheRecordStore,
+                             SerializationService serializationService, TaskScheduler scheduler,
+                             ClassLoader classLoader, HazelcastProperties properties,
+                             UnsafeMemoryManager memoryManager) {
         this.name = name;
         this.nearCacheConfig = nearCacheConfig;
         this.serializationService = serializationService;
@@ -70,6 +91,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         this.nearCacheRecordStore = nearCacheRecordStore;
         this.serializeKeys = nearCacheConfig.isSerializeKeys();
         this.properties = properties;
+        this.memoryManager = memoryManager;
     }
 
     @Override
@@ -92,6 +114,13 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+            case NATIVE:
+                if (memoryManager == null) {
+                    throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format"
+                            + " for Near Cache");
+                }
+                return new NearCacheNativeRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader,
+                        memoryManager);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
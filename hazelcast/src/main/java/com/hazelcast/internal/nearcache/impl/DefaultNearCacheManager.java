@@ -16,9 +16,11 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.monitor.NearCacheStats;
@@ -48,10 +50,19 @@ public class DefaultNearCacheManager implements NearCacheManager {
     private final Queue<ScheduledFuture> preloadTaskFutures = new ConcurrentLinkedQueue<ScheduledFuture>();
     private final ConcurrentMap<String, NearCache> nearCacheMap = new ConcurrentHashMap<String, NearCache>();
 
+    // shared by all NATIVE Near Caches; null if native memory is not enabled
+    private final UnsafeMemoryManager memoryManager;
+
     private volatile ScheduledFuture storageTaskFuture;
 
     public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
                                    ClassLoader classLoader, HazelcastProperties properties) {
+        this(ss, es, classLoader, properties, null);
+    }
+
+    public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
+                                   ClassLoader classLoader, HazelcastProperties properties,
+                                   NativeMemoryConfig nativeMemoryConfig) {
         assert ss != null;
         assert es != null;
 
@@ -59,6 +70,8 @@ public class DefaultNearCacheManager implements NearCacheManager {
         this.scheduler = es;
         this.classLoader = classLoader;
         this.properties = properties;
+        this.memoryManager = nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()
+                ? new UnsafeMemoryManager(nativeMemoryConfig.getSize().bytes()) : null;
     }
 
     @Override
@@ -100,7 +113,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     protected <K, V> NearCache<K, V> createNearCache(String name, NearCacheConfig nearCacheConfig) {
         return new DefaultNearCache<K, V>(name, nearCacheConfig, serializationService,
-                scheduler, classLoader, properties);
+                scheduler, classLoader, properties, memoryManager);
     }
 
     @Override
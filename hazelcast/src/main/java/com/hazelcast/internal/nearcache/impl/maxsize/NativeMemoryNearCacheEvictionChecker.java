@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Near Cache max-size policy implementation for the native memory based policies:
+ * <ul>
+ * <li>{@link MaxSizePolicy#USED_NATIVE_MEMORY_SIZE}</li>
+ * <li>{@link MaxSizePolicy#USED_NATIVE_MEMORY_PERCENTAGE}</li>
+ * <li>{@link MaxSizePolicy#FREE_NATIVE_MEMORY_SIZE}</li>
+ * <li>{@link MaxSizePolicy#FREE_NATIVE_MEMORY_PERCENTAGE}</li>
+ * </ul>
+ * Checks if the native memory used by the Near Caches sharing the {@link UnsafeMemoryManager} has reached
+ * the configured threshold or not.
+ *
+ * @see EvictionChecker
+ */
+public class NativeMemoryNearCacheEvictionChecker implements EvictionChecker {
+
+    private static final int ONE_HUNDRED_PERCENT = 100;
+
+    private final UnsafeMemoryManager memoryManager;
+    private final MaxSizePolicy maxSizePolicy;
+    private final long threshold;
+
+    public NativeMemoryNearCacheEvictionChecker(MaxSizePolicy maxSizePolicy, int size,
+                                                UnsafeMemoryManager memoryManager) {
+        this.memoryManager = memoryManager;
+        this.maxSizePolicy = maxSizePolicy;
+        this.threshold = toThresholdBytes(maxSizePolicy, size, memoryManager.getCapacity());
+    }
+
+    private static long toThresholdBytes(MaxSizePolicy maxSizePolicy, int size, long capacity) {
+        switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+            case FREE_NATIVE_MEMORY_SIZE:
+                return MEGABYTES.toBytes(size);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return capacity * size / ONE_HUNDRED_PERCENT;
+            default:
+                throw new IllegalArgumentException("Not a native memory max-size policy: " + maxSizePolicy);
+        }
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        long usedMemory = memoryManager.getUsedMemory();
+        switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return usedMemory >= threshold;
+            default:
+                return memoryManager.getCapacity() - usedMemory < threshold;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord} which stores the bytes of its
+ * {@link Data} value in native memory allocated from a {@link MemoryManager}.
+ * <p>
+ * The value is copied into native memory by {@link #setValue(Data)} and copied back to the heap by
+ * {@link #getValue()}. Once the record has been removed from its Near Cache, the native memory has to be
+ * released by calling {@link #free()}; after that {@link #getValue()} returns {@code null} and the record
+ * can't store a value anymore. Accessing and releasing the native memory is synchronized on the record,
+ * so a concurrent reader never sees memory which has already been released.
+ */
+public class NearCacheNativeRecord extends AbstractNearCacheRecord<Data> {
+
+    private final MemoryManager memoryManager;
+
+    private long address = NULL_ADDRESS;
+    private volatile int size;
+    private boolean hasValue;
+    private volatile boolean freed;
+
+    public NearCacheNativeRecord(MemoryManager memoryManager, long creationTime, long expirationTime) {
+        super(null, creationTime, expirationTime);
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    public synchronized Data getValue() {
+        if (!hasValue) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        if (size > 0) {
+            memoryManager.getAccessor().copyToByteArray(address, bytes, 0, size);
+        }
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public synchronized void setValue(Data value) {
+        if (freed) {
+            return;
+        }
+        release();
+        if (value == null) {
+            size = 0;
+            return;
+        }
+
+        byte[] bytes = value.toByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        if (length > 0) {
+            address = memoryManager.getAllocator().allocate(length);
+            memoryManager.getAccessor().copyFromByteArray(bytes, 0, address, length);
+        }
+        size = length;
+        hasValue = true;
+    }
+
+    /**
+     * Releases the native memory of this record. The record can't be used to store a value anymore.
+     */
+    public synchronized void free() {
+        release();
+        freed = true;
+    }
+
+    /**
+     * @return {@code true} if the native memory of this record has been released, {@code false} otherwise
+     */
+    public boolean isFreed() {
+        return freed;
+    }
+
+    /**
+     * Returns the number of bytes of native memory used by the value of this record.
+     * <p>
+     * The size is kept after the record has been freed, so the memory cost of the record can be calculated
+     * consistently for the statistics.
+     *
+     * @return the number of bytes of native memory used by the value
+     */
+    public int getNativeSize() {
+        return size;
+    }
+
+    private void release() {
+        if (address != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(address, size);
+            address = NULL_ADDRESS;
+        }
+        hasValue = false;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheNativeRecord{" + super.toString()
+                + ", address=" + address
+                + ", size=" + size
+                + ", freed=" + freed
+                + '}';
+    }
+}
@@ -171,6 +171,7 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
                 nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
                 nearCacheStats.incrementInvalidations();
             }
+            onRemove(key, record, true);
             return null;
         };
     }
@@ -96,7 +96,7 @@ public class HeapNearCacheRecordMap<K, V extends NearCacheRecord>
         if (evictionCandidate == null) {
             return false;
         }
-        if (remove(evictionCandidate.getAccessor()) == null) {
+        if (!remove(evictionCandidate.getAccessor(), evictionCandidate.getEvictable())) {
             return false;
         }
         if (evictionListener != null) {
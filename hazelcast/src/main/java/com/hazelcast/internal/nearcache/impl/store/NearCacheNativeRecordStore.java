@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.Map;
+
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.util.Clock.currentTimeMillis;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * The serialized values are stored in native memory allocated from an {@link UnsafeMemoryManager}, so they
+ * don't add to the heap usage and the GC pauses of the client. The keys and the record metadata stay on-heap
+ * in the index of the Near Cache, which is used for the lookups and the sampling based eviction.
+ * <p>
+ * Besides {@link MaxSizePolicy#ENTRY_COUNT}, the native memory based max-size policies are supported. They
+ * are evaluated against the memory used by all Near Caches sharing the same memory manager.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NearCacheNativeRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheNativeRecord> {
+
+    private final UnsafeMemoryManager memoryManager;
+
+    public NearCacheNativeRecordStore(String name,
+                                      NearCacheConfig nearCacheConfig,
+                                      SerializationService serializationService,
+                                      ClassLoader classLoader,
+                                      UnsafeMemoryManager memoryManager) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.memoryManager = checkNotNull(memoryManager, "memoryManager cannot be null");
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        MaxSizePolicy maxSizePolicy = evictionConfig.getMaximumSizePolicy();
+        switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+            case FREE_NATIVE_MEMORY_SIZE:
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return new NativeMemoryNearCacheEvictionChecker(maxSizePolicy, evictionConfig.getSize(), memoryManager);
+            default:
+                return super.createNearCacheEvictionChecker(evictionConfig, nearCacheConfig);
+        }
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data) {
+            return
+                    // reference to this key data inside map ("store" field)
+                    REFERENCE_SIZE
+                            // heap cost of this key data
+                            + ((Data) key).getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheNativeRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        // reference to this record inside map ("store" field)
+        return REFERENCE_SIZE
+                // references to "value" and "memoryManager" fields
+                + 2 * REFERENCE_SIZE
+                // partition Id
+                + (Integer.SIZE / Byte.SIZE)
+                // "uuid" ref size + 2 long in uuid
+                + REFERENCE_SIZE + (2 * (Long.SIZE / Byte.SIZE))
+                // "address" and "size" fields
+                + (Long.SIZE / Byte.SIZE) + (Integer.SIZE / Byte.SIZE)
+                // native memory used by the value
+                + record.getNativeSize()
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE);
+    }
+
+    @Override
+    protected NearCacheNativeRecord createRecord(V value) {
+        Data dataValue = toData(value);
+        long creationTime = currentTimeMillis();
+        long expirationTime = timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET;
+        NearCacheNativeRecord record = new NearCacheNativeRecord(memoryManager, creationTime, expirationTime);
+        record.setValue(dataValue);
+        return record;
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheNativeRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected V recordToValue(NearCacheNativeRecord record) {
+        Data value = record.getValue();
+        if (value == null) {
+            // a freed record has been removed concurrently, so it is a miss
+            return record.isFreed() ? null : (V) CACHED_AS_NULL;
+        }
+        return toValue(value);
+    }
+
+    @Override
+    public void put(K key, Data keyData, V value, Data valueData) {
+        try {
+            super.put(key, keyData, value, valueData);
+        } catch (NativeOutOfMemoryError e) {
+            // make room by a forced eviction and try once more
+            doEviction(true);
+            try {
+                super.put(key, keyData, value, valueData);
+            } catch (NativeOutOfMemoryError ignored) {
+                // the value is not cached, it will be fetched from the cluster again
+                ignore(ignored);
+            }
+        }
+    }
+
+    @Override
+    protected NearCacheNativeRecord updateReservedRecordInternal(K key, V value, NearCacheNativeRecord reservedRecord,
+                                                                 long reservationId) {
+        try {
+            return super.updateReservedRecordInternal(key, value, reservedRecord, reservationId);
+        } catch (NativeOutOfMemoryError e) {
+            // the reserved record has not been published, so it can be dropped without updating the statistics
+            reservedRecord.free();
+            return null;
+        }
+    }
+
+    @Override
+    protected NearCacheNativeRecord putRecord(K key, NearCacheNativeRecord record) {
+        NearCacheNativeRecord oldRecord = super.putRecord(key, record);
+        if (oldRecord != null) {
+            oldRecord.free();
+        }
+        return oldRecord;
+    }
+
+    @Override
+    protected void onRemove(K key, NearCacheNativeRecord record, boolean removed) {
+        if (removed) {
+            record.free();
+        }
+    }
+
+    @Override
+    public void onEvict(K key, NearCacheNativeRecord record, boolean wasExpired) {
+        super.onEvict(key, record, wasExpired);
+        record.free();
+    }
+
+    @Override
+    public void clear() {
+        checkAvailable();
+
+        // the records are removed one by one, so every removed record is freed exactly once
+        int size = 0;
+        for (Map.Entry<K, NearCacheNativeRecord> entry : records.entrySet()) {
+            NearCacheNativeRecord record = entry.getValue();
+            if (records.remove(entry.getKey(), record)) {
+                record.free();
+                size++;
+            }
+        }
+        nearCacheStats.setOwnedEntryCount(0);
+        nearCacheStats.setOwnedEntryMemoryCost(0L);
+        nearCacheStats.incrementInvalidations(size);
+        nearCacheStats.incrementInvalidationRequests();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.spi.ServiceNamespace;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
+import com.hazelcast.spi.partition.PartitionReplicationEvent;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
+
+/**
+ * A {@link FragmentedMigrationAwareService} which can maintain a Merkle tree
+ * of the data of its replica fragments.
+ * <p>
+ * When the anti-entropy system detects that a backup replica fragment is
+ * not in sync with the primary replica, the backup replica sends the leaves
+ * of its Merkle tree in the replica sync request. The primary replica
+ * compares them with the leaves of its own Merkle tree and replicates only
+ * the data belonging to the leaves that are found to be different, instead
+ * of replicating the whole replica fragment.
+ *
+ * @see FragmentedMigrationAwareService
+ * @see com.hazelcast.wan.impl.merkletree.MerkleTree
+ */
+public interface MerkleTreeReplicationAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns the Merkle tree of the given replica fragment of the partition.
+     * <p>
+     * This method may be called outside of the partition thread, so the
+     * caller has to take a snapshot of the returned tree before using it.
+     *
+     * @param partitionId the partition ID
+     * @param namespace   the namespace of the replica fragment
+     * @return the Merkle tree or {@code null} if the service doesn't
+     * maintain a Merkle tree for the replica fragment
+     */
+    MerkleTreeView getMerkleTree(int partitionId, ServiceNamespace namespace);
+
+    /**
+     * Returns an operation which makes the replica fragment of a replica
+     * having the given Merkle tree identical to the local replica fragment
+     * by replicating only the data of the differing Merkle tree leaves.
+     * <p>
+     * This method is called on the primary replica. Returning {@code null}
+     * means that the differences can't be determined, in which case the
+     * whole replica fragment is replicated with
+     * {@link #prepareReplicationOperation(PartitionReplicationEvent, java.util.Collection)}.
+     *
+     * @param event       replication event
+     * @param namespace   the namespace of the replica fragment
+     * @param replicaTree the Merkle tree of the replica fragment on the replica
+     * @return the replication operation or {@code null}
+     */
+    Operation prepareMerkleTreeReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                    MerkleTreeView replicaTree);
+}
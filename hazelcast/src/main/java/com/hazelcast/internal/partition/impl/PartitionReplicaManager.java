@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Member;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.MerkleTreeReplicationAwareService;
 import com.hazelcast.internal.partition.NonFragmentedServiceNamespace;
 import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.partition.PartitionReplicaVersionManager;
@@ -40,19 +41,23 @@ import com.hazelcast.util.scheduler.EntryTaskSchedulerFactory;
 import com.hazelcast.util.scheduler.ScheduleType;
 import com.hazelcast.util.scheduler.ScheduledEntry;
 import com.hazelcast.util.scheduler.ScheduledEntryProcessor;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.createRemoteMerkleTreeView;
 import static java.util.Collections.newSetFromMap;
 
 /**
@@ -226,10 +231,37 @@ public class PartitionReplicaManager implements PartitionReplicaVersionManager {
         }
         replicaSyncRequestsCounter.inc();
 
-        PartitionReplicaSyncRequest syncRequest = new PartitionReplicaSyncRequest(partitionId, namespaces, replicaIndex);
+        Map<ServiceNamespace, MerkleTreeView> merkleTrees = getMerkleTrees(partitionId, namespaces);
+        PartitionReplicaSyncRequest syncRequest =
+                new PartitionReplicaSyncRequest(partitionId, namespaces, merkleTrees, replicaIndex);
         nodeEngine.getOperationService().send(syncRequest, target.address());
     }
 
+    /**
+     * Takes a snapshot of the Merkle trees of the given replica fragments, if their services maintain one. The partition
+     * owner replicates only the data that differs on this replica for these fragments.
+     */
+    private Map<ServiceNamespace, MerkleTreeView> getMerkleTrees(int partitionId, Collection<ServiceNamespace> namespaces) {
+        Collection<MerkleTreeReplicationAwareService> services =
+                nodeEngine.getServices(MerkleTreeReplicationAwareService.class);
+        Map<ServiceNamespace, MerkleTreeView> merkleTrees = Collections.emptyMap();
+        for (ServiceNamespace namespace : namespaces) {
+            for (MerkleTreeReplicationAwareService service : services) {
+                if (!service.isKnownServiceNamespace(namespace)) {
+                    continue;
+                }
+                MerkleTreeView merkleTree = service.getMerkleTree(partitionId, namespace);
+                if (merkleTree != null) {
+                    if (merkleTrees.isEmpty()) {
+                        merkleTrees = new HashMap<>();
+                    }
+                    merkleTrees.put(namespace, createRemoteMerkleTreeView(merkleTree));
+                }
+            }
+        }
+        return merkleTrees;
+    }
+
     private List<ServiceNamespace> registerSyncInfoForNamespaces(int partitionId,
             Collection<ServiceNamespace> requestedNamespaces, int replicaIndex, PartitionReplica target, int permits) {
 
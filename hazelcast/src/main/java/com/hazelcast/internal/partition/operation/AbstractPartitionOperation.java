@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.partition.operation;
 
+import com.hazelcast.internal.partition.MerkleTreeReplicationAwareService;
 import com.hazelcast.internal.partition.NonFragmentedServiceNamespace;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -26,6 +27,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.ServiceNamespace;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -79,13 +81,22 @@ abstract class AbstractPartitionOperation extends Operation implements Identifie
             FragmentedMigrationAwareService service = nodeEngine.getService(serviceName);
             assert service.isKnownServiceNamespace(ns) : ns + " should be known by " + service;
 
-            operations = prepareAndAppendReplicationOperation(event, ns, service, serviceName, operations);
+            operations = prepareAndAppendReplicationOperation(event, ns, null, service, serviceName, operations);
         }
 
         return operations;
     }
 
     final Collection<Operation> createFragmentReplicationOperations(PartitionReplicationEvent event, ServiceNamespace ns) {
+        return createFragmentReplicationOperations(event, ns, (MerkleTreeView) null);
+    }
+
+    /**
+     * Creates the replication operations of the given namespace. If the Merkle tree of the replica
+     * is provided, the services supporting it replicate only the data that differs on the replica.
+     */
+    final Collection<Operation> createFragmentReplicationOperations(PartitionReplicationEvent event, ServiceNamespace ns,
+            MerkleTreeView replicaTree) {
         assert !(ns instanceof NonFragmentedServiceNamespace) : ns + " should be used only for non-fragmented services!";
 
         Collection<Operation> operations = emptySet();
@@ -98,15 +109,23 @@ abstract class AbstractPartitionOperation extends Operation implements Identifie
                 continue;
             }
 
-            operations = prepareAndAppendReplicationOperation(event, ns, service, serviceInfo.getName(), operations);
+            operations = prepareAndAppendReplicationOperation(event, ns, replicaTree, service, serviceInfo.getName(),
+                    operations);
         }
         return operations;
     }
 
     private Collection<Operation> prepareAndAppendReplicationOperation(PartitionReplicationEvent event, ServiceNamespace ns,
-            FragmentedMigrationAwareService service, String serviceName, Collection<Operation> operations) {
+            MerkleTreeView replicaTree, FragmentedMigrationAwareService service, String serviceName,
+            Collection<Operation> operations) {
 
-        Operation op = service.prepareReplicationOperation(event, singleton(ns));
+        Operation op = null;
+        if (replicaTree != null && service instanceof MerkleTreeReplicationAwareService) {
+            op = ((MerkleTreeReplicationAwareService) service).prepareMerkleTreeReplicationOperation(event, ns, replicaTree);
+        }
+        if (op == null) {
+            op = service.prepareReplicationOperation(event, singleton(ns));
+        }
         if (op == null) {
             return operations;
         }
@@ -37,15 +37,20 @@ import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.partition.PartitionReplicationEvent;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 import com.hazelcast.spi.ServiceNamespace;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.readList;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeList;
+import static com.hazelcast.util.MapUtil.createHashMap;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.createRemoteMerkleTreeView;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.writeLeaves;
 
 /**
  * The request sent from a replica to the partition owner to synchronize the replica data. The partition owner can send a
@@ -56,18 +61,26 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeL
  * <li>the maximum number of parallel synchronizations has already been reached</li>
  * </ul>
  * An empty response can be sent if the current replica version is 0.
+ * <p>
+ * The request may contain the Merkle trees of some of the replica fragments of the replica. For these namespaces
+ * the partition owner replicates only the data that differs on the replica, if the service of the namespace supports
+ * it, see {@link com.hazelcast.internal.partition.MerkleTreeReplicationAwareService}.
  */
 public final class PartitionReplicaSyncRequest extends AbstractPartitionOperation
         implements PartitionAwareOperation, MigrationCycleOperation {
 
     private List<ServiceNamespace> namespaces;
+    private Map<ServiceNamespace, MerkleTreeView> merkleTrees;
 
     public PartitionReplicaSyncRequest() {
         namespaces = Collections.emptyList();
+        merkleTrees = Collections.emptyMap();
     }
 
-    public PartitionReplicaSyncRequest(int partitionId, List<ServiceNamespace> namespaces, int replicaIndex) {
+    public PartitionReplicaSyncRequest(int partitionId, List<ServiceNamespace> namespaces,
+                                       Map<ServiceNamespace, MerkleTreeView> merkleTrees, int replicaIndex) {
         this.namespaces = namespaces;
+        this.merkleTrees = merkleTrees;
         setPartitionId(partitionId);
         setReplicaIndex(replicaIndex);
     }
@@ -137,7 +150,7 @@ public final class PartitionReplicaSyncRequest extends AbstractPartitionOperatio
                 if (NonFragmentedServiceNamespace.INSTANCE.equals(namespace)) {
                     operations = createNonFragmentedReplicationOperations(event);
                 } else {
-                    operations = createFragmentReplicationOperations(event, namespace);
+                    operations = createFragmentReplicationOperations(event, namespace, merkleTrees.get(namespace));
                 }
                 sendOperations(operations, namespace);
                 iterator.remove();
@@ -255,11 +268,22 @@ public final class PartitionReplicaSyncRequest extends AbstractPartitionOperatio
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         writeList(namespaces, out);
+        out.writeInt(merkleTrees.size());
+        for (Map.Entry<ServiceNamespace, MerkleTreeView> entry : merkleTrees.entrySet()) {
+            out.writeObject(entry.getKey());
+            writeLeaves(out, entry.getValue());
+        }
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         namespaces = readList(in);
+        int merkleTreeCount = in.readInt();
+        merkleTrees = merkleTreeCount == 0 ? Collections.emptyMap() : createHashMap(merkleTreeCount);
+        for (int i = 0; i < merkleTreeCount; i++) {
+            ServiceNamespace namespace = in.readObject();
+            merkleTrees.put(namespace, createRemoteMerkleTreeView(in));
+        }
     }
 
     @Override
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.util.EmptyStatement;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * Releases the memory of direct and memory-mapped {@link ByteBuffer}s
+ * explicitly, instead of waiting for the buffers to be garbage collected.
+ * <p>
+ * On Java 9 and newer {@code sun.misc.Unsafe#invokeCleaner(ByteBuffer)} is
+ * used, on Java 8 the cleaner of the {@code sun.nio.ch.DirectBuffer}. If
+ * neither is accessible, the memory is released when the buffer is garbage
+ * collected.
+ * <p>
+ * The buffer, and every view created from it, must not be accessed after
+ * it has been cleaned, otherwise the JVM may crash.
+ */
+public final class DirectBufferCleaner {
+
+    private static final ILogger LOGGER = Logger.getLogger(DirectBufferCleaner.class);
+    private static final Cleaner CLEANER = findCleaner();
+
+    private DirectBufferCleaner() {
+    }
+
+    /**
+     * Releases the memory of the given buffer, if it is a direct buffer.
+     *
+     * @param buffer the buffer to clean, not a duplicate or a slice of another buffer
+     * @return {@code true} if the memory was released, {@code false} if the
+     * buffer is not direct or it can't be cleaned explicitly
+     */
+    public static boolean clean(ByteBuffer buffer) {
+        if (CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return false;
+        }
+        try {
+            CLEANER.clean(buffer);
+            return true;
+        } catch (Throwable t) {
+            LOGGER.finest("Failed to clean the direct buffer, it is released when it is garbage collected", t);
+            return false;
+        }
+    }
+
+    private static Cleaner findCleaner() {
+        try {
+            if (UNSAFE_AVAILABLE) {
+                final Method invokeCleaner = UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+                return new Cleaner() {
+                    @Override
+                    public void clean(ByteBuffer buffer) throws Exception {
+                        invokeCleaner.invoke(UNSAFE, buffer);
+                    }
+                };
+            }
+        } catch (NoSuchMethodException e) {
+            // before Java 9, the cleaner of the buffer is used
+            EmptyStatement.ignore(e);
+        } catch (Throwable t) {
+            LOGGER.finest("Unsafe.invokeCleaner is not accessible", t);
+        }
+        try {
+            final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return new Cleaner() {
+                @Override
+                public void clean(ByteBuffer buffer) throws Exception {
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleanMethod.invoke(cleaner);
+                    }
+                }
+            };
+        } catch (Throwable t) {
+            LOGGER.finest("The cleaner of direct buffers is not accessible", t);
+            return null;
+        }
+    }
+
+    private interface Cleaner {
+        void clean(ByteBuffer buffer) throws Exception;
+    }
+}
@@ -38,6 +38,7 @@ import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -218,6 +219,7 @@ public class LocalMapStatsProvider {
             onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
         }
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
+        addMerkleTreeCostOf(recordStore, onDemandStats);
         onDemandStats.setLastAccessTime(stats.getLastAccessTime());
         onDemandStats.setLastUpdateTime(stats.getLastUpdateTime());
         onDemandStats.setBackupCount(recordStore.getMapContainer().getMapConfig().getTotalBackupCount());
@@ -245,6 +247,7 @@ public class LocalMapStatsProvider {
             if (isReplicaOnThisNode(replicaAddress)) {
                 backupEntryMemoryCost += recordStore.getOwnedEntryCost();
                 backupEntryCount += recordStore.size();
+                addMerkleTreeCostOf(recordStore, onDemandStats);
             }
         }
 
@@ -256,6 +259,13 @@ public class LocalMapStatsProvider {
         onDemandStats.setBackupCount(recordStore.getMapContainer().getMapConfig().getTotalBackupCount());
     }
 
+    private static void addMerkleTreeCostOf(RecordStore recordStore, LocalMapOnDemandCalculatedStats onDemandStats) {
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        if (merkleTree != null) {
+            onDemandStats.incrementMerkleTreesCost(merkleTree.footprint());
+        }
+    }
+
     private static boolean hasRecords(RecordStore recordStore) {
         return recordStore != null && recordStore.size() > 0;
     }
@@ -25,6 +25,7 @@ import com.hazelcast.internal.serialization.impl.ArrayDataSerializableFactory;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.journal.CompactEventJournalMapEvent;
 import com.hazelcast.map.impl.journal.DeserializingEventJournalMapEvent;
 import com.hazelcast.map.impl.journal.InternalEventJournalMapEvent;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
@@ -77,6 +78,7 @@ import com.hazelcast.map.impl.operation.MapGetInvalidationMetaDataOperation;
 import com.hazelcast.map.impl.operation.MapIsEmptyOperation;
 import com.hazelcast.map.impl.operation.MapLoadAllOperationFactory;
 import com.hazelcast.map.impl.operation.MapNearCacheStateHolder;
+import com.hazelcast.map.impl.operation.MapMerkleTreeReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationStateHolder;
 import com.hazelcast.map.impl.operation.MapSizeOperation;
@@ -137,6 +139,8 @@ import com.hazelcast.map.impl.querycache.subscriber.operation.SetReadCursorOpera
 import com.hazelcast.map.impl.record.RecordInfo;
 import com.hazelcast.map.impl.record.RecordReplicationInfo;
 import com.hazelcast.map.impl.tx.MapTransactionLogRecord;
+import com.hazelcast.map.impl.tx.TxnBatchBackupOperation;
+import com.hazelcast.map.impl.tx.TxnBatchOperation;
 import com.hazelcast.map.impl.tx.TxnDeleteBackupOperation;
 import com.hazelcast.map.impl.tx.TxnDeleteOperation;
 import com.hazelcast.map.impl.tx.TxnLockAndGetOperation;
@@ -319,8 +323,12 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int ADD_INDEX_BACKUP = 151;
     public static final int TXN_SET_BACKUP = 152;
     public static final int TXN_DELETE_BACKUP = 153;
+    public static final int EVENT_JOURNAL_COMPACT_MAP_EVENT = 154;
+    public static final int MAP_MERKLE_TREE_REPLICATION = 155;
+    public static final int TXN_BATCH = 156;
+    public static final int TXN_BATCH_BACKUP = 157;
 
-    private static final int LEN = TXN_DELETE_BACKUP + 1;
+    private static final int LEN = TXN_BATCH_BACKUP + 1;
 
     @Override
     public int getFactoryId() {
@@ -480,6 +488,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[ADD_INDEX_BACKUP] = arg -> new AddIndexBackupOperation();
         constructors[TXN_SET_BACKUP] = arg -> new TxnSetBackupOperation();
         constructors[TXN_DELETE_BACKUP] = arg -> new TxnDeleteBackupOperation();
+        constructors[EVENT_JOURNAL_COMPACT_MAP_EVENT] = arg -> new CompactEventJournalMapEvent();
+        constructors[MAP_MERKLE_TREE_REPLICATION] = arg -> new MapMerkleTreeReplicationOperation();
+        constructors[TXN_BATCH] = arg -> new TxnBatchOperation();
+        constructors[TXN_BATCH_BACKUP] = arg -> new TxnBatchBackupOperation();
 
         return new ArrayDataSerializableFactory(constructors);
     }
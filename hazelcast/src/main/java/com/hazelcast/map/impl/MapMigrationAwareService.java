@@ -17,6 +17,8 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
+import com.hazelcast.internal.partition.MerkleTreeReplicationAwareService;
+import com.hazelcast.map.impl.operation.MapMerkleTreeReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
@@ -29,7 +31,6 @@ import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.ObjectNamespace;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
 import com.hazelcast.spi.partition.PartitionReplicationEvent;
@@ -38,6 +39,8 @@ import com.hazelcast.spi.ServiceNamespace;
 import com.hazelcast.spi.partition.MigrationEndpoint;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -48,13 +51,14 @@ import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.rem
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.sendEndOfSequenceEvents;
 import static com.hazelcast.spi.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.compareTrees;
 
 /**
  * Defines migration behavior of map service.
  *
  * @see MapService
  */
-class MapMigrationAwareService implements FragmentedMigrationAwareService {
+class MapMigrationAwareService implements MerkleTreeReplicationAwareService {
 
     protected final PartitionContainer[] containers;
     protected final MapServiceContext mapServiceContext;
@@ -139,6 +143,42 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService {
         return operation;
     }
 
+    @Override
+    public MerkleTreeView getMerkleTree(int partitionId, ServiceNamespace namespace) {
+        RecordStore recordStore = getExistingRecordStore(partitionId, namespace);
+        return recordStore != null ? recordStore.getMerkleTree() : null;
+    }
+
+    @Override
+    public Operation prepareMerkleTreeReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                           MerkleTreeView replicaTree) {
+        int replicaIndex = event.getReplicaIndex();
+        RecordStore recordStore = getExistingRecordStore(event.getPartitionId(), namespace);
+        if (recordStore == null || recordStore.getMapContainer().getTotalBackupCount() < replicaIndex) {
+            return null;
+        }
+
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        if (merkleTree == null || merkleTree.depth() != replicaTree.depth()
+                || recordStore.getMapContainer().getMapStoreContext().isWriteBehindMapStoreEnabled()) {
+            // the write-behind queues can be replicated only with the whole map data
+            return null;
+        }
+
+        Operation operation = new MapMerkleTreeReplicationOperation(recordStore, compareTrees(merkleTree, replicaTree),
+                replicaIndex);
+        operation.setService(mapServiceContext.getService());
+        operation.setNodeEngine(mapServiceContext.getNodeEngine());
+
+        return operation;
+    }
+
+    private RecordStore getExistingRecordStore(int partitionId, ServiceNamespace namespace) {
+        assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
+
+        return containers[partitionId].getExistingRecordStore(((ObjectNamespace) namespace).getObjectName());
+    }
+
     private boolean assertAllKnownNamespaces(Collection<ServiceNamespace> namespaces) {
         for (ServiceNamespace namespace : namespaces) {
             assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterStateListener;
+import com.hazelcast.internal.partition.MerkleTreeReplicationAwareService;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.monitor.LocalMapStats;
@@ -28,7 +29,6 @@ import com.hazelcast.spi.DistributedObjectNamespace;
 import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
-import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.LockInterceptorService;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
@@ -51,6 +51,7 @@ import com.hazelcast.spi.partition.IPartitionLostEvent;
 import com.hazelcast.transaction.TransactionalObject;
 import com.hazelcast.transaction.impl.Transaction;
 import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.util.Collection;
 import java.util.Map;
@@ -75,7 +76,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, FragmentedMigrationAwareService,
+public class MapService implements ManagedService, MerkleTreeReplicationAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService<LocalMapStats>,
         PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener, ClusterStateListener,
@@ -141,6 +142,17 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public MerkleTreeView getMerkleTree(int partitionId, ServiceNamespace namespace) {
+        return migrationAwareService.getMerkleTree(partitionId, namespace);
+    }
+
+    @Override
+    public Operation prepareMerkleTreeReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                           MerkleTreeView replicaTree) {
+        return migrationAwareService.prepareMerkleTreeReplicationOperation(event, namespace, replicaTree);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.writeIntB;
+
+/**
+ * An {@link InternalEventJournalMapEvent} which keeps the serialized key, new
+ * value and old value of the event packed in a single byte array instead of
+ * three separate {@link Data} instances, each with its own byte array.
+ * <p>
+ * The layout of the packed array is:
+ * <pre>
+ * flags:byte [uncompressedBodyLength:int] body
+ * body = keyLength:varint key newValueLength:varint newValue oldValueLength:varint oldValue
+ * </pre>
+ * Every length is stored incremented by one as a variable-length integer
+ * using 7 bits per byte, so that {@code 0} stands for a {@code null} value
+ * and small payloads need a single byte for their length. When the new and the old value share the same
+ * serialization header (partition hash and type ID), the header of the old
+ * value is not stored again. If the body is at least as large as the
+ * compression threshold, it is compressed with {@link Deflater} as long as
+ * that makes it smaller.
+ * <p>
+ * The event is unpacked lazily, when it is read from the event journal by
+ * {@link #unpack()}; the data getters unpack the event on every call.
+ */
+public class CompactEventJournalMapEvent extends InternalEventJournalMapEvent {
+
+    /**
+     * The compression threshold which disables compression.
+     */
+    public static final int COMPRESSION_DISABLED = -1;
+
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int FLAG_SHARED_VALUE_HEADER = 1 << 1;
+    private static final int BODY_OFFSET = 1;
+    private static final int COMPRESSED_BODY_OFFSET = BODY_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int VAR_INT_BITS = 7;
+    private static final int VAR_INT_MASK = (1 << VAR_INT_BITS) - 1;
+    private static final int VAR_INT_CONTINUATION = 1 << VAR_INT_BITS;
+
+    private byte[] packed;
+
+    public CompactEventJournalMapEvent() {
+    }
+
+    private CompactEventJournalMapEvent(byte[] packed, int eventType) {
+        this.packed = packed;
+        this.eventType = eventType;
+    }
+
+    /**
+     * Packs the serialized key, new value and old value of an event.
+     *
+     * @param dataKey              the serialized key
+     * @param dataNewValue         the serialized new value, may be {@code null}
+     * @param dataOldValue         the serialized old value, may be {@code null}
+     * @param eventType            the type of the event
+     * @param compressionThreshold the minimum size of the packed values in bytes
+     *                             for which compression is tried, or
+     *                             {@link #COMPRESSION_DISABLED}
+     * @return the packed event
+     */
+    public static CompactEventJournalMapEvent pack(Data dataKey, Data dataNewValue, Data dataOldValue, int eventType,
+                                                   int compressionThreshold) {
+        byte[] key = toBytes(dataKey);
+        byte[] newValue = toBytes(dataNewValue);
+        byte[] oldValue = toBytes(dataOldValue);
+        boolean sharedValueHeader = hasSameHeader(newValue, oldValue);
+        int oldValueOffset = sharedValueHeader ? HEAP_DATA_OVERHEAD : 0;
+
+        int bodyLength = sizeOf(key, 0) + sizeOf(newValue, 0) + sizeOf(oldValue, oldValueOffset);
+        byte[] body = new byte[bodyLength];
+        int pos = put(body, 0, key, 0);
+        pos = put(body, pos, newValue, 0);
+        put(body, pos, oldValue, oldValueOffset);
+
+        int flags = sharedValueHeader ? FLAG_SHARED_VALUE_HEADER : 0;
+        if (compressionThreshold != COMPRESSION_DISABLED && bodyLength >= compressionThreshold) {
+            byte[] compressed = compress(body);
+            if (compressed != null) {
+                byte[] packed = new byte[COMPRESSED_BODY_OFFSET + compressed.length];
+                packed[0] = (byte) (flags | FLAG_COMPRESSED);
+                writeIntB(packed, BODY_OFFSET, bodyLength);
+                System.arraycopy(compressed, 0, packed, COMPRESSED_BODY_OFFSET, compressed.length);
+                return new CompactEventJournalMapEvent(packed, eventType);
+            }
+        }
+
+        byte[] packed = new byte[BODY_OFFSET + bodyLength];
+        packed[0] = (byte) flags;
+        System.arraycopy(body, 0, packed, BODY_OFFSET, bodyLength);
+        return new CompactEventJournalMapEvent(packed, eventType);
+    }
+
+    /**
+     * Unpacks this event.
+     *
+     * @return an event which holds the key, new value and old value of
+     * this event as separate {@link Data} instances
+     */
+    public InternalEventJournalMapEvent unpack() {
+        int flags = packed[0];
+        byte[] body;
+        int pos;
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            body = decompress(packed, readIntB(packed, BODY_OFFSET));
+            pos = 0;
+        } else {
+            body = packed;
+            pos = BODY_OFFSET;
+        }
+
+        BodyReader reader = new BodyReader(body, pos);
+        byte[] key = reader.read(null);
+        byte[] newValue = reader.read(null);
+        byte[] oldValue = reader.read((flags & FLAG_SHARED_VALUE_HEADER) != 0 ? newValue : null);
+        return new InternalEventJournalMapEvent(toData(key), toData(newValue), toData(oldValue), eventType);
+    }
+
+    /**
+     * Returns the number of bytes used to store the key and values of this
+     * event.
+     *
+     * @return the size of the packed array
+     */
+    public int getPackedSize() {
+        return packed.length;
+    }
+
+    /**
+     * @return {@code true} if the key and values of this event are compressed
+     */
+    public boolean isCompressed() {
+        return (packed[0] & FLAG_COMPRESSED) != 0;
+    }
+
+    @Override
+    public Data getDataKey() {
+        return unpack().getDataKey();
+    }
+
+    @Override
+    public Data getDataNewValue() {
+        return unpack().getDataNewValue();
+    }
+
+    @Override
+    public Data getDataOldValue() {
+        return unpack().getDataOldValue();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.EVENT_JOURNAL_COMPACT_MAP_EVENT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(eventType);
+        out.writeByteArray(packed);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        eventType = in.readInt();
+        packed = in.readByteArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompactEventJournalMapEvent that = (CompactEventJournalMapEvent) o;
+        return eventType == that.eventType && Arrays.equals(packed, that.packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(packed) + eventType;
+    }
+
+    private static byte[] toBytes(Data data) {
+        return data == null ? null : data.toByteArray();
+    }
+
+    private static Data toData(byte[] bytes) {
+        return bytes == null ? null : new HeapData(bytes);
+    }
+
+    private static int sizeOf(byte[] bytes, int offset) {
+        if (bytes == null) {
+            return 1;
+        }
+        int length = bytes.length - offset;
+        return sizeOfVarInt(length + 1) + length;
+    }
+
+    private static int sizeOfVarInt(int value) {
+        int size = 1;
+        while ((value >>>= VAR_INT_BITS) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarInt(byte[] buffer, int pos, int value) {
+        while ((value & ~VAR_INT_MASK) != 0) {
+            buffer[pos++] = (byte) ((value & VAR_INT_MASK) | VAR_INT_CONTINUATION);
+            value >>>= VAR_INT_BITS;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static boolean hasSameHeader(byte[] newValue, byte[] oldValue) {
+        if (newValue == null || oldValue == null
+                || newValue.length < HEAP_DATA_OVERHEAD || oldValue.length < HEAP_DATA_OVERHEAD) {
+            return false;
+        }
+        for (int i = 0; i < HEAP_DATA_OVERHEAD; i++) {
+            if (newValue[i] != oldValue[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int put(byte[] body, int pos, byte[] bytes, int offset) {
+        if (bytes == null) {
+            return writeVarInt(body, pos, 0);
+        }
+        int length = bytes.length - offset;
+        pos = writeVarInt(body, pos, length + 1);
+        System.arraycopy(bytes, offset, body, pos, length);
+        return pos + length;
+    }
+
+    /**
+     * Compresses the body.
+     *
+     * @return the compressed body, or {@code null} if it is not smaller than
+     * the uncompressed body
+     */
+    private static byte[] compress(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            // a compressed body which is not smaller is of no use
+            byte[] buffer = new byte[body.length - 1];
+            int length = deflater.deflate(buffer);
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] packed, int bodyLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(packed, COMPRESSED_BODY_OFFSET, packed.length - COMPRESSED_BODY_OFFSET);
+            byte[] body = new byte[bodyLength];
+            int length = inflater.inflate(body);
+            if (length != bodyLength || !inflater.finished()) {
+                throw new HazelcastSerializationException("Corrupted event journal event, expected " + bodyLength
+                        + " bytes but inflated " + length + " bytes");
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new HazelcastSerializationException("Corrupted event journal event", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Reads the length-prefixed values of a body one after the other.
+     */
+    private static final class BodyReader {
+
+        private final byte[] body;
+        private int pos;
+
+        private BodyReader(byte[] body, int pos) {
+            this.body = body;
+            this.pos = pos;
+        }
+
+        /**
+         * Reads the next value.
+         *
+         * @param headerSource the value to copy the serialization header from
+         *                     if the header of the value is shared, otherwise
+         *                     {@code null}
+         * @return the value, or {@code null} if a {@code null} value was stored
+         */
+        byte[] read(byte[] headerSource) {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            int offset = headerSource == null ? 0 : HEAP_DATA_OVERHEAD;
+            byte[] bytes = new byte[offset + length];
+            if (headerSource != null) {
+                System.arraycopy(headerSource, 0, bytes, 0, HEAP_DATA_OVERHEAD);
+            }
+            System.arraycopy(body, pos, bytes, offset, length);
+            pos += length;
+            return bytes;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = body[pos++];
+                value |= (b & VAR_INT_MASK) << shift;
+                shift += VAR_INT_BITS;
+            } while ((b & VAR_INT_CONTINUATION) != 0);
+            return value;
+        }
+    }
+}
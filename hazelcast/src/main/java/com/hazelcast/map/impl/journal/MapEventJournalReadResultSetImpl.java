@@ -47,7 +47,10 @@ public class MapEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetImpl
     @Override
     public void addItem(long seq, Object item) {
         // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalMapEvent e = (InternalEventJournalMapEvent) item;
+        InternalEventJournalMapEvent e = (InternalEventJournalMapEvent) item;
+        if (e instanceof CompactEventJournalMapEvent) {
+            e = ((CompactEventJournalMapEvent) e).unpack();
+        }
         final DeserializingEventJournalMapEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalMapEvent<>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
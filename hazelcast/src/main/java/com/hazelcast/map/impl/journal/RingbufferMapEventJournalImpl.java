@@ -41,6 +41,8 @@ import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.LOADED;
 import static com.hazelcast.core.EntryEventType.REMOVED;
 import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.journal.CompactEventJournalMapEvent.COMPRESSION_DISABLED;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_JOURNAL_COMPRESSION_THRESHOLD_BYTES;
 
 /**
  * The map event journal implementation based on the {@link com.hazelcast.ringbuffer.Ringbuffer}.
@@ -53,11 +55,14 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
     private final NodeEngineImpl nodeEngine;
     private final MapServiceContext mapServiceContext;
     private final ILogger logger;
+    private final int compressionThreshold;
 
     public RingbufferMapEventJournalImpl(NodeEngine engine, MapServiceContext mapServiceContext) {
         this.nodeEngine = (NodeEngineImpl) engine;
         this.mapServiceContext = mapServiceContext;
         this.logger = this.nodeEngine.getLogger(RingbufferMapEventJournalImpl.class);
+        int threshold = nodeEngine.getProperties().getInteger(EVENT_JOURNAL_COMPRESSION_THRESHOLD_BYTES);
+        this.compressionThreshold = threshold < 0 ? COMPRESSION_DISABLED : threshold;
     }
 
     @Override
@@ -179,8 +184,8 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
         if (eventContainer == null) {
             return;
         }
-        InternalEventJournalMapEvent event
-                = new InternalEventJournalMapEvent(toData(key), toData(newValue), toData(oldValue), eventType.getType());
+        InternalEventJournalMapEvent event = CompactEventJournalMapEvent.pack(toData(key), toData(newValue),
+                toData(oldValue), eventType.getType(), compressionThreshold);
         eventContainer.add(event);
         getOperationParker().unpark(eventContainer);
     }
@@ -214,7 +219,7 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
             return null;
         }
         ringbufferConfig = toRingbufferConfig(config, namespace);
-        return service.getOrCreateContainer(partitionId, namespace, ringbufferConfig);
+        return service.getOrCreateContainer(partitionId, namespace, ringbufferConfig, config);
     }
 
     private RingbufferService getRingbufferService() {
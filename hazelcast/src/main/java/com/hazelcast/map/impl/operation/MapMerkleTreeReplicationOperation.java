@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.map.impl.record.Records.applyRecordInfo;
+import static com.hazelcast.map.impl.record.Records.buildRecordInfo;
+import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_MAX_IDLE;
+import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
+import static com.hazelcast.wan.impl.CallerProvenance.NOT_WAN;
+
+/**
+ * Replicates the entries of an IMap partition which belong to the given
+ * Merkle tree leaves to a replica partition.
+ * <p>
+ * On the replica, the entries of these leaves are removed and the
+ * replicated entries are put instead, the entries of the other leaves are
+ * left untouched.
+ *
+ * @see com.hazelcast.internal.partition.MerkleTreeReplicationAwareService
+ */
+public class MapMerkleTreeReplicationOperation extends Operation implements IdentifiedDataSerializable {
+
+    private String mapName;
+    private int depth;
+    private int[] leafOrders;
+    private List<RecordReplicationInfo> records;
+
+    public MapMerkleTreeReplicationOperation() {
+    }
+
+    public MapMerkleTreeReplicationOperation(RecordStore recordStore, Collection<Integer> leafOrders, int replicaIndex) {
+        setPartitionId(recordStore.getPartitionId()).setReplicaIndex(replicaIndex);
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        SerializationService ss = recordStore.getMapContainer().getMapServiceContext().getNodeEngine()
+                .getSerializationService();
+
+        this.mapName = recordStore.getName();
+        this.depth = merkleTree.depth();
+        this.leafOrders = new int[leafOrders.size()];
+        this.records = new ArrayList<>();
+        int i = 0;
+        for (int leafOrder : leafOrders) {
+            this.leafOrders[i++] = leafOrder;
+            merkleTree.forEachKeyOfNode(leafOrder, key -> {
+                Record record = recordStore.getRecord((Data) key);
+                if (record != null) {
+                    records.add(new RecordReplicationInfo(record.getKey(), ss.toData(record.getValue()),
+                            buildRecordInfo(record)));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void run() {
+        MapService mapService = getService();
+        RecordStore recordStore = mapService.getMapServiceContext().getRecordStore(getPartitionId(), mapName, true);
+
+        for (Data key : getKeysOfLeaves(recordStore)) {
+            recordStore.removeBackup(key, NOT_WAN);
+        }
+
+        long now = Clock.currentTimeMillis();
+        for (RecordReplicationInfo replicationInfo : records) {
+            Data key = replicationInfo.getKey();
+            Record record = recordStore.createRecord(key, replicationInfo.getValue(), DEFAULT_TTL, DEFAULT_MAX_IDLE, now);
+            applyRecordInfo(record, replicationInfo);
+            recordStore.putRecord(key, record);
+        }
+        recordStore.disposeDeferredBlocks();
+    }
+
+    private Collection<Data> getKeysOfLeaves(RecordStore recordStore) {
+        Collection<Data> keys = new ArrayList<>();
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        if (merkleTree != null && merkleTree.depth() == depth) {
+            for (int leafOrder : leafOrders) {
+                merkleTree.forEachKeyOfNode(leafOrder, key -> keys.add((Data) key));
+            }
+            return keys;
+        }
+
+        // the local Merkle tree can't tell the keys of the leaves, the keys are looked up one by one
+        Set<Integer> leaves = new HashSet<>();
+        for (int leafOrder : leafOrders) {
+            leaves.add(leafOrder);
+        }
+        Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            Data key = iterator.next().getKey();
+            if (leaves.contains(MerkleTreeUtil.getLeafOrderForHash(key.hashCode(), depth - 1))) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(mapName);
+        out.writeInt(depth);
+        out.writeIntArray(leafOrders);
+        out.writeInt(records.size());
+        for (RecordReplicationInfo record : records) {
+            out.writeObject(record);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        mapName = in.readUTF();
+        depth = in.readInt();
+        leafOrders = in.readIntArray();
+        int recordCount = in.readInt();
+        records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            RecordReplicationInfo record = in.readObject();
+            records.add(record);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.MAP_MERKLE_TREE_REPLICATION;
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.recordstore;
 import com.hazelcast.cp.internal.datastructures.unsafe.lock.LockService;
 import com.hazelcast.cp.internal.datastructures.unsafe.lock.LockStore;
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MerkleTreeConfig;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.map.impl.EntryCostEstimator;
 import com.hazelcast.map.impl.MapContainer;
@@ -41,6 +42,8 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.ArrayMerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
@@ -65,6 +68,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected final MapDataStore<Data, Object> mapDataStore;
     protected final LocalRecordStoreStatsImpl stats = new LocalRecordStoreStatsImpl();
     protected final RecordStoreMutationObserver<Record> mutationObserver;
+    protected final MerkleTree merkleTree;
 
     protected Storage<Data, Record> storage;
     private final StoreAdapter storeAdapter;
@@ -82,12 +86,20 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         this.mapStoreContext = mapContainer.getMapStoreContext();
         this.mapDataStore = mapStoreContext.getMapStoreManager().getMapDataStore(name, partitionId);
         this.lockStore = createLockStore();
+        this.merkleTree = createMerkleTree(mapContainer.getMapConfig().getMerkleTreeConfig());
         Collection<RecordStoreMutationObserver<Record>> mutationObservers = mapServiceContext
                 .createRecordStoreMutationObservers(getName(), partitionId);
+        if (merkleTree != null) {
+            mutationObservers.add(new MerkleTreeUpdaterRecordStoreMutationObserver(merkleTree, serializationService));
+        }
         this.mutationObserver = new CompositeRecordStoreMutationObserver<>(mutationObservers);
         this.storeAdapter = new RecordStoreAdapter(this);
     }
 
+    private static MerkleTree createMerkleTree(MerkleTreeConfig merkleTreeConfig) {
+        return merkleTreeConfig.isEnabled() ? new ArrayMerkleTree(merkleTreeConfig.getDepth()) : null;
+    }
+
     protected boolean persistenceEnabledFor(@Nonnull CallerProvenance provenance) {
         switch (provenance) {
             case WAN:
@@ -99,6 +111,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         }
     }
 
+    @Override
+    public MerkleTree getMerkleTree() {
+        return merkleTree;
+    }
+
     @Override
     public LocalRecordStoreStats getLocalRecordStoreStats() {
         return stats;
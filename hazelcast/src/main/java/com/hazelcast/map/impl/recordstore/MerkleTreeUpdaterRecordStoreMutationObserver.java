@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+
+/**
+ * Keeps the {@link MerkleTree} of a {@link RecordStore} up to date with the
+ * mutations of the record store.
+ * <p>
+ * The tree is updated with the serialized keys and values, so the replicas
+ * of a partition build the same tree from the same entries, regardless of
+ * the in-memory format of the map.
+ */
+public class MerkleTreeUpdaterRecordStoreMutationObserver implements RecordStoreMutationObserver<Record> {
+
+    private final MerkleTree merkleTree;
+    private final SerializationService serializationService;
+
+    public MerkleTreeUpdaterRecordStoreMutationObserver(MerkleTree merkleTree, SerializationService serializationService) {
+        this.merkleTree = merkleTree;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void onClear() {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onPutRecord(Data key, Record record) {
+        merkleTree.updateAdd(key, toData(record.getValue()));
+    }
+
+    @Override
+    public void onReplicationPutRecord(Data key, Record record) {
+        merkleTree.updateAdd(key, toData(record.getValue()));
+    }
+
+    @Override
+    public void onUpdateRecord(Data key, Record record, Object newValue) {
+        // called before the value of the record is updated
+        merkleTree.updateReplace(key, toData(record.getValue()), toData(newValue));
+    }
+
+    @Override
+    public void onRemoveRecord(Data key, Record record) {
+        if (record != null) {
+            merkleTree.updateRemove(key, toData(record.getValue()));
+        }
+    }
+
+    @Override
+    public void onEvictRecord(Data key, Record record) {
+        merkleTree.updateRemove(key, toData(record.getValue()));
+    }
+
+    @Override
+    public void onLoadRecord(Data key, Record record) {
+        merkleTree.updateAdd(key, toData(record.getValue()));
+    }
+
+    @Override
+    public void onDestroy(boolean internal) {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onReset() {
+        merkleTree.clear();
+    }
+
+    private Data toData(Object value) {
+        return serializationService.toData(value);
+    }
+}
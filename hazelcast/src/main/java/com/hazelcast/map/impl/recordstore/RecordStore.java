@@ -38,6 +38,7 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import java.util.Iterator;
 import java.util.List;
@@ -345,6 +346,15 @@ public interface RecordStore<R extends Record> {
 
     long getOwnedEntryCost();
 
+    /**
+     * Returns the Merkle tree of this record store. The tree is maintained
+     * only if it is enabled in the {@link com.hazelcast.config.MerkleTreeConfig}
+     * of the map and it is updated on the partition thread.
+     *
+     * @return the Merkle tree or {@code null} if it is not enabled
+     */
+    MerkleTree getMerkleTree();
+
     boolean isEmpty();
 
     /**
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BackupOperation;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.afterRunOperations;
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.beforeRunOperations;
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.readOperations;
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.writeOperations;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Runs the backup operations of a {@link TxnBatchOperation} at once.
+ */
+public class TxnBatchBackupOperation extends MapOperation implements PartitionAwareOperation, BackupOperation {
+
+    private List<Operation> backupOperations;
+
+    public TxnBatchBackupOperation() {
+    }
+
+    public TxnBatchBackupOperation(String name, List<Operation> backupOperations) {
+        super(name);
+        this.backupOperations = backupOperations;
+    }
+
+    @Override
+    protected void innerBeforeRun() throws Exception {
+        super.innerBeforeRun();
+        beforeRunOperations(backupOperations, this);
+    }
+
+    @Override
+    protected void runInternal() {
+        for (Operation operation : backupOperations) {
+            try {
+                operation.run();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+        }
+    }
+
+    @Override
+    protected void afterRunInternal() {
+        afterRunOperations(backupOperations);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeOperations(out, backupOperations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        backupOperations = readOperations(in);
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.TXN_BATCH_BACKUP;
+    }
+}
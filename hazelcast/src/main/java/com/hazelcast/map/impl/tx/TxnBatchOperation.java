@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Notifier;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationAccessor;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+import com.hazelcast.transaction.TransactionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Runs the prepare or commit operations of the transaction log records of a map
+ * on a single partition at once.
+ * <p>
+ * The {@link #beforeRun()} of all operations is executed before any of them runs,
+ * so the commit operations check the ownership of all of their locks before any
+ * change is applied. The backups of the operations are sent in a single
+ * {@link TxnBatchBackupOperation}.
+ *
+ * @see MapTransactionLogRecord#newBatchOperation(List)
+ */
+public class TxnBatchOperation extends MapOperation
+        implements PartitionAwareOperation, BackupAwareOperation, MutatingOperation {
+
+    private List<Operation> operations;
+
+    private transient List<Operation> backupOperations;
+
+    public TxnBatchOperation() {
+    }
+
+    public TxnBatchOperation(String name, int partitionId, List<Operation> operations) {
+        super(name);
+        setPartitionId(partitionId);
+        this.operations = operations;
+    }
+
+    @Override
+    protected void innerBeforeRun() throws Exception {
+        super.innerBeforeRun();
+        beforeRunOperations(operations, this);
+    }
+
+    @Override
+    protected void runInternal() {
+        backupOperations = new ArrayList<Operation>(operations.size());
+        for (Operation operation : operations) {
+            try {
+                operation.run();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+            if (operation instanceof BackupAwareOperation) {
+                BackupAwareOperation backupAwareOperation = (BackupAwareOperation) operation;
+                if (backupAwareOperation.shouldBackup()) {
+                    backupOperations.add(backupAwareOperation.getBackupOperation());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void afterRunInternal() {
+        afterRunOperations(operations);
+
+        // the operation runner notifies only the waiters of the batch operation itself
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        for (Operation operation : operations) {
+            if (operation instanceof Notifier && ((Notifier) operation).shouldNotify()) {
+                nodeEngine.getOperationParker().unpark((Notifier) operation);
+            }
+        }
+    }
+
+    @Override
+    public void logError(Throwable e) {
+        if (e instanceof TransactionException) {
+            ILogger logger = getLogger();
+            if (logger.isFinestEnabled()) {
+                logger.finest("failed to execute:" + this, e);
+            }
+            return;
+        }
+        super.logError(e);
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !backupOperations.isEmpty();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return mapContainer.getBackupCount();
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getAsyncBackupCount();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new TxnBatchBackupOperation(name, backupOperations);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeOperations(out, operations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        operations = readOperations(in);
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.TXN_BATCH;
+    }
+
+    static void beforeRunOperations(List<Operation> operations, Operation batchOperation) throws Exception {
+        for (Operation operation : operations) {
+            operation.setService(batchOperation.getService());
+            operation.setServiceName(batchOperation.getServiceName());
+            operation.setNodeEngine(batchOperation.getNodeEngine());
+            operation.setPartitionId(batchOperation.getPartitionId());
+            operation.setReplicaIndex(batchOperation.getReplicaIndex());
+            operation.setCallerUuid(batchOperation.getCallerUuid());
+            OperationAccessor.setCallerAddress(operation, batchOperation.getCallerAddress());
+            operation.beforeRun();
+        }
+    }
+
+    static void afterRunOperations(List<Operation> operations) {
+        for (Operation operation : operations) {
+            try {
+                operation.afterRun();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+        }
+    }
+
+    static void writeOperations(ObjectDataOutput out, List<Operation> operations) throws IOException {
+        out.writeInt(operations.size());
+        for (Operation operation : operations) {
+            out.writeObject(operation);
+        }
+    }
+
+    static List<Operation> readOperations(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        List<Operation> operations = new ArrayList<Operation>(size);
+        for (int i = 0; i < size; i++) {
+            operations.add(in.readObject());
+        }
+        return operations;
+    }
+}
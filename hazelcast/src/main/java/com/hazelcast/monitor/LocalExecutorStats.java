@@ -63,4 +63,27 @@ public interface LocalExecutorStats extends LocalInstanceStats {
      * @return the total execution time of operations finished
      */
     long getTotalExecutionLatency();
+
+    /**
+     * Returns the distribution of the start latencies of the operations
+     * started, i.e. of the times they waited in the queue of the executor.
+     * <p>
+     * The element at index 0 is the number of operations with a latency
+     * below 1 millisecond. The element at index {@code i > 0} is the number
+     * of operations with a latency of at least {@code 2^(i-1)} and below
+     * {@code 2^i} milliseconds; the last element counts all longer latencies
+     * as well.
+     *
+     * @return the distribution of the start latencies of operations started
+     */
+    long[] getStartLatencyDistribution();
+
+    /**
+     * Returns the distribution of the execution times of the operations
+     * finished, with the same buckets as the
+     * {@link #getStartLatencyDistribution() start latency distribution}.
+     *
+     * @return the distribution of the execution times of operations finished
+     */
+    long[] getExecutionLatencyDistribution();
 }
@@ -16,17 +16,30 @@
 
 package com.hazelcast.monitor.impl;
 
+import com.hazelcast.internal.json.JsonArray;
+import com.hazelcast.internal.json.JsonValue;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.json.JsonObject;
 import com.hazelcast.monitor.LocalExecutorStats;
 import com.hazelcast.util.Clock;
 
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import static com.hazelcast.util.JsonUtil.getArray;
 import static com.hazelcast.util.JsonUtil.getLong;
+import static java.lang.Math.min;
 
 public class LocalExecutorStatsImpl implements LocalExecutorStats {
 
+    /**
+     * The number of buckets of the latency distributions. The last bucket
+     * counts the latencies of at least 2^18 milliseconds (about 4.4 minutes).
+     */
+    static final int LATENCY_BUCKET_COUNT = 20;
+
+    private static final int LONG_BITS = 64;
+
     private static final AtomicLongFieldUpdater<LocalExecutorStatsImpl> PENDING = AtomicLongFieldUpdater
             .newUpdater(LocalExecutorStatsImpl.class, "pending");
     private static final AtomicLongFieldUpdater<LocalExecutorStatsImpl> STARTED = AtomicLongFieldUpdater
@@ -39,6 +52,8 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
             .newUpdater(LocalExecutorStatsImpl.class, "totalStartLatency");
     private static final AtomicLongFieldUpdater<LocalExecutorStatsImpl> TOTAL_EXECUTION_TIME = AtomicLongFieldUpdater
             .newUpdater(LocalExecutorStatsImpl.class, "totalExecutionTime");
+    private static final AtomicLongFieldUpdater<LocalExecutorStatsImpl> STOLEN = AtomicLongFieldUpdater
+            .newUpdater(LocalExecutorStatsImpl.class, "stolen");
     private long creationTime;
 
     // These fields are only accessed through the updaters
@@ -54,6 +69,11 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
     private volatile long totalStartLatency;
     @Probe
     private volatile long totalExecutionTime;
+    @Probe
+    private volatile long stolen;
+
+    private final AtomicLongArray startLatencyDistribution = new AtomicLongArray(LATENCY_BUCKET_COUNT);
+    private final AtomicLongArray executionLatencyDistribution = new AtomicLongArray(LATENCY_BUCKET_COUNT);
 
     public LocalExecutorStatsImpl() {
         creationTime = Clock.currentTimeMillis();
@@ -67,17 +87,28 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
         TOTAL_START_LATENCY.addAndGet(this, elapsed);
         STARTED.incrementAndGet(this);
         PENDING.decrementAndGet(this);
+        startLatencyDistribution.incrementAndGet(getLatencyBucket(elapsed));
     }
 
     public void finishExecution(long elapsed) {
         TOTAL_EXECUTION_TIME.addAndGet(this, elapsed);
         COMPLETED.incrementAndGet(this);
+        executionLatencyDistribution.incrementAndGet(getLatencyBucket(elapsed));
     }
 
     public void rejectExecution() {
         PENDING.decrementAndGet(this);
     }
 
+    /**
+     * Records that a pending operation was taken over by another member
+     * to be executed there.
+     */
+    public void stealExecution() {
+        STOLEN.incrementAndGet(this);
+        PENDING.decrementAndGet(this);
+    }
+
     public void cancelExecution() {
         CANCELLED.incrementAndGet(this);
     }
@@ -117,6 +148,62 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
         return totalExecutionTime;
     }
 
+    /**
+     * Returns the number of pending operations which were taken over by
+     * other members to be executed there.
+     *
+     * @return the number of stolen operations
+     */
+    public long getStolenTaskCount() {
+        return stolen;
+    }
+
+    @Override
+    public long[] getStartLatencyDistribution() {
+        return toArray(startLatencyDistribution);
+    }
+
+    @Override
+    public long[] getExecutionLatencyDistribution() {
+        return toArray(executionLatencyDistribution);
+    }
+
+    static int getLatencyBucket(long latencyMillis) {
+        if (latencyMillis < 1) {
+            return 0;
+        }
+        return min(LONG_BITS - Long.numberOfLeadingZeros(latencyMillis), LATENCY_BUCKET_COUNT - 1);
+    }
+
+    private static long[] toArray(AtomicLongArray distribution) {
+        long[] result = new long[distribution.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = distribution.get(i);
+        }
+        return result;
+    }
+
+    private static JsonArray toJsonArray(AtomicLongArray distribution) {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < distribution.length(); i++) {
+            array.add(distribution.get(i));
+        }
+        return array;
+    }
+
+    private static void fromJsonArray(JsonArray array, AtomicLongArray distribution) {
+        if (array == null) {
+            return;
+        }
+        int i = 0;
+        for (JsonValue value : array) {
+            if (i == distribution.length()) {
+                break;
+            }
+            distribution.set(i++, value.asLong());
+        }
+    }
+
     @Override
     public JsonObject toJson() {
         JsonObject root = new JsonObject();
@@ -127,6 +214,9 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
         root.add("cancelled", cancelled);
         root.add("totalStartLatency", totalStartLatency);
         root.add("totalExecutionTime", totalExecutionTime);
+        root.add("stolen", stolen);
+        root.add("startLatencyDistribution", toJsonArray(startLatencyDistribution));
+        root.add("executionLatencyDistribution", toJsonArray(executionLatencyDistribution));
         return root;
     }
 
@@ -139,6 +229,9 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
         CANCELLED.set(this, getLong(json, "cancelled", -1L));
         TOTAL_START_LATENCY.set(this, getLong(json, "totalStartLatency", -1L));
         TOTAL_EXECUTION_TIME.set(this, getLong(json, "totalExecutionTime", -1L));
+        STOLEN.set(this, getLong(json, "stolen", -1L));
+        fromJsonArray(getArray(json, "startLatencyDistribution", null), startLatencyDistribution);
+        fromJsonArray(getArray(json, "executionLatencyDistribution", null), executionLatencyDistribution);
     }
 
     @Override
@@ -151,6 +244,7 @@ public class LocalExecutorStatsImpl implements LocalExecutorStats {
                 + ", cancelled=" + cancelled
                 + ", totalStartLatency=" + totalStartLatency
                 + ", totalExecutionTime=" + totalExecutionTime
+                + ", stolen=" + stolen
                 + '}';
     }
 }
@@ -68,6 +68,16 @@ public class LocalTopicStatsImpl implements LocalTopicStats {
         TOTAL_PUBLISHES.incrementAndGet(this);
     }
 
+    /**
+     * Increments the number of locally published messages by the given delta.
+     *
+     * @param delta the number of published messages
+     * @see #incrementPublishes()
+     */
+    public void incrementPublishes(long delta) {
+        TOTAL_PUBLISHES.addAndGet(this, delta);
+    }
+
     @Override
     public long getReceiveOperationCount() {
         return totalReceivedMessages;
@@ -85,6 +95,16 @@ public class LocalTopicStatsImpl implements LocalTopicStats {
         TOTAL_RECEIVED_MESSAGES.incrementAndGet(this);
     }
 
+    /**
+     * Increments the number of locally received messages by the given delta.
+     *
+     * @param delta the number of received messages
+     * @see #incrementReceives()
+     */
+    public void incrementReceives(long delta) {
+        TOTAL_RECEIVED_MESSAGES.addAndGet(this, delta);
+    }
+
     @Override
     public JsonObject toJson() {
         JsonObject root = new JsonObject();
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import java.util.Collection;
+
+/**
+ * A collection of {@link MultiMapRecord}s which stores the record IDs and
+ * values of the records in arrays instead of keeping a record object per
+ * value.
+ * <p>
+ * The records returned by the iterators are created on the fly, so changing
+ * them doesn't change the collection.
+ */
+interface CompactRecordCollection extends Collection<MultiMapRecord> {
+
+    /**
+     * Returns {@code true} if the collection contains a record with the given ID.
+     *
+     * @param recordId the ID of the record
+     * @return {@code true} if there is a record with the given ID, {@code false} otherwise
+     */
+    boolean containsRecordId(long recordId);
+
+    /**
+     * Returns a copy of this collection, which shares the underlying arrays
+     * with this collection until one of the collections is modified. The
+     * snapshot can be read by another thread while this collection is being
+     * modified.
+     *
+     * @return the snapshot of this collection
+     */
+    CompactRecordCollection snapshot();
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+
+/**
+ * The {@link MultiMapRecord} list used as the value collection of a MultiMap
+ * with {@link com.hazelcast.config.MultiMapConfig.ValueCollectionType#LIST}.
+ * <p>
+ * The record IDs and values are stored in segments of parallel arrays. A
+ * segment grows up to {@link #SEGMENT_CAPACITY} elements, so adding to or
+ * removing from a list with many values only shifts the elements of a single
+ * segment and never reallocates the whole list. Segments are shared with the
+ * {@link #snapshot() snapshots} of the list and copied when they are modified
+ * for the first time after a snapshot was taken.
+ */
+class CompactRecordList extends AbstractList<MultiMapRecord> implements CompactRecordCollection, RandomAccess {
+
+    static final int SEGMENT_CAPACITY = 1024;
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 4;
+
+    private final List<Segment> segments;
+    private int size;
+
+    CompactRecordList() {
+        this.segments = new ArrayList<Segment>();
+    }
+
+    private CompactRecordList(List<Segment> segments, int size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public MultiMapRecord get(int index) {
+        checkIndex(index, size);
+        for (Segment segment : segments) {
+            if (index < segment.size) {
+                return segment.get(index);
+            }
+            index -= segment.size;
+        }
+        throw new IllegalStateException("Inconsistent segment sizes");
+    }
+
+    @Override
+    public MultiMapRecord set(int index, MultiMapRecord record) {
+        checkIndex(index, size);
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (index < segment.size) {
+                MultiMapRecord old = segment.get(index);
+                segment = writableSegment(i);
+                segment.recordIds[index] = record.getRecordId();
+                segment.values[index] = record.getObject();
+                return old;
+            }
+            index -= segment.size;
+        }
+        throw new IllegalStateException("Inconsistent segment sizes");
+    }
+
+    @Override
+    public boolean add(MultiMapRecord record) {
+        int last = segments.size() - 1;
+        if (last < 0 || segments.get(last).size == SEGMENT_CAPACITY) {
+            segments.add(new Segment(INITIAL_SEGMENT_CAPACITY));
+            last++;
+        }
+        Segment segment = writableSegment(last);
+        segment.insert(segment.size, record);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, MultiMapRecord record) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(record);
+            return;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (index < segment.size) {
+                segment = writableSegment(i);
+                if (segment.size == SEGMENT_CAPACITY) {
+                    segments.add(i + 1, segment.split());
+                    if (index >= segment.size) {
+                        index -= segment.size;
+                        segment = segments.get(i + 1);
+                    }
+                }
+                segment.insert(index, record);
+                size++;
+                modCount++;
+                return;
+            }
+            index -= segment.size;
+        }
+        throw new IllegalStateException("Inconsistent segment sizes");
+    }
+
+    @Override
+    public MultiMapRecord remove(int index) {
+        checkIndex(index, size);
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (index < segment.size) {
+                MultiMapRecord old = segment.get(index);
+                removeAt(i, index);
+                return old;
+            }
+            index -= segment.size;
+        }
+        throw new IllegalStateException("Inconsistent segment sizes");
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof MultiMapRecord)) {
+            return -1;
+        }
+        Object value = ((MultiMapRecord) o).getObject();
+        int offset = 0;
+        for (Segment segment : segments) {
+            for (int i = 0; i < segment.size; i++) {
+                if (value.equals(segment.values[i])) {
+                    return offset + i;
+                }
+            }
+            offset += segment.size;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean containsRecordId(long recordId) {
+        for (Segment segment : segments) {
+            for (int i = 0; i < segment.size; i++) {
+                if (segment.recordIds[i] == recordId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        segments.clear();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<MultiMapRecord> iterator() {
+        return new RecordIterator();
+    }
+
+    @Override
+    public CompactRecordList snapshot() {
+        for (Segment segment : segments) {
+            segment.shared = true;
+        }
+        return new CompactRecordList(new ArrayList<Segment>(segments), size);
+    }
+
+    private void removeAt(int segmentIndex, int index) {
+        Segment segment = writableSegment(segmentIndex);
+        segment.delete(index);
+        if (segment.size == 0) {
+            segments.remove(segmentIndex);
+        }
+        size--;
+        modCount++;
+    }
+
+    private Segment writableSegment(int segmentIndex) {
+        Segment segment = segments.get(segmentIndex);
+        if (segment.shared) {
+            segment = segment.copy();
+            segments.set(segmentIndex, segment);
+        }
+        return segment;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static final class Segment {
+
+        private long[] recordIds;
+        private Object[] values;
+        private int size;
+        // true if the segment is referenced by a snapshot, so it must be copied before it is modified
+        private boolean shared;
+
+        private Segment(int capacity) {
+            this.recordIds = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        private MultiMapRecord get(int index) {
+            return new MultiMapRecord(recordIds[index], values[index]);
+        }
+
+        private void insert(int index, MultiMapRecord record) {
+            if (size == values.length) {
+                int capacity = min(values.length * 2, SEGMENT_CAPACITY);
+                long[] newRecordIds = new long[capacity];
+                Object[] newValues = new Object[capacity];
+                arraycopy(recordIds, 0, newRecordIds, 0, size);
+                arraycopy(values, 0, newValues, 0, size);
+                recordIds = newRecordIds;
+                values = newValues;
+            }
+            arraycopy(recordIds, index, recordIds, index + 1, size - index);
+            arraycopy(values, index, values, index + 1, size - index);
+            recordIds[index] = record.getRecordId();
+            values[index] = record.getObject();
+            size++;
+        }
+
+        private void delete(int index) {
+            arraycopy(recordIds, index + 1, recordIds, index, size - index - 1);
+            arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            values[size] = null;
+        }
+
+        /**
+         * Moves the upper half of the elements of this segment to a new segment.
+         */
+        private Segment split() {
+            int half = size / 2;
+            Segment upper = new Segment(SEGMENT_CAPACITY);
+            upper.size = size - half;
+            arraycopy(recordIds, half, upper.recordIds, 0, upper.size);
+            arraycopy(values, half, upper.values, 0, upper.size);
+            for (int i = half; i < size; i++) {
+                values[i] = null;
+            }
+            size = half;
+            return upper;
+        }
+
+        private Segment copy() {
+            Segment copy = new Segment(values.length);
+            arraycopy(recordIds, 0, copy.recordIds, 0, size);
+            arraycopy(values, 0, copy.values, 0, size);
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    private final class RecordIterator implements Iterator<MultiMapRecord> {
+
+        private int segmentIndex;
+        private int index;
+        private int remaining = size;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public MultiMapRecord next() {
+            checkForComodification();
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            Segment segment = segments.get(segmentIndex);
+            while (index == segment.size) {
+                segment = segments.get(++segmentIndex);
+                index = 0;
+            }
+            remaining--;
+            canRemove = true;
+            return segment.get(index++);
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            canRemove = false;
+            index--;
+            int segmentCount = segments.size();
+            removeAt(segmentIndex, index);
+            if (segments.size() < segmentCount) {
+                // the segment became empty and was removed, continue with the next one
+                index = 0;
+            }
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.util.HashUtil.fastIntMix;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * The {@link MultiMapRecord} set used as the value collection of a MultiMap
+ * with {@link com.hazelcast.config.MultiMapConfig.ValueCollectionType#SET}.
+ * <p>
+ * The record IDs and values are stored in an open addressing hash table with
+ * linear probing, made of two parallel arrays. As with the {@link java.util.HashSet}
+ * it replaces, two records are equal if their values are equal. Removed
+ * elements are marked with a tombstone, so removing an element while
+ * iterating never moves the other elements. The arrays are shared with the
+ * {@link #snapshot() snapshots} of the set and copied when the set is modified
+ * for the first time after a snapshot was taken.
+ */
+class CompactRecordSet extends AbstractSet<MultiMapRecord> implements CompactRecordCollection {
+
+    private static final int MIN_CAPACITY = 4;
+    private static final Object REMOVED = new Object();
+
+    private long[] recordIds;
+    private Object[] values;
+    private int size;
+    // the number of slots that are not empty, including the removed ones
+    private int usedSlots;
+    private int modCount;
+    // true if the arrays are referenced by a snapshot, so they must be copied before they are modified
+    private boolean shared;
+
+    CompactRecordSet() {
+        this(MIN_CAPACITY);
+    }
+
+    CompactRecordSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private CompactRecordSet(CompactRecordSet set) {
+        this.recordIds = set.recordIds;
+        this.values = set.values;
+        this.size = set.size;
+        this.usedSlots = set.usedSlots;
+        this.shared = true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof MultiMapRecord && indexOf(((MultiMapRecord) o).getObject()) >= 0;
+    }
+
+    @Override
+    public boolean add(MultiMapRecord record) {
+        Object value = record.getObject();
+        if (indexOf(value) >= 0) {
+            return false;
+        }
+        if (usedSlots + 1 > maxUsedSlots(values.length)) {
+            // drops the tombstones, and grows the table if it's really full
+            rehash(capacityFor(size + 1));
+        } else {
+            makeWritable();
+        }
+        int mask = values.length - 1;
+        for (int slot = fastIntMix(value.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            Object current = values[slot];
+            if (current == null || current == REMOVED) {
+                if (current == null) {
+                    usedSlots++;
+                }
+                values[slot] = value;
+                recordIds[slot] = record.getRecordId();
+                size++;
+                modCount++;
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof MultiMapRecord)) {
+            return false;
+        }
+        int slot = indexOf(((MultiMapRecord) o).getObject());
+        if (slot < 0) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public boolean containsRecordId(long recordId) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (isOccupied(slot) && recordIds[slot] == recordId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        shared = false;
+        size = 0;
+        usedSlots = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<MultiMapRecord> iterator() {
+        return new RecordIterator();
+    }
+
+    @Override
+    public CompactRecordSet snapshot() {
+        shared = true;
+        return new CompactRecordSet(this);
+    }
+
+    private int indexOf(Object value) {
+        int mask = values.length - 1;
+        for (int slot = fastIntMix(value.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            Object current = values[slot];
+            if (current == null) {
+                return -1;
+            }
+            if (current != REMOVED && value.equals(current)) {
+                return slot;
+            }
+        }
+    }
+
+    private void removeSlot(int slot) {
+        makeWritable();
+        values[slot] = REMOVED;
+        size--;
+        modCount++;
+    }
+
+    private boolean isOccupied(int slot) {
+        Object value = values[slot];
+        return value != null && value != REMOVED;
+    }
+
+    private void makeWritable() {
+        if (shared) {
+            recordIds = recordIds.clone();
+            values = values.clone();
+            shared = false;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldRecordIds = recordIds;
+        Object[] oldValues = values;
+        allocate(capacity);
+        shared = false;
+        usedSlots = size;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null || value == REMOVED) {
+                continue;
+            }
+            int slot = fastIntMix(value.hashCode()) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            values[slot] = value;
+            recordIds[slot] = oldRecordIds[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        recordIds = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Returns the capacity of the table for the given number of elements,
+     * which keeps the load factor at or below 2/3.
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        if (expectedSize > maxUsedSlots(capacity)) {
+            capacity = nextPowerOfTwo(expectedSize + expectedSize / 2 + 1);
+        }
+        return capacity;
+    }
+
+    private static int maxUsedSlots(int capacity) {
+        return capacity * 2 / 3;
+    }
+
+    private final class RecordIterator implements Iterator<MultiMapRecord> {
+
+        private int nextSlot = -1;
+        private int lastSlot = -1;
+        private int expectedModCount = modCount;
+
+        private RecordIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < values.length;
+        }
+
+        @Override
+        public MultiMapRecord next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = nextSlot;
+            advance();
+            return new MultiMapRecord(recordIds[lastSlot], values[lastSlot]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(lastSlot);
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+
+        private void advance() {
+            do {
+                nextSlot++;
+            } while (nextSlot < values.length && !isOccupied(nextSlot));
+        }
+    }
+}
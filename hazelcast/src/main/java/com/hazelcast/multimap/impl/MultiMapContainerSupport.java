@@ -23,7 +23,7 @@ import com.hazelcast.spi.NodeEngine;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentMap;
 
-import static com.hazelcast.multimap.impl.ValueCollectionFactory.createCollection;
+import static com.hazelcast.multimap.impl.ValueCollectionFactory.createRecordCollection;
 import static com.hazelcast.util.MapUtil.createConcurrentHashMap;
 
 /**
@@ -50,7 +50,7 @@ abstract class MultiMapContainerSupport {
         }
         // create multiMapValue
         final MultiMapConfig.ValueCollectionType valueCollectionType = config.getValueCollectionType();
-        final Collection<MultiMapRecord> collection = createCollection(valueCollectionType);
+        final Collection<MultiMapRecord> collection = createRecordCollection(valueCollectionType, -1);
         multiMapValue = new MultiMapValue(collection);
 
         multiMapValues.put(dataKey, multiMapValue);
@@ -43,7 +43,10 @@ public class MultiMapValue {
     }
 
     private Collection<MultiMapRecord> getCopyOfCollection() {
-        if (collection instanceof Set) {
+        if (collection instanceof CompactRecordCollection) {
+            // the snapshot shares the arrays of the collection until it is modified
+            return ((CompactRecordCollection) collection).snapshot();
+        } else if (collection instanceof Set) {
             return new HashSet<>(collection);
         } else if (collection instanceof List) {
             return new LinkedList<>(collection);
@@ -64,6 +67,9 @@ public class MultiMapValue {
     }
 
     public boolean containsRecordId(long recordId) {
+        if (collection instanceof CompactRecordCollection) {
+            return ((CompactRecordCollection) collection).containsRecordId(recordId);
+        }
         for (MultiMapRecord record : collection) {
             if (record.getRecordId() == recordId) {
                 return true;
@@ -85,6 +85,34 @@ public final class ValueCollectionFactory {
         }
     }
 
+    /**
+     * Creates the collection which stores the {@link MultiMapRecord}s of a
+     * key in a MultiMap container, depending on the
+     * {@link MultiMapConfig#getValueCollectionType()}.
+     * <p>
+     * Unlike the collections created by {@link #createCollection(MultiMapConfig.ValueCollectionType)},
+     * these collections store the record IDs and values in arrays instead of
+     * keeping a record object and a node per value.
+     *
+     * @param collectionType  one of {@link MultiMapConfig.ValueCollectionType#SET}
+     *                        or {@link MultiMapConfig.ValueCollectionType#LIST}
+     * @param initialCapacity the expected number of records, if smaller than or equals to 0
+     *                        falls back to the default initial capacity
+     * @return {@link java.util.Set} or {@link java.util.List} depending on the collectionType argument
+     * @throws java.lang.IllegalArgumentException if collectionType is unknown
+     */
+    public static Collection<MultiMapRecord> createRecordCollection(MultiMapConfig.ValueCollectionType collectionType,
+                                                                    int initialCapacity) {
+        switch (collectionType) {
+            case SET:
+                return initialCapacity <= 0 ? new CompactRecordSet() : new CompactRecordSet(initialCapacity);
+            case LIST:
+                return new CompactRecordList();
+            default:
+                throw new IllegalArgumentException("[" + collectionType + "] is not a known MultiMapConfig.ValueCollectionType!");
+        }
+    }
+
     /**
      * Picks right empty collection type, like {@link java.util.Collections#emptySet()}
      * or {@link java.util.Collections#emptyList()} )} depending on the
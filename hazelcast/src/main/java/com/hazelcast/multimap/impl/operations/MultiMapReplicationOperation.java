@@ -29,12 +29,11 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.multimap.impl.ValueCollectionFactory.createRecordCollection;
 import static com.hazelcast.util.MapUtil.createHashMap;
-import static com.hazelcast.util.SetUtil.createHashSet;
 
 public class MultiMapReplicationOperation extends Operation implements IdentifiedDataSerializable {
 
@@ -92,12 +91,8 @@ public class MultiMapReplicationOperation extends Operation implements Identifie
                 Data key = in.readData();
                 int collSize = in.readInt();
                 String collectionType = in.readUTF();
-                Collection<MultiMapRecord> coll;
-                if (collectionType.equals(MultiMapConfig.ValueCollectionType.SET.name())) {
-                    coll = createHashSet(collSize);
-                } else {
-                    coll = new LinkedList<>();
-                }
+                Collection<MultiMapRecord> coll = createRecordCollection(
+                        MultiMapConfig.ValueCollectionType.valueOf(collectionType), collSize);
                 for (int k = 0; k < collSize; k++) {
                     MultiMapRecord record = new MultiMapRecord();
                     record.readData(in);
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ssl;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+
+/**
+ * A pool of direct {@link ByteBuffer} instances used by the {@link TLSDecoder}.
+ *
+ * Allocating direct memory is expensive and freeing it depends on the garbage
+ * collector, so the buffers that are only needed temporarily by the TLS
+ * handlers are recycled through this pool instead of being allocated over and
+ * over again.
+ *
+ * The pool is threadsafe and is typically shared between all channels of an
+ * endpoint.
+ */
+public final class TLSBufferPool {
+
+    private final int maxPooledBuffers;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    /**
+     * Creates a new TLSBufferPool.
+     *
+     * @param maxPooledBuffers the maximum number of buffers retained by this pool.
+     * @throws IllegalArgumentException if maxPooledBuffers is negative.
+     */
+    public TLSBufferPool(int maxPooledBuffers) {
+        this.maxPooledBuffers = checkNotNegative(maxPooledBuffers, "maxPooledBuffers can't be negative");
+    }
+
+    /**
+     * Takes a cleared direct buffer with at least the given capacity from
+     * the pool. If no such buffer is available, a new one is allocated.
+     *
+     * @param capacity the minimum capacity of the buffer
+     * @return the buffer
+     */
+    public ByteBuffer take(int capacity) {
+        ByteBuffer buffer;
+        while ((buffer = buffers.poll()) != null) {
+            pooledBuffers.decrementAndGet();
+            if (buffer.capacity() >= capacity) {
+                buffer.clear();
+                return buffer;
+            }
+            // the buffer is too small (e.g. a session with larger buffer sizes
+            // got negotiated) and is dropped.
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Returns a buffer to this pool. The buffer should not be used by the
+     * caller after it has been released.
+     *
+     * @param buffer the buffer to release
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return;
+        }
+
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    // for testing
+    int size() {
+        return pooledBuffers.get();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelInitializer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link ChannelInitializer} that adds TLS to the pipelines created by
+ * another ChannelInitializer.
+ *
+ * The {@link TLSDecoder} is added as first inbound handler and the
+ * {@link TLSEncoder} as last outbound handler, so the handlers of the
+ * decorated ChannelInitializer only see plain data.
+ *
+ * On the client side of a channel, the SSLEngine is created for the host and
+ * port of the remote side. This allows the SSLContext to resume a cached
+ * session when a connection to the same peer is made again and that way
+ * skip the expensive full handshake.
+ */
+public class TLSChannelInitializer implements ChannelInitializer {
+
+    private final ChannelInitializer delegate;
+    private final SSLContext sslContext;
+    private final TLSBufferPool bufferPool;
+
+    public TLSChannelInitializer(ChannelInitializer delegate, SSLContext sslContext, TLSBufferPool bufferPool) {
+        this.delegate = checkNotNull(delegate, "delegate can't be null");
+        this.sslContext = checkNotNull(sslContext, "sslContext can't be null");
+        this.bufferPool = checkNotNull(bufferPool, "bufferPool can't be null");
+    }
+
+    @Override
+    public void initChannel(Channel channel) throws Exception {
+        SSLEngine sslEngine = createSSLEngine(channel);
+        sslEngine.beginHandshake();
+
+        channel.inboundPipeline().addLast(new TLSDecoder(sslEngine, bufferPool));
+        delegate.initChannel(channel);
+        channel.outboundPipeline().addLast(new TLSEncoder(sslEngine));
+    }
+
+    /**
+     * Creates the SSLEngine for the given channel.
+     *
+     * Can be overridden to configure e.g. the enabled cipher suites or client
+     * authentication.
+     *
+     * @param channel the channel to create the SSLEngine for.
+     * @return the created SSLEngine.
+     */
+    protected SSLEngine createSSLEngine(Channel channel) {
+        SSLEngine sslEngine;
+        SocketAddress remoteAddress = channel.remoteSocketAddress();
+        if (channel.isClientMode() && remoteAddress instanceof InetSocketAddress) {
+            InetSocketAddress inetAddress = (InetSocketAddress) remoteAddress;
+            sslEngine = sslContext.createSSLEngine(inetAddress.getHostString(), inetAddress.getPort());
+        } else {
+            sslEngine = sslContext.createSSLEngine();
+        }
+        sslEngine.setUseClientMode(channel.isClientMode());
+        return sslEngine;
+    }
+}
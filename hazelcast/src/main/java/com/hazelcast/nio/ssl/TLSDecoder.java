@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.nio.IOUtil.compactOrClear;
+import static com.hazelcast.nio.ssl.TLSUtil.runDelegatedTasks;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.FINISHED;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_TASK;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_WRAP;
+
+/**
+ * An {@link InboundHandler} that decrypts the TLS records received from the
+ * network using an {@link SSLEngine}.
+ *
+ * The src buffer is a direct buffer, so reading from the socket doesn't
+ * require an additional copy. All complete TLS records in the src buffer are
+ * unwrapped in a single call. When the dst buffer has enough space for a full
+ * record, the record is decrypted directly into the dst buffer; otherwise it
+ * is decrypted into a temporary buffer taken from the {@link TLSBufferPool}
+ * that is returned to the pool as soon as it has been drained.
+ *
+ * During the handshake, the decoder and the {@link TLSEncoder} wake up each
+ * other's pipeline when the {@link SSLEngine} needs the other side to make
+ * progress.
+ *
+ * @see TLSEncoder
+ * @see TLSChannelInitializer
+ */
+public class TLSDecoder extends InboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final SSLEngine sslEngine;
+    private final TLSBufferPool bufferPool;
+
+    private int appBufferSize;
+    // contains decrypted data that didn't fit in the dst buffer; in reading mode
+    private ByteBuffer appBuffer;
+
+    public TLSDecoder(SSLEngine sslEngine, TLSBufferPool bufferPool) {
+        this.sslEngine = sslEngine;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public void handlerAdded() {
+        int packetBufferSize = sslEngine.getSession().getPacketBufferSize();
+        src = ByteBuffer.allocateDirect(max(packetBufferSize, channel.options().getOption(SO_RCVBUF)));
+        appBufferSize = sslEngine.getSession().getApplicationBufferSize();
+    }
+
+    @Override
+    public HandlerStatus onRead() throws Exception {
+        if (appBuffer != null && !drainAppBuffer()) {
+            // the next handler first needs to consume the data that is already decrypted
+            return DIRTY;
+        }
+
+        src.flip();
+        try {
+            for (; ; ) {
+                HandlerStatus status = unwrap();
+                if (status != null) {
+                    return status;
+                }
+            }
+        } finally {
+            compactOrClear(src);
+        }
+    }
+
+    /**
+     * Makes a single unwrap step.
+     *
+     * @return the status of the handler, or null if more unwrap steps should be made.
+     */
+    private HandlerStatus unwrap() throws Exception {
+        HandshakeStatus handshakeStatus = sslEngine.getHandshakeStatus();
+        if (handshakeStatus == NEED_TASK) {
+            runDelegatedTasks(sslEngine);
+            return null;
+        } else if (handshakeStatus == NEED_WRAP) {
+            // the TLSEncoder needs to send handshake data; it will wake us up once it needs data again
+            channel.outboundPipeline().wakeup();
+            return CLEAN;
+        }
+
+        if (!src.hasRemaining()) {
+            return CLEAN;
+        }
+
+        ByteBuffer unwrapDst = dst.remaining() >= appBufferSize ? dst : takeAppBuffer();
+        SSLEngineResult result = sslEngine.unwrap(src, unwrapDst);
+        if (unwrapDst == appBuffer) {
+            appBuffer.flip();
+        }
+        return onUnwrapped(result);
+    }
+
+    private HandlerStatus onUnwrapped(SSLEngineResult result) throws EOFException {
+        switch (result.getStatus()) {
+            case OK:
+                break;
+            case BUFFER_UNDERFLOW:
+                // only a partial record was received; wait for more data
+                releaseAppBufferIfEmpty();
+                return CLEAN;
+            case BUFFER_OVERFLOW:
+                // the negotiated session may need a larger application buffer
+                appBufferSize = max(appBufferSize, sslEngine.getSession().getApplicationBufferSize());
+                releaseAppBufferIfEmpty();
+                return null;
+            case CLOSED:
+                throw new EOFException("TLS connection closed by remote side");
+            default:
+                throw new IllegalStateException("Unexpected unwrap result " + result);
+        }
+
+        if (result.getHandshakeStatus() == FINISHED) {
+            onHandshakeFinished();
+        }
+
+        if (appBuffer != null && !drainAppBuffer()) {
+            return DIRTY;
+        }
+
+        HandshakeStatus handshakeStatus = sslEngine.getHandshakeStatus();
+        if (result.bytesConsumed() == 0 && result.bytesProduced() == 0
+                && handshakeStatus != NEED_TASK && handshakeStatus != NEED_WRAP) {
+            // no progress can be made
+            return CLEAN;
+        }
+        return null;
+    }
+
+    private void onHandshakeFinished() {
+        appBufferSize = sslEngine.getSession().getApplicationBufferSize();
+        // the application data that was queued during the handshake can be sent now
+        channel.outboundPipeline().wakeup();
+    }
+
+    private ByteBuffer takeAppBuffer() {
+        // the appBuffer is always released as soon as it is drained, so there is no appBuffer at this point
+        appBuffer = bufferPool.take(appBufferSize);
+        return appBuffer;
+    }
+
+    /**
+     * Copies as much of the appBuffer to the dst buffer as possible.
+     *
+     * @return true if the appBuffer was fully drained (and released), false otherwise.
+     */
+    private boolean drainAppBuffer() {
+        int bytes = min(appBuffer.remaining(), dst.remaining());
+        if (bytes == appBuffer.remaining()) {
+            dst.put(appBuffer);
+        } else {
+            int limit = appBuffer.limit();
+            appBuffer.limit(appBuffer.position() + bytes);
+            dst.put(appBuffer);
+            appBuffer.limit(limit);
+        }
+        return releaseAppBufferIfEmpty();
+    }
+
+    private boolean releaseAppBufferIfEmpty() {
+        if (appBuffer == null) {
+            return true;
+        }
+
+        if (appBuffer.hasRemaining()) {
+            return false;
+        }
+
+        bufferPool.release(appBuffer);
+        appBuffer = null;
+        return true;
+    }
+}
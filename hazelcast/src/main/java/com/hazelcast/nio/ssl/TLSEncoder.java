@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.BLOCKED;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.nio.IOUtil.compactOrClear;
+import static com.hazelcast.nio.ssl.TLSUtil.runDelegatedTasks;
+import static java.lang.Math.max;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.FINISHED;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_TASK;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_UNWRAP;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_WRAP;
+
+/**
+ * An {@link OutboundHandler} that encrypts the data produced by the previous
+ * handler into TLS records using an {@link SSLEngine}.
+ *
+ * The dst buffer is a direct buffer, so writing to the socket doesn't require
+ * an additional copy. As long as there is data in the src buffer and space in
+ * the dst buffer, records are wrapped in a single call; so many small frames
+ * end up in a few TLS records written with a single socket write.
+ *
+ * While the handshake waits for data from the remote side, this handler
+ * returns {@link HandlerStatus#BLOCKED}; the {@link TLSDecoder} wakes up the
+ * outbound pipeline as soon as the handshake can make progress.
+ *
+ * @see TLSDecoder
+ * @see TLSChannelInitializer
+ */
+public class TLSEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private final SSLEngine sslEngine;
+
+    private int packetBufferSize;
+
+    public TLSEncoder(SSLEngine sslEngine) {
+        this.sslEngine = sslEngine;
+    }
+
+    @Override
+    public void handlerAdded() {
+        packetBufferSize = sslEngine.getSession().getPacketBufferSize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(max(packetBufferSize, channel.options().getOption(SO_SNDBUF)));
+        buffer.flip();
+        dst = buffer;
+    }
+
+    @Override
+    public HandlerStatus onWrite() throws Exception {
+        compactOrClear(dst);
+        try {
+            for (; ; ) {
+                HandlerStatus status = wrap();
+                if (status != null) {
+                    return status;
+                }
+            }
+        } finally {
+            dst.flip();
+        }
+    }
+
+    /**
+     * Makes a single wrap step.
+     *
+     * @return the status of the handler, or null if more wrap steps should be made.
+     */
+    private HandlerStatus wrap() throws Exception {
+        HandshakeStatus handshakeStatus = sslEngine.getHandshakeStatus();
+        if (handshakeStatus == NEED_TASK) {
+            runDelegatedTasks(sslEngine);
+            return null;
+        } else if (handshakeStatus == NEED_UNWRAP) {
+            // the handshake waits for data from the remote side; the TLSDecoder will wake us up
+            return BLOCKED;
+        }
+
+        ByteBuffer wrapSrc = src == null ? EMPTY_BUFFER : src;
+        if (!wrapSrc.hasRemaining() && handshakeStatus != NEED_WRAP) {
+            return CLEAN;
+        }
+
+        if (dst.remaining() < packetBufferSize) {
+            // the dst buffer first needs to be written to the socket
+            return DIRTY;
+        }
+
+        return onWrapped(sslEngine.wrap(wrapSrc, dst));
+    }
+
+    private HandlerStatus onWrapped(SSLEngineResult result) throws EOFException {
+        switch (result.getStatus()) {
+            case OK:
+                break;
+            case BUFFER_OVERFLOW:
+                packetBufferSize = sslEngine.getSession().getPacketBufferSize();
+                return DIRTY;
+            case CLOSED:
+                throw new EOFException("TLS connection is closed");
+            default:
+                throw new IllegalStateException("Unexpected wrap result " + result);
+        }
+
+        HandshakeStatus handshakeStatus = result.getHandshakeStatus();
+        if (handshakeStatus == NEED_UNWRAP || handshakeStatus == FINISHED) {
+            // the TLSDecoder may have received data it couldn't process while we were wrapping
+            channel.inboundPipeline().wakeup();
+        }
+
+        if (result.bytesConsumed() == 0 && result.bytesProduced() == 0
+                && sslEngine.getHandshakeStatus() != NEED_TASK) {
+            // no progress can be made
+            return CLEAN;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.ssl;
+
+import javax.net.ssl.SSLEngine;
+
+/**
+ * Utility functions shared by the TLS handlers.
+ */
+final class TLSUtil {
+
+    private TLSUtil() {
+    }
+
+    /**
+     * Runs the delegated tasks of the SSLEngine on the calling thread.
+     *
+     * The tasks are run on the io thread; they are only needed during the
+     * handshake, so offloading them isn't worth the additional complexity.
+     *
+     * @param sslEngine the SSLEngine
+     */
+    static void runDelegatedTasks(SSLEngine sslEngine) {
+        Runnable task;
+        while ((task = sslEngine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+}
@@ -100,6 +100,9 @@ final class BindHandler {
                 && (tcpIpEndpointManager.getEndpointQualifier() == EndpointQualifier.MEMBER
                     || unifiedEndpointManager));
         boolean mustRegisterRemoteSocketAddress = !bindMessage.isReply();
+        if (isMemberConnection) {
+            connection.setStripeIndex(bindMessage.getStripeIndex());
+        }
 
         Address remoteEndpoint = null;
         if (isMemberConnection) {
@@ -162,26 +165,20 @@ final class BindHandler {
     @SuppressFBWarnings("RV_RETURN_VALUE_OF_PUTIFABSENT_IGNORED")
     private synchronized boolean bind0(TcpIpConnection connection, Address remoteEndpoint,
                                        Collection<Address> remoteAddressAliases, boolean reply) {
-        final Address remoteAddress = new Address(connection.getRemoteSocketAddress());
-        if (tcpIpEndpointManager.connectionsInProgress.contains(remoteAddress)) {
-            // this is the connection initiator side --> register the connection under the address that was requested
-            remoteEndpoint = remoteAddress;
-        }
-        if (remoteEndpoint == null) {
-            if (remoteAddressAliases == null) {
-                throw new IllegalStateException("Remote endpoint and remote address aliases cannot be both null");
-            } else {
-                // let it fail if no remoteEndpoint and no aliases are defined
-                remoteEndpoint = remoteAddressAliases.iterator().next();
-            }
-        }
+        remoteEndpoint = resolveRemoteEndpoint(connection, remoteEndpoint, remoteAddressAliases, reply);
         connection.setEndPoint(remoteEndpoint);
         ioService.onSuccessfulConnection(remoteEndpoint);
         if (reply) {
-            BindRequest bindRequest = new BindRequest(logger, ioService, connection, remoteEndpoint, false);
+            BindRequest bindRequest = new BindRequest(logger, ioService, connection, remoteEndpoint, false,
+                    connection.getStripeIndex());
             bindRequest.send();
         }
 
+        if (connection.getStripeIndex() > 0) {
+            // connection stripes are not visible as regular member connections
+            return tcpIpEndpointManager.registerStripe(remoteEndpoint, connection);
+        }
+
         if (checkAlreadyConnected(connection, remoteEndpoint)) {
             return false;
         }
@@ -203,6 +200,28 @@ final class BindHandler {
         return returnValue;
     }
 
+    private Address resolveRemoteEndpoint(TcpIpConnection connection, Address remoteEndpoint,
+                                          Collection<Address> remoteAddressAliases, boolean reply) {
+        final Address remoteAddress = new Address(connection.getRemoteSocketAddress());
+        if (tcpIpEndpointManager.connectionsInProgress.contains(remoteAddress)) {
+            // this is the connection initiator side --> register the connection under the address that was requested
+            return remoteAddress;
+        }
+        if (connection.getStripeIndex() > 0 && !reply && connection.getEndPoint() != null) {
+            // this is the initiator side of a connection stripe --> register it under the address that was requested
+            return connection.getEndPoint();
+        }
+        if (remoteEndpoint == null) {
+            if (remoteAddressAliases == null) {
+                throw new IllegalStateException("Remote endpoint and remote address aliases cannot be both null");
+            } else {
+                // let it fail if no remoteEndpoint and no aliases are defined
+                return remoteAddressAliases.iterator().next();
+            }
+        }
+        return remoteEndpoint;
+    }
+
     private boolean ensureValidBindSource(TcpIpConnection connection, Address remoteEndPoint) {
         try {
             InetAddress originalRemoteAddr = connection.getRemoteSocketAddress().getAddress();
@@ -39,24 +39,35 @@ public class BindRequest {
     private final TcpIpConnection connection;
     private final Address remoteEndPoint;
     private final boolean reply;
+    private final int stripeIndex;
 
     BindRequest(ILogger logger, IOService ioService, TcpIpConnection connection, Address remoteEndPoint, boolean reply) {
+        this(logger, ioService, connection, remoteEndPoint, reply, 0);
+    }
+
+    BindRequest(ILogger logger, IOService ioService, TcpIpConnection connection, Address remoteEndPoint, boolean reply,
+                int stripeIndex) {
         this.logger = logger;
         this.ioService = ioService;
         this.connection = connection;
         this.remoteEndPoint = remoteEndPoint;
         this.reply = reply;
+        this.stripeIndex = stripeIndex;
     }
 
     public void send() {
         connection.setEndPoint(remoteEndPoint);
+        connection.setStripeIndex(stripeIndex);
         ioService.onSuccessfulConnection(remoteEndPoint);
         //make sure bind packet is the first packet sent to the end point.
         if (logger.isFinestEnabled()) {
             logger.finest("Sending bind packet to " + remoteEndPoint);
         }
         // since 3.12, send the new bind message followed by the pre-3.12 BindMessage
-        ExtendedBindMessage bind = new ExtendedBindMessage((byte) 1, getConfiguredLocalAddresses(), remoteEndPoint, reply);
+        // the stripe index is only sent (with schema version 2) for the additional connection stripes
+        byte schemaVersion = stripeIndex == 0 ? 1 : ExtendedBindMessage.STRIPED_SCHEMA_VERSION;
+        ExtendedBindMessage bind = new ExtendedBindMessage(schemaVersion, getConfiguredLocalAddresses(), remoteEndPoint,
+                reply, stripeIndex);
         byte[] bytes = ioService.getSerializationService().toBytes(bind);
         // using one of the undefined packet types we can avoid old members
         // logging a serialization exception because they cannot deserialize the
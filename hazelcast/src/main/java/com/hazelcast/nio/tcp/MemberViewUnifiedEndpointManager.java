@@ -96,4 +96,14 @@ class MemberViewUnifiedEndpointManager
     int getConnectionListenersCount() {
         return unifiedEndpointManager.getConnectionListenersCount();
     }
+
+    // test support
+    int getLiveStripeCount(Address endpoint) {
+        return unifiedEndpointManager.getLiveStripeCount(endpoint);
+    }
+
+    // test support
+    TcpIpConnection getStripe(Address endpoint, int stripeIndex) {
+        return unifiedEndpointManager.getStripe(endpoint, stripeIndex);
+    }
 }
@@ -73,6 +73,8 @@ public class TcpIpConnection
 
     private volatile ConnectionType type = NONE;
 
+    private volatile int stripeIndex;
+
     private volatile ConnectionLifecycleListener lifecycleListener;
 
     private volatile Throwable closeCause;
@@ -165,6 +167,20 @@ public class TcpIpConnection
         this.endPoint = endPoint;
     }
 
+    /**
+     * Returns the index of the connection stripe this connection belongs to. The regular member
+     * connection (and every non-member connection) has stripe index {@code 0}.
+     *
+     * @see com.hazelcast.spi.properties.GroupProperty#TCP_CONNECTIONS_PER_MEMBER
+     */
+    public int getStripeIndex() {
+        return stripeIndex;
+    }
+
+    void setStripeIndex(int stripeIndex) {
+        this.stripeIndex = stripeIndex;
+    }
+
     public void setErrorHandler(TcpIpConnectionErrorHandler errorHandler) {
         this.errorHandler = errorHandler;
     }
@@ -63,8 +63,12 @@ class TcpIpConnector {
     }
 
     void asyncConnect(Address address, boolean silent) {
+        asyncConnect(address, silent, 0);
+    }
+
+    void asyncConnect(Address address, boolean silent, int stripeIndex) {
         ioService.shouldConnectTo(address);
-        ioService.executeAsync(new ConnectTask(address, silent));
+        ioService.executeAsync(new ConnectTask(address, silent, stripeIndex));
     }
 
     private boolean useAnyOutboundPort() {
@@ -89,10 +93,12 @@ class TcpIpConnector {
     private final class ConnectTask implements Runnable {
         private final Address address;
         private final boolean silent;
+        private final int stripeIndex;
 
-        ConnectTask(Address address, boolean silent) {
+        ConnectTask(Address address, boolean silent, int stripeIndex) {
             this.address = address;
             this.silent = silent;
+            this.stripeIndex = stripeIndex;
         }
 
         @Override
@@ -130,7 +136,7 @@ class TcpIpConnector {
                 }
             } catch (Throwable e) {
                 logger.finest(e);
-                endpointManager.failedConnection(address, e, silent);
+                endpointManager.failedConnection(address, stripeIndex, e, silent);
             }
         }
 
@@ -185,7 +191,7 @@ class TcpIpConnector {
                     ioService.interceptSocket(endpointManager.getEndpointQualifier(), socketChannel.socket(), false);
 
                     connection = endpointManager.newConnection(channel, address);
-                    BindRequest request = new BindRequest(logger, ioService, connection, address, true);
+                    BindRequest request = new BindRequest(logger, ioService, connection, address, true, stripeIndex);
                     request.send();
                 } catch (Exception e) {
                     closeConnection(connection, e);
@@ -31,6 +31,7 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionLifecycleListener;
 import com.hazelcast.nio.ConnectionListener;
+import com.hazelcast.nio.ConnectionType;
 import com.hazelcast.nio.EndpointManager;
 import com.hazelcast.nio.IOService;
 import com.hazelcast.nio.NetworkingService;
@@ -44,14 +45,18 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
@@ -60,6 +65,7 @@ import static com.hazelcast.nio.IOUtil.close;
 import static com.hazelcast.nio.IOUtil.closeResource;
 import static com.hazelcast.nio.IOUtil.setChannelOptions;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static java.util.Collections.newSetFromMap;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableSet;
@@ -69,6 +75,13 @@ public class TcpIpEndpointManager
 
     private static final int RETRY_NUMBER = 5;
     private static final long DELAY_FACTOR = 100L;
+    private static final long STRIPE_CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    // the states of a connection stripe
+    private static final int STRIPE_NOT_CONNECTED = 0;
+    private static final int STRIPE_CONNECTING = 1;
+    private static final int STRIPE_CONNECTED = 2;
+    private static final int STRIPE_FALLBACK = 3;
 
     @Probe(name = "inProgressCount")
     final Set<Address> connectionsInProgress = newSetFromMap(new ConcurrentHashMap<Address, Boolean>());
@@ -80,6 +93,8 @@ public class TcpIpEndpointManager
     @Probe(name = "activeCount", level = MANDATORY)
     final Set<TcpIpConnection> activeConnections = newSetFromMap(new ConcurrentHashMap<TcpIpConnection, Boolean>());
 
+    final ConcurrentHashMap<Address, ConnectionStripes> stripesMap = new ConcurrentHashMap<Address, ConnectionStripes>();
+
     private final ILogger logger;
     private final IOService ioService;
     private final EndpointConfig endpointConfig;
@@ -88,6 +103,7 @@ public class TcpIpEndpointManager
     private final NetworkingService networkingService;
     private final TcpIpConnector connector;
     private final BindHandler bindHandler;
+    private final int connectionsPerMember;
 
     @Probe(name = "connectionListenerCount")
     private final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<ConnectionListener>();
@@ -99,6 +115,13 @@ public class TcpIpEndpointManager
                 }
             };
 
+    private final ConstructorFunction<Address, ConnectionStripes> stripesConstructor =
+            new ConstructorFunction<Address, ConnectionStripes>() {
+                public ConnectionStripes createNew(Address endpoint) {
+                    return new ConnectionStripes(connectionsPerMember);
+                }
+            };
+
     @Probe(name = "monitorCount")
     private final ConcurrentHashMap<Address, TcpIpConnectionErrorHandler> monitors =
             new ConcurrentHashMap<Address, TcpIpConnectionErrorHandler>(100);
@@ -131,6 +154,10 @@ public class TcpIpEndpointManager
 
         boolean spoofingChecks = properties != null && properties.getBoolean(GroupProperty.BIND_SPOOFING_CHECKS);
         this.bindHandler = new BindHandler(this, ioService, logger, spoofingChecks, supportedProtocolTypes);
+        this.connectionsPerMember = properties != null
+                ? checkPositive(properties.getInteger(GroupProperty.TCP_CONNECTIONS_PER_MEMBER),
+                "connections per member must be positive")
+                : 1;
 
         if (endpointQualifier == null) {
             metricsRegistry.scanAndRegister(this, "tcp.connection");
@@ -250,6 +277,50 @@ public class TcpIpEndpointManager
         }
     }
 
+    /**
+     * Registers an additional connection stripe to the given member. Stripes are not visible through
+     * {@link #getConnection(Address)} and don't fire connection events; they are only used to transmit
+     * partition specific packets.
+     *
+     * @param remoteEndpoint the address of the member, as registered for its regular member connection
+     * @param connection     the connection stripe
+     * @return {@code true} if the connection was registered, {@code false} if there is already a live
+     * connection registered for the stripe or the stripe is not used by this member
+     */
+    synchronized boolean registerStripe(Address remoteEndpoint, TcpIpConnection connection) {
+        int stripeIndex = connection.getStripeIndex();
+        if (!connection.isAlive() || stripeIndex >= connectionsPerMember || remoteEndpoint.equals(ioService.getThisAddress())) {
+            // the remote member may be configured with more connections per member than this member;
+            // the connection is kept open for reading but this member never writes to it
+            return false;
+        }
+
+        ConnectionStripes stripes = ConcurrencyUtil.getOrPutIfAbsent(stripesMap, remoteEndpoint, stripesConstructor);
+        synchronized (stripes) {
+            TcpIpConnection existing = stripes.connections.get(stripeIndex);
+            if (existing != null && existing.isAlive() || stripes.states.get(stripeIndex) == STRIPE_FALLBACK) {
+                // the partitions of the stripe already use another connection and never switch over
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Stripe " + stripeIndex + " to " + remoteEndpoint + " is already bound, new one is "
+                            + connection);
+                }
+                return false;
+            }
+            connection.setEndPoint(remoteEndpoint);
+            // the packets queued while connecting are written before any packet written by the other threads
+            for (Packet packet : stripes.pending[stripeIndex]) {
+                connection.write(packet);
+            }
+            stripes.pending[stripeIndex].clear();
+            stripes.connections.set(stripeIndex, connection);
+            stripes.states.set(stripeIndex, STRIPE_CONNECTED);
+        }
+        if (logger.isFineEnabled()) {
+            logger.fine("Registered connection stripe " + stripeIndex + " to " + remoteEndpoint + ": " + connection);
+        }
+        return true;
+    }
+
     public synchronized void reset(boolean cleanListeners) {
         for (Channel socketChannel : acceptedChannels) {
             closeResource(socketChannel);
@@ -263,6 +334,7 @@ public class TcpIpEndpointManager
         acceptedChannels.clear();
         connectionsInProgress.clear();
         connectionsMap.clear();
+        stripesMap.clear();
         monitors.clear();
         activeConnections.clear();
 
@@ -279,7 +351,67 @@ public class TcpIpEndpointManager
             return false;
         }
 
-        return connection.write(packet);
+        TcpIpConnection selected = selectStripe(packet, connection);
+        // a packet is queued when its stripe is connecting
+        return selected == null || selected.write(packet);
+    }
+
+    /**
+     * Selects the connection to write the packet to. When multiple connections per member are configured,
+     * partition specific packets written to a regular member connection are routed to the connection
+     * stripe of their partition.
+     * <p>
+     * The packets of a partition are never moved to another connection while they may be in flight:
+     * if the stripe is not connected yet, it is connected asynchronously and the packets are queued
+     * until it is registered. If it can't be connected or is closed, the partitions of the stripe use
+     * the regular member connection until that one is closed as well.
+     *
+     * @return the connection to write the packet to or {@code null} if the packet was queued
+     */
+    private TcpIpConnection selectStripe(Packet packet, TcpIpConnection connection) {
+        int partitionId = packet.getPartitionId();
+        if (connectionsPerMember == 1 || partitionId < 0 || connection.getStripeIndex() != 0
+                || connection.getType() != ConnectionType.MEMBER) {
+            return connection;
+        }
+
+        int stripeIndex = partitionId % connectionsPerMember;
+        Address endpoint = connection.getEndPoint();
+        if (stripeIndex == 0 || endpoint == null) {
+            return connection;
+        }
+
+        ConnectionStripes stripes = ConcurrencyUtil.getOrPutIfAbsent(stripesMap, endpoint, stripesConstructor);
+        TcpIpConnection stripe = stripes.connections.get(stripeIndex);
+        if (stripe != null && stripe.isAlive()) {
+            return stripe;
+        }
+        if (stripes.states.get(stripeIndex) == STRIPE_FALLBACK) {
+            return connection;
+        }
+        return queueUntilConnected(stripes, stripeIndex, packet, connection);
+    }
+
+    private TcpIpConnection queueUntilConnected(ConnectionStripes stripes, int stripeIndex, Packet packet,
+                                                TcpIpConnection connection) {
+        synchronized (stripes) {
+            TcpIpConnection stripe = stripes.connections.get(stripeIndex);
+            if (stripe != null && stripe.isAlive()) {
+                return stripe;
+            }
+            int state = stripes.states.get(stripeIndex);
+            long now = System.currentTimeMillis();
+            if (state == STRIPE_NOT_CONNECTED && networkingService.isLive()) {
+                stripes.states.set(stripeIndex, STRIPE_CONNECTING);
+                stripes.connectDeadlineMillis[stripeIndex] = now + STRIPE_CONNECT_TIMEOUT_MILLIS;
+                connector.asyncConnect(connection.getEndPoint(), true, stripeIndex);
+            } else if (state != STRIPE_CONNECTING || now > stripes.connectDeadlineMillis[stripeIndex]) {
+                stripes.fallBack(stripeIndex, connection);
+                return connection;
+            }
+            stripes.pending[stripeIndex].add(packet);
+            return null;
+        }
     }
 
     @Override
@@ -314,7 +446,23 @@ public class TcpIpEndpointManager
         acceptedChannels.remove(channel);
     }
 
-    void failedConnection(Address address, Throwable t, boolean silent) {
+    void failedConnection(Address address, int stripeIndex, Throwable t, boolean silent) {
+        if (stripeIndex > 0) {
+            // a failing stripe doesn't affect the regular member connection, packets fall back to it
+            ConnectionStripes stripes = stripesMap.get(address);
+            if (stripes != null) {
+                synchronized (stripes) {
+                    if (stripes.states.get(stripeIndex) == STRIPE_CONNECTING) {
+                        stripes.fallBack(stripeIndex, connectionsMap.get(address));
+                    }
+                }
+            }
+            if (logger.isFineEnabled()) {
+                logger.fine("Could not connect stripe " + stripeIndex + " to " + address + ": " + t);
+            }
+            return;
+        }
+
         connectionsInProgress.remove(address);
         ioService.onFailedConnection(address);
         if (!silent) {
@@ -391,6 +539,25 @@ public class TcpIpEndpointManager
         return connectionListeners.size();
     }
 
+    // test support
+    int getLiveStripeCount(Address endpoint) {
+        ConnectionStripes stripes = stripesMap.get(endpoint);
+        int count = 0;
+        for (int i = 1; stripes != null && i < stripes.connections.length(); i++) {
+            TcpIpConnection stripe = stripes.connections.get(i);
+            if (stripe != null && stripe.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // test support
+    TcpIpConnection getStripe(Address endpoint, int stripeIndex) {
+        ConnectionStripes stripes = stripesMap.get(endpoint);
+        return stripes == null ? null : stripes.connections.get(stripeIndex);
+    }
+
     private final class SendTask
             implements Runnable {
         private final Packet packet;
@@ -413,6 +580,71 @@ public class TcpIpEndpointManager
         }
     }
 
+    private void removeStripe(Address endpoint, TcpIpConnection connection) {
+        ConnectionStripes stripes = stripesMap.get(endpoint);
+        if (stripes == null) {
+            return;
+        }
+        int stripeIndex = connection.getStripeIndex();
+        synchronized (stripes) {
+            // also a connection which was closed while binding makes the stripe fall back
+            if (stripes.connections.compareAndSet(stripeIndex, connection, null)
+                    || stripes.states.get(stripeIndex) == STRIPE_CONNECTING) {
+                stripes.fallBack(stripeIndex, connectionsMap.get(endpoint));
+            }
+        }
+    }
+
+    private void closeStripes(Address endpoint) {
+        ConnectionStripes stripes = stripesMap.remove(endpoint);
+        if (stripes == null) {
+            return;
+        }
+        for (int i = 1; i < stripes.connections.length(); i++) {
+            TcpIpConnection stripe = stripes.connections.getAndSet(i, null);
+            if (stripe != null) {
+                close(stripe, "Member connection to " + endpoint + " is closed");
+            }
+        }
+    }
+
+    /**
+     * The additional connection stripes to a single member. Index {@code 0} is never used since
+     * the regular member connection is kept in {@link #connectionsMap}. The states only change and
+     * the pending packets are only accessed while holding the lock of this object.
+     */
+    static final class ConnectionStripes {
+        final AtomicReferenceArray<TcpIpConnection> connections;
+        final AtomicIntegerArray states;
+        final long[] connectDeadlineMillis;
+        final Queue<Packet>[] pending;
+
+        @SuppressWarnings("unchecked")
+        ConnectionStripes(int connectionsPerMember) {
+            this.connections = new AtomicReferenceArray<TcpIpConnection>(connectionsPerMember);
+            this.states = new AtomicIntegerArray(connectionsPerMember);
+            this.connectDeadlineMillis = new long[connectionsPerMember];
+            this.pending = new Queue[connectionsPerMember];
+            for (int i = 0; i < connectionsPerMember; i++) {
+                pending[i] = new ArrayDeque<Packet>();
+            }
+        }
+
+        /**
+         * Lets the partitions of the stripe use the regular member connection from now on. The queued
+         * packets are written to it first, so they are still sent in order.
+         */
+        void fallBack(int stripeIndex, TcpIpConnection connection) {
+            states.set(stripeIndex, STRIPE_FALLBACK);
+            for (Packet packet : pending[stripeIndex]) {
+                if (connection != null) {
+                    connection.write(packet);
+                }
+            }
+            pending[stripeIndex].clear();
+        }
+    }
+
     public final class EndpointConnectionLifecycleListener
             implements ConnectionLifecycleListener<TcpIpConnection> {
 
@@ -423,9 +655,16 @@ public class TcpIpEndpointManager
             activeConnections.remove(connection);
 
             Address endPoint = connection.getEndPoint();
+            if (endPoint != null && connection.getStripeIndex() > 0) {
+                removeStripe(endPoint, connection);
+                return;
+            }
+
             if (endPoint != null) {
                 connectionsInProgress.remove(endPoint);
-                connectionsMap.remove(endPoint, connection);
+                if (connectionsMap.remove(endPoint, connection)) {
+                    closeStripes(endPoint);
+                }
                 fireConnectionRemovedEvent(connection, endPoint);
             }
 
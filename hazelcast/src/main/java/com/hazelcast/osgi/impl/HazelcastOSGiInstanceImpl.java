@@ -34,7 +34,9 @@ import com.hazelcast.collection.IList;
 import com.hazelcast.cp.lock.ILock;
 import com.hazelcast.map.IMap;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
 import com.hazelcast.cp.ISemaphore;
+import com.hazelcast.topic.IPartitionedTopic;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.collection.ISet;
 import com.hazelcast.core.IdGenerator;
@@ -89,6 +91,11 @@ class HazelcastOSGiInstanceImpl
         return delegatedInstance.getQueue(name);
     }
 
+    @Override
+    public <E> IShardedQueue<E> getShardedQueue(String name, int shardCount) {
+        return delegatedInstance.getShardedQueue(name, shardCount);
+    }
+
     @Override
     public <E> ITopic<E> getTopic(String name) {
         return delegatedInstance.getTopic(name);
@@ -134,6 +141,11 @@ class HazelcastOSGiInstanceImpl
         return delegatedInstance.getReliableTopic(name);
     }
 
+    @Override
+    public <E> IPartitionedTopic<E> getPartitionedTopic(String name, int partitionCount) {
+        return delegatedInstance.getPartitionedTopic(name, partitionCount);
+    }
+
     @Override
     public ICacheManager getCacheManager() {
         return delegatedInstance.getCacheManager();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.replicatedmap;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
@@ -228,6 +229,95 @@ public interface ReplicatedMap<K, V> extends Map<K, V>, DistributedObject {
      */
     Set<K> keySet();
 
+    /**
+     * Returns the keys of the entries of this map that satisfy the given
+     * predicate.
+     * <p>
+     * The query is evaluated on the local replica of this member, using the
+     * indexes added by {@link #addIndex(String, boolean)} if possible. So the
+     * result reflects the data replicated to this member so far. On the client,
+     * the query is sent to a member and evaluated on its replica.
+     * <p>
+     * The returned set is a copy, changes to the map are not reflected on it.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the keys of the matching entries
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @since 4.0
+     */
+    Set<K> keySet(Predicate<K, V> predicate);
+
+    /**
+     * Returns the values of the entries of this map that satisfy the given
+     * predicate.
+     * <p>
+     * See {@link #keySet(Predicate)} for how the query is evaluated.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the values of the matching entries
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @since 4.0
+     */
+    Collection<V> values(Predicate<K, V> predicate);
+
+    /**
+     * Returns the entries of this map that satisfy the given predicate.
+     * <p>
+     * See {@link #keySet(Predicate)} for how the query is evaluated.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the matching entries
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @since 4.0
+     */
+    Set<Map.Entry<K, V>> entrySet(Predicate<K, V> predicate);
+
+    /**
+     * Applies the aggregation logic on all entries of the local replica of
+     * this map and returns the result.
+     *
+     * @param aggregator the aggregator to aggregate the entries with
+     * @param <R>        the type of the result
+     * @return the result of the given type
+     * @since 4.0
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Applies the aggregation logic on the entries of the local replica of this
+     * map that satisfy the given predicate and returns the result.
+     * <p>
+     * See {@link #keySet(Predicate)} for how the query is evaluated.
+     *
+     * @param aggregator the aggregator to aggregate the entries with
+     * @param predicate  the predicate to filter the entries with
+     * @param <R>        the type of the result
+     * @return the result of the given type
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @since 4.0
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
+    /**
+     * Adds an index to the local replica of this map on this member, which is
+     * used by the queries with predicates run on this member.
+     * <p>
+     * Since every member holds all the data of a replicated map, the index is
+     * only maintained by the member it was added on; each member that runs
+     * queries should add the indexes it needs. The method returns when the
+     * existing entries have been indexed; until then, the queries use a full
+     * scan of the local replica. See {@link com.hazelcast.map.IMap#addIndex(String, boolean)}
+     * for the supported attributes.
+     * <p>
+     * On the client, the index is added on all members, since the queries of
+     * the client may be evaluated on any of them.
+     *
+     * @param attribute the attribute of the value to index
+     * @param ordered   {@code true} if the index should be ordered, {@code false} otherwise
+     * @since 4.0
+     */
+    void addIndex(String attribute, boolean ordered);
+
     /**
      * Returns LocalReplicatedMapStats for this replicated map.
      * LocalReplicatedMapStats is the statistics for the local
@@ -16,6 +16,7 @@
 
 package com.hazelcast.replicatedmap.impl;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.ReplicatedMapConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.replicatedmap.ReplicatedMap;
@@ -25,6 +26,8 @@ import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.monitor.impl.EmptyLocalReplicatedMapStats;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.TruePredicate;
 import com.hazelcast.quorum.QuorumType;
 import com.hazelcast.replicatedmap.impl.client.ReplicatedMapEntries;
 import com.hazelcast.replicatedmap.impl.operation.ClearOperationFactory;
@@ -47,6 +50,7 @@ import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.IterationType;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -439,6 +443,70 @@ public class ReplicatedMapProxy<K, V> extends AbstractDistributedObject<Replicat
         return result;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet(Predicate<K, V> predicate) {
+        ensureQuorumPresent(READ);
+        Collection<QueryableEntry> entries = service.getQueryEngine().query(name, predicate);
+        Set<K> keySet = createHashSet(entries.size());
+        for (QueryableEntry entry : entries) {
+            keySet.add((K) entry.getKey());
+        }
+        return keySet;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values(Predicate<K, V> predicate) {
+        ensureQuorumPresent(READ);
+        Collection<QueryableEntry> entries = service.getQueryEngine().query(name, predicate);
+        List<V> values = new ArrayList<V>(entries.size());
+        for (QueryableEntry entry : entries) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet(Predicate<K, V> predicate) {
+        ensureQuorumPresent(READ);
+        Collection<QueryableEntry> entries = service.getQueryEngine().query(name, predicate);
+        Set<Entry<K, V>> entrySet = createHashSet(entries.size());
+        for (QueryableEntry entry : entries) {
+            entrySet.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey(), (V) entry.getValue()));
+        }
+        return entrySet;
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, TruePredicate.<K, V>truePredicate());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "aggregator cannot be null");
+        ensureQuorumPresent(READ);
+        for (QueryableEntry entry : service.getQueryEngine().query(name, predicate)) {
+            aggregator.accumulate(entry);
+        }
+        aggregator.onAccumulationFinished();
+        aggregator.onCombinationFinished();
+        return aggregator.aggregate();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+        try {
+            service.getQueryEngine().addIndex(name, attribute, ordered).get();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode();
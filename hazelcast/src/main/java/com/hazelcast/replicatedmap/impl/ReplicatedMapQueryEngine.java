@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecord;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.INDEX_COPY_BEHAVIOR;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Runs the queries with predicates on the local replicas of the replicated maps.
+ *
+ * Every member holds all the data of a replicated map, so a query is evaluated on the
+ * record stores of all partitions of this member. The indexes of a replicated map are
+ * global: there is a single {@link Indexes} instance per map, which is updated by the
+ * record stores of all partitions. A query uses the indexes only when every partition
+ * has been indexed, otherwise it falls back to a full scan of the record stores.
+ */
+public class ReplicatedMapQueryEngine {
+
+    private final NodeEngine nodeEngine;
+    private final ReplicatedMapService service;
+    private final InternalSerializationService serializationService;
+    private final Extractors extractors;
+    private final IndexCopyBehavior indexCopyBehavior;
+    private final ConcurrentMap<String, Indexes> indexesByMapName = new ConcurrentHashMap<String, Indexes>();
+    private final ConstructorFunction<String, Indexes> indexesConstructor = new ConstructorFunction<String, Indexes>() {
+        @Override
+        public Indexes createNew(String name) {
+            return Indexes.newBuilder(serializationService, indexCopyBehavior)
+                    .extractors(extractors)
+                    .global(true)
+                    .statsEnabled(true)
+                    .build();
+        }
+    };
+
+    public ReplicatedMapQueryEngine(ReplicatedMapService service, NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.service = service;
+        this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+        this.extractors = Extractors.newBuilder(serializationService)
+                .setClassLoader(nodeEngine.getConfigClassLoader())
+                .build();
+        this.indexCopyBehavior = nodeEngine.getProperties().getEnum(INDEX_COPY_BEHAVIOR, IndexCopyBehavior.class);
+    }
+
+    /**
+     * Returns the indexes of the replicated map, which have to be updated on every change of
+     * its record stores.
+     *
+     * @param name the name of the replicated map
+     * @return the indexes of the replicated map
+     */
+    public Indexes getIndexes(String name) {
+        return getOrPutSynchronized(indexesByMapName, name, indexesByMapName, indexesConstructor);
+    }
+
+    /**
+     * Destroys the indexes of the replicated map.
+     *
+     * @param name the name of the replicated map
+     */
+    public void destroyIndexes(String name) {
+        Indexes indexes = indexesByMapName.remove(name);
+        if (indexes != null) {
+            indexes.destroyIndexes();
+        }
+    }
+
+    /**
+     * Creates the entry stored in the indexes, or evaluated by the predicates, for the given
+     * key and value of a record.
+     */
+    public QueryableEntry newQueryEntry(Object key, Object value) {
+        return new QueryEntry(serializationService, serializationService.toData(key), value, extractors);
+    }
+
+    /**
+     * Adds an index to the replicated map and indexes the existing entries of all partitions.
+     * The entries of a partition are indexed on its partition thread; the method doesn't wait
+     * for them, the returned future completes when all partitions have been indexed. So the
+     * future must not be waited for on a partition thread.
+     *
+     * @param name      the name of the replicated map
+     * @param attribute the attribute to index
+     * @param ordered   {@code true} if the index should be ordered, {@code false} otherwise
+     * @return the future completed when all partitions have been indexed
+     */
+    public ICompletableFuture<Void> addIndex(String name, String attribute, boolean ordered) {
+        Indexes indexes = getIndexes(name);
+        InternalIndex index = indexes.addOrGetIndex(attribute, ordered, null);
+
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        IndexFuture future = new IndexFuture(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            nodeEngine.getOperationService().execute(new IndexPartitionTask(name, index, partitionId, future));
+        }
+        return future;
+    }
+
+    /**
+     * Returns the entries of the local replica of the replicated map that satisfy the predicate.
+     *
+     * @param name      the name of the replicated map
+     * @param predicate the predicate to filter the entries with
+     * @return the matching entries
+     * @throws IllegalArgumentException if the predicate is a {@link PagingPredicate}
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<QueryableEntry> query(String name, Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate is not supported by the replicated map queries");
+        }
+        if (predicate != TruePredicate.INSTANCE) {
+            Indexes indexes = indexesByMapName.get(name);
+            if (indexes != null && isFullyIndexed(indexes)) {
+                Set<QueryableEntry> result = indexes.query(predicate);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        Collection<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (ReplicatedRecordStore store : service.getAllReplicatedRecordStores(name)) {
+            for (Map.Entry<Object, ReplicatedRecord> entry
+                    : ((Set<Map.Entry<Object, ReplicatedRecord>>) store.getStorage().entrySet())) {
+                Object value = entry.getValue().getValueInternal();
+                if (value == null) {
+                    continue;
+                }
+                QueryableEntry queryEntry = newQueryEntry(entry.getKey(), value);
+                if (predicate.apply(queryEntry)) {
+                    result.add(queryEntry);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isFullyIndexed(Indexes indexes) {
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        for (InternalIndex index : indexes.getIndexes()) {
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                if (!index.hasPartitionIndexed(partitionId)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Completed by the last {@link IndexPartitionTask}, or by the first one that fails.
+     */
+    private final class IndexFuture extends AbstractCompletableFuture<Void> {
+        private final AtomicInteger remaining;
+
+        private IndexFuture(int partitionCount) {
+            super(nodeEngine, nodeEngine.getLogger(ReplicatedMapQueryEngine.class));
+            this.remaining = new AtomicInteger(partitionCount);
+        }
+
+        void partitionIndexed() {
+            if (remaining.decrementAndGet() == 0) {
+                setResult(null);
+            }
+        }
+
+        void completeExceptionally(Throwable error) {
+            setResult(error);
+        }
+    }
+
+    private final class IndexPartitionTask implements PartitionSpecificRunnable {
+        private final String name;
+        private final InternalIndex index;
+        private final int partitionId;
+        private final IndexFuture future;
+
+        private IndexPartitionTask(String name, InternalIndex index, int partitionId, IndexFuture future) {
+            this.name = name;
+            this.index = index;
+            this.partitionId = partitionId;
+            this.future = future;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                if (!index.hasPartitionIndexed(partitionId)) {
+                    ReplicatedRecordStore store = service.getPartitionContainer(partitionId).getRecordStore(name);
+                    if (store != null) {
+                        for (Map.Entry<Object, ReplicatedRecord> entry
+                                : ((Set<Map.Entry<Object, ReplicatedRecord>>) store.getStorage().entrySet())) {
+                            Object value = entry.getValue().getValueInternal();
+                            if (value != null) {
+                                index.putEntry(newQueryEntry(entry.getKey(), value), null, Index.OperationSource.USER);
+                            }
+                        }
+                    }
+                    index.markPartitionAsIndexed(partitionId);
+                }
+                future.partitionIndexed();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
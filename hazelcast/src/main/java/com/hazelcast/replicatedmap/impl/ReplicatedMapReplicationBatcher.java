@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateBatchOperation;
+import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateOperation;
+import com.hazelcast.replicatedmap.impl.operation.SkipVersionOperation;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.INVOCATION_TRY_COUNT;
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.SERVICE_NAME;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_FLUSH_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_SIZE;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Batches the replication updates of replicated maps that are sent to the same member.
+ *
+ * Instead of sending a {@link ReplicateUpdateOperation} per update, the updates are
+ * collected per target member until the flush interval has elapsed or the maximum
+ * batch size has been reached, and are then sent in a single
+ * {@link ReplicateUpdateBatchOperation}. Updates of the same key that are waiting in
+ * the same batch are coalesced, only the one with the latest version is sent; the
+ * others are replaced by a {@link SkipVersionOperation}, so the replica still sees
+ * every version of the record store and isn't considered stale. The replica fires the
+ * entry events of the updates it applies, so its entry listeners don't observe the
+ * coalesced updates; see {@link com.hazelcast.spi.properties.GroupProperty#REPLICATED_MAP_REPLICATION_BATCH_ENABLED}.
+ *
+ * There is at most one batch in flight per target member. The target rejects an update
+ * with a version lower than the current version of its record store; so if batches were
+ * sent concurrently, a later batch could overtake an earlier one and cause its updates
+ * to be dropped. While a batch is in flight, the new updates are collected and sent as
+ * soon as the batch has been processed. For the same reason, the updates sent to the
+ * caller of a replicated map operation go through the batch as well; they are sent
+ * immediately, together with the updates collected before them.
+ */
+public final class ReplicatedMapReplicationBatcher {
+
+    @Probe(name = "batchedUpdates", level = MANDATORY)
+    private final MwCounter batchedUpdates = newMwCounter();
+    @Probe(name = "coalescedUpdates", level = MANDATORY)
+    private final MwCounter coalescedUpdates = newMwCounter();
+    @Probe(name = "sentBatches", level = MANDATORY)
+    private final MwCounter sentBatches = newMwCounter();
+    @Probe(name = "sentUpdates", level = MANDATORY)
+    private final MwCounter sentUpdates = newMwCounter();
+    // the sum of the times the updates waited in their batch before being sent; divided by
+    // batchedUpdates, it gives the average time an update is held back
+    @Probe(name = "replicationLagNanos", level = MANDATORY)
+    private final MwCounter replicationLagNanos = newMwCounter();
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final TaskScheduler scheduler;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<Address, Batch>();
+    private final ConstructorFunction<Address, Batch> batchConstructor = new ConstructorFunction<Address, Batch>() {
+        @Override
+        public Batch createNew(Address target) {
+            return new Batch(target);
+        }
+    };
+
+    public ReplicatedMapReplicationBatcher(NodeEngine nodeEngine) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(getClass());
+        this.scheduler = nodeEngine.getExecutionService().getGlobalTaskScheduler();
+        this.flushIntervalMillis = checkPositive(properties.getMillis(REPLICATED_MAP_REPLICATION_BATCH_FLUSH_INTERVAL_MILLIS),
+                "flush interval should be positive");
+        this.maxBatchSize = checkPositive(properties.getInteger(REPLICATED_MAP_REPLICATION_BATCH_SIZE),
+                "batch size should be positive");
+    }
+
+    /**
+     * Adds the update to the batch of the target member.
+     *
+     * @param target the member to send the update to
+     * @param update the {@link ReplicateUpdateOperation} or
+     *               {@link com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateToCallerOperation}
+     *               to send, with its partition ID set
+     * @param urgent {@code true} if the batch should be sent without waiting for the
+     *               flush interval, e.g. because the caller waits for the update
+     */
+    public void add(Address target, Operation update, boolean urgent) {
+        Batch batch = getOrPutIfAbsent(batches, target, batchConstructor);
+        boolean flushNow;
+        synchronized (batch) {
+            if (batch.add(update)) {
+                coalescedUpdates.inc();
+            }
+            flushNow = urgent || batch.updates.size() >= maxBatchSize;
+        }
+        batchedUpdates.inc();
+
+        if (flushNow) {
+            flush(batch);
+        } else if (batch.flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(new FlushTask(batch), flushIntervalMillis, MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops all pending updates.
+     */
+    public void shutdown() {
+        batches.clear();
+    }
+
+    private void flush(Batch batch) {
+        List<Operation> updates;
+        synchronized (batch) {
+            if (batch.inFlight || batch.updates.isEmpty()) {
+                // an in-flight batch sends the pending updates once it completes
+                return;
+            }
+            replicationLagNanos.inc(batch.waitedNanos(System.nanoTime()));
+            updates = batch.drain();
+            batch.inFlight = true;
+        }
+        sentBatches.inc();
+        for (Operation update : updates) {
+            if (!(update instanceof SkipVersionOperation)) {
+                sentUpdates.inc();
+            }
+        }
+
+        Operation op = new ReplicateUpdateBatchOperation(updates);
+        try {
+            nodeEngine.getOperationService()
+                    .createInvocationBuilder(SERVICE_NAME, op, batch.target)
+                    .setTryCount(INVOCATION_TRY_COUNT)
+                    .invoke()
+                    .andThen(new BatchCallback(batch));
+        } catch (RuntimeException e) {
+            logger.warning("Could not send replication batch to " + batch.target, e);
+            onBatchComplete(batch);
+        }
+    }
+
+    private void onBatchComplete(Batch batch) {
+        synchronized (batch) {
+            batch.inFlight = false;
+        }
+        if (nodeEngine.getClusterService().getMember(batch.target) == null) {
+            batches.remove(batch.target, batch);
+            return;
+        }
+        flush(batch);
+    }
+
+    private final class BatchCallback implements ExecutionCallback<Object> {
+        private final Batch batch;
+
+        private BatchCallback(Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            onBatchComplete(batch);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (logger.isFineEnabled()) {
+                logger.fine("Replication batch to " + batch.target + " failed", t);
+            }
+            onBatchComplete(batch);
+        }
+    }
+
+    private final class FlushTask implements Runnable {
+        private final Batch batch;
+
+        private FlushTask(Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            batch.flushScheduled.set(false);
+            flush(batch);
+        }
+    }
+
+    private static final class Batch {
+        private final Address target;
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        // the pending updates in the order they have to be applied; guarded by the batch
+        private final List<Operation> updates = new ArrayList<Operation>();
+        // the index of the pending update of a key; guarded by the batch
+        private final Map<UpdateKey, Integer> updateIndexes = new HashMap<UpdateKey, Integer>();
+        // the number of updates added since the last drain, the time the first one was added
+        // and the sum of the times the others were added after it; guarded by the batch
+        private int addedCount;
+        private long firstAddedNanos;
+        private long addedOffsetNanosSum;
+        // guarded by the batch
+        private boolean inFlight;
+
+        private Batch(Address target) {
+            this.target = target;
+        }
+
+        /**
+         * @return {@code true} if the update was coalesced with a pending update of the same key
+         */
+        private boolean add(Operation update) {
+            long nowNanos = System.nanoTime();
+            if (addedCount == 0) {
+                firstAddedNanos = nowNanos;
+            }
+            addedCount++;
+            addedOffsetNanosSum += nowNanos - firstAddedNanos;
+            if (!(update instanceof ReplicateUpdateOperation)) {
+                updates.add(update);
+                return false;
+            }
+
+            ReplicateUpdateOperation replicateUpdate = (ReplicateUpdateOperation) update;
+            UpdateKey key = new UpdateKey(replicateUpdate.getName(), replicateUpdate.getDataKey());
+            Integer index = updateIndexes.get(key);
+            ReplicateUpdateOperation previous = index != null ? (ReplicateUpdateOperation) updates.get(index) : null;
+            updateIndexes.put(key, updates.size());
+            updates.add(update);
+            if (previous == null || previous.getVersion() > replicateUpdate.getVersion()) {
+                return false;
+            }
+            // the previous update keeps its place, so the versions of the record store stay contiguous
+            Operation skipVersion = new SkipVersionOperation(previous.getName(), previous.getVersion())
+                    .setPartitionId(previous.getPartitionId());
+            updates.set(index, skipVersion);
+            return true;
+        }
+
+        /**
+         * @return the sum of the times the updates added since the last drain have waited
+         */
+        private long waitedNanos(long nowNanos) {
+            return addedCount * (nowNanos - firstAddedNanos) - addedOffsetNanosSum;
+        }
+
+        private List<Operation> drain() {
+            List<Operation> drained = new ArrayList<Operation>(updates);
+            updates.clear();
+            updateIndexes.clear();
+            addedCount = 0;
+            addedOffsetNanosSum = 0;
+            return drained;
+        }
+    }
+
+    private static final class UpdateKey {
+        private final String name;
+        private final Data key;
+
+        private UpdateKey(String name, Data key) {
+            this.name = name;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            UpdateKey that = (UpdateKey) o;
+            return name.equals(that.name) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + key.hashCode();
+        }
+    }
+}
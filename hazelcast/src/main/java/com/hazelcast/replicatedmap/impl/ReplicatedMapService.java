@@ -51,6 +51,7 @@ import com.hazelcast.spi.QuorumAwareService;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.SplitBrainHandlerService;
 import com.hazelcast.spi.StatisticsAwareService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ConstructorFunction;
@@ -69,6 +70,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
 import static com.hazelcast.internal.config.ConfigValidator.checkReplicatedMapConfig;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_ENABLED;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 
@@ -110,6 +112,8 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
     private final ReplicatedMapEventPublishingService eventPublishingService;
     private final ReplicatedMapSplitBrainHandlerService splitBrainHandlerService;
     private final LocalReplicatedMapStatsProvider statsProvider;
+    private final ReplicatedMapReplicationBatcher replicationBatcher;
+    private final ReplicatedMapQueryEngine queryEngine;
 
     private ScheduledFuture antiEntropyFuture;
     private MergePolicyProvider mergePolicyProvider;
@@ -126,6 +130,9 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         this.quorumService = nodeEngine.getQuorumService();
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.statsProvider = new LocalReplicatedMapStatsProvider(config, partitionContainers);
+        this.replicationBatcher = nodeEngine.getProperties().getBoolean(REPLICATED_MAP_REPLICATION_BATCH_ENABLED)
+                ? new ReplicatedMapReplicationBatcher(nodeEngine) : null;
+        this.queryEngine = new ReplicatedMapQueryEngine(this, nodeEngine);
     }
 
     @Override
@@ -135,6 +142,9 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         }
         antiEntropyFuture = nodeEngine.getExecutionService().getGlobalTaskScheduler()
                 .scheduleWithRepetition(antiEntropyTask, 0, SYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        if (replicationBatcher != null) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(replicationBatcher, "replicatedMap.replication");
+        }
     }
 
     @Override
@@ -157,6 +167,9 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         if (antiEntropyFuture != null) {
             antiEntropyFuture.cancel(true);
         }
+        if (replicationBatcher != null) {
+            replicationBatcher.shutdown();
+        }
     }
 
     /**
@@ -206,6 +219,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         for (int i = 0; i < nodeEngine.getPartitionService().getPartitionCount(); i++) {
             partitionContainers[i].destroy(objectName);
         }
+        queryEngine.destroyIndexes(objectName);
         quorumConfigCache.remove(objectName);
     }
 
@@ -292,6 +306,20 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         return nodeEngine;
     }
 
+    /**
+     * Returns the batcher of the replication updates sent to the other members.
+     *
+     * @return the batcher, or {@code null} if replication batching is disabled
+     * @see com.hazelcast.spi.properties.GroupProperty#REPLICATED_MAP_REPLICATION_BATCH_ENABLED
+     */
+    public ReplicatedMapReplicationBatcher getReplicationBatcher() {
+        return replicationBatcher;
+    }
+
+    public ReplicatedMapQueryEngine getQueryEngine() {
+        return queryEngine;
+    }
+
     public ReplicatedMapEventPublishingService getEventPublishingService() {
         return eventPublishingService;
     }
@@ -20,6 +20,8 @@ import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapReplicationBatcher;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
@@ -65,6 +67,11 @@ public abstract class AbstractReplicatedMapOperation extends AbstractNamedSerial
         Operation op = new ReplicateUpdateOperation(name, key, value, ttl, response, isRemove, getCallerAddress())
                 .setPartitionId(getPartitionId())
                 .setValidateTarget(false);
+        ReplicatedMapReplicationBatcher batcher = getReplicationBatcher();
+        if (batcher != null) {
+            batcher.add(address, op, false);
+            return;
+        }
         operationService
                 .createInvocationBuilder(getServiceName(), op, address)
                 .setTryCount(INVOCATION_TRY_COUNT)
@@ -77,12 +84,22 @@ public abstract class AbstractReplicatedMapOperation extends AbstractNamedSerial
                 .setPartitionId(getPartitionId())
                 .setValidateTarget(false)
                 .setServiceName(getServiceName());
+        ReplicatedMapReplicationBatcher batcher = getReplicationBatcher();
+        if (batcher != null) {
+            batcher.add(getCallerAddress(), op, true);
+            return;
+        }
         operationService
                 .createInvocationBuilder(getServiceName(), op, getCallerAddress())
                 .setTryCount(INVOCATION_TRY_COUNT)
                 .invoke();
     }
 
+    private ReplicatedMapReplicationBatcher getReplicationBatcher() {
+        ReplicatedMapService service = getService();
+        return service.getReplicationBatcher();
+    }
+
     @Override
     public String getName() {
         return name;
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.spi.impl.operationservice.CallStatus;
+import com.hazelcast.spi.impl.operationservice.Offload;
+
+import java.io.IOException;
+
+/**
+ * Adds an index to the local replica of a replicated map on the member it runs on.
+ * Sent to all members when a client adds an index, since its queries may run on any member.
+ * The partitions are indexed on their partition threads, so the operation is offloaded and
+ * the response is sent when the last partition has been indexed.
+ */
+public class AddIndexOperation extends AbstractNamedSerializableOperation {
+
+    private String name;
+    private String attribute;
+    private boolean ordered;
+
+    public AddIndexOperation() {
+    }
+
+    public AddIndexOperation(String name, String attribute, boolean ordered) {
+        this.name = name;
+        this.attribute = attribute;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public CallStatus call() throws Exception {
+        return new AddIndexOffload();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(attribute);
+        out.writeBoolean(ordered);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        attribute = in.readUTF();
+        ordered = in.readBoolean();
+    }
+
+    @Override
+    public int getClassId() {
+        return ReplicatedMapDataSerializerHook.ADD_INDEX;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    private final class AddIndexOffload extends Offload {
+
+        private AddIndexOffload() {
+            super(AddIndexOperation.this);
+        }
+
+        @Override
+        public void start() {
+            ReplicatedMapService service = getService();
+            service.getQueryEngine().addIndex(name, attribute, ordered).andThen(new ExecutionCallback<Void>() {
+                @Override
+                public void onResponse(Void response) {
+                    sendResponse(null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    sendResponse(t);
+                }
+            });
+        }
+    }
+}
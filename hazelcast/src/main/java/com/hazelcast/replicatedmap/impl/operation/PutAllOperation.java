@@ -22,6 +22,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapEventPublishingService;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapReplicationBatcher;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.replicatedmap.impl.client.ReplicatedMapEntries;
 import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
@@ -74,6 +75,8 @@ public class PutAllOperation extends AbstractNamedSerializableOperation implemen
 
     private void publishReplicationMessage(Data key, Data value, VersionResponsePair response) {
         OperationService operationService = getNodeEngine().getOperationService();
+        ReplicatedMapService service = getService();
+        ReplicatedMapReplicationBatcher batcher = service.getReplicationBatcher();
         Collection<Member> members = getNodeEngine().getClusterService().getMembers(DATA_MEMBER_SELECTOR);
         for (Member member : members) {
             Address address = member.getAddress();
@@ -83,7 +86,11 @@ public class PutAllOperation extends AbstractNamedSerializableOperation implemen
             Operation op = new ReplicateUpdateOperation(name, key, value, 0, response, false, getCallerAddress())
                     .setPartitionId(getPartitionId())
                     .setValidateTarget(false);
-            operationService.invokeOnTarget(getServiceName(), op, address);
+            if (batcher != null) {
+                batcher.add(address, op, false);
+            } else {
+                operationService.invokeOnTarget(getServiceName(), op, address);
+            }
         }
     }
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapReplicationBatcher;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationAccessor;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.replicatedmap.impl.operation.ReplicatedMapDataSerializerHook.REPLICATE_UPDATE;
+import static com.hazelcast.replicatedmap.impl.operation.ReplicatedMapDataSerializerHook.REPLICATE_UPDATE_TO_CALLER;
+import static com.hazelcast.replicatedmap.impl.operation.ReplicatedMapDataSerializerHook.SKIP_VERSION;
+import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Carries a batch of {@link ReplicateUpdateOperation}s, {@link ReplicateUpdateToCallerOperation}s
+ * and {@link SkipVersionOperation}s sent by the {@link ReplicatedMapReplicationBatcher} to a single member.
+ *
+ * The updates are handed over to the partition threads in the order they were added to the batch,
+ * so the updates of a partition are applied in the order of their versions.
+ */
+public class ReplicateUpdateBatchOperation extends AbstractSerializableOperation {
+
+    private List<Operation> updates;
+
+    public ReplicateUpdateBatchOperation() {
+    }
+
+    public ReplicateUpdateBatchOperation(List<Operation> updates) {
+        this.updates = updates;
+    }
+
+    @Override
+    public void run() throws Exception {
+        Map<Integer, List<Operation>> updatesByPartition = new LinkedHashMap<Integer, List<Operation>>();
+        for (Operation update : updates) {
+            prepare(update);
+            List<Operation> partitionUpdates = updatesByPartition.get(update.getPartitionId());
+            if (partitionUpdates == null) {
+                partitionUpdates = new ArrayList<Operation>();
+                updatesByPartition.put(update.getPartitionId(), partitionUpdates);
+            }
+            partitionUpdates.add(update);
+        }
+
+        OperationService operationService = getNodeEngine().getOperationService();
+        for (Map.Entry<Integer, List<Operation>> entry : updatesByPartition.entrySet()) {
+            operationService.execute(new ApplyUpdatesTask(entry.getKey(), entry.getValue(), getLogger()));
+        }
+    }
+
+    private void prepare(Operation update) {
+        NodeEngine nodeEngine = getNodeEngine();
+        update.setNodeEngine(nodeEngine);
+        update.setServiceName(getServiceName());
+        update.setCallerUuid(getCallerUuid());
+        update.setValidateTarget(false);
+        update.setOperationResponseHandler(createEmptyResponseHandler());
+        OperationAccessor.setCallerAddress(update, getCallerAddress());
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(updates.size());
+        for (Operation update : updates) {
+            out.writeInt(update.getPartitionId());
+            if (update instanceof ReplicateUpdateOperation) {
+                out.writeByte(REPLICATE_UPDATE);
+                ((ReplicateUpdateOperation) update).writeInternal(out);
+            } else if (update instanceof ReplicateUpdateToCallerOperation) {
+                out.writeByte(REPLICATE_UPDATE_TO_CALLER);
+                ((ReplicateUpdateToCallerOperation) update).writeInternal(out);
+            } else {
+                out.writeByte(SKIP_VERSION);
+                ((SkipVersionOperation) update).writeInternal(out);
+            }
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        updates = new ArrayList<Operation>(size);
+        for (int i = 0; i < size; i++) {
+            int partitionId = in.readInt();
+            Operation update;
+            switch (in.readByte()) {
+                case REPLICATE_UPDATE:
+                    ReplicateUpdateOperation replicateUpdate = new ReplicateUpdateOperation();
+                    replicateUpdate.readInternal(in);
+                    update = replicateUpdate;
+                    break;
+                case REPLICATE_UPDATE_TO_CALLER:
+                    ReplicateUpdateToCallerOperation updateToCaller = new ReplicateUpdateToCallerOperation();
+                    updateToCaller.readInternal(in);
+                    update = updateToCaller;
+                    break;
+                default:
+                    SkipVersionOperation skipVersion = new SkipVersionOperation();
+                    skipVersion.readInternal(in);
+                    update = skipVersion;
+            }
+            update.setPartitionId(partitionId);
+            updates.add(update);
+        }
+    }
+
+    @Override
+    public int getClassId() {
+        return ReplicatedMapDataSerializerHook.REPLICATE_UPDATE_BATCH;
+    }
+
+    private static final class ApplyUpdatesTask implements PartitionSpecificRunnable {
+        private final int partitionId;
+        private final List<Operation> updates;
+        private final ILogger logger;
+
+        private ApplyUpdatesTask(int partitionId, List<Operation> updates, ILogger logger) {
+            this.partitionId = partitionId;
+            this.updates = updates;
+            this.logger = logger;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            for (Operation update : updates) {
+                try {
+                    update.beforeRun();
+                    update.run();
+                    update.afterRun();
+                } catch (Throwable t) {
+                    logger.warning("Could not apply replicated map update " + update, t);
+                }
+            }
+        }
+    }
+}
@@ -123,4 +123,12 @@ public class ReplicateUpdateOperation extends AbstractNamedSerializableOperation
     public String getName() {
         return name;
     }
+
+    public Data getDataKey() {
+        return dataKey;
+    }
+
+    public long getVersion() {
+        return response.getVersion();
+    }
 }
@@ -70,8 +70,11 @@ public class ReplicatedMapDataSerializerHook implements DataSerializerHook {
     public static final int PUT_IF_ABSENT_MERGE_POLICY = 29;
     public static final int MERGE_FACTORY = 30;
     public static final int MERGE = 31;
+    public static final int REPLICATE_UPDATE_BATCH = 32;
+    public static final int SKIP_VERSION = 33;
+    public static final int ADD_INDEX = 34;
 
-    private static final int LEN = MERGE + 1;
+    private static final int LEN = ADD_INDEX + 1;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -273,6 +276,24 @@ public class ReplicatedMapDataSerializerHook implements DataSerializerHook {
                 return new MergeOperation();
             }
         };
+        constructors[REPLICATE_UPDATE_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ReplicateUpdateBatchOperation();
+            }
+        };
+        constructors[SKIP_VERSION] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new SkipVersionOperation();
+            }
+        };
+        constructors[ADD_INDEX] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new AddIndexOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+
+/**
+ * Replaces a {@link ReplicateUpdateOperation} that was coalesced with a later update of the same key
+ * by the {@link com.hazelcast.replicatedmap.impl.ReplicatedMapReplicationBatcher}.
+ *
+ * It only advances the version of the record store, so the versions received by the replica stay
+ * contiguous and the replica is not considered stale.
+ */
+public class SkipVersionOperation extends AbstractNamedSerializableOperation implements PartitionAwareOperation {
+
+    private String name;
+    private long version;
+
+    public SkipVersionOperation() {
+    }
+
+    public SkipVersionOperation(String name, long version) {
+        this.name = name;
+        this.version = version;
+    }
+
+    @Override
+    public void run() throws Exception {
+        ReplicatedMapService service = getService();
+        ReplicatedRecordStore store = service.getReplicatedRecordStore(name, true, getPartitionId());
+        if (store.getVersion() < version) {
+            store.getStorage().setVersion(version);
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeLong(version);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        version = in.readLong();
+    }
+
+    @Override
+    public int getClassId() {
+        return ReplicatedMapDataSerializerHook.SKIP_VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
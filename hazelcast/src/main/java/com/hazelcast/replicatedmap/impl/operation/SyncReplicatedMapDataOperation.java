@@ -27,7 +27,6 @@ import com.hazelcast.replicatedmap.impl.record.ReplicatedRecord;
 
 import java.io.IOException;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.util.SetUtil.createHashSet;
 
@@ -77,8 +76,7 @@ public class SyncReplicatedMapDataOperation<K, V> extends AbstractSerializableOp
         }
 
         newStorage.syncVersion(version);
-        AtomicReference<InternalReplicatedMapStorage<K, V>> storageRef = store.getStorageRef();
-        storageRef.set(newStorage);
+        store.setStorage(newStorage);
         store.setLoaded(true);
     }
 
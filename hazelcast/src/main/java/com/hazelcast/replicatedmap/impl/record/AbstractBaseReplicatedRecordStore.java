@@ -18,7 +18,9 @@ package com.hazelcast.replicatedmap.impl.record;
 
 import com.hazelcast.config.ReplicatedMapConfig;
 import com.hazelcast.monitor.impl.LocalReplicatedMapStatsImpl;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapEvictionProcessor;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapQueryEngine;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.NodeEngine;
@@ -30,10 +32,13 @@ import com.hazelcast.util.scheduler.ScheduleType;
 import com.hazelcast.util.scheduler.ScheduledEntry;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.hazelcast.query.impl.Index.OperationSource.USER;
+
 /**
  * Internal base class to encapsulate the internals from the interface methods of ReplicatedRecordStore
  *
@@ -55,6 +60,8 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
     protected final AtomicBoolean isLoaded = new AtomicBoolean(false);
 
     private final EntryTaskScheduler<Object, Object> ttlEvictionScheduler;
+    private final ReplicatedMapQueryEngine queryEngine;
+    private final Indexes indexes;
 
     protected AbstractBaseReplicatedRecordStore(String name, ReplicatedMapService replicatedMapService, int partitionId) {
         this.name = name;
@@ -70,12 +77,30 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
         this.ttlEvictionScheduler = EntryTaskSchedulerFactory
                 .newScheduler(nodeEngine.getExecutionService().getGlobalTaskScheduler(),
                         new ReplicatedMapEvictionProcessor(this, nodeEngine, partitionId), ScheduleType.POSTPONE);
+        this.queryEngine = replicatedMapService.getQueryEngine();
+        this.indexes = queryEngine.getIndexes(name);
     }
 
     public InternalReplicatedMapStorage<K, V> getStorage() {
         return storageRef.get();
     }
 
+    /**
+     * Replaces the storage of this record store, e.g. with the storage received from
+     * another member, and updates the indexes of the replicated map accordingly.
+     *
+     * @param storage the new storage
+     */
+    public void setStorage(InternalReplicatedMapStorage<K, V> storage) {
+        InternalReplicatedMapStorage<K, V> oldStorage = storageRef.getAndSet(storage);
+        if (indexes.haveAtLeastOneIndex()) {
+            removeIndexEntries(oldStorage);
+            for (Map.Entry<K, ReplicatedRecord<K, V>> entry : storage.entrySet()) {
+                putIndexEntry(entry.getKey(), entry.getValue().getValueInternal(), null);
+            }
+        }
+    }
+
     public AtomicReference<InternalReplicatedMapStorage<K, V>> getStorageRef() {
         return storageRef;
     }
@@ -101,8 +126,9 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
 
     @Override
     public void destroy() {
-        InternalReplicatedMapStorage storage = storageRef.getAndSet(new InternalReplicatedMapStorage<K, V>());
+        InternalReplicatedMapStorage<K, V> storage = storageRef.getAndSet(new InternalReplicatedMapStorage<K, V>());
         if (storage != null) {
+            removeIndexEntries(storage);
             storage.clear();
         }
         ttlEvictionScheduler.cancelAll();
@@ -110,12 +136,49 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
 
     protected InternalReplicatedMapStorage<K, V> clearInternal() {
         InternalReplicatedMapStorage<K, V> storage = getStorage();
+        removeIndexEntries(storage);
         storage.clear();
         getStats().incrementOtherOperations();
         ttlEvictionScheduler.cancelAll();
         return storage;
     }
 
+    /**
+     * Adds the entry to the indexes of the replicated map, or updates it if it was already indexed.
+     *
+     * @param key      the marshalled key of the entry
+     * @param value    the marshalled value of the entry; nothing is indexed if {@code null}
+     * @param oldValue the marshalled old value of the entry, {@code null} if the entry is new
+     */
+    protected void putIndexEntry(Object key, Object value, Object oldValue) {
+        if (value == null || !indexes.haveAtLeastOneIndex()) {
+            return;
+        }
+        indexes.putEntry(queryEngine.newQueryEntry(key, value), oldValue, USER);
+    }
+
+    /**
+     * Removes the entry from the indexes of the replicated map.
+     *
+     * @param key      the marshalled key of the entry
+     * @param oldValue the marshalled value of the entry; nothing is removed if {@code null}
+     */
+    protected void removeIndexEntry(Object key, Object oldValue) {
+        if (oldValue == null || !indexes.haveAtLeastOneIndex()) {
+            return;
+        }
+        indexes.removeEntry(serializationService.toData(key), oldValue, USER);
+    }
+
+    private void removeIndexEntries(InternalReplicatedMapStorage<K, V> storage) {
+        if (!indexes.haveAtLeastOneIndex()) {
+            return;
+        }
+        for (Map.Entry<K, ReplicatedRecord<K, V>> entry : storage.entrySet()) {
+            removeIndexEntry(entry.getKey(), entry.getValue().getValueInternal());
+        }
+    }
+
     @Override
     public long getVersion() {
         return storageRef.get().getVersion();
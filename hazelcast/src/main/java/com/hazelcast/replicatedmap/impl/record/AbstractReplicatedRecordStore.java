@@ -21,6 +21,7 @@ import com.hazelcast.cluster.Member;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapEventPublishingService;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapReplicationBatcher;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateOperation;
 import com.hazelcast.replicatedmap.impl.operation.VersionResponsePair;
@@ -85,6 +86,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         } else {
             oldValue = (V) current.getValueInternal();
             storage.remove(marshalledKey, current);
+            removeIndexEntry(marshalledKey, oldValue);
         }
         if (replicatedMapConfig.isStatisticsEnabled()) {
             getStats().incrementRemoves(Clock.currentTimeMillis() - time);
@@ -107,6 +109,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         } else {
             oldValue = (V) current.getValueInternal();
             storage.remove(marshalledKey, current);
+            removeIndexEntry(marshalledKey, oldValue);
         }
         Data dataKey = nodeEngine.toData(key);
         Data dataOldValue = nodeEngine.toData(oldValue);
@@ -187,6 +190,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             }
             storage.put(marshalledKey, old);
         }
+        putIndexEntry(marshalledKey, marshalledValue, oldValue);
         if (ttlMillis > 0) {
             scheduleTtlEntry(ttlMillis, marshalledKey, marshalledValue);
         } else {
@@ -324,7 +328,8 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         newRecord.setCreationTime(record.getCreationTime());
         newRecord.setLastAccessTime(record.getLastAccessTime());
         newRecord.setUpdateTime(record.getLastUpdateTime());
-        storage.put(key, newRecord);
+        ReplicatedRecord<K, V> oldRecord = storage.put(key, newRecord);
+        putIndexEntry(key, value, oldRecord == null ? null : oldRecord.getValueInternal());
         if (record.getTtl() > 0) {
             scheduleTtlEntry(record.getTtl(), key, value);
         }
@@ -351,6 +356,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             }
             record = buildReplicatedRecord(marshalledKey, newValue, 0);
             storage.put(marshalledKey, record);
+            putIndexEntry(marshalledKey, newValue, null);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
@@ -361,13 +367,16 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             V newValue = (V) mergePolicy.merge(mergingEntry, existingEntry);
             if (newValue == null) {
                 storage.remove(marshalledKey, record);
+                removeIndexEntry(marshalledKey, record.getValueInternal());
                 storage.incrementVersion();
                 Data dataKey = serializationService.toData(marshalledKey);
                 VersionResponsePair responsePair = new VersionResponsePair(mergingEntry.getValue(), getVersion());
                 sendReplicationOperation(true, name, dataKey, null, record.getTtlMillis(), responsePair);
                 return false;
             }
+            V oldValue = record.getValueInternal();
             record.setValueInternal(newValue, record.getTtlMillis());
+            putIndexEntry(marshalledKey, newValue, oldValue);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
@@ -392,6 +401,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             }
             existingRecord = buildReplicatedRecord(marshalledKey, newValue, 0);
             storage.put(marshalledKey, existingRecord);
+            putIndexEntry(marshalledKey, newValue, null);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
@@ -409,13 +419,16 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             V newValue = (V) mergePolicy.merge(name, mergingEntry, existingEntry);
             if (newValue == null) {
                 storage.remove(marshalledKey, existingRecord);
+                removeIndexEntry(marshalledKey, existingRecord.getValueInternal());
                 storage.incrementVersion();
                 Data dataKey = serializationService.toData(marshalledKey);
                 VersionResponsePair responsePair = new VersionResponsePair(mergingEntry.getValue(), getVersion());
                 sendReplicationOperation(true, name, dataKey, null, existingRecord.getTtlMillis(), responsePair);
                 return false;
             }
+            V oldValue = existingRecord.getValueInternal();
             existingRecord.setValueInternal(newValue, existingRecord.getTtlMillis());
+            putIndexEntry(marshalledKey, newValue, oldValue);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
@@ -440,6 +453,11 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
                 response, isRemove, nodeEngine.getThisAddress());
         updateOperation.setPartitionId(partitionId);
         updateOperation.setValidateTarget(false);
+        ReplicatedMapReplicationBatcher batcher = replicatedMapService.getReplicationBatcher();
+        if (batcher != null) {
+            batcher.add(address, updateOperation, false);
+            return;
+        }
         operationService.invokeOnTarget(SERVICE_NAME, updateOperation, address);
     }
 
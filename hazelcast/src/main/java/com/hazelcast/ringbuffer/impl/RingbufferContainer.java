@@ -30,12 +30,14 @@ import com.hazelcast.spi.impl.operationservice.Notifier;
 import com.hazelcast.spi.ObjectNamespace;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
 import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.Clock;
 
 import java.io.IOException;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.config.InMemoryFormat.values;
+import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -81,6 +83,13 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
      */
     private Ringbuffer<E> ringbuffer;
 
+    /**
+     * The overflow containing the items which have been overwritten in the
+     * {@link #ringbuffer}. It is {@code null} if the overflow is disabled.
+     * The overflow is local to this member, it is not replicated.
+     */
+    private RingbufferOverflow overflow;
+
     /**
      * For purposes of {@link IdentifiedDataSerializable} instance creation.
      * For any other purpose, use other constructors in this class.
@@ -183,8 +192,15 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         return ringbuffer.tailSequence();
     }
 
+    /**
+     * Returns the sequence of the oldest item which can be read from this
+     * container. If the overflow contains items, this is the sequence of the
+     * oldest item in the overflow.
+     *
+     * @return the head sequence
+     */
     public long headSequence() {
-        return ringbuffer.headSequence();
+        return hasOverflowItems() ? overflow.headSequence() : ringbuffer.headSequence();
     }
 
     /**
@@ -354,6 +370,10 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
     public void set(long sequenceId, T item) {
         final E rbItem = convertToRingbufferFormat(item);
 
+        if (overflow != null) {
+            overflowOverwrittenItems(sequenceId);
+        }
+
         // first we write the dataItem in the ring.
         ringbuffer.set(sequenceId, rbItem);
 
@@ -364,7 +384,7 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
                 ringbuffer.setHeadSequence(ringbuffer.tailSequence() - ringbuffer.getCapacity() + 1);
             }
         }
-        if (sequenceId < headSequence()) {
+        if (sequenceId < ringbuffer.headSequence()) {
             ringbuffer.setHeadSequence(sequenceId);
         }
 
@@ -423,6 +443,14 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         if (expirationPolicy != null) {
             expirationPolicy.cleanup(ringbuffer);
         }
+        if (overflow != null) {
+            if (hasOverflowItems()) {
+                overflow.cleanup(Clock.currentTimeMillis());
+            } else {
+                // the overflowed items can't be read anymore since they don't directly precede the ringbuffer
+                overflow.clear();
+            }
+        }
     }
 
     public boolean isStaleSequence(long sequence) {
@@ -489,7 +517,9 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
      */
     private Object readOrLoadItem(long sequence) {
         Object item;
-        if (sequence < ringbuffer.headSequence() && store.isEnabled()) {
+        if (sequence < ringbuffer.headSequence() && hasOverflowItems() && overflow.contains(sequence)) {
+            item = convertToRingbufferFormat(overflow.read(sequence));
+        } else if (sequence < ringbuffer.headSequence() && store.isEnabled()) {
             item = store.load(sequence);
         } else {
             item = ringbuffer.read(sequence);
@@ -501,6 +531,10 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
     private long addInternal(T item) {
         final E rbItem = convertToRingbufferFormat(item);
 
+        if (overflow != null) {
+            overflowOverwrittenItems(ringbuffer.peekNextTailSequence());
+        }
+
         // first we write the dataItem in the ring.
         final long tailSequence = ringbuffer.add(rbItem);
 
@@ -511,6 +545,27 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         return tailSequence;
     }
 
+    /**
+     * Appends the items to the overflow which are overwritten when an item
+     * with the given sequence is written to the ringbuffer.
+     */
+    private void overflowOverwrittenItems(long sequence) {
+        long lastOverwritten = min(sequence - ringbuffer.getCapacity(), ringbuffer.tailSequence());
+        long now = Clock.currentTimeMillis();
+        for (long seq = ringbuffer.headSequence(); seq <= lastOverwritten; seq++) {
+            overflow.append(seq, convertToData(ringbuffer.read(seq)), now);
+        }
+    }
+
+    /**
+     * Checks if the overflow contains items which directly precede the items
+     * in the ringbuffer. Otherwise the items in the overflow can't be read.
+     */
+    private boolean hasOverflowItems() {
+        return overflow != null && !overflow.isEmpty()
+                && overflow.tailSequence() == ringbuffer.headSequence() - 1;
+    }
+
     /**
      * Converts the {@code item} into the ringbuffer {@link InMemoryFormat} or
      * keeps it unchanged if the supplied argument is already in the ringbuffer
@@ -630,6 +685,31 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         return expirationPolicy;
     }
 
+    RingbufferOverflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Sets the overflow of this container. Any previous overflow is destroyed.
+     *
+     * @param overflow the overflow, or {@code null} to disable the overflow
+     */
+    void setOverflow(RingbufferOverflow overflow) {
+        if (this.overflow != null && this.overflow != overflow) {
+            this.overflow.destroy();
+        }
+        this.overflow = overflow;
+    }
+
+    /**
+     * Releases the resources of this container which are not released by the
+     * garbage collector, like the files of the overflow. It is called when
+     * the container is removed from the ringbuffer service.
+     */
+    public void dispose() {
+        setOverflow(null);
+    }
+
     public ObjectNamespace getNamespace() {
         return namespace;
     }
@@ -662,5 +742,8 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         if (expirationPolicy != null) {
             expirationPolicy.clear();
         }
+        if (overflow != null) {
+            overflow.clear();
+        }
     }
 }
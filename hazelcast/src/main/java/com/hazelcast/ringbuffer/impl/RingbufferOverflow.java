@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.util.DirectBufferCleaner;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static java.lang.Math.max;
+
+/**
+ * The overflow of a {@link RingbufferContainer}. The items which are
+ * overwritten in the in-memory ringbuffer are appended to the overflow
+ * instead of being discarded, so they can still be read by their sequence.
+ * <p>
+ * The items are kept in serialized format in a sequence of memory-mapped
+ * segment files in the local file system. Only the offsets of the items in
+ * their segment are kept on the heap. The sequences of the items in the
+ * overflow are contiguous; if an item is appended which doesn't directly
+ * follow the newest item in the overflow, the overflow is cleared first.
+ * <p>
+ * The oldest segments are removed when the total size of the segments
+ * exceeds the maximum size of the overflow, or when the newest item of a
+ * segment is older than the time to live of the overflow. The mapped memory
+ * of a removed segment is released immediately, without waiting for the
+ * garbage collection of its buffer. The segment directory and its files are
+ * created lazily, when the first item is appended.
+ * <p>
+ * The overflow is not thread-safe; like its container, it is confined to
+ * the partition thread.
+ */
+public class RingbufferOverflow {
+
+    /**
+     * The minimum size of a segment file in bytes.
+     */
+    static final int MIN_SEGMENT_SIZE = 4 * 1024;
+
+    // the max size of the overflow is split over this number of segments
+    private static final int SEGMENT_COUNT = 4;
+    private static final int NULL_LENGTH = -1;
+
+    private final File directory;
+    private final long maxSizeBytes;
+    private final long timeToLiveMillis;
+    private final int segmentSize;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<Segment>();
+    private long sizeBytes;
+
+    /**
+     * @param directory        the directory of the segment files
+     * @param maxSizeBytes     the maximum size of the overflow in bytes
+     * @param timeToLiveMillis the time to live of the items in the overflow
+     *                         in milliseconds; 0 if the items don't expire
+     */
+    public RingbufferOverflow(File directory, long maxSizeBytes, long timeToLiveMillis) {
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, max(MIN_SEGMENT_SIZE, maxSizeBytes / SEGMENT_COUNT));
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Returns the sequence of the oldest item in the overflow. Should only be
+     * called if the overflow is not empty.
+     */
+    public long headSequence() {
+        return segments.getFirst().firstSequence;
+    }
+
+    /**
+     * Returns the sequence of the newest item in the overflow. Should only be
+     * called if the overflow is not empty.
+     */
+    public long tailSequence() {
+        return segments.getLast().tailSequence();
+    }
+
+    /**
+     * Returns the total size of the segment files in bytes.
+     */
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Checks if the item with the given sequence is in the overflow.
+     *
+     * @param sequence the sequence of the item
+     * @return {@code true} if the item is in the overflow, {@code false} otherwise
+     */
+    public boolean contains(long sequence) {
+        return !segments.isEmpty() && sequence >= headSequence() && sequence <= tailSequence();
+    }
+
+    /**
+     * Appends an item to the overflow. If the sequence doesn't directly follow
+     * the sequence of the newest item in the overflow, the overflow is cleared
+     * first.
+     *
+     * @param sequence the sequence of the item
+     * @param item     the item in serialized format, can be {@code null}
+     * @param now      the current time in milliseconds
+     */
+    public void append(long sequence, Data item, long now) {
+        if (!segments.isEmpty() && sequence != tailSequence() + 1) {
+            clear();
+        }
+
+        byte[] bytes = item == null ? null : item.toByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        Segment segment = segments.peekLast();
+        if (segment == null || !segment.hasSpace(length)) {
+            segment = newSegment(sequence, max(segmentSize, INT_SIZE_IN_BYTES + length));
+        }
+        segment.append(bytes, now);
+        cleanup(now);
+    }
+
+    /**
+     * Reads an item from the overflow.
+     *
+     * @param sequence the sequence of the item
+     * @return the item in serialized format, can be {@code null}
+     * @throws IllegalArgumentException if the item is not in the overflow
+     */
+    public Data read(long sequence) {
+        if (!contains(sequence)) {
+            throw new IllegalArgumentException("sequence:" + sequence + " is not in the overflow");
+        }
+        for (Segment segment : segments) {
+            if (sequence <= segment.tailSequence()) {
+                byte[] bytes = segment.read(sequence);
+                return bytes == null ? null : new HeapData(bytes);
+            }
+        }
+        throw new IllegalStateException("No segment found for sequence:" + sequence);
+    }
+
+    /**
+     * Removes the oldest segments while the overflow exceeds its maximum size
+     * or the newest item of the oldest segment is older than the time to
+     * live. The newest segment is only removed because of its age.
+     *
+     * @param now the current time in milliseconds
+     */
+    public void cleanup(long now) {
+        while (!segments.isEmpty()) {
+            Segment oldest = segments.getFirst();
+            boolean expired = timeToLiveMillis > 0 && now - oldest.lastAppendMillis >= timeToLiveMillis;
+            boolean oversized = sizeBytes > maxSizeBytes && segments.size() > 1;
+            if (!expired && !oversized) {
+                return;
+            }
+            removeOldestSegment();
+        }
+    }
+
+    /**
+     * Removes all items and segment files of the overflow.
+     */
+    public void clear() {
+        while (!segments.isEmpty()) {
+            removeOldestSegment();
+        }
+    }
+
+    /**
+     * Removes all items of the overflow together with its directory.
+     */
+    public void destroy() {
+        clear();
+        deleteQuietly(directory);
+    }
+
+    private Segment newSegment(long firstSequence, int size) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new HazelcastException("Failed to create the overflow directory " + directory.getAbsolutePath());
+        }
+        File file = new File(directory, firstSequence + ".segment");
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            // the mapping stays valid after the file is closed
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            Segment segment = new Segment(file, buffer, firstSequence);
+            segments.addLast(segment);
+            sizeBytes += size;
+            return segment;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new HazelcastException("Failed to create the overflow segment " + file.getAbsolutePath(), e);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    private void removeOldestSegment() {
+        Segment segment = segments.removeFirst();
+        sizeBytes -= segment.buffer.capacity();
+        // the segment is no longer reachable, so its mapping can be released right away
+        DirectBufferCleaner.clean(segment.buffer);
+        deleteQuietly(segment.file);
+    }
+
+    @Override
+    public String toString() {
+        return "RingbufferOverflow{"
+                + "directory=" + directory
+                + ", segments=" + segments.size()
+                + ", sizeBytes=" + sizeBytes
+                + '}';
+    }
+
+    /**
+     * A segment file containing the items with contiguous sequences. Every
+     * item is stored as its length followed by its bytes.
+     */
+    private static final class Segment {
+        private static final int INITIAL_OFFSETS_LENGTH = 64;
+
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final long firstSequence;
+        private int[] offsets = new int[INITIAL_OFFSETS_LENGTH];
+        private int count;
+        private int position;
+        private long lastAppendMillis;
+
+        Segment(File file, MappedByteBuffer buffer, long firstSequence) {
+            this.file = file;
+            this.buffer = buffer;
+            this.firstSequence = firstSequence;
+        }
+
+        long tailSequence() {
+            return firstSequence + count - 1;
+        }
+
+        boolean hasSpace(int length) {
+            return position + INT_SIZE_IN_BYTES + length <= buffer.capacity();
+        }
+
+        void append(byte[] bytes, long now) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = position;
+            if (bytes == null) {
+                buffer.putInt(position, NULL_LENGTH);
+                position += INT_SIZE_IN_BYTES;
+            } else {
+                buffer.putInt(position, bytes.length);
+                position += INT_SIZE_IN_BYTES;
+                ByteBuffer view = buffer.duplicate();
+                view.position(position);
+                view.put(bytes);
+                position += bytes.length;
+            }
+            lastAppendMillis = now;
+        }
+
+        byte[] read(long sequence) {
+            int offset = offsets[(int) (sequence - firstSequence)];
+            int length = buffer.getInt(offset);
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + INT_SIZE_IN_BYTES);
+            view.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.nio.serialization.Data;
@@ -47,6 +48,7 @@ import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ContextMutexFactory;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,13 +60,17 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.internal.config.ConfigValidator.checkRingbufferConfig;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_JOURNAL_OVERFLOW_DIR;
 import static com.hazelcast.spi.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
 import static com.hazelcast.util.MapUtil.isNullOrEmpty;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * The SPI Service that deals with the {@link com.hazelcast.ringbuffer.Ringbuffer}.
@@ -84,6 +90,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
     public static final String SERVICE_NAME = "hz:impl:ringbufferService";
 
     private static final Object NULL_OBJECT = new Object();
+    private static final long MEGABYTE = 1024 * 1024;
 
     /**
      * Map from namespace to actual ringbuffer containers. The namespace
@@ -106,6 +113,8 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         }
     };
 
+    private final AtomicLong overflowDirectoryCounter = new AtomicLong();
+
     private NodeEngine nodeEngine;
     private SerializationService serializationService;
     private IPartitionService partitionService;
@@ -148,17 +157,23 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         if (partitionContainers == null) {
             return;
         }
-        partitionContainers.remove(namespace);
+        dispose(partitionContainers.remove(namespace));
     }
 
     @Override
     public void reset() {
+        for (Map<ObjectNamespace, RingbufferContainer> partitionContainers : containers.values()) {
+            for (RingbufferContainer container : partitionContainers.values()) {
+                container.dispose();
+            }
+        }
         containers.clear();
     }
 
     @Override
     public void shutdown(boolean terminate) {
         reset();
+        deleteQuietly(getOverflowBaseDirectory());
     }
 
     /**
@@ -170,9 +185,27 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
      * @return the ringbuffer container
      * @throws NullPointerException if the {@code config} is {@code null}
      */
-    @SuppressWarnings("unchecked")
     public <T, E> RingbufferContainer<T, E> getOrCreateContainer(int partitionId, ObjectNamespace namespace,
                                                                  RingbufferConfig config) {
+        return getOrCreateContainer(partitionId, namespace, config, null);
+    }
+
+    /**
+     * Returns the ringbuffer container of an event journal for the specified
+     * {@code namespace}. If there is no ringbuffer container, create it using
+     * the {@code config} and give it an overflow if it is enabled by the
+     * {@code journalConfig}.
+     *
+     * @param namespace     the ringbuffer container namespace
+     * @param config        the ringbuffer config. Used to create the container when the container doesn't exist
+     * @param journalConfig the config of the event journal backed by the ringbuffer, or {@code null}
+     *                      if the ringbuffer does not back an event journal
+     * @return the ringbuffer container
+     * @throws NullPointerException if the {@code config} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E> RingbufferContainer<T, E> getOrCreateContainer(int partitionId, ObjectNamespace namespace,
+                                                                 RingbufferConfig config, EventJournalConfig journalConfig) {
         if (config == null) {
             throw new NullPointerException("Ringbuffer config should not be null when ringbuffer is being created");
         }
@@ -185,6 +218,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
 
         ringbuffer = new RingbufferContainer<T, E>(namespace, config, nodeEngine, partitionId);
         ringbuffer.getStore().instrument(nodeEngine);
+        ringbuffer.setOverflow(createOverflowOrNull(partitionId, journalConfig));
         partitionContainers.put(namespace, ringbuffer);
         return ringbuffer;
     }
@@ -228,11 +262,56 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         return partitionService.getPartitionId(partitionAwareData);
     }
 
-    public void addRingbuffer(int partitionId, RingbufferContainer ringbuffer, RingbufferConfig config) {
+    /**
+     * Adds the ringbuffer container, replacing the existing container of the
+     * same namespace, and gives it an overflow if it is enabled by the
+     * {@code journalConfig}.
+     *
+     * @param journalConfig the config of the event journal backed by the ringbuffer, or {@code null}
+     *                      if the ringbuffer does not back an event journal
+     */
+    public void addRingbuffer(int partitionId, RingbufferContainer ringbuffer, RingbufferConfig config,
+                              EventJournalConfig journalConfig) {
         checkNotNull(ringbuffer, "ringbuffer can't be null");
         ringbuffer.init(config, nodeEngine);
         ringbuffer.getStore().instrument(nodeEngine);
-        getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        ringbuffer.setOverflow(createOverflowOrNull(partitionId, journalConfig));
+        dispose(getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer));
+    }
+
+    /**
+     * Creates the overflow of a ringbuffer container backing an event journal.
+     * The journal owners pass the journal config, plain ringbuffers have no
+     * overflow.
+     *
+     * @return the overflow or {@code null} if the overflow is disabled
+     */
+    private RingbufferOverflow createOverflowOrNull(int partitionId, EventJournalConfig journalConfig) {
+        if (journalConfig == null || !journalConfig.isEnabled() || journalConfig.getOverflowMaxSizeMb() == 0) {
+            return null;
+        }
+        long maxSizeBytes = journalConfig.getOverflowMaxSizeMb() * MEGABYTE / partitionService.getPartitionCount();
+        File directory = new File(getOverflowBaseDirectory(),
+                partitionId + "-" + overflowDirectoryCounter.incrementAndGet());
+        return new RingbufferOverflow(directory, maxSizeBytes, SECONDS.toMillis(journalConfig.getOverflowTimeToLiveSeconds()));
+    }
+
+    /**
+     * Returns the directory of this member containing the directories of
+     * the ringbuffer overflows.
+     */
+    private File getOverflowBaseDirectory() {
+        String baseDirectory = nodeEngine.getProperties().getString(EVENT_JOURNAL_OVERFLOW_DIR);
+        if (baseDirectory == null) {
+            baseDirectory = System.getProperty("java.io.tmpdir");
+        }
+        return new File(baseDirectory, "hz-event-journal-overflow-" + nodeEngine.getLocalMember().getUuid());
+    }
+
+    private static void dispose(RingbufferContainer container) {
+        if (container != null) {
+            container.dispose();
+        }
     }
 
     @Override
@@ -293,6 +372,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
             final RingbufferContainer container = entry.getValue();
             if (thresholdReplicaIndex < 0 || container.getConfig().getTotalBackupCount() < thresholdReplicaIndex) {
                 iterator.remove();
+                container.dispose();
             }
         }
     }
@@ -16,13 +16,11 @@
 
 package com.hazelcast.ringbuffer.impl.operations;
 
-import com.hazelcast.cache.CacheNotExistsException;
 import com.hazelcast.cache.impl.CacheService;
-import com.hazelcast.cache.impl.journal.CacheEventJournal;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.internal.journal.EventJournal;
 import com.hazelcast.map.impl.MapService;
-import com.hazelcast.map.impl.journal.MapEventJournal;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -65,6 +63,7 @@ public class MergeOperation extends Operation
 
     private transient Ringbuffer<Object> resultRingbuffer;
     private transient RingbufferConfig config;
+    private transient EventJournalConfig journalConfig;
     private transient RingbufferService ringbufferService;
     private transient SerializationService serializationService;
 
@@ -82,7 +81,13 @@ public class MergeOperation extends Operation
     @Override
     public void beforeRun() throws Exception {
         this.ringbufferService = getService();
-        this.config = getRingbufferConfig(ringbufferService, namespace);
+        EventJournal<?> journal = getEventJournalOrNull(namespace);
+        if (journal == null) {
+            this.config = ringbufferService.getRingbufferConfig(namespace.getObjectName());
+        } else {
+            this.journalConfig = journal.getEventJournalConfig(namespace);
+            this.config = journal.toRingbufferConfig(journalConfig, namespace);
+        }
         this.serializationService = getNodeEngine().getSerializationService();
     }
 
@@ -116,8 +121,7 @@ public class MergeOperation extends Operation
             return null;
         } else {
             if (existingContainer == null) {
-                RingbufferConfig config = getRingbufferConfig(ringbufferService, namespace);
-                existingContainer = ringbufferService.getOrCreateContainer(getPartitionId(), namespace, config);
+                existingContainer = ringbufferService.getOrCreateContainer(getPartitionId(), namespace, config, journalConfig);
             }
             setRingbufferData(resultData, existingContainer);
             return existingContainer.getRingbuffer();
@@ -180,34 +184,24 @@ public class MergeOperation extends Operation
     }
 
     /**
-     * Returns the ringbuffer config for the provided namespace. The namespace
-     * provides information whether the requested ringbuffer is a ringbuffer
-     * that the user is directly interacting with through a ringbuffer proxy
-     * or if this is a backing ringbuffer for an event journal.
-     * If a ringbuffer configuration for an event journal is requested, this
-     * method will expect the configuration for the relevant map or cache
-     * to be available.
+     * Returns the event journal backed by the ringbuffer with the provided
+     * namespace. The namespace provides information whether the ringbuffer
+     * is a ringbuffer that the user is directly interacting with through a
+     * ringbuffer proxy or if this is a backing ringbuffer for an event journal.
      *
-     * @param service the ringbuffer service
-     * @param ns      the object namespace for which we are creating a ringbuffer
-     * @return the ringbuffer configuration
-     * @throws CacheNotExistsException if a config for a cache event journal was requested
-     *                                 and the cache configuration was not found
+     * @param ns the object namespace for which we are creating a ringbuffer
+     * @return the event journal or {@code null} if the ringbuffer does not back an event journal
      */
-    private RingbufferConfig getRingbufferConfig(RingbufferService service, ObjectNamespace ns) {
-        final String serviceName = ns.getServiceName();
+    private EventJournal<?> getEventJournalOrNull(ObjectNamespace ns) {
+        String serviceName = ns.getServiceName();
         if (RingbufferService.SERVICE_NAME.equals(serviceName)) {
-            return service.getRingbufferConfig(ns.getObjectName());
+            return null;
         } else if (MapService.SERVICE_NAME.equals(serviceName)) {
             MapService mapService = getNodeEngine().getService(MapService.SERVICE_NAME);
-            MapEventJournal journal = mapService.getMapServiceContext().getEventJournal();
-            EventJournalConfig journalConfig = journal.getEventJournalConfig(ns);
-            return journal.toRingbufferConfig(journalConfig, namespace);
+            return mapService.getMapServiceContext().getEventJournal();
         } else if (CacheService.SERVICE_NAME.equals(serviceName)) {
             CacheService cacheService = getNodeEngine().getService(CacheService.SERVICE_NAME);
-            CacheEventJournal journal = cacheService.getEventJournal();
-            EventJournalConfig journalConfig = journal.getEventJournalConfig(ns);
-            return journal.toRingbufferConfig(journalConfig, namespace);
+            return cacheService.getEventJournal();
         } else {
             throw new IllegalArgumentException("Unsupported ringbuffer service name: " + serviceName);
         }
@@ -16,13 +16,11 @@
 
 package com.hazelcast.ringbuffer.impl.operations;
 
-import com.hazelcast.cache.CacheNotExistsException;
 import com.hazelcast.cache.impl.CacheService;
-import com.hazelcast.cache.impl.journal.CacheEventJournal;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.internal.journal.EventJournal;
 import com.hazelcast.map.impl.MapService;
-import com.hazelcast.map.impl.journal.MapEventJournal;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -59,39 +57,38 @@ public class ReplicationOperation extends Operation implements IdentifiedDataSer
         for (Map.Entry<ObjectNamespace, RingbufferContainer> entry : migrationData.entrySet()) {
             final ObjectNamespace ns = entry.getKey();
             final RingbufferContainer ringbuffer = entry.getValue();
-            service.addRingbuffer(getPartitionId(), ringbuffer, getRingbufferConfig(service, ns));
+            final EventJournal<?> journal = getEventJournalOrNull(ns);
+            final RingbufferConfig config;
+            EventJournalConfig journalConfig = null;
+            if (journal == null) {
+                config = service.getRingbufferConfig(ns.getObjectName());
+            } else {
+                journalConfig = journal.getEventJournalConfig(ns);
+                config = journal.toRingbufferConfig(journalConfig, ns);
+            }
+            service.addRingbuffer(getPartitionId(), ringbuffer, config, journalConfig);
         }
     }
 
     /**
-     * Returns the ringbuffer config for the provided namespace. The namespace
-     * provides information whether the requested ringbuffer is a ringbuffer
-     * that the user is directly interacting with through a ringbuffer proxy
-     * or if this is a backing ringbuffer for an event journal.
-     * If a ringbuffer configuration for an event journal is requested, this
-     * method will expect the configuration for the relevant map or cache
-     * to be available.
+     * Returns the event journal backed by the ringbuffer with the provided
+     * namespace. The namespace provides information whether the ringbuffer
+     * is a ringbuffer that the user is directly interacting with through a
+     * ringbuffer proxy or if this is a backing ringbuffer for an event journal.
      *
-     * @param service the ringbuffer service
-     * @param ns      the object namespace for which we are creating a ringbuffer
-     * @return the ringbuffer configuration
-     * @throws CacheNotExistsException if a config for a cache event journal was requested
-     *                                 and the cache configuration was not found
+     * @param ns the object namespace for which we are creating a ringbuffer
+     * @return the event journal or {@code null} if the ringbuffer does not back an event journal
      */
-    private RingbufferConfig getRingbufferConfig(RingbufferService service, ObjectNamespace ns) {
-        final String serviceName = ns.getServiceName();
+    private EventJournal<?> getEventJournalOrNull(ObjectNamespace ns) {
+        String serviceName = ns.getServiceName();
         if (RingbufferService.SERVICE_NAME.equals(serviceName)) {
-            return service.getRingbufferConfig(ns.getObjectName());
+            return null;
         } else if (MapService.SERVICE_NAME.equals(serviceName)) {
-            final MapService mapService = getNodeEngine().getService(MapService.SERVICE_NAME);
-            final MapEventJournal journal = mapService.getMapServiceContext().getEventJournal();
-            final EventJournalConfig journalConfig = journal.getEventJournalConfig(ns);
-            return journal.toRingbufferConfig(journalConfig, ns);
+            MapService mapService = getNodeEngine().getService(MapService.SERVICE_NAME);
+            return mapService.getMapServiceContext().getEventJournal();
         } else if (CacheService.SERVICE_NAME.equals(serviceName)) {
-            final CacheService cacheService = getNodeEngine().getService(CacheService.SERVICE_NAME);
-            final CacheEventJournal journal = cacheService.getEventJournal();
-            final EventJournalConfig journalConfig = journal.getEventJournalConfig(ns);
-            return journal.toRingbufferConfig(journalConfig, ns);
+            CacheService cacheService = getNodeEngine().getService(CacheService.SERVICE_NAME);
+            return cacheService.getEventJournal();
         } else {
             throw new IllegalArgumentException("Unsupported ringbuffer service name " + serviceName);
         }
@@ -16,12 +16,14 @@
 
 package com.hazelcast.spi.impl;
 
+import com.hazelcast.internal.partition.MerkleTreeReplicationAwareService;
 import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.partition.MigrationAwareService;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
 import com.hazelcast.spi.partition.PartitionReplicationEvent;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.ServiceNamespace;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeView;
 
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,8 +31,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * A {@link MigrationAwareService} that delegates to another {@link MigrationAwareService} and keeps track of the number of
  * migrations concerning the partition owner (either as current or new replica index) currently in-flight.
+ * <p>
+ * The {@link MerkleTreeReplicationAwareService} methods are delegated only if the other service implements it too.
  */
-public class CountingMigrationAwareService implements FragmentedMigrationAwareService {
+public class CountingMigrationAwareService implements MerkleTreeReplicationAwareService {
 
     static final int PRIMARY_REPLICA_INDEX = 0;
     static final int IN_FLIGHT_MIGRATION_STAMP = -1;
@@ -68,6 +72,24 @@ public class CountingMigrationAwareService implements FragmentedMigrationAwareSe
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public MerkleTreeView getMerkleTree(int partitionId, ServiceNamespace namespace) {
+        if (migrationAwareService instanceof MerkleTreeReplicationAwareService) {
+            return ((MerkleTreeReplicationAwareService) migrationAwareService).getMerkleTree(partitionId, namespace);
+        }
+        return null;
+    }
+
+    @Override
+    public Operation prepareMerkleTreeReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                           MerkleTreeView replicaTree) {
+        if (migrationAwareService instanceof MerkleTreeReplicationAwareService) {
+            return ((MerkleTreeReplicationAwareService) migrationAwareService)
+                    .prepareMerkleTreeReplicationOperation(event, namespace, replicaTree);
+        }
+        return null;
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         if (isPrimaryReplicaMigrationEvent(event)) {
@@ -37,6 +37,7 @@ import com.hazelcast.util.executor.ManagedExecutorService;
 import com.hazelcast.util.executor.NamedThreadPoolExecutor;
 import com.hazelcast.util.executor.PoolExecutorThreadFactory;
 import com.hazelcast.util.executor.SingleExecutorThreadFactory;
+import com.hazelcast.util.scheduler.TimingWheel;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,8 +51,11 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.spi.properties.GroupProperty.TIMING_WHEEL_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.TIMING_WHEEL_TICK_MILLIS;
 import static com.hazelcast.util.ThreadUtil.createThreadPoolName;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @SuppressWarnings({"checkstyle:classfanoutcomplexity", "checkstyle:methodcount"})
 public final class ExecutionServiceImpl implements InternalExecutionService {
@@ -70,6 +74,8 @@ public final class ExecutionServiceImpl implements InternalExecutionService {
     private final NodeEngineImpl nodeEngine;
     private final ExecutorService cachedExecutorService;
     private final LoggingScheduledExecutor scheduledExecutorService;
+    // null when the delays are kept by the scheduledExecutorService
+    private final TimingWheel timingWheel;
     private final TaskScheduler globalTaskScheduler;
     private final ILogger logger;
     private final CompletableFutureTask completableFutureTask;
@@ -130,9 +136,9 @@ public final class ExecutionServiceImpl implements InternalExecutionService {
                     }
                 });
 
-        ThreadFactory singleExecutorThreadFactory = new SingleExecutorThreadFactory(configClassLoader,
-                createThreadPoolName(hzName, "scheduled"));
-        this.scheduledExecutorService = new LoggingScheduledExecutor(logger, 1, singleExecutorThreadFactory);
+        this.scheduledExecutorService = new LoggingScheduledExecutor(logger, 1,
+                new SingleExecutorThreadFactory(configClassLoader, createThreadPoolName(hzName, "scheduled")));
+        this.timingWheel = newTimingWheel(nodeEngine);
 
         int coreSize = Math.max(RuntimeAvailableProcessors.get(), 2);
         // default executors
@@ -147,6 +153,21 @@ public final class ExecutionServiceImpl implements InternalExecutionService {
         scheduleWithRepetition(completableFutureTask, INITIAL_DELAY, PERIOD, TimeUnit.MILLISECONDS);
     }
 
+    private TimingWheel newTimingWheel(NodeEngineImpl nodeEngine) {
+        if (!nodeEngine.getProperties().getBoolean(TIMING_WHEEL_ENABLED)) {
+            return null;
+        }
+        long tickMillis = nodeEngine.getProperties().getMillis(TIMING_WHEEL_TICK_MILLIS);
+        TimingWheel wheel = new TimingWheel(MILLISECONDS.toNanos(tickMillis), System.nanoTime());
+        // the expired tasks only hand over to their executors, so they are run on the scheduled thread
+        scheduledExecutorService.scheduleAtFixedRate(() -> {
+            for (Runnable task : wheel.advance(System.nanoTime())) {
+                task.run();
+            }
+        }, tickMillis, tickMillis, MILLISECONDS);
+        return wheel;
+    }
+
     // only used in tests
     public LoggingScheduledExecutor getScheduledExecutorService() {
         return scheduledExecutorService;
@@ -306,7 +327,7 @@ public final class ExecutionServiceImpl implements InternalExecutionService {
 
     @Override
     public TaskScheduler getTaskScheduler(String name) {
-        return new DelegatingTaskScheduler(scheduledExecutorService, getExecutor(name));
+        return newTaskScheduler(getExecutor(name));
     }
 
     public void shutdown() {
@@ -371,7 +392,14 @@ public final class ExecutionServiceImpl implements InternalExecutionService {
     }
 
     private TaskScheduler getDurableTaskScheduler(String name) {
-        return new DelegatingTaskScheduler(scheduledExecutorService, getScheduledDurable(name));
+        return newTaskScheduler(getScheduledDurable(name));
+    }
+
+    private TaskScheduler newTaskScheduler(ExecutorService executor) {
+        if (timingWheel != null) {
+            return new TimingWheelTaskScheduler(timingWheel, executor);
+        }
+        return new DelegatingTaskScheduler(scheduledExecutorService, executor);
     }
 
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.executionservice.impl;
+
+import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.util.scheduler.TimingWheel;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link TaskScheduler} which keeps track of the delays on a shared
+ * {@link TimingWheel} and executes the due tasks on the given executor.
+ * <p>
+ * This is the counterpart of the {@link DelegatingTaskScheduler}; instead of
+ * the delay queue of a scheduled thread pool, which takes logarithmic time to
+ * add and cancel a task, the timing wheel takes constant time.
+ */
+public final class TimingWheelTaskScheduler implements TaskScheduler {
+
+    private final TimingWheel timingWheel;
+    private final ExecutorService executor;
+
+    public TimingWheelTaskScheduler(TimingWheel timingWheel, ExecutorService executor) {
+        this.timingWheel = timingWheel;
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        checkNotNull(command);
+        Runnable decoratedTask = new DelegatingTaskDecorator(command, executor);
+        return schedule(new TimerFuture<Object>(decoratedTask, deadlineNanos(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<Future<V>> schedule(Callable<V> command, long delay, TimeUnit unit) {
+        checkNotNull(command);
+        Callable<Future<V>> decoratedTask = new DelegatingCallableTaskDecorator<V>(command, executor);
+        return schedule(new TimerFuture<Future<V>>(decoratedTask, deadlineNanos(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithRepetition(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        checkNotNull(command);
+        Runnable decoratedTask = new DelegateAndSkipOnConcurrentExecutionDecorator(command, executor);
+        return schedule(new TimerFuture<Object>(decoratedTask, deadlineNanos(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    private <V> TimerFuture<V> schedule(TimerFuture<V> future) {
+        future.schedule();
+        return future;
+    }
+
+    private static long deadlineNanos(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+    }
+
+    /**
+     * The future of a task on the timing wheel. A periodic task is added to
+     * the wheel again after each execution, at a fixed rate.
+     */
+    @SuppressFBWarnings(value = "EQ_COMPARETO_USE_OBJECT_EQUALS",
+            justification = "Ordered by delay like the futures of a ScheduledThreadPoolExecutor, identity equality is intended")
+    private final class TimerFuture<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        // 0 for a one-shot task
+        private final long periodNanos;
+        private volatile long deadlineNanos;
+        private volatile TimingWheel.Timer timer;
+
+        TimerFuture(Runnable task, long deadlineNanos, long periodNanos) {
+            super(task, null);
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        TimerFuture(Callable<V> task, long deadlineNanos) {
+            super(task);
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = 0;
+        }
+
+        void schedule() {
+            timer = timingWheel.schedule(this, deadlineNanos);
+        }
+
+        @Override
+        public void run() {
+            if (periodNanos == 0) {
+                super.run();
+            } else if (runAndReset()) {
+                deadlineNanos += periodNanos;
+                schedule();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                timer.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(NANOSECONDS), o.getDelay(NANOSECONDS));
+        }
+    }
+}
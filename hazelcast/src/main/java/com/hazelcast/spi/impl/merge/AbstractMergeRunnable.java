@@ -19,6 +19,10 @@ package com.hazelcast.spi.impl.merge;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
@@ -26,7 +30,9 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataType;
 import com.hazelcast.replicatedmap.ReplicatedMap;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationFactory;
 import com.hazelcast.spi.impl.operationservice.OperationService;
@@ -34,8 +40,11 @@ import com.hazelcast.spi.SplitBrainHandlerService;
 import com.hazelcast.spi.merge.MergingEntry;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.MutableLong;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -43,12 +52,21 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMergePolicySupportsInMemoryFormat;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.GroupProperty.MERGE_MAX_CONCURRENT_BATCHES;
+import static com.hazelcast.spi.properties.GroupProperty.MERGE_PARALLELISM;
+import static com.hazelcast.util.CollectionUtil.toIntegerList;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static java.util.Collections.singleton;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -66,9 +84,19 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
 
     private static final long TIMEOUT_FACTOR = 500;
     private static final long MINIMAL_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final String MERGE_EXECUTOR = "hz:split-brain-merge";
 
     private final Semaphore semaphore = new Semaphore(0);
 
+    @Probe(name = "sentEntries", level = MANDATORY)
+    private final MwCounter sentEntries = newMwCounter();
+    @Probe(name = "mergedEntries", level = MANDATORY)
+    private final MwCounter mergedEntries = newMwCounter();
+    @Probe(name = "failedEntries", level = MANDATORY)
+    private final MwCounter failedEntries = newMwCounter();
+    @Probe(name = "sentBatches", level = MANDATORY)
+    private final MwCounter sentBatches = newMwCounter();
+
     private final ILogger logger;
     private final String serviceName;
     private final ClusterService clusterService;
@@ -76,6 +104,11 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
     private final IPartitionService partitionService;
     private final AbstractSplitBrainHandlerService<Store> splitBrainHandlerService;
     private final InternalSerializationService serializationService;
+    private final ExecutionService executionService;
+    private final MetricsRegistry metricsRegistry;
+    private final int parallelism;
+    private final int maxConcurrentBatches;
+    private final Semaphore batchPermits;
 
     private Map<String, Collection<Store>> mergingStoresByName;
 
@@ -91,6 +124,15 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
         this.operationService = nodeEngine.getOperationService();
         this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
         this.splitBrainHandlerService = splitBrainHandlerService;
+        this.executionService = nodeEngine.getExecutionService();
+        this.metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+
+        HazelcastProperties properties = nodeEngine.getProperties();
+        int configuredParallelism = properties.getInteger(MERGE_PARALLELISM);
+        this.parallelism = configuredParallelism > 0 ? configuredParallelism : RuntimeAvailableProcessors.get();
+        this.maxConcurrentBatches = checkPositive(properties.getInteger(MERGE_MAX_CONCURRENT_BATCHES),
+                MERGE_MAX_CONCURRENT_BATCHES.getName() + " must be positive");
+        this.batchPermits = new Semaphore(maxConcurrentBatches);
     }
 
     private Map<String, Collection<Store>> groupStoresByName(Collection<Store> stores) {
@@ -110,31 +152,151 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
 
     @Override
     public final void run() {
-        onRunStart();
-        int mergedCount = 0;
-
-        mergedCount += mergeWithSplitBrainMergePolicy();
-        mergedCount += mergeWithLegacyMergePolicy();
+        metricsRegistry.scanAndRegister(this, "splitBrainMerge[" + serviceName + "]");
+        try {
+            long startMillis = Clock.currentTimeMillis();
+            onRunStart();
+            int mergedCount = 0;
+
+            mergedCount += mergeWithSplitBrainMergePolicy();
+            mergedCount += mergeWithLegacyMergePolicy();
+
+            waitMergeEnd(mergedCount);
+            if (mergedCount > 0 && logger.isFineEnabled()) {
+                logger.fine("Merged " + mergedEntries.get() + " entries of " + serviceName + " in "
+                        + sentBatches.get() + " batches within " + (Clock.currentTimeMillis() - startMillis)
+                        + " ms, " + failedEntries.get() + " entries failed to merge");
+            }
+        } finally {
+            metricsRegistry.deregister(this);
+        }
+    }
 
-        waitMergeEnd(mergedCount);
+    /**
+     * Returns the number of merge batches which have been sent, but not yet completed.
+     */
+    @Probe(name = "inFlightBatches", level = MANDATORY)
+    private int inFlightBatches() {
+        return maxConcurrentBatches - batchPermits.availablePermits();
     }
 
     protected void onRunStart() {
         // Implementers can override this method.
     }
 
+    /**
+     * Merges the stores of all data structures which use a {@link SplitBrainMergePolicy}.
+     * <p>
+     * The stores are split into {@link #parallelism} groups by their partition ID, and
+     * the groups are merged in parallel. The number of batches in flight is limited by
+     * {@link #batchPermits}, so a fast collecting thread waits for the healing cluster.
+     */
     private int mergeWithSplitBrainMergePolicy() {
+        Collection<String> mergedNames = new LinkedList<String>();
+        List<MergeGroupTask> tasks = createMergeGroupTasks(mergedNames);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<Integer>> futures = new LinkedList<Future<Integer>>();
+        for (int i = 1; i < tasks.size(); i++) {
+            futures.add(executionService.submit(MERGE_EXECUTOR, tasks.get(i)));
+        }
+
         int mergedCount = 0;
+        try {
+            try {
+                // the current thread merges a group as well
+                mergedCount += tasks.get(0).call();
+            } finally {
+                mergedCount += awaitMergeGroupTasks(futures);
+            }
+        } finally {
+            for (String dataStructureName : mergedNames) {
+                onMerge(dataStructureName);
+            }
+        }
+        return mergedCount;
+    }
+
+    private int awaitMergeGroupTasks(List<Future<Integer>> futures) {
+        int mergedCount = 0;
+        Throwable failure = null;
+        for (Future<Integer> future : futures) {
+            try {
+                mergedCount += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure != null) {
+            throw rethrow(failure);
+        }
+        return mergedCount;
+    }
+
+    /**
+     * Removes the stores of the data structures which use a {@link SplitBrainMergePolicy}
+     * from {@link #mergingStoresByName} and splits them into tasks by their partition ID.
+     *
+     * @param mergedNames collects the names of the data structures of the removed stores
+     * @return a task for each non-empty group of stores
+     */
+    private List<MergeGroupTask> createMergeGroupTasks(Collection<String> mergedNames) {
+        List<Map<String, Collection<Store>>> storesPerGroup = new ArrayList<Map<String, Collection<Store>>>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            storesPerGroup.add(new HashMap<String, Collection<Store>>());
+        }
+
         Iterator<Map.Entry<String, Collection<Store>>> iterator = mergingStoresByName.entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, Collection<Store>> entry = iterator.next();
 
             String dataStructureName = entry.getKey();
-            Collection<Store> stores = entry.getValue();
-
             if (getMergePolicy(dataStructureName) instanceof SplitBrainMergePolicy) {
-                MergingItemBiConsumer consumer = newConsumer(dataStructureName);
-                for (Store store : stores) {
+                for (Store store : entry.getValue()) {
+                    Map<String, Collection<Store>> group = storesPerGroup.get(getPartitionId(store) % parallelism);
+                    Collection<Store> stores = group.get(dataStructureName);
+                    if (stores == null) {
+                        stores = new LinkedList<Store>();
+                        group.put(dataStructureName, stores);
+                    }
+                    stores.add(store);
+                }
+                mergedNames.add(dataStructureName);
+                iterator.remove();
+            }
+        }
+
+        List<MergeGroupTask> tasks = new ArrayList<MergeGroupTask>(parallelism);
+        for (Map<String, Collection<Store>> group : storesPerGroup) {
+            if (!group.isEmpty()) {
+                tasks.add(new MergeGroupTask(group));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Merges the stores of a group of partitions.
+     */
+    private class MergeGroupTask implements Callable<Integer> {
+
+        private final Map<String, Collection<Store>> storesByName;
+
+        MergeGroupTask(Map<String, Collection<Store>> storesByName) {
+            this.storesByName = storesByName;
+        }
+
+        @Override
+        public Integer call() {
+            int mergedCount = 0;
+            for (Map.Entry<String, Collection<Store>> entry : storesByName.entrySet()) {
+                MergingItemBiConsumer consumer = newConsumer(entry.getKey());
+                for (Store store : entry.getValue()) {
                     try {
                         mergeStore(store, consumer);
                         consumer.consumeRemaining();
@@ -143,11 +305,9 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
                     }
                 }
                 mergedCount += consumer.mergedCount;
-                onMerge(dataStructureName);
-                iterator.remove();
             }
+            return mergedCount;
         }
-        return mergedCount;
     }
 
     private MergingItemBiConsumer newConsumer(String dataStructureName) {
@@ -324,18 +484,54 @@ public abstract class AbstractMergeRunnable<K, V, Store, MergingItem extends Mer
 
         private void sendMergingData(String dataStructureName, SplitBrainMergePolicy<V, MergingItem> mergePolicy,
                                      int[] partitions, List<MergingItem>[] entries, int totalSize) {
+            // flow control: wait until one of the in-flight batches completes
+            batchPermits.acquireUninterruptibly();
             try {
                 OperationFactory factory = createMergeOperationFactory(dataStructureName, mergePolicy, partitions, entries);
-                operationService.invokeOnPartitions(serviceName, factory, partitions);
+                operationService.<Object>invokeOnPartitionsAsync(serviceName, factory, toIntegerList(partitions))
+                        .andThen(new MergeBatchCallback(totalSize));
+                sentEntries.inc(totalSize);
+                sentBatches.inc();
             } catch (Throwable t) {
+                batchPermits.release();
+                failedEntries.inc(totalSize);
+                semaphore.release(totalSize);
                 logger.warning("Error while running merge operation: " + t.getMessage());
                 throw rethrow(t);
-            } finally {
-                semaphore.release(totalSize);
             }
         }
     }
 
+    /**
+     * Completes a merge batch which has been sent by {@link MergingItemBiConsumer}.
+     */
+    private class MergeBatchCallback implements ExecutionCallback<Map<Integer, Object>> {
+
+        private final int size;
+
+        MergeBatchCallback(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void onResponse(Map<Integer, Object> response) {
+            mergedEntries.inc(size);
+            complete();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            logger.warning("Error while running merge operation: " + t.getMessage());
+            failedEntries.inc(size);
+            complete();
+        }
+
+        private void complete() {
+            batchPermits.release();
+            semaphore.release(size);
+        }
+    }
+
     /**
      * Consumer for legacy merge operations.
      */
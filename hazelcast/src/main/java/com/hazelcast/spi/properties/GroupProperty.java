@@ -230,6 +230,25 @@ public final class GroupProperty {
     public static final HazelcastProperty IO_BALANCER_INTERVAL_SECONDS
             = new HazelcastProperty("hazelcast.io.balancer.interval.seconds", 20, SECONDS);
 
+    /**
+     * The number of TCP connections opened between each pair of members. By default there is a single
+     * connection per member pair, which caps member-to-member throughput at what a single I/O thread can
+     * push through a single socket.
+     * <p>
+     * When set to a value larger than 1, additional connections are established lazily and partition
+     * specific packets are striped over them based on their partition id. All packets of a given partition
+     * are sent over the same connection, so per partition ordering is preserved: while an additional
+     * connection is being established, the packets of its partitions are queued; if it can't be established
+     * or is closed, its partitions use the first connection until the first connection is closed as well.
+     * Packets without a partition (e.g. cluster heartbeats and generic operations) are always sent over the
+     * first connection.
+     * Each connection is served by its own channel, so the
+     * {@link com.hazelcast.internal.networking.nio.iobalancer.IOBalancer IOBalancer} balances them
+     * independently over the I/O threads.
+     */
+    public static final HazelcastProperty TCP_CONNECTIONS_PER_MEMBER
+            = new HazelcastProperty("hazelcast.tcp.connections.per.member", 1);
+
     @SuppressWarnings("checkstyle:constantname")
     public static final HazelcastProperty PREFER_IPv4_STACK
             = new HazelcastProperty("hazelcast.prefer.ipv4.stack", true);
@@ -284,6 +303,23 @@ public final class GroupProperty {
     public static final HazelcastProperty MERGE_NEXT_RUN_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.merge.next.run.delay.seconds", 120, SECONDS);
 
+    /**
+     * The number of threads which collect the merging entries of the partitions of a data structure
+     * service in parallel during split-brain healing. Each thread handles a disjoint set of partitions.
+     * <p>
+     * The default is -1, which uses the number of available processors.
+     */
+    public static final HazelcastProperty MERGE_PARALLELISM
+            = new HazelcastProperty("hazelcast.merge.parallelism", -1);
+
+    /**
+     * The maximum number of merge batches of a data structure service which are sent, but not yet
+     * completed during split-brain healing. When the limit is reached, collecting further merging
+     * entries waits until a batch completes, so the healing cluster isn't flooded with merge operations.
+     */
+    public static final HazelcastProperty MERGE_MAX_CONCURRENT_BATCHES
+            = new HazelcastProperty("hazelcast.merge.max.concurrent.batches", 16);
+
     public static final HazelcastProperty OPERATION_CALL_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.operation.call.timeout.millis", 60000, MILLISECONDS);
 
@@ -692,6 +728,135 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * The directory in which the overflow segment files of the event journals
+     * are created. Every member creates its own sub-directory, which is
+     * removed when the member shuts down.
+     * <p>
+     * If not set, the directory given by the {@code java.io.tmpdir} system
+     * property is used.
+     *
+     * @see com.hazelcast.config.EventJournalConfig#setOverflowMaxSizeMb(int)
+     */
+    public static final HazelcastProperty EVENT_JOURNAL_OVERFLOW_DIR
+            = new HazelcastProperty("hazelcast.event.journal.overflow.dir");
+
+    /**
+     * The minimum size in bytes of the serialized key and values of a map
+     * event journal event for which the event is compressed before it is
+     * stored in the event journal. The event is stored compressed only if
+     * that makes it smaller.
+     * <p>
+     * Compressing the events allows keeping more history in the same amount
+     * of memory, at the cost of compressing every event when it is written
+     * and decompressing it every time it is read.
+     * <p>
+     * The default is -1, which disables compression.
+     */
+    public static final HazelcastProperty EVENT_JOURNAL_COMPRESSION_THRESHOLD_BYTES
+            = new HazelcastProperty("hazelcast.event.journal.compression.threshold.bytes", -1);
+
+    /**
+     * Enables prefetching the next batch of IDs of a
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator} asynchronously, before
+     * the current batch is spent. This way the callers of
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator#newId()} don't have to
+     * wait for a new batch to be generated when the current batch is spent.
+     */
+    public static final HazelcastProperty FLAKE_ID_GENERATOR_PREFETCH_ASYNC_ENABLED
+            = new HazelcastProperty("hazelcast.flakeidgen.prefetch.async.enabled", true);
+
+    /**
+     * Enables adapting the size of the batches of IDs prefetched by a
+     * {@link com.hazelcast.flakeidgen.FlakeIdGenerator} to the rate at which
+     * the IDs are consumed.
+     * <p>
+     * The configured {@link com.hazelcast.config.FlakeIdGeneratorConfig#getPrefetchCount()
+     * prefetch count} is used as the minimum batch size, the batch size grows
+     * up to {@link com.hazelcast.config.FlakeIdGeneratorConfig#MAXIMUM_PREFETCH_COUNT}
+     * while the batches are spent quickly.
+     */
+    public static final HazelcastProperty FLAKE_ID_GENERATOR_PREFETCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.flakeidgen.prefetch.adaptive.enabled", false);
+
+    /**
+     * Enables work stealing between the members for the tasks of an
+     * {@link com.hazelcast.core.IExecutorService} which are submitted without
+     * a partition key or a target member.
+     * <p>
+     * When enabled, a member whose executor has idle threads periodically
+     * takes over tasks which are still queued on another member. The result
+     * of a stolen task is sent back to the member the task was submitted to.
+     * The tasks with a partition key are always executed by the owner of the
+     * partition.
+     */
+    public static final HazelcastProperty EXECUTOR_WORK_STEALING_ENABLED
+            = new HazelcastProperty("hazelcast.executor.work.stealing.enabled", false);
+
+    /**
+     * The interval in milliseconds between the attempts of an idle executor
+     * to steal queued tasks from another member, when
+     * {@link #EXECUTOR_WORK_STEALING_ENABLED work stealing} is enabled.
+     */
+    public static final HazelcastProperty EXECUTOR_WORK_STEALING_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.executor.work.stealing.interval.millis", 100, MILLISECONDS);
+
+    /**
+     * Enables scheduling the delayed tasks of the member on a hierarchical
+     * timing wheel instead of the delay queue of a scheduled thread pool.
+     * <p>
+     * The timing wheel adds and cancels a task in constant time, which keeps
+     * the scheduling cheap with millions of pending tasks, e.g. the tasks of
+     * an {@link com.hazelcast.scheduledexecutor.IScheduledExecutorService} or
+     * the expirations of queue items. The price is that a task is executed up
+     * to {@link #TIMING_WHEEL_TICK_MILLIS one tick} later than requested.
+     */
+    public static final HazelcastProperty TIMING_WHEEL_ENABLED
+            = new HazelcastProperty("hazelcast.timing.wheel.enabled", false);
+
+    /**
+     * The resolution in milliseconds of the timing wheel, when
+     * {@link #TIMING_WHEEL_ENABLED} is set. The wheel is advanced once per tick.
+     */
+    public static final HazelcastProperty TIMING_WHEEL_TICK_MILLIS
+            = new HazelcastProperty("hazelcast.timing.wheel.tick.millis", 10, MILLISECONDS);
+
+    /**
+     * Enables batching of the updates replicated by a
+     * {@link com.hazelcast.core.ReplicatedMap} to the other members.
+     * <p>
+     * When enabled, the updates are not sent one by one, but are collected
+     * per target member for {@link #REPLICATED_MAP_REPLICATION_BATCH_FLUSH_INTERVAL_MILLIS}
+     * and sent in a single operation. Multiple updates of the same key within
+     * a batch are coalesced, only the latest one is sent.
+     * <p>
+     * Since every member fires the entry events of the updates it applies,
+     * the coalescing is visible to the entry listeners registered on the
+     * other members: they receive fewer events than the number of updates,
+     * and the old value of an event is the value of the last update they
+     * received, skipping the coalesced values in between. The listeners on the
+     * member which performed the updates still receive every event. Don't
+     * enable batching if the entry listeners have to observe every update.
+     */
+    public static final HazelcastProperty REPLICATED_MAP_REPLICATION_BATCH_ENABLED
+            = new HazelcastProperty("hazelcast.replicatedmap.replication.batch.enabled", false);
+
+    /**
+     * The maximum time an update of a {@link com.hazelcast.core.ReplicatedMap}
+     * is held back before it is replicated to the other members, when
+     * replication batching is enabled.
+     */
+    public static final HazelcastProperty REPLICATED_MAP_REPLICATION_BATCH_FLUSH_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.replicatedmap.replication.batch.flush.interval.millis", 5, MILLISECONDS);
+
+    /**
+     * The maximum number of pending updates of a {@link com.hazelcast.core.ReplicatedMap}
+     * per target member, when replication batching is enabled. When the limit
+     * is reached, the batch is sent immediately.
+     */
+    public static final HazelcastProperty REPLICATED_MAP_REPLICATION_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.replicatedmap.replication.batch.size", 1000);
+
     /**
      * Defines cache invalidation event batch sending is enabled or not.
      */
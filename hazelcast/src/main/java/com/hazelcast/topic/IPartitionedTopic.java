@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * A reliable topic whose messages are spread over multiple ringbuffers
+ * living in different partitions.
+ * <p>
+ * A reliable topic stores its messages in a single
+ * {@link com.hazelcast.ringbuffer.Ringbuffer}, so every publish and every
+ * read of a subscriber is executed by a single partition thread of a single
+ * member. A partitioned topic consists of {@link #getPartitionCount()}
+ * reliable topics, each with its own ringbuffer in a different partition,
+ * so the throughput of the topic scales with the number of members.
+ * <p>
+ * Messages published with the same key are published to the same topic
+ * partition, hence they are received in the order they were published.
+ * Messages published without a key are published to the topic partition of
+ * the publishing thread, hence messages of the same thread are received in
+ * the order they were published. There is no global order between messages
+ * of different topic partitions.
+ * <p>
+ * A listener receives the messages of all topic partitions. The topic
+ * partitions are read concurrently, so the listener may be called
+ * concurrently by multiple threads and has to be thread-safe. A
+ * {@link ReliableMessageListener} can't be used as a durable subscription
+ * since it has a separate sequence per topic partition, the listener always
+ * starts from the next published message and
+ * {@link ReliableMessageListener#storeSequence(long)} is not called. A
+ * {@link ReliableBatchMessageListener} receives the batches of each topic
+ * partition separately.
+ * <p>
+ * A partitioned topic is identified by its name and partition count. The
+ * topic partitions are reliable topics named {@code name@<partition-key>},
+ * so the {@link com.hazelcast.config.ReliableTopicConfig} and the
+ * {@link com.hazelcast.config.RingbufferConfig} of the partitioned topic
+ * name apply to each topic partition.
+ *
+ * @param <E> the type of the message
+ * @see com.hazelcast.core.HazelcastInstance#getPartitionedTopic(String, int)
+ * @since 4.0
+ */
+public interface IPartitionedTopic<E> extends ITopic<E> {
+
+    /**
+     * Publishes the message to all subscribers of this topic. The message is
+     * published to the topic partition of the given key, so the messages of
+     * the same key are received in the order they were published.
+     *
+     * @param key     the key which determines the topic partition of the message
+     * @param message the message to publish to all subscribers of this topic
+     * @throws NullPointerException   if the key is {@code null}
+     * @throws TopicOverloadException if the consumer is too slow
+     */
+    void publish(@Nonnull Object key, @Nullable E message);
+
+    /**
+     * Publishes all messages to all subscribers of this topic. The messages
+     * are published to the topic partition of the given key, in batches.
+     *
+     * @param key      the key which determines the topic partition of the messages
+     * @param messages the messages to publish to all subscribers of this topic
+     * @throws NullPointerException   if the key or messages is {@code null}
+     * @throws TopicOverloadException if the consumer is too slow
+     * @see ITopic#publishAll(Collection)
+     */
+    void publishAll(@Nonnull Object key, @Nonnull Collection<? extends E> messages);
+
+    /**
+     * Returns the number of partitions of this topic, that is, the number of
+     * ringbuffers its messages are spread over.
+     *
+     * @return the number of topic partitions
+     */
+    int getPartitionCount();
+}
@@ -21,6 +21,7 @@ import com.hazelcast.monitor.LocalTopicStats;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
 
 /**
  * Hazelcast provides distribution mechanism for publishing messages that are
@@ -64,6 +65,25 @@ public interface ITopic<E> extends DistributedObject {
      */
     void publish(@Nullable E message);
 
+    /**
+     * Publishes all messages to all subscribers of this topic.
+     * <p>
+     * A reliable topic writes the messages to its ringbuffer in batches,
+     * which is much faster than publishing them one by one. Other topics
+     * publish the messages one by one.
+     * <p>
+     * The messages are published in the iteration order of the collection,
+     * but they are not published atomically. If publishing fails, a part of
+     * the messages may already have been published.
+     *
+     * @param messages the messages to publish to all subscribers of this topic
+     * @throws NullPointerException   if messages is {@code null}
+     * @throws TopicOverloadException if the consumer is too slow
+     *                                (only works in combination with reliable topic)
+     * @since 4.0
+     */
+    void publishAll(@Nonnull Collection<? extends E> messages);
+
     /**
      * Subscribes to this topic. When a message is published, the
      * {@link MessageListener#onMessage(Message)} method of the given
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * A {@link ReliableMessageListener} which receives the messages of a reliable
+ * topic in batches instead of one by one.
+ * <p>
+ * The reliable topic reads the messages from its ringbuffer in batches of up
+ * to {@link com.hazelcast.config.ReliableTopicConfig#getReadBatchSize()}
+ * messages. A regular listener is called for each message of such a batch; a
+ * ReliableBatchMessageListener gets the whole batch in a single
+ * {@link #onMessages(List)} call. This reduces the per message overhead for
+ * listeners which process messages in bulk, e.g. by writing them to a
+ * database or a socket with a single call.
+ * <p>
+ * The {@link #storeSequence(long)} method is called once per batch, with
+ * the sequence of the last message of the batch, before the batch is
+ * processed. So the batch is treated like a single message by the durable
+ * subscription recipe of {@link ReliableMessageListener}: a listener which
+ * continues from the stored sequence + 1 after a restart continues with the
+ * first message after the last batch it received, whatever the size of the
+ * batches. If {@link #onMessages(List)} throws an exception and the listener
+ * is not terminated by {@link #isTerminal(Throwable)}, the whole batch is
+ * skipped.
+ * <p>
+ * If a ReliableBatchMessageListener is registered on a normal topic, only the
+ * {@link MessageListener#onMessage(Message)} method will be called.
+ *
+ * @param <E> topic event type
+ * @since 4.0
+ */
+public interface ReliableBatchMessageListener<E> extends ReliableMessageListener<E> {
+
+    /**
+     * Invoked when a batch of messages has been read from the reliable topic.
+     * The messages are in the order they were published.
+     *
+     * @param messages the messages of the batch; never empty
+     */
+    void onMessages(@Nonnull List<Message<E>> messages);
+}
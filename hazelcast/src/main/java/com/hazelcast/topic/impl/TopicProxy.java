@@ -23,6 +23,7 @@ import com.hazelcast.spi.NodeEngine;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
 
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -35,6 +36,7 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
 public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
 
     private static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
+    private static final String NULL_MESSAGES_IS_NOT_ALLOWED = "Null messages is not allowed!";
 
     public TopicProxy(String name, NodeEngine nodeEngine, TopicService service) {
         super(name, nodeEngine, service);
@@ -45,6 +47,14 @@ public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
         publishInternal(message);
     }
 
+    @Override
+    public void publishAll(@Nonnull Collection<? extends E> messages) {
+        checkNotNull(messages, NULL_MESSAGES_IS_NOT_ALLOWED);
+        for (E message : messages) {
+            publish(message);
+        }
+    }
+
     @Nonnull
     @Override
     public String addMessageListener(@Nonnull MessageListener<E> listener) {
@@ -29,8 +29,11 @@ import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.Message;
 import com.hazelcast.topic.MessageListener;
+import com.hazelcast.topic.ReliableBatchMessageListener;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
@@ -41,6 +44,9 @@ import java.util.concurrent.Executor;
  * that are read is pushed into the {@link MessageListener}.
  * It is a self-perpetuating stream of async calls.
  * <p>
+ * If the listener is a {@link ReliableBatchMessageListener}, all messages
+ * read with a single call are pushed into the listener as one batch.
+ * <p>
  * The runner keeps track of the sequence.
  */
 public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
@@ -48,6 +54,7 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
     protected final Ringbuffer<ReliableTopicMessage> ringbuffer;
     protected final ILogger logger;
     protected final ReliableMessageListener<E> listener;
+    protected final ReliableBatchMessageListener<E> batchListener;
     protected final String topicName;
     protected long sequence;
     private final SerializationService serializationService;
@@ -68,6 +75,8 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
                          ILogger logger) {
         this.id = id;
         this.listener = listener;
+        this.batchListener = listener instanceof ReliableBatchMessageListener
+                ? (ReliableBatchMessageListener<E>) listener : null;
         this.ringbuffer = ringbuffer;
         this.topicName = topicName;
         this.serializationService = serializationService;
@@ -97,6 +106,13 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
     // This method is called from the provided executor.
     @Override
     public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+        if (batchListener != null) {
+            if (processBatch(result)) {
+                next();
+            }
+            return;
+        }
+
         // we process all messages in batch. So we don't release the thread and reschedule ourselves;
         // but we'll process whatever was received in 1 go.
         for (Object item : result) {
@@ -132,6 +148,44 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
         listener.onMessage(toMessage(message));
     }
 
+    /**
+     * Processes all messages of the result by increasing the local topic
+     * stats and calling the user supplied batch listener once.
+     *
+     * @param result the messages read from the ringbuffer
+     * @return {@code true} if the runner should continue reading, {@code false} otherwise
+     */
+    private boolean processBatch(ReadResultSet<ReliableTopicMessage> result) {
+        int size = result.size();
+        if (cancelled) {
+            return false;
+        }
+        if (size == 0) {
+            return true;
+        }
+
+        try {
+            List<Message<E>> messages = new ArrayList<Message<E>>(size);
+            for (ReliableTopicMessage message : result) {
+                messages.add(toMessage(message));
+            }
+            // the batch is handed over as a whole, so the sequence of its last message is stored
+            listener.storeSequence(sequence + size - 1);
+            for (int i = 0; i < size; i++) {
+                updateStatistics();
+            }
+            batchListener.onMessages(messages);
+        } catch (Throwable t) {
+            if (terminate(t)) {
+                cancel();
+                return false;
+            }
+        }
+
+        sequence += size;
+        return true;
+    }
+
     protected abstract void updateStatistics();
 
     private Message<E> toMessage(ReliableTopicMessage m) {
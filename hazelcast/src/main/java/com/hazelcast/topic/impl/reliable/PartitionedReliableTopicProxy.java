@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.monitor.LocalTopicStats;
+import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.topic.IPartitionedTopic;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import com.hazelcast.topic.ReliableBatchMessageListener;
+import com.hazelcast.topic.ReliableMessageListener;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.util.PartitionKeyUtil.getShardPartitionKeys;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * {@link IPartitionedTopic} implementation which spreads its messages over
+ * multiple reliable topics. The topic partitions are plain reliable topics
+ * whose names carry a partition key, so they are created on both members
+ * and clients through the {@link HazelcastInstance} and their ringbuffers
+ * are served by different partitions.
+ * <p>
+ * The partition keys of the topic partitions are computed deterministically
+ * from the name and the partition count, so all members and clients use the
+ * same topic partitions for the same partitioned topic.
+ * <p>
+ * A listener is registered on every topic partition. The registration ID
+ * consists of the registration IDs of the topic partitions, so a listener
+ * can be removed through any proxy of the same partitioned topic.
+ *
+ * @param <E> the type of the message
+ */
+public class PartitionedReliableTopicProxy<E> implements IPartitionedTopic<E> {
+
+    private static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
+    private static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
+    private static final char REGISTRATION_ID_SEPARATOR = ',';
+
+    private final String name;
+    private final PartitionService partitionService;
+    private final ITopic<E>[] partitions;
+
+    @SuppressWarnings("unchecked")
+    public PartitionedReliableTopicProxy(HazelcastInstance instance, String name, int partitionCount) {
+        checkNotNull(name, "Retrieving a partitioned topic instance with a null name is not allowed!");
+        checkFalse(name.indexOf('@') >= 0, "Partitioned topic name: " + name + " must not contain '@'!");
+        checkPositive(partitionCount, "Partition count: " + partitionCount + " must be positive!");
+        this.name = name;
+        this.partitionService = instance.getPartitionService();
+        this.partitions = new ITopic[partitionCount];
+
+        String[] partitionKeys = getShardPartitionKeys(partitionService, name, partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = instance.getReliableTopic(name + '@' + partitionKeys[i]);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * A partitioned topic is spread over multiple partitions, so the partition
+     * key doesn't have a meaning. The name of the topic is returned.
+     */
+    @Override
+    public String getPartitionKey() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return ReliableTopicService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Returns the reliable topic of the given topic partition.
+     */
+    ITopic<E> getPartition(int partitionIndex) {
+        return partitions[partitionIndex];
+    }
+
+    @Override
+    public void publish(@Nullable E message) {
+        homePartition().publish(message);
+    }
+
+    @Override
+    public void publish(@Nonnull Object key, @Nullable E message) {
+        partitionOf(key).publish(message);
+    }
+
+    @Override
+    public void publishAll(@Nonnull Collection<? extends E> messages) {
+        homePartition().publishAll(messages);
+    }
+
+    @Override
+    public void publishAll(@Nonnull Object key, @Nonnull Collection<? extends E> messages) {
+        partitionOf(key).publishAll(messages);
+    }
+
+    @Nonnull
+    @Override
+    public String addMessageListener(@Nonnull MessageListener<E> listener) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+
+        MessageListener<E> adapter = listener instanceof ReliableBatchMessageListener
+                ? new BatchMessageListenerAdapter<E>(name, (ReliableBatchMessageListener<E>) listener)
+                : new MessageListenerAdapter<E>(name, listener);
+        StringBuilder registrationId = new StringBuilder();
+        for (ITopic<E> partition : partitions) {
+            if (registrationId.length() > 0) {
+                registrationId.append(REGISTRATION_ID_SEPARATOR);
+            }
+            registrationId.append(partition.addMessageListener(adapter));
+        }
+        return registrationId.toString();
+    }
+
+    @Override
+    public boolean removeMessageListener(@Nonnull String registrationId) {
+        checkNotNull(registrationId, "registrationId can't be null");
+
+        String[] registrationIds = registrationId.split(String.valueOf(REGISTRATION_ID_SEPARATOR));
+        if (registrationIds.length != partitions.length) {
+            return false;
+        }
+        boolean removed = false;
+        for (int i = 0; i < partitions.length; i++) {
+            removed |= partitions[i].removeMessageListener(registrationIds[i]);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the statistics of this topic aggregated over all topic partitions.
+     */
+    @Override
+    public LocalTopicStats getLocalTopicStats() {
+        LocalTopicStatsImpl stats = new LocalTopicStatsImpl();
+        for (ITopic<E> partition : partitions) {
+            LocalTopicStats partitionStats = partition.getLocalTopicStats();
+            stats.incrementPublishes(partitionStats.getPublishOperationCount());
+            stats.incrementReceives(partitionStats.getReceiveOperationCount());
+        }
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        for (ITopic<E> partition : partitions) {
+            partition.destroy();
+        }
+    }
+
+    private ITopic<E> partitionOf(Object key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        return partitions[partitionService.getPartition(key).getPartitionId() % partitions.length];
+    }
+
+    /**
+     * The topic partition that is used by the current thread to publish
+     * messages without a key. Since a thread always publishes to the same
+     * topic partition, its messages are received in publish order.
+     */
+    private ITopic<E> homePartition() {
+        return partitions[(int) (Thread.currentThread().getId() % partitions.length)];
+    }
+
+    @Override
+    public String toString() {
+        return "IPartitionedTopic{name='" + name + "', partitionCount=" + partitions.length + '}';
+    }
+
+    /**
+     * Adapts a user supplied listener to the topic partitions. The messages
+     * are passed on with the name of the partitioned topic; durable
+     * subscriptions are not supported since the sequences are per topic
+     * partition.
+     */
+    private static class MessageListenerAdapter<E> implements ReliableMessageListener<E> {
+
+        final String topicName;
+        final MessageListener<E> listener;
+
+        MessageListenerAdapter(String topicName, MessageListener<E> listener) {
+            this.topicName = topicName;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onMessage(Message<E> message) {
+            listener.onMessage(toTopicMessage(message));
+        }
+
+        Message<E> toTopicMessage(Message<E> message) {
+            return new Message<E>(topicName, message.getMessageObject(), message.getPublishTime(),
+                    message.getPublishingMember());
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            // -1 indicates start from next message.
+            return -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            // no-op
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return listener instanceof ReliableMessageListener
+                    && ((ReliableMessageListener<E>) listener).isLossTolerant();
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return listener instanceof ReliableMessageListener
+                    && ((ReliableMessageListener<E>) listener).isTerminal(failure);
+        }
+
+        @Override
+        public String toString() {
+            return listener.toString();
+        }
+    }
+
+    private static final class BatchMessageListenerAdapter<E> extends MessageListenerAdapter<E>
+            implements ReliableBatchMessageListener<E> {
+
+        BatchMessageListenerAdapter(String topicName, ReliableBatchMessageListener<E> listener) {
+            super(topicName, listener);
+        }
+
+        @Override
+        public void onMessages(@Nonnull List<Message<E>> messages) {
+            List<Message<E>> topicMessages = new ArrayList<Message<E>>(messages.size());
+            for (Message<E> message : messages) {
+                topicMessages.add(toTopicMessage(message));
+            }
+            ((ReliableBatchMessageListener<E>) listener).onMessages(topicMessages);
+        }
+    }
+}
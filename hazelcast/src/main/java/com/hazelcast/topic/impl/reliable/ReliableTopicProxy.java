@@ -39,14 +39,19 @@ import com.hazelcast.util.UuidUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
+import static com.hazelcast.ringbuffer.impl.RingbufferProxy.MAX_BATCH_SIZE;
 import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
 import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
 import static com.hazelcast.util.ExceptionUtil.peel;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 
@@ -60,6 +65,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     public static final int MAX_BACKOFF = 2000;
     public static final int INITIAL_BACKOFF_MS = 100;
     private static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
+    private static final String NULL_MESSAGES_IS_NOT_ALLOWED = "Null messages is not allowed!";
 
     final Ringbuffer<ReliableTopicMessage> ringbuffer;
     final Executor executor;
@@ -209,6 +215,83 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The messages are written to the ringbuffer with
+     * {@link Ringbuffer#addAllAsync(Collection, OverflowPolicy)} in batches
+     * of up to {@link com.hazelcast.ringbuffer.impl.RingbufferProxy#MAX_BATCH_SIZE}
+     * messages, or the capacity of the ringbuffer if it is smaller. The
+     * {@link TopicOverloadPolicy} is applied to each batch as a whole.
+     */
+    @Override
+    public void publishAll(@Nonnull Collection<? extends E> payloads) {
+        checkNotNull(payloads, NULL_MESSAGES_IS_NOT_ALLOWED);
+        int published = 0;
+        try {
+            int maxBatchSize = (int) min(MAX_BATCH_SIZE, ringbuffer.capacity());
+            List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(min(payloads.size(), maxBatchSize));
+            for (E payload : payloads) {
+                messages.add(new ReliableTopicMessage(nodeEngine.toData(payload), thisAddress));
+                if (messages.size() == maxBatchSize) {
+                    addAll(messages);
+                    published += messages.size();
+                    messages.clear();
+                }
+            }
+            if (!messages.isEmpty()) {
+                addAll(messages);
+            }
+        } catch (Exception e) {
+            throw (RuntimeException) peel(e, null, "Failed to publish " + payloads.size() + " messages to topic:"
+                    + getName() + ", " + published + " messages were published before the failing batch");
+        }
+    }
+
+    private void addAll(List<ReliableTopicMessage> messages) throws Exception {
+        switch (overloadPolicy) {
+            case ERROR:
+                addAllOrFail(messages);
+                break;
+            case DISCARD_OLDEST:
+                ringbuffer.addAllAsync(messages, OverflowPolicy.OVERWRITE).get();
+                break;
+            case DISCARD_NEWEST:
+                ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+                break;
+            case BLOCK:
+                addAllWithBackoff(messages);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
+        }
+
+        localTopicStats.incrementPublishes(messages.size());
+    }
+
+    private void addAllOrFail(List<ReliableTopicMessage> messages) throws Exception {
+        long sequenceId = ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+        if (sequenceId == -1) {
+            throw new TopicOverloadException("Failed to publish " + messages.size() + " messages on topic:" + getName());
+        }
+    }
+
+    private void addAllWithBackoff(List<ReliableTopicMessage> messages) throws Exception {
+        long timeoutMs = INITIAL_BACKOFF_MS;
+        for (; ; ) {
+            long result = ringbuffer.addAllAsync(messages, OverflowPolicy.FAIL).get();
+            if (result != -1) {
+                break;
+            }
+
+            MILLISECONDS.sleep(timeoutMs);
+            timeoutMs *= 2;
+            if (timeoutMs > MAX_BACKOFF) {
+                timeoutMs = MAX_BACKOFF;
+            }
+        }
+    }
+
     @Nonnull
     @Override
     public String addMessageListener(@Nonnull MessageListener<E> listener) {
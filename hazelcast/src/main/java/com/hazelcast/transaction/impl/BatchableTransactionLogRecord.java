@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.util.List;
+
+/**
+ * A {@link TransactionLogRecord} whose prepare and commit operations can be executed together with
+ * the operations of other records of the same transaction.
+ *
+ * The operations of the records with the same partition ID and the same batch key are sent to the
+ * partition as a single operation, created by {@link #newBatchOperation(List)} of one of the records.
+ * This saves a round-trip per record.
+ *
+ * The batch operation has to check the preconditions of all of its operations (e.g. the ownership of
+ * the locks) before it applies any of them. Therefore a transaction whose records all belong to a single
+ * batch is committed atomically by a single operation, without being prepared first.
+ *
+ * @see TransactionLog
+ */
+public interface BatchableTransactionLogRecord extends TransactionLogRecord {
+
+    /**
+     * @return the ID of the partition the operations of this record are executed on
+     */
+    int getPartitionId();
+
+    /**
+     * Returns the key of the batch of this record, e.g. the name of the data structure. The operations
+     * of the records with equal batch keys and equal partition IDs are executed in the same batch.
+     *
+     * @return the key of the batch of this record
+     */
+    Object getBatchKey();
+
+    /**
+     * Creates an operation which executes the given operations on the partition of this record at once.
+     *
+     * @param operations the prepare or commit operations of the records of the batch, in the order of the records
+     * @return the batch operation
+     */
+    Operation newBatchOperation(List<Operation> operations);
+}
@@ -251,6 +251,10 @@ public class TransactionImpl implements Transaction {
      * preparing, we are just going to try to commit. If the lock is still acquired, the write
      * succeeds, and if the lock isn't acquired, the write fails; this is the same effect as a
      * prepare would have.
+     * <p>
+     * The same applies if all items of the transaction log belong to a single batch (see
+     * {@link BatchableTransactionLogRecord}), e.g. the changes of a single map on a single partition:
+     * they are committed by a single operation which checks all the locks before it applies any change.
      *
      * @return true if {@link #prepare()} is required.
      */
@@ -259,19 +263,24 @@ public class TransactionImpl implements Transaction {
             return false;
         }
 
-        return transactionLog.size() > 1;
+        return !isOnePhaseCommitPossible();
+    }
+
+    private boolean isOnePhaseCommitPossible() {
+        return transactionLog.size() <= 1 || transactionLog.isSingleBatch();
     }
 
     @Override
     public void commit() throws TransactionException, IllegalStateException {
         try {
             if (transactionType == TWO_PHASE) {
-                if (transactionLog.size() > 1) {
+                if (!isOnePhaseCommitPossible()) {
                     if (state != PREPARED) {
                         throw new IllegalStateException("Transaction is not prepared");
                     }
                 } else {
-                    // when a transaction log contains less than 2 items, it can be committed without preparing
+                    // when a transaction log contains less than 2 items or a single batch,
+                    // it can be committed without preparing
                     if (state != PREPARED && state != ACTIVE) {
                         throw new IllegalStateException("Transaction is not prepared or active");
                     }
@@ -427,7 +436,7 @@ public class TransactionImpl implements Transaction {
     private boolean skipBackupLogReplication() {
         //todo: what if backupLogsCreated are created?
 
-        return durability == 0 || transactionLog.size() <= 1 || backupAddresses.length == 0;
+        return durability == 0 || isOnePhaseCommitPossible() || backupAddresses.length == 0;
     }
 
     protected CreateTxBackupLogOperation createCreateTxBackupLogOperation() {
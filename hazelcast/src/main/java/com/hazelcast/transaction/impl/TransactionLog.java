@@ -25,11 +25,13 @@ import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.function.Function;
 
 /**
  * The transaction log contains all {@link TransactionLogRecord} for a given transaction.
@@ -37,6 +39,9 @@ import java.util.concurrent.Future;
  * If within a transaction 3 map.puts would be done on different keys and 1 queue.take would be done, than
  * the TransactionLog will contains 4 {@link TransactionLogRecord} instances.
  *
+ * The prepare and commit operations of the {@link BatchableTransactionLogRecord} instances are sent to
+ * their partitions in batches: one operation per partition and batch key.
+ *
  * planned optimization:
  * Most transaction will be small, but an linkedlist + hashmap is created. Instead use an array and do a
  * linear search in that array. When there are too many items added, then enable the hashmap.
@@ -96,22 +101,35 @@ public class TransactionLog {
         return recordList.size();
     }
 
-    public List<Future> commit(NodeEngine nodeEngine) {
-        List<Future> futures = new ArrayList<Future>(size());
+    /**
+     * Checks if all records of this log belong to a single batch, so the transaction can be committed
+     * atomically by a single operation.
+     *
+     * @return true if there are records and all of them belong to the same batch, false otherwise
+     * @see BatchableTransactionLogRecord
+     */
+    public boolean isSingleBatch() {
+        BatchKey batchKey = null;
         for (TransactionLogRecord record : recordList) {
-            Future future = invoke(nodeEngine, record, record.newCommitOperation());
-            futures.add(future);
+            if (!(record instanceof BatchableTransactionLogRecord)) {
+                return false;
+            }
+            BatchKey recordBatchKey = new BatchKey((BatchableTransactionLogRecord) record);
+            if (batchKey == null) {
+                batchKey = recordBatchKey;
+            } else if (!batchKey.equals(recordBatchKey)) {
+                return false;
+            }
         }
-        return futures;
+        return batchKey != null;
+    }
+
+    public List<Future> commit(NodeEngine nodeEngine) {
+        return invokeBatched(nodeEngine, TransactionLogRecord::newCommitOperation);
     }
 
     public List<Future> prepare(NodeEngine nodeEngine) {
-        List<Future> futures = new ArrayList<Future>(size());
-        for (TransactionLogRecord record : recordList) {
-            Future future = invoke(nodeEngine, record, record.newPrepareOperation());
-            futures.add(future);
-        }
-        return futures;
+        return invokeBatched(nodeEngine, TransactionLogRecord::newPrepareOperation);
     }
 
     public List<Future> rollback(NodeEngine nodeEngine) {
@@ -125,6 +143,45 @@ public class TransactionLog {
         return futures;
     }
 
+    private List<Future> invokeBatched(NodeEngine nodeEngine, Function<TransactionLogRecord, Operation> operationFactory) {
+        List<Future> futures = new ArrayList<Future>(size());
+        Map<BatchKey, List<BatchableTransactionLogRecord>> batches = null;
+        for (TransactionLogRecord record : recordList) {
+            if (record instanceof BatchableTransactionLogRecord) {
+                if (batches == null) {
+                    batches = new LinkedHashMap<BatchKey, List<BatchableTransactionLogRecord>>();
+                }
+                BatchableTransactionLogRecord batchableRecord = (BatchableTransactionLogRecord) record;
+                batches.computeIfAbsent(new BatchKey(batchableRecord), key -> new ArrayList<BatchableTransactionLogRecord>())
+                       .add(batchableRecord);
+            } else {
+                futures.add(invoke(nodeEngine, record, operationFactory.apply(record)));
+            }
+        }
+
+        if (batches != null) {
+            for (List<BatchableTransactionLogRecord> batch : batches.values()) {
+                futures.add(invokeBatch(nodeEngine, batch, operationFactory));
+            }
+        }
+        return futures;
+    }
+
+    private Future invokeBatch(NodeEngine nodeEngine, List<BatchableTransactionLogRecord> batch,
+                               Function<TransactionLogRecord, Operation> operationFactory) {
+        BatchableTransactionLogRecord firstRecord = batch.get(0);
+        if (batch.size() == 1) {
+            return invoke(nodeEngine, firstRecord, operationFactory.apply(firstRecord));
+        }
+
+        List<Operation> operations = new ArrayList<Operation>(batch.size());
+        for (BatchableTransactionLogRecord record : batch) {
+            operations.add(operationFactory.apply(record));
+        }
+        Operation op = firstRecord.newBatchOperation(operations);
+        return nodeEngine.getOperationService().invokeOnPartition(op.getServiceName(), op, firstRecord.getPartitionId());
+    }
+
     private Future invoke(NodeEngine nodeEngine, TransactionLogRecord record, Operation op) {
         OperationService operationService = nodeEngine.getOperationService();
         if (record instanceof TargetAwareTransactionLogRecord) {
@@ -158,4 +215,34 @@ public class TransactionLog {
             operationService.asyncInvokeOnPartition(op.getServiceName(), op, op.getPartitionId(), callback);
         }
     }
+
+    /**
+     * Identifies the batch of a {@link BatchableTransactionLogRecord}.
+     */
+    private static final class BatchKey {
+        private final int partitionId;
+        private final Object key;
+
+        private BatchKey(BatchableTransactionLogRecord record) {
+            this.partitionId = record.getPartitionId();
+            this.key = record.getBatchKey();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return partitionId == that.partitionId && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * partitionId + key.hashCode();
+        }
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.partition.PartitionService;
+
+import java.util.Set;
+
+import static com.hazelcast.util.SetUtil.createHashSet;
+import static java.lang.Math.min;
+
+/**
+ * Utility methods for spreading the shards of a data structure over
+ * distinct partitions.
+ */
+public final class PartitionKeyUtil {
+
+    private PartitionKeyUtil() {
+    }
+
+    /**
+     * Returns the partition keys for the given number of shards of the data
+     * structure with the given name.
+     * <p>
+     * The keys are mapped to distinct partitions as long as there are enough
+     * partitions. The same keys are returned for the same arguments on every
+     * member and client, so they can be used to create the shards as data
+     * structures named {@code name@key}.
+     *
+     * @param partitionService the partition service used to map the keys to partitions
+     * @param name             the name of the data structure
+     * @param shardCount       the number of shards
+     * @return the partition keys of the shards
+     */
+    public static String[] getShardPartitionKeys(PartitionService partitionService, String name, int shardCount) {
+        int partitionCount = partitionService.getPartitions().size();
+        Set<Integer> usedPartitionIds = createHashSet(min(shardCount, partitionCount));
+        String[] partitionKeys = new String[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String baseKey = name + '-' + shardCount + '-' + i;
+            String key = baseKey;
+            // when there are more shards than partitions, the remaining shards share partitions
+            if (usedPartitionIds.size() < partitionCount) {
+                for (int attempt = 1; !usedPartitionIds.add(partitionService.getPartition(key).getPartitionId()); attempt++) {
+                    key = baseKey + '-' + attempt;
+                }
+            }
+            partitionKeys[i] = key;
+        }
+        return partitionKeys;
+    }
+}
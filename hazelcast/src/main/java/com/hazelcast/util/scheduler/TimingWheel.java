@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * A hierarchical timing wheel which keeps track of the deadlines of a large
+ * number of tasks.
+ * <p>
+ * The time is divided into ticks. The wheel consists of {@value #LEVELS}
+ * levels of {@value #SLOTS} slots each: a slot of the lowest level covers a
+ * single tick, a slot of the next level covers all {@value #SLOTS} slots of
+ * the level below it, and so on. A task is added to the slot of the lowest
+ * level which can hold its deadline and moved down the levels while the
+ * wheel advances, until it expires in a slot of the lowest level. Tasks
+ * with a deadline beyond the range of the highest level are kept in its
+ * farthest slot until they come into range.
+ * <p>
+ * Adding and cancelling a task takes constant time, independent of the
+ * number of tasks in the wheel. The price is the resolution: a task expires
+ * in the first tick which is not before its deadline, so it expires up to a
+ * tick late, but never early.
+ * <p>
+ * The wheel doesn't keep time on its own; it is driven by calling
+ * {@link #advance(long)} with the current time, typically once per tick.
+ * The expired tasks are returned to the caller to be executed. All times
+ * are in nanoseconds as returned by {@link System#nanoTime()}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_RANGE_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Slot[][] levels = new Slot[LEVELS][SLOTS];
+
+    // the last tick which has been expired; guarded by this
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickNanos  the length of a tick in nanoseconds
+     * @param startNanos the time the wheel starts at
+     */
+    public TimingWheel(long tickNanos, long startNanos) {
+        this.tickNanos = checkPositive(tickNanos, "tickNanos should be positive");
+        this.startNanos = startNanos;
+        for (Slot[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * Adds a task which expires at the given deadline. A task with a deadline
+     * which has already passed expires on the next call of {@link #advance(long)}.
+     *
+     * @param task          the task to add
+     * @param deadlineNanos the time at which the task expires
+     * @return the timer of the task, which can be used to cancel it
+     */
+    public Timer schedule(Runnable task, long deadlineNanos) {
+        checkNotNull(task, "task can't be null");
+        Timer timer = new Timer(task, deadlineNanos);
+        long deadlineTick = toTick(deadlineNanos);
+        synchronized (this) {
+            timer.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+            place(timer);
+            size++;
+        }
+        return timer;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes the tasks which
+     * expired in the meantime.
+     *
+     * @param nowNanos the current time
+     * @return the expired tasks, in the order of their deadline ticks
+     */
+    public List<Runnable> advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        List<Runnable> expired = null;
+        synchronized (this) {
+            if (size == 0) {
+                currentTick = Math.max(currentTick, targetTick);
+                return Collections.emptyList();
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade(currentTick);
+                expired = expire(currentTick, expired);
+            }
+        }
+        return expired == null ? Collections.<Runnable>emptyList() : expired;
+    }
+
+    /**
+     * @return the number of tasks in the wheel
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private long toTick(long nanos) {
+        long elapsedNanos = nanos - startNanos;
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        // rounded up, so a task never expires before its deadline
+        return (elapsedNanos + tickNanos - 1) / tickNanos;
+    }
+
+    /**
+     * Moves the tasks of the slots of the higher levels which begin at the
+     * given tick to the lower levels. The highest level is cascaded first,
+     * so its tasks can move down more than one level at once.
+     */
+    private void cascade(long tick) {
+        int level = 0;
+        while (level < LEVELS - 1 && (tick >>> (SLOT_BITS * (level + 1)) << (SLOT_BITS * (level + 1))) == tick) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            Timer timer = levels[level][slotIndex(tick, level)].removeAll();
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.next = null;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private List<Runnable> expire(long tick, List<Runnable> expired) {
+        Timer timer = levels[0][slotIndex(tick, 0)].removeAll();
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = null;
+            if (timer.deadlineTick > tick) {
+                place(timer);
+            } else {
+                if (expired == null) {
+                    expired = new ArrayList<Runnable>();
+                }
+                expired.add(timer.task);
+                size--;
+            }
+            timer = next;
+        }
+        return expired;
+    }
+
+    private void place(Timer timer) {
+        long delta = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // a deadline beyond the range of the wheel is parked in the farthest slot until it comes into range
+        long placementTick = delta < MAX_RANGE_TICKS ? timer.deadlineTick : currentTick + MAX_RANGE_TICKS - 1;
+        levels[level][slotIndex(placementTick, level)].add(timer);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    /**
+     * The handle of a task in the wheel.
+     */
+    public final class Timer {
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        // all fields below are guarded by the wheel
+        private long deadlineTick;
+        private Slot slot;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * @return the time at which the task expires
+         */
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+
+        /**
+         * Removes the task from the wheel.
+         *
+         * @return {@code true} if the task was removed, {@code false} if it
+         * has already expired or been cancelled
+         */
+        public boolean cancel() {
+            synchronized (TimingWheel.this) {
+                if (slot == null) {
+                    return false;
+                }
+                slot.remove(this);
+                size--;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timers of a slot.
+     */
+    private static final class Slot {
+
+        private Timer head;
+
+        void add(Timer timer) {
+            timer.slot = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        void remove(Timer timer) {
+            if (timer.prev == null) {
+                head = timer.next;
+            } else {
+                timer.prev.next = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.slot = null;
+            timer.prev = null;
+            timer.next = null;
+        }
+
+        /**
+         * Removes all timers of the slot.
+         *
+         * @return the first of the removed timers, linked by their next field
+         */
+        Timer removeAll() {
+            Timer first = head;
+            for (Timer timer = first; timer != null; timer = timer.next) {
+                timer.slot = null;
+                timer.prev = null;
+            }
+            head = null;
+            return first;
+        }
+    }
+}
@@ -45,7 +45,7 @@ public final class MerkleTreeUtil {
      * @param level The level
      * @return the breadth-first order of the leaf for the given {@code hash}
      */
-    static int getLeafOrderForHash(int hash, int level) {
+    public static int getLeafOrderForHash(int hash, int level) {
         long hashStepForLevel = getNodeHashRangeOnLevel(level);
         long hashDistanceFromMin = ((long) hash) - Integer.MIN_VALUE;
         int steps = (int) (hashDistanceFromMin / hashStepForLevel);
@@ -357,6 +357,26 @@ public final class MerkleTreeUtil {
         }
     }
 
+    /**
+     * Creates a {@link RemoteMerkleTreeView} by copying the hashes of the
+     * leaves of the provided Merkle tree. The returned view is a snapshot
+     * that is not affected by the later updates of the provided tree.
+     *
+     * @param merkleTreeView The Merkle tree which leaves to be copied
+     * @return the view holding the copy of the leaves
+     */
+    public static RemoteMerkleTreeView createRemoteMerkleTreeView(MerkleTreeView merkleTreeView) {
+        int leafLevel = merkleTreeView.depth() - 1;
+        int numberOfLeaves = getNodesOnLevel(leafLevel);
+        int leftMostLeaf = getLeftMostNodeOrderOnLevel(leafLevel);
+        int[] leaves = new int[numberOfLeaves];
+        for (int i = 0; i < numberOfLeaves; i++) {
+            leaves[i] = merkleTreeView.getNodeHash(leftMostLeaf + i);
+        }
+
+        return new RemoteMerkleTreeView(leaves, merkleTreeView.depth());
+    }
+
     /**
      * Creates a {@link RemoteMerkleTreeView} by reading the hashes of
      * the leaves of a Merkle tree from the provided {@link DataInput}
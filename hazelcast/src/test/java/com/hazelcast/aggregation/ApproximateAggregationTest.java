@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
+import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ApproximateAggregationTest {
+
+    private static final int PARTITIONS = 4;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Random random = new Random(42);
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount() {
+        int distinct = 100000;
+        List<Aggregator<Map.Entry<Long, Long>, Long>> aggregators = new ArrayList<Aggregator<Map.Entry<Long, Long>, Long>>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            aggregators.add(Aggregators.<Map.Entry<Long, Long>>approximateDistinctCount());
+        }
+        // every value is accumulated twice on different partitions
+        for (long value = 0; value < 2 * distinct; value++) {
+            aggregators.get((int) (value % PARTITIONS)).accumulate(createEntryWithValue(value % distinct));
+        }
+
+        Aggregator<Map.Entry<Long, Long>, Long> result = combine(aggregators);
+
+        assertEquals(distinct, result.aggregate(), distinct * 0.03);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_canonicalizesNumbersAndIgnoresNulls() {
+        Aggregator<Map.Entry<Object, Object>, Long> aggregator = Aggregators.approximateDistinctCount();
+        for (int i = 0; i < 100; i++) {
+            aggregator.accumulate(createEntryWithValue((Object) i));
+            aggregator.accumulate(createEntryWithValue((Object) (long) i));
+            aggregator.accumulate(createEntryWithValue((Object) (double) i));
+            aggregator.accumulate(createEntryWithValue((Object) String.valueOf(i)));
+            aggregator.accumulate(createEntryWithValue(null));
+        }
+
+        assertEquals(200, aggregator.aggregate(), 200 * 0.03);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_withAttributePath() {
+        Aggregator<Map.Entry<Person, Person>, Long> aggregator = Aggregators.approximateDistinctCount("age");
+        for (int i = 0; i < 1000; i++) {
+            aggregator.accumulate(createExtractableEntryWithValue(new Person((double) (i % 10)), ss));
+        }
+
+        assertEquals(10L, (long) aggregator.aggregate());
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_afterSerialization() {
+        Aggregator<Map.Entry<Integer, Integer>, Long> aggregator = Aggregators.approximateDistinctCount();
+        for (int i = 0; i < 10000; i++) {
+            aggregator.accumulate(createEntryWithValue(i));
+        }
+
+        Aggregator<Map.Entry<Integer, Integer>, Long> copy = ss.toObject(ss.toData(aggregator));
+
+        assertEquals(aggregator.aggregate(), copy.aggregate());
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_exactForSmallInput() {
+        Aggregator<Map.Entry<Integer, Integer>, Double> median = Aggregators.approximateQuantile(0.5);
+        Aggregator<Map.Entry<Integer, Integer>, Double> max = Aggregators.approximateQuantile(1);
+        Aggregator<Map.Entry<Integer, Integer>, Double> min = Aggregators.approximateQuantile(0);
+        for (int i = 100; i > 0; i--) {
+            median.accumulate(createEntryWithValue(i));
+            max.accumulate(createEntryWithValue(i));
+            min.accumulate(createEntryWithValue(i));
+        }
+
+        assertEquals(50d, median.aggregate(), 0d);
+        assertEquals(100d, max.aggregate(), 0d);
+        assertEquals(1d, min.aggregate(), 0d);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile() {
+        double[] fractions = {0.01, 0.25, 0.5, 0.9, 0.99};
+        for (double fraction : fractions) {
+            List<Aggregator<Map.Entry<Double, Double>, Double>> aggregators
+                    = new ArrayList<Aggregator<Map.Entry<Double, Double>, Double>>();
+            for (int i = 0; i < PARTITIONS; i++) {
+                aggregators.add(Aggregators.<Map.Entry<Double, Double>>approximateQuantile(fraction));
+            }
+            for (int i = 0; i < 200000; i++) {
+                aggregators.get(i % PARTITIONS).accumulate(createEntryWithValue(random.nextDouble()));
+            }
+
+            Aggregator<Map.Entry<Double, Double>, Double> result = combine(aggregators);
+
+            // the values are uniformly distributed, so the rank error equals the value error
+            assertEquals(fraction, result.aggregate(), 0.02);
+        }
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_withAttributePath() {
+        Aggregator<Map.Entry<Person, Person>, Double> aggregator = Aggregators.approximateQuantile("age", 0.9);
+        for (int i = 1; i <= 10000; i++) {
+            aggregator.accumulate(createExtractableEntryWithValue(new Person((double) i), ss));
+        }
+
+        assertEquals(9000d, aggregator.aggregate(), 10000 * 0.02);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_afterSerialization() {
+        Aggregator<Map.Entry<Long, Long>, Double> aggregator = Aggregators.approximateQuantile(0.75);
+        for (long i = 0; i < 10000; i++) {
+            aggregator.accumulate(createEntryWithValue(i));
+        }
+
+        Aggregator<Map.Entry<Long, Long>, Double> copy = ss.toObject(ss.toData(aggregator));
+        for (long i = 10000; i < 20000; i++) {
+            aggregator.accumulate(createEntryWithValue(i));
+            copy.accumulate(createEntryWithValue(i));
+        }
+
+        assertEquals(aggregator.aggregate(), copy.aggregate());
+        assertEquals(15000d, copy.aggregate(), 20000 * 0.02);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_empty() {
+        Aggregator<Map.Entry<Double, Double>, Double> aggregator = Aggregators.approximateQuantile(0.5);
+
+        assertNull(combine(singletonList(aggregator)).aggregate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateQuantile_invalidFraction() {
+        Aggregators.approximateQuantile(1.5);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateTopK() {
+        List<Aggregator<Map.Entry<Integer, Integer>, Map<Integer, Long>>> aggregators
+                = new ArrayList<Aggregator<Map.Entry<Integer, Integer>, Map<Integer, Long>>>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            aggregators.add(Aggregators.<Map.Entry<Integer, Integer>, Integer>approximateTopK(3));
+        }
+        // value v occurs 10000 / v times, mixed with many values occurring once
+        long total = 0;
+        int index = 0;
+        for (int value = 1; value <= 100; value++) {
+            for (int i = 0; i < 10000 / value; i++) {
+                aggregators.get(index++ % PARTITIONS).accumulate(createEntryWithValue(value));
+                aggregators.get(index++ % PARTITIONS).accumulate(createEntryWithValue(-index));
+                total += 2;
+            }
+        }
+
+        Map<Integer, Long> result = combine(aggregators).aggregate();
+
+        assertEquals(3, result.size());
+        Iterator<Map.Entry<Integer, Long>> iterator = result.entrySet().iterator();
+        for (int value = 1; value <= 3; value++) {
+            Map.Entry<Integer, Long> entry = iterator.next();
+            assertEquals(value, (int) entry.getKey());
+            long expected = 10000 / value;
+            assertTrue(entry.getValue() <= expected);
+            assertTrue(entry.getValue() >= expected - total / 24);
+        }
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateTopK_exactForFewValues() {
+        Aggregator<Map.Entry<Object, Object>, Map<Object, Long>> aggregator = Aggregators.approximateTopK(2);
+        for (int i = 0; i < 10; i++) {
+            aggregator.accumulate(createEntryWithValue((Object) "a"));
+            aggregator.accumulate(createEntryWithValue((Object) (i % 2 == 0 ? 1 : 1L)));
+            aggregator.accumulate(createEntryWithValue(null));
+        }
+        aggregator.accumulate(createEntryWithValue((Object) 1));
+        aggregator.accumulate(createEntryWithValue((Object) "b"));
+
+        Map<Object, Long> result = ss.<Aggregator<Map.Entry<Object, Object>, Map<Object, Long>>>toObject(
+                ss.toData(aggregator)).aggregate();
+
+        assertEquals(2, result.size());
+        Iterator<Map.Entry<Object, Long>> iterator = result.entrySet().iterator();
+        Map.Entry<Object, Long> first = iterator.next();
+        assertEquals(11L, (long) first.getValue());
+        assertEquals(1L, ((Number) first.getKey()).longValue());
+        Map.Entry<Object, Long> second = iterator.next();
+        assertEquals("a", second.getKey());
+        assertEquals(10L, (long) second.getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateTopK_invalidK() {
+        Aggregators.approximateTopK(0);
+    }
+
+    private static <I, R> Aggregator<I, R> combine(List<Aggregator<I, R>> aggregators) {
+        Aggregator<I, R> result = aggregators.get(0);
+        for (int i = 1; i < aggregators.size(); i++) {
+            result.combine(aggregators.get(i));
+        }
+        return result;
+    }
+}
@@ -30,7 +30,11 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
@@ -108,6 +112,69 @@ public abstract class CardinalityEstimatorAbstractTest extends HazelcastTestSupp
         assertEquals(4L, estimator.estimateAsync().get().longValue());
     }
 
+    @Test
+    public void addAll() {
+        List<Object> objects = new ArrayList<Object>();
+        for (long i = 0; i < 1000; i++) {
+            objects.add(i);
+            objects.add(i);
+        }
+        objects.add("Test");
+
+        estimator.addAll(objects);
+
+        assertEquals(1001L, estimator.estimate());
+    }
+
+    @Test
+    public void addAllAsync() throws Exception {
+        estimator.addAllAsync(asList(1L, 2L, 3L)).get();
+        estimator.addAllAsync(asList(3L, 4L)).get();
+        estimator.addAllAsync(Collections.emptyList()).get();
+
+        assertEquals(4L, estimator.estimateAsync().get().longValue());
+    }
+
+    @Test
+    public void addAll_estimatesSameAsAdd() throws Exception {
+        CardinalityEstimator other = instances[0].getCardinalityEstimator(randomName());
+        List<Object> objects = new ArrayList<Object>();
+        for (int i = 0; i < 20000; i++) {
+            objects.add("item-" + i);
+        }
+
+        estimator.addAll(objects);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (Object object : objects) {
+            futures.add(other.addAsync(object));
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+
+        assertEquals(other.estimate(), estimator.estimate());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void addAll_whenNullElement() {
+        estimator.addAll(asList(1L, null));
+    }
+
+    @Test
+    public void merge() {
+        CardinalityEstimator first = instances[0].getCardinalityEstimator(randomName());
+        CardinalityEstimator second = instances[instances.length - 1].getCardinalityEstimator(randomName());
+        estimator.addAll(asList(1L, 2L, 3L));
+        first.addAll(asList(3L, 4L, 5L));
+        second.addAll(asList(5L, 6L));
+
+        estimator.merge(first.getName(), second.getName(), estimator.getName());
+
+        assertEquals(6L, estimator.estimate());
+        assertEquals(3L, first.estimate());
+        assertEquals(2L, second.estimate());
+    }
+
     @Test(expected = com.hazelcast.nio.serialization.HazelcastSerializationException.class)
     public void addCustomObject() {
         assumeTrue(config == null);
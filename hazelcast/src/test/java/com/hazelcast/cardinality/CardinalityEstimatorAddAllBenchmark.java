@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the throughput of feeding objects into a remote
+ * {@link CardinalityEstimator} one by one, with pipelined single adds and
+ * with {@link CardinalityEstimator#addAll(java.util.Collection)}.
+ *
+ * The throughput is reported in added objects per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class CardinalityEstimatorAddAllBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+
+    private HazelcastInstance local;
+    private CardinalityEstimator estimator;
+    private final List<Object> batch = new ArrayList<Object>(BATCH_SIZE);
+    private long nextId;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        local = Hazelcast.newHazelcastInstance(config);
+        Hazelcast.newHazelcastInstance(config);
+
+        // pick an estimator that is owned by the other member, so every request is a remote call
+        int index = 0;
+        do {
+            estimator = local.getCardinalityEstimator("estimator-" + index++);
+        } while (local.getPartitionService().getPartition(estimator.getPartitionKey()).getOwner()
+                .localMember());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void add() {
+        for (Object object : nextBatch()) {
+            estimator.add(object);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addAsync() throws Exception {
+        List<ICompletableFuture<Void>> futures = new ArrayList<ICompletableFuture<Void>>(BATCH_SIZE);
+        for (Object object : nextBatch()) {
+            futures.add(estimator.addAsync(object));
+        }
+        for (ICompletableFuture<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addAll() {
+        estimator.addAll(nextBatch());
+    }
+
+    private List<Object> nextBatch() {
+        batch.clear();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add("user-" + nextId++);
+        }
+        return batch;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CardinalityEstimatorAddAllBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueueContainerTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private QueueContainer container;
+
+    @Before
+    public void setup() {
+        HazelcastInstance instance = createHazelcastInstance();
+        QueueService service = getNodeEngineImpl(instance).getService(QueueService.SERVICE_NAME);
+        serializationService = getSerializationService(instance);
+        container = service.getOrCreateContainer(randomName(), false);
+    }
+
+    @Test
+    public void testTxnRollbackPoll_restoresItemAtHead() {
+        offer("item0", "item1", "item2");
+
+        QueueItem item = container.txnPollReserve(-1, "txn");
+        assertEquals(data("item0"), item.getData());
+        assertTrue(container.txnRollbackPoll(item.getItemId(), false));
+
+        assertQueue("item0", "item1", "item2");
+    }
+
+    @Test
+    public void testTxnRollbackPoll_restoresItemsInIdOrder() {
+        offer("item0", "item1", "item2", "item3");
+
+        QueueItem item0 = container.txnPollReserve(-1, "txn");
+        QueueItem item1 = container.txnPollReserve(-1, "txn");
+        // roll back in reverse order, so the second rollback has to insert behind the head
+        assertTrue(container.txnRollbackPoll(item0.getItemId(), false));
+        assertTrue(container.txnRollbackPoll(item1.getItemId(), false));
+
+        assertQueue("item0", "item1", "item2", "item3");
+    }
+
+    @Test
+    public void testTxnRollbackPoll_whenQueueEmpty() {
+        offer("item0");
+
+        QueueItem item = container.txnPollReserve(-1, "txn");
+        assertTrue(container.txnRollbackPoll(item.getItemId(), false));
+
+        assertQueue("item0");
+    }
+
+    @Test
+    public void testCompareAndRemove_keepsOrderOfRetainedItems() {
+        offer("item0", "item1", "item2", "item3", "item4");
+
+        Map<Long, Data> removed = container.compareAndRemove(Arrays.asList(data("item1"), data("item3")), false);
+
+        assertEquals(2, removed.size());
+        assertQueue("item0", "item2", "item4");
+    }
+
+    @Test
+    public void testCompareAndRemove_whenRetain() {
+        offer("item0", "item1", "item2", "item3", "item4");
+
+        Map<Long, Data> removed = container.compareAndRemove(Arrays.asList(data("item1"), data("item3")), true);
+
+        assertEquals(3, removed.size());
+        assertQueue("item1", "item3");
+    }
+
+    @Test
+    public void testContains() {
+        offer("item0", "item1", "item2");
+
+        assertTrue(container.contains(Collections.singletonList(data("item1"))));
+        assertTrue(container.contains(Arrays.asList(data("item2"), data("item0"))));
+        assertFalse(container.contains(Collections.singletonList(data("item3"))));
+        assertFalse(container.contains(Arrays.asList(data("item0"), data("item3"))));
+    }
+
+    @Test
+    public void testDrain() {
+        offer("item0", "item1", "item2", "item3");
+
+        Map<Long, Data> drained = container.drain(3);
+
+        assertEquals(Arrays.asList(data("item0"), data("item1"), data("item2")), new ArrayList<Data>(drained.values()));
+        assertQueue("item3");
+    }
+
+    @Test
+    public void testGetItemQueue_afterPromotion_ordersBackupItems() {
+        container.offerBackup(data("item2"), 3);
+        container.offerBackup(data("item0"), 1);
+        container.offerBackup(data("item1"), 2);
+        container.pollBackup(2);
+        assertEquals(2, container.backupSize());
+
+        assertQueue("item0", "item2");
+        assertTrue(container.getCurrentId() > 3);
+    }
+
+    @Test
+    public void testGetBackupMap_afterDemotion_containsItems() {
+        offer("item0", "item1");
+
+        Map<Long, QueueItem> backupMap = container.getBackupMap();
+
+        assertEquals(2, backupMap.size());
+        container.removeBackup(1);
+        assertEquals(1, container.backupSize());
+        assertEquals(data("item1"), backupMap.get(2L).getData());
+    }
+
+    private void offer(String... items) {
+        for (String item : items) {
+            container.offer(data(item));
+        }
+    }
+
+    private void assertQueue(String... expectedItems) {
+        List<Data> expected = new ArrayList<Data>();
+        for (String item : expectedItems) {
+            expected.add(data(item));
+        }
+        assertEquals(expected, container.getAsDataList());
+    }
+
+    private Data data(String item) {
+        return serializationService.toData(item);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.IShardedQueue;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ShardedQueueTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.getQueueConfig("bounded").setMaxSize(1);
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetShardedQueue_whenNameNull() {
+        instances[0].getShardedQueue(null, SHARD_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetShardedQueue_whenNameContainsPartitionKey() {
+        instances[0].getShardedQueue("queue@key", SHARD_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetShardedQueue_whenShardCountNotPositive() {
+        instances[0].getShardedQueue(randomName(), 0);
+    }
+
+    @Test
+    public void testShards_areInDistinctPartitions() {
+        ShardedQueueProxy<String> queue = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(randomName(), 8);
+
+        Set<Integer> partitionIds = new HashSet<>();
+        for (int i = 0; i < queue.getShardCount(); i++) {
+            IQueue<String> shard = queue.getShard(i);
+            assertTrue(shard.getName().startsWith(queue.getName() + "@"));
+            partitionIds.add(instances[0].getPartitionService().getPartition(shard.getPartitionKey()).getPartitionId());
+        }
+        assertEquals(queue.getShardCount(), partitionIds.size());
+    }
+
+    @Test
+    public void testShards_areSameOnAllInstances() {
+        String name = randomName();
+        ShardedQueueProxy<String> queue1 = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(name, SHARD_COUNT);
+        ShardedQueueProxy<String> queue2 = (ShardedQueueProxy<String>) instances[1].<String>getShardedQueue(name, SHARD_COUNT);
+
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertEquals(queue1.getShard(i).getName(), queue2.getShard(i).getName());
+        }
+    }
+
+    @Test
+    public void testOfferPoll_acrossInstances() {
+        String name = randomName();
+        ShardedQueueProxy<String> queue1 = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(name, SHARD_COUNT);
+        IShardedQueue<String> queue2 = instances[1].getShardedQueue(name, SHARD_COUNT);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue1.offer("item" + i));
+        }
+        assertEquals(100, queue2.size());
+        // a single producer spreads its items over all shards
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertEquals(100 / SHARD_COUNT, queue1.getShard(i).size());
+        }
+
+        Set<String> polled = new HashSet<>();
+        String item;
+        while ((item = queue2.poll()) != null) {
+            polled.add(item);
+        }
+        assertEquals(100, polled.size());
+        assertTrue(queue1.isEmpty());
+    }
+
+    @Test
+    public void testOfferWithKey_pollsInFifoOrder() {
+        String name = randomName();
+        IShardedQueue<String> queue1 = instances[0].getShardedQueue(name, SHARD_COUNT);
+        IShardedQueue<String> queue2 = instances[1].getShardedQueue(name, SHARD_COUNT);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue1.offer("producer", "item" + i));
+        }
+
+        // items offered with the same key are polled in FIFO order
+        for (int i = 0; i < 100; i++) {
+            assertEquals("item" + i, queue2.poll());
+        }
+        assertNull(queue2.poll());
+    }
+
+    @Test
+    public void testOfferWithKey_usesSameShardOnAllInstances() throws Exception {
+        String name = randomName();
+        ShardedQueueProxy<String> queue1 = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(name, SHARD_COUNT);
+        IShardedQueue<String> queue2 = instances[1].getShardedQueue(name, SHARD_COUNT);
+
+        queue1.put("producer", "item0");
+        queue2.put("producer", "item1");
+        assertTrue(queue2.offer("producer", "item2", 1, SECONDS));
+
+        int nonEmptyShards = 0;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            if (!queue1.getShard(i).isEmpty()) {
+                nonEmptyShards++;
+            }
+        }
+        assertEquals(1, nonEmptyShards);
+    }
+
+    @Test
+    public void testPoll_stealsFromOtherShards() {
+        ShardedQueueProxy<String> queue = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(randomName(), SHARD_COUNT);
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            queue.getShard(i).offer("item" + i);
+        }
+
+        Set<String> polled = new HashSet<>();
+        String item;
+        while ((item = queue.poll()) != null) {
+            polled.add(item);
+        }
+        assertEquals(SHARD_COUNT, polled.size());
+    }
+
+    @Test
+    public void testOffer_fails_whenAllShardsFull() throws Exception {
+        IShardedQueue<String> queue = instances[0].getShardedQueue("bounded", SHARD_COUNT);
+
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertTrue(queue.offer("item" + i));
+        }
+        assertFalse(queue.offer("item"));
+        assertFalse(queue.offer("item", 100, MILLISECONDS));
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(SHARD_COUNT, queue.size());
+    }
+
+    @Test
+    public void testOfferWithKey_fails_whenShardOfKeyFull() throws Exception {
+        IShardedQueue<String> queue = instances[0].getShardedQueue("bounded", SHARD_COUNT);
+
+        assertTrue(queue.offer("producer", "item0"));
+        assertFalse(queue.offer("producer", "item1"));
+        assertFalse(queue.offer("producer", "item1", 100, MILLISECONDS));
+        assertEquals(SHARD_COUNT - 1, queue.remainingCapacity());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testTake_blocksUntilOffered() throws Exception {
+        final IShardedQueue<String> queue = instances[0].getShardedQueue(randomName(), SHARD_COUNT);
+
+        Future<String> future = spawn(queue::take);
+        sleepMillis(300);
+        assertFalse(future.isDone());
+
+        instances[1].<String>getShardedQueue(queue.getName(), SHARD_COUNT).offer("item");
+        assertEquals("item", future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+    }
+
+    @Test
+    public void testPollWithTimeout_whenEmpty() throws Exception {
+        IShardedQueue<String> queue = instances[0].getShardedQueue(randomName(), SHARD_COUNT);
+
+        long start = System.currentTimeMillis();
+        assertNull(queue.poll(250, MILLISECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 250);
+    }
+
+    @Test
+    public void testBulkOperations() {
+        IShardedQueue<String> queue = instances[0].getShardedQueue(randomName(), SHARD_COUNT);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add("item" + i);
+        }
+        assertTrue(queue.addAll(items));
+
+        assertTrue(queue.contains("item5"));
+        assertTrue(queue.containsAll(items));
+        assertEquals(new HashSet<>(items), new HashSet<>(queue));
+        assertTrue(queue.remove("item5"));
+        assertFalse(queue.contains("item5"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained, 4));
+        assertEquals(5, queue.size());
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    @Test
+    public void testDestroy() {
+        ShardedQueueProxy<String> queue = (ShardedQueueProxy<String>) instances[0].<String>getShardedQueue(randomName(), SHARD_COUNT);
+        queue.offer("item");
+
+        queue.destroy();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, instances[1].getQueue(queue.getShard(0).getName()).size());
+    }
+}
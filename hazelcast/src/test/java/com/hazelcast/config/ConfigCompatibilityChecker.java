@@ -235,7 +235,9 @@ public class ConfigCompatibilityChecker {
         boolean c2Disabled = c2 == null || !c2.isEnabled();
         return c1 == c2 || (c1Disabled && c2Disabled) || (c1 != null && c2 != null
                 && nullSafeEqual(c1.getCapacity(), c2.getCapacity())
-                && nullSafeEqual(c1.getTimeToLiveSeconds(), c2.getTimeToLiveSeconds()));
+                && nullSafeEqual(c1.getTimeToLiveSeconds(), c2.getTimeToLiveSeconds())
+                && nullSafeEqual(c1.getOverflowMaxSizeMb(), c2.getOverflowMaxSizeMb())
+                && nullSafeEqual(c1.getOverflowTimeToLiveSeconds(), c2.getOverflowTimeToLiveSeconds()));
     }
 
     private static boolean isCompatible(MergePolicyConfig c1, MergePolicyConfig c2) {
@@ -654,6 +656,9 @@ public class ConfigCompatibilityChecker {
                             && r1.getMaxMissedLeaderHeartbeatCount() == r2.getMaxMissedLeaderHeartbeatCount()
                             && r1.getCommitIndexAdvanceCountToSnapshot() == r2.getCommitIndexAdvanceCountToSnapshot()
                             && r1.getAppendRequestBackoffTimeoutInMillis() == r2.getAppendRequestBackoffTimeoutInMillis()
+                            && r1.getAppendRequestMaxInflightCount() == r2.getAppendRequestMaxInflightCount()
+                            && r1.isLeaderLeaseEnabled() == r2.isLeaderLeaseEnabled()
+                            && r1.getLeaderLeaseClockDriftBoundInMillis() == r2.getLeaderLeaseClockDriftBoundInMillis()
                             && r1.getUncommittedEntryCountToRejectNewAppends() == r2.getUncommittedEntryCountToRejectNewAppends());
 
             if (!raftAlgorithmConfigEqual) {
@@ -1322,7 +1322,10 @@ public class ConfigXmlGeneratorTest {
                 .setAppendRequestMaxEntryCount(25)
                 .setAppendRequestMaxEntryCount(250)
                 .setUncommittedEntryCountToRejectNewAppends(75)
-                .setAppendRequestBackoffTimeoutInMillis(50);
+                .setAppendRequestBackoffTimeoutInMillis(50)
+                .setAppendRequestMaxInflightCount(8)
+                .setLeaderLeaseEnabled(true)
+                .setLeaderLeaseClockDriftBoundInMillis(250);
 
         config.getCPSubsystemConfig()
                 .addSemaphoreConfig(new CPSemaphoreConfig("sem1", true))
@@ -1593,7 +1596,9 @@ public class ConfigXmlGeneratorTest {
         return new EventJournalConfig()
                 .setEnabled(true)
                 .setCapacity(123)
-                .setTimeToLiveSeconds(321);
+                .setTimeToLiveSeconds(321)
+                .setOverflowMaxSizeMb(64)
+                .setOverflowTimeToLiveSeconds(3600);
     }
 
     private static EvictionConfig evictionConfig() {
@@ -17,16 +17,28 @@
 package com.hazelcast.config;
 
 import com.hazelcast.config.EventJournalConfig.EventJournalConfigReadOnly;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.version.Version;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.IOException;
+
+import static com.hazelcast.config.EventJournalConfig.DEFAULT_OVERFLOW_MAX_SIZE_MB;
+import static com.hazelcast.config.EventJournalConfig.DEFAULT_OVERFLOW_TTL_SECONDS;
+import static com.hazelcast.internal.cluster.Versions.V3_12;
+import static com.hazelcast.internal.cluster.Versions.V4_0;
 import static com.hazelcast.test.HazelcastTestSupport.assumeDifferentHashCodes;
+import static org.junit.Assert.assertEquals;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -47,6 +59,44 @@ public class EventJournalConfigTest {
         getReadOnlyConfig().setTimeToLiveSeconds(20);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyClass_setOverflowMaxSizeMb_throwsException() {
+        getReadOnlyConfig().setOverflowMaxSizeMb(64);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyClass_setOverflowTTL_throwsException() {
+        getReadOnlyConfig().setOverflowTimeToLiveSeconds(20);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetOverflowMaxSizeMb_whenNegative() {
+        new EventJournalConfig().setOverflowMaxSizeMb(-1);
+    }
+
+    @Test
+    public void testSerialization_withOverflow() throws IOException {
+        EventJournalConfig config = new EventJournalConfig()
+                .setEnabled(true).setCapacity(33).setTimeToLiveSeconds(15)
+                .setOverflowMaxSizeMb(64).setOverflowTimeToLiveSeconds(20);
+
+        assertEquals(config, serializeAndDeserialize(config, V4_0));
+    }
+
+    @Test
+    public void testSerialization_withPreviousClusterVersion_skipsOverflow() throws IOException {
+        EventJournalConfig config = new EventJournalConfig()
+                .setEnabled(true).setCapacity(33).setTimeToLiveSeconds(15)
+                .setOverflowMaxSizeMb(64).setOverflowTimeToLiveSeconds(20);
+
+        EventJournalConfig deserialized = serializeAndDeserialize(config, V3_12);
+
+        assertEquals(33, deserialized.getCapacity());
+        assertEquals(15, deserialized.getTimeToLiveSeconds());
+        assertEquals(DEFAULT_OVERFLOW_MAX_SIZE_MB, deserialized.getOverflowMaxSizeMb());
+        assertEquals(DEFAULT_OVERFLOW_TTL_SECONDS, deserialized.getOverflowTimeToLiveSeconds());
+    }
+
     @Test
     public void testEqualsAndHashCode() {
         assumeDifferentHashCodes();
@@ -55,6 +105,19 @@ public class EventJournalConfigTest {
                       .verify();
     }
 
+    private static EventJournalConfig serializeAndDeserialize(EventJournalConfig config, Version version) throws IOException {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.setVersion(version);
+        config.writeData(out);
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        in.setVersion(version);
+        EventJournalConfig deserialized = new EventJournalConfig();
+        deserialized.readData(in);
+        return deserialized;
+    }
+
     private EventJournalConfigReadOnly getReadOnlyConfig() {
         EventJournalConfig config = new EventJournalConfig();
         config.setEnabled(true).setCapacity(33).setTimeToLiveSeconds(15);
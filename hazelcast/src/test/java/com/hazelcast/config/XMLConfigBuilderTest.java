@@ -2262,6 +2262,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        <event-journal enabled=\"true\">\n"
                 + "            <capacity>120</capacity>\n"
                 + "            <time-to-live-seconds>20</time-to-live-seconds>\n"
+                + "            <overflow-max-size-mb>64</overflow-max-size-mb>\n"
+                + "            <overflow-time-to-live-seconds>3600</overflow-time-to-live-seconds>\n"
                 + "          </event-journal>"
                 + "        <hot-restart enabled=\"false\">\n"
                 + "            <fsync>false</fsync>\n"
@@ -2344,6 +2346,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertTrue(journalConfig.isEnabled());
         assertEquals(120, journalConfig.getCapacity());
         assertEquals(20, journalConfig.getTimeToLiveSeconds());
+        assertEquals(64, journalConfig.getOverflowMaxSizeMb());
+        assertEquals(3600, journalConfig.getOverflowTimeToLiveSeconds());
 
         MapStoreConfig mapStoreConfig = mapConfig.getMapStoreConfig();
         assertNotNull(mapStoreConfig);
@@ -2999,6 +3003,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "    <commit-index-advance-count-to-snapshot>250</commit-index-advance-count-to-snapshot>\n"
                 + "    <uncommitted-entry-count-to-reject-new-appends>75</uncommitted-entry-count-to-reject-new-appends>\n"
                 + "    <append-request-backoff-timeout-in-millis>50</append-request-backoff-timeout-in-millis>\n"
+                + "    <append-request-max-inflight-count>8</append-request-max-inflight-count>\n"
+                + "    <leader-lease-enabled>true</leader-lease-enabled>\n"
+                + "    <leader-lease-clock-drift-bound-in-millis>250</leader-lease-clock-drift-bound-in-millis>\n"
                 + "  </raft-algorithm>\n"
                 + "  <semaphores>\n"
                 + "    <cp-semaphore>\n"
@@ -3038,6 +3045,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertEquals(8, raftAlgorithmConfig.getAppendRequestMaxInflightCount());
+        assertTrue(raftAlgorithmConfig.isLeaderLeaseEnabled());
+        assertEquals(250, raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis());
         CPSemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         CPSemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
@@ -2337,6 +2337,8 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        enabled: true\n"
                 + "        capacity: 120\n"
                 + "        time-to-live-seconds: 20\n"
+                + "        overflow-max-size-mb: 64\n"
+                + "        overflow-time-to-live-seconds: 3600\n"
                 + "      hot-restart:\n"
                 + "        enabled: false\n"
                 + "        fsync: false\n"
@@ -2417,6 +2419,8 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertTrue(journalConfig.isEnabled());
         assertEquals(120, journalConfig.getCapacity());
         assertEquals(20, journalConfig.getTimeToLiveSeconds());
+        assertEquals(64, journalConfig.getOverflowMaxSizeMb());
+        assertEquals(3600, journalConfig.getOverflowTimeToLiveSeconds());
 
         MapStoreConfig mapStoreConfig = mapConfig.getMapStoreConfig();
         assertNotNull(mapStoreConfig);
@@ -3338,6 +3342,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "      commit-index-advance-count-to-snapshot: 250\n"
                 + "      uncommitted-entry-count-to-reject-new-appends: 75\n"
                 + "      append-request-backoff-timeout-in-millis: 50\n"
+                + "      append-request-max-inflight-count: 8\n"
+                + "      leader-lease-enabled: true\n"
+                + "      leader-lease-clock-drift-bound-in-millis: 250\n"
                 + "    semaphores:\n"
                 + "      sem1:\n"
                 + "        jdk-compatible: true\n"
@@ -3364,6 +3371,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertEquals(8, raftAlgorithmConfig.getAppendRequestMaxInflightCount());
+        assertTrue(raftAlgorithmConfig.isLeaderLeaseEnabled());
+        assertEquals(250, raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis());
         CPSemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         CPSemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
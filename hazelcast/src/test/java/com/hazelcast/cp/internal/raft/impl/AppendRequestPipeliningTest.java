@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl;
+
+import com.hazelcast.config.cp.RaftAlgorithmConfig;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.cp.internal.raft.impl.dataservice.ApplyRaftRunnable;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendRequest;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendSuccessResponse;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.testing.LocalRaftGroup;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getCommitIndex;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getInflightAppendRequestCount;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastLogOrSnapshotEntry;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newGroupWithService;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AppendRequestPipeliningTest extends HazelcastTestSupport {
+
+    private LocalRaftGroup group;
+
+    @After
+    public void destroy() {
+        if (group != null) {
+            group.destroy();
+        }
+    }
+
+    @Test
+    public void when_entriesAreReplicatedInARow_then_entriesAreSentInSingleAppendRequest() throws Exception {
+        group = newGroupWithService(3, new RaftAlgorithmConfig());
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl follower = group.getAnyFollowerNode();
+        leader.replicate(new ApplyRaftRunnable("val")).get();
+
+        AtomicInteger maxEntryCount = new AtomicInteger();
+        group.alterMessagesToMember(leader.getLocalMember(), follower.getLocalMember(), message -> {
+            if (message instanceof AppendRequest) {
+                int entryCount = ((AppendRequest) message).entryCount();
+                maxEntryCount.accumulateAndGet(entryCount, Math::max);
+            }
+            return null;
+        });
+
+        // block the leader until all entries are submitted
+        CountDownLatch latch = new CountDownLatch(1);
+        leader.execute(() -> assertOpenEventually(latch));
+
+        int entryCount = 50;
+        List<ICompletableFuture> futures = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            futures.add(leader.replicate(new ApplyRaftRunnable("val" + i)));
+        }
+        latch.countDown();
+
+        for (ICompletableFuture future : futures) {
+            future.get();
+        }
+
+        assertEquals(entryCount, maxEntryCount.get());
+    }
+
+    @Test
+    public void when_followerDoesNotRespond_then_leaderSendsMultipleAppendRequests() throws Exception {
+        int maxInflightCount = 4;
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig()
+                .setAppendRequestMaxEntryCount(1)
+                .setAppendRequestMaxInflightCount(maxInflightCount)
+                .setAppendRequestBackoffTimeoutInMillis(60000);
+        group = newGroupWithService(3, config);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl follower = group.getAnyFollowerNode();
+        leader.replicate(new ApplyRaftRunnable("val")).get();
+
+        group.dropMessagesToMember(follower.getLocalMember(), leader.getLocalMember(), AppendSuccessResponse.class);
+
+        for (int i = 0; i < 10; i++) {
+            leader.replicate(new ApplyRaftRunnable("val" + i)).get();
+        }
+
+        // the follower receives the entries of the in-flight append requests, but not the rest
+        assertTrueEventually(() -> assertEquals(1 + maxInflightCount, getLastLogOrSnapshotEntry(follower).index()));
+        assertEquals(maxInflightCount, getInflightAppendRequestCount(leader, follower.getLocalMember()));
+        assertTrueAllTheTime(() -> assertEquals(1 + maxInflightCount, getLastLogOrSnapshotEntry(follower).index()), 3);
+    }
+
+    @Test
+    public void when_inflightAppendRequestIsLost_then_followerCatchesUp() throws Exception {
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig().setAppendRequestMaxEntryCount(1);
+        group = newGroupWithService(3, config);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl follower = group.getAnyFollowerNode();
+        leader.replicate(new ApplyRaftRunnable("val")).get();
+
+        // strips the entries of the first append request, so the follower misses them
+        AtomicBoolean lost = new AtomicBoolean();
+        group.alterMessagesToMember(leader.getLocalMember(), follower.getLocalMember(), message -> {
+            if (message instanceof AppendRequest) {
+                AppendRequest request = (AppendRequest) message;
+                if (request.entryCount() > 0 && lost.compareAndSet(false, true)) {
+                    return new AppendRequest(request.leader(), request.term(), request.prevLogTerm(),
+                            request.prevLogIndex(), request.leaderCommitIndex(), new LogEntry[0], request.queryRound());
+                }
+            }
+            return null;
+        });
+
+        int entryCount = 20;
+        List<ICompletableFuture> futures = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            futures.add(leader.replicate(new ApplyRaftRunnable("val" + i)));
+        }
+        for (ICompletableFuture future : futures) {
+            future.get();
+        }
+
+        long commitIndex = getCommitIndex(leader);
+        assertEquals(1 + entryCount, commitIndex);
+        assertTrueEventually(() -> {
+            for (RaftNodeImpl node : group.getNodes()) {
+                assertEquals(commitIndex, getCommitIndex(node));
+                assertEquals(commitIndex, getLastLogOrSnapshotEntry(node).index());
+            }
+            assertEquals(0, getInflightAppendRequestCount(leader, follower.getLocalMember()));
+        });
+    }
+}
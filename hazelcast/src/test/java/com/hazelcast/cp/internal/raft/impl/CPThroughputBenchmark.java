@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl;
+
+import com.hazelcast.config.cp.RaftAlgorithmConfig;
+import com.hazelcast.cp.internal.raft.impl.dataservice.ApplyRaftRunnable;
+import com.hazelcast.cp.internal.raft.impl.testing.LocalRaftGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newGroupWithService;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the commit throughput and the commit latency of a Raft group
+ * when many threads replicate operations concurrently.
+ *
+ * The throughput mode reports the committed operations per second and the
+ * sample time mode reports the commit latency percentiles, including p99.
+ * The benchmark is run with and without pipelined append requests.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Threads(32)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class CPThroughputBenchmark {
+
+    @Param({"3", "5"})
+    public int groupSize;
+
+    @Param({"1", "4"})
+    public int appendRequestMaxInflightCount;
+
+    private LocalRaftGroup group;
+    private RaftNodeImpl leader;
+
+    @Setup
+    public void setup() {
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig()
+                .setAppendRequestMaxInflightCount(appendRequestMaxInflightCount)
+                .setUncommittedEntryCountToRejectNewAppends(1000);
+        group = newGroupWithService(groupSize, config);
+        group.start();
+        leader = group.waitUntilLeaderElected();
+    }
+
+    @TearDown
+    public void tearDown() {
+        group.destroy();
+    }
+
+    @Benchmark
+    public Object replicate() throws Exception {
+        return leader.replicate(new ApplyRaftRunnable("val")).get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CPThroughputBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
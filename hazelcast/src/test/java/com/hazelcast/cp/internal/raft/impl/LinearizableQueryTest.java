@@ -41,6 +41,7 @@ import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderMember;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderQueryRound;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newGroupWithService;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -231,6 +232,69 @@ public class LinearizableQueryTest extends HazelcastTestSupport {
         }
     }
 
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseIsValid_then_queryRunsWithoutHeartbeatRound() throws Exception {
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig().setLeaderLeaseEnabled(true)
+                                                              .setLeaderElectionTimeoutInMillis(60000)
+                                                              .setLeaderLeaseClockDriftBoundInMillis(500);
+        group = newGroupWithService(5, config, true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        long leaderQueryRound = getLeaderQueryRound(leader);
+
+        leader.replicate(new ApplyRaftRunnable("value2")).get();
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+
+        // the query is not able to complete a heartbeat round, hence it runs only because of the lease
+        assertEquals("value2", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        assertEquals(leaderQueryRound, getLeaderQueryRound(leader));
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseExpires_then_queryWaitsForHeartbeatRound() throws Exception {
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig().setLeaderLeaseEnabled(true)
+                                                              .setLeaderElectionTimeoutInMillis(2000)
+                                                              .setLeaderLeaseClockDriftBoundInMillis(1900);
+        group = newGroupWithService(5, config, true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        long leaderQueryRound = getLeaderQueryRound(leader);
+
+        sleepMillis(500);
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+
+        ICompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+        assertTrueAllTheTime(() -> assertFalse(queryFuture.isDone()), 3);
+
+        group.allowMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+
+        assertEquals("value1", queryFuture.get());
+        assertEquals(leaderQueryRound + 1, getLeaderQueryRound(leader));
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseIsDisabled_then_eachQueryWaitsForHeartbeatRound() throws Exception {
+        group = newGroup();
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+
+        ICompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+        assertTrueAllTheTime(() -> assertFalse(queryFuture.isDone()), 3);
+    }
+
     private LocalRaftGroup newGroup() {
         return newGroupWithService(5, new RaftAlgorithmConfig(), true);
     }
@@ -83,6 +83,15 @@ public class RaftUtil {
         return readRaftState(leader, task);
     }
 
+    public static int getInflightAppendRequestCount(RaftNodeImpl leader, Endpoint follower) {
+        Callable<Integer> task = () -> {
+            LeaderState leaderState = leader.state().leaderState();
+            return leaderState.getFollowerState(follower).inflightAppendRequestCount();
+        };
+
+        return readRaftState(leader, task);
+    }
+
     public static long getLeaderQueryRound(RaftNodeImpl leader) {
         Callable<Long> task = () -> {
             LeaderState leaderState = leader.state().leaderState();
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.state;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FollowerStateTest {
+
+    private FollowerState state;
+
+    @Before
+    public void setUp() {
+        state = new FollowerState(10, 11);
+    }
+
+    @Test
+    public void test_initialState() {
+        assertEquals(10, state.matchIndex());
+        assertEquals(11, state.nextIndex());
+        assertEquals(0, state.inflightAppendRequestCount());
+        assertFalse(state.isAppendRequestBackoffSet());
+    }
+
+    @Test
+    public void test_appendRequestSent() {
+        state.appendRequestSent(15);
+        state.appendRequestSent(20);
+
+        assertEquals(21, state.nextIndex());
+        assertEquals(10, state.matchIndex());
+        assertEquals(2, state.inflightAppendRequestCount());
+    }
+
+    @Test
+    public void test_appendResponseReceived() {
+        state.appendRequestSent(15);
+        state.appendRequestSent(20);
+
+        state.appendResponseReceived();
+        assertEquals(1, state.inflightAppendRequestCount());
+
+        state.appendResponseReceived();
+        state.appendResponseReceived();
+        assertEquals(0, state.inflightAppendRequestCount());
+    }
+
+    @Test
+    public void test_resetInflightAppendRequests() {
+        state.appendRequestSent(15);
+        state.appendRequestSent(20);
+        state.matchIndex(15);
+
+        state.resetInflightAppendRequests();
+
+        assertEquals(0, state.inflightAppendRequestCount());
+        assertEquals(16, state.nextIndex());
+    }
+
+    @Test
+    public void test_appendRequestBackoff() {
+        state.setAppendRequestBackoff();
+        assertTrue(state.isAppendRequestBackoffSet());
+
+        assertTrue(state.completeAppendRequestBackoffRound());
+        assertFalse(state.isAppendRequestBackoffSet());
+
+        state.setAppendRequestBackoff();
+        assertFalse(state.completeAppendRequestBackoffRound());
+        assertTrue(state.completeAppendRequestBackoffRound());
+
+        state.resetAppendRequestBackoff();
+        assertFalse(state.isAppendRequestBackoffSet());
+    }
+}
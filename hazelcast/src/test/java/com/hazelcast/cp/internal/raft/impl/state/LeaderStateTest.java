@@ -34,6 +34,7 @@ import java.util.Set;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newRaftMember;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -105,4 +106,27 @@ public class LeaderStateTest {
         }
     }
 
+    @Test
+    public void test_lease() {
+        assertFalse(state.isLeaseValid(100));
+
+        state.extendLease(200);
+        assertTrue(state.isLeaseValid(100));
+        assertFalse(state.isLeaseValid(200));
+
+        // the lease is never shortened
+        state.extendLease(150);
+        assertTrue(state.isLeaseValid(199));
+    }
+
+    @Test
+    public void test_lease_whenFollowerAddedOrRemoved_thenLeaseReset() {
+        state.extendLease(200);
+        state.add(newRaftMember(5005), lastLogIndex);
+        assertFalse(state.isLeaseValid(100));
+
+        state.extendLease(200);
+        state.remove(remoteEndpoints.iterator().next());
+        assertFalse(state.isLeaseValid(100));
+    }
 }
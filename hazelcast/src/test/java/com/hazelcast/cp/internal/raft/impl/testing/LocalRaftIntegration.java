@@ -115,6 +115,11 @@ public class LocalRaftIntegration implements RaftIntegration {
         }
     }
 
+    @Override
+    public void submit(Runnable task) {
+        execute(task);
+    }
+
     @Override
     public void schedule(Runnable task, long delay, TimeUnit timeUnit) {
         try {
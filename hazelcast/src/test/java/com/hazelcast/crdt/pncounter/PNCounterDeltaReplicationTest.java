@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.crdt.pncounter;
+
+import com.hazelcast.cluster.impl.VectorClock;
+import com.hazelcast.config.CRDTReplicationConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.crdt.CRDTReplicationContainer;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PNCounterDeltaReplicationTest extends HazelcastTestSupport {
+
+    @Test
+    public void testDeltaSince_null_containsWholeState() {
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        counter.addAndGet(5, null);
+        PNCounterImpl replica = new PNCounterImpl("B", "counter");
+        replica.addAndGet(-3, null);
+        counter.merge(replica);
+
+        PNCounterImpl delta = counter.deltaSince(null);
+        PNCounterImpl other = new PNCounterImpl("C", "counter");
+        other.merge(delta);
+
+        assertEquals(2, other.get(null).getValue());
+        assertEquals(counter.getCurrentVectorClock(), delta.getCurrentVectorClock());
+    }
+
+    @Test
+    public void testDeltaSince_unchanged_returnsNull() {
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        counter.addAndGet(5, null);
+
+        assertNull(counter.deltaSince(counter.getCurrentVectorClock()));
+    }
+
+    @Test
+    public void testDeltaSince_containsOnlyChangedReplicas() {
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        PNCounterImpl replica = new PNCounterImpl("B", "counter");
+        replica.addAndGet(10, null);
+        counter.merge(replica);
+        counter.addAndGet(1, null);
+        VectorClock replicated = counter.getCurrentVectorClock();
+
+        counter.subtractAndGet(4, null);
+        PNCounterImpl delta = counter.deltaSince(replicated);
+
+        assertNotNull(delta);
+        assertNotNull(delta.getCurrentVectorClock().getTimestampForReplica("A"));
+        assertNull(delta.getCurrentVectorClock().getTimestampForReplica("B"));
+        assertEquals(-3, delta.get(null).getValue());
+    }
+
+    @Test
+    public void testDeltaMerge_convergesWithFullStateMerge() {
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        PNCounterImpl replica = new PNCounterImpl("B", "counter");
+        replica.addAndGet(7, null);
+        counter.addAndGet(3, null);
+
+        replica.merge(counter.deltaSince(null));
+        VectorClock replicated = counter.getCurrentVectorClock();
+        counter.addAndGet(5, null);
+        counter.subtractAndGet(2, null);
+        assertTrue(replica.hasSeen(replicated));
+        replica.merge(counter.deltaSince(replicated));
+
+        PNCounterImpl fullStateReplica = new PNCounterImpl("B", "counter");
+        fullStateReplica.addAndGet(7, null);
+        fullStateReplica.merge(counter);
+        assertEquals(fullStateReplica.get(null).getValue(), replica.get(null).getValue());
+        assertEquals(13, replica.get(null).getValue());
+    }
+
+    @Test
+    public void testHasSeen() {
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        counter.addAndGet(3, null);
+        VectorClock clock = counter.getCurrentVectorClock();
+
+        assertTrue(counter.hasSeen(clock));
+        assertTrue(new PNCounterImpl("B", "counter").hasSeen(new PNCounterImpl("C", "counter").getCurrentVectorClock()));
+        assertFalse(new PNCounterImpl("B", "counter").hasSeen(clock));
+    }
+
+    @Test
+    public void testDeltaReplicationOperation_serialization() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        PNCounterImpl counter = new PNCounterImpl("A", "counter");
+        counter.addAndGet(3, null);
+        VectorClock base = counter.getCurrentVectorClock();
+        counter.addAndGet(4, null);
+        Map<String, PNCounterImpl> deltas = new HashMap<String, PNCounterImpl>();
+        deltas.put("counter", counter.deltaSince(base));
+        Map<String, VectorClock> baseClocks = new HashMap<String, VectorClock>();
+        baseClocks.put("counter", base);
+
+        PNCounterDeltaReplicationOperation op = ss.toObject(ss.toData(
+                new PNCounterDeltaReplicationOperation(deltas, baseClocks)));
+
+        assertNotNull(op);
+    }
+
+    @Test
+    public void testPrepareReplicationOperation_onlyChangedCounters() {
+        HazelcastInstance instance = createHazelcastInstance();
+        PNCounterService service = getNodeEngineImpl(instance).getService(PNCounterService.SERVICE_NAME);
+        for (int i = 0; i < 10; i++) {
+            instance.getPNCounter("counter" + i).addAndGet(i);
+        }
+
+        CRDTReplicationContainer first = service.prepareReplicationOperation(new HashMap<String, VectorClock>(), 0);
+        assertNotNull(first);
+        assertEquals(10, first.getVectorClocks().size());
+        assertNull(service.prepareReplicationOperation(first.getVectorClocks(), 0));
+
+        instance.getPNCounter("counter3").incrementAndGet();
+        CRDTReplicationContainer second = service.prepareReplicationOperation(first.getVectorClocks(), 0);
+        assertNotNull(second);
+        assertTrue(second.getOperation() instanceof PNCounterDeltaReplicationOperation);
+        assertEquals(10, second.getVectorClocks().size());
+        assertEquals(service.getCounter("counter3").getCurrentVectorClock(), second.getVectorClocks().get("counter3"));
+        assertNull(service.prepareReplicationOperation(second.getVectorClocks(), 0));
+    }
+
+    @Test
+    public void testReplication_convergesAfterReplicaLostState() {
+        Config config = new Config()
+                .setCRDTReplicationConfig(new CRDTReplicationConfig()
+                        .setReplicationPeriodMillis(200)
+                        .setMaxConcurrentReplicationTargets(Integer.MAX_VALUE));
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        final PNCounter counter = instances[0].getPNCounter("counter");
+        counter.addAndGet(10);
+        final PNCounterService service1 = getNodeEngineImpl(instances[1]).getService(PNCounterService.SERVICE_NAME);
+        assertTrueEventually(() -> assertEquals(10, service1.getCounter("counter").get(null).getValue()));
+
+        // the second member loses the replicated state
+        service1.destroyDistributedObject("counter");
+        counter.addAndGet(5);
+
+        assertTrueEventually(() -> assertEquals(15, service1.getCounter("counter").get(null).getValue()));
+    }
+}
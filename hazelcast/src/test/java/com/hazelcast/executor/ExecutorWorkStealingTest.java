@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.monitor.impl.LocalExecutorStatsImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.EXECUTOR_WORK_STEALING_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.EXECUTOR_WORK_STEALING_INTERVAL_MILLIS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExecutorWorkStealingTest extends ExecutorServiceTestSupport {
+
+    private static final int TASK_COUNT = 20;
+
+    private static final ConcurrentMap<String, CountDownLatch> LATCHES = new ConcurrentHashMap<String, CountDownLatch>();
+    private static final ConcurrentMap<String, AtomicInteger> COUNTERS = new ConcurrentHashMap<String, AtomicInteger>();
+
+    @Test
+    public void queuedTasks_areExecutedByIdleMember() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance busy = factory.newHazelcastInstance(newConfig(1));
+        HazelcastInstance idle = factory.newHazelcastInstance(newConfig(1));
+        warmUpPartitions(busy, idle);
+        IExecutorService executorService = busy.getExecutorService(randomString());
+
+        // occupies the single thread of the busy member
+        String blockerLatch = newLatch();
+        Future<Member> blocker = executorService.submitToMember(new BlockingTask(blockerLatch, null),
+                busy.getCluster().getLocalMember());
+        List<Future<Member>> futures = new ArrayList<Future<Member>>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            futures.add(executorService.submit(new BlockingTask(null, null)));
+        }
+
+        try {
+            Member idleMember = idle.getCluster().getLocalMember();
+            for (Future<Member> future : futures) {
+                assertEquals(idleMember, future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+            }
+            LocalExecutorStatsImpl stats = (LocalExecutorStatsImpl) executorService.getLocalExecutorStats();
+            assertTrue(stats.getStolenTaskCount() > 0);
+            assertEquals(0, stats.getPendingTaskCount());
+        } finally {
+            release(blockerLatch);
+        }
+        assertEquals(busy.getCluster().getLocalMember(), blocker.get());
+    }
+
+    @Test
+    public void stolenTasks_areExecutedLocally_whenIdleMemberLeaves() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance busy = factory.newHazelcastInstance(newConfig(1));
+        // the tasks of the partitions owned by the thief block, so it needs spare threads to steal
+        HazelcastInstance thief = factory.newHazelcastInstance(newConfig(TASK_COUNT + 1));
+        warmUpPartitions(busy, thief);
+        final IExecutorService executorService = busy.getExecutorService(randomString());
+
+        String blockerLatch = newLatch();
+        Future<Member> blocker = executorService.submitToMember(new BlockingTask(blockerLatch, null),
+                busy.getCluster().getLocalMember());
+        String thiefLatch = newLatch();
+        String thiefUuid = thief.getCluster().getLocalMember().getUuid();
+        List<Future<Member>> futures = new ArrayList<Future<Member>>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            futures.add(executorService.submit(new BlockingTask(thiefLatch, thiefUuid)));
+        }
+
+        try {
+            assertTrueEventually(() -> {
+                LocalExecutorStatsImpl stats = (LocalExecutorStatsImpl) executorService.getLocalExecutorStats();
+                assertTrue(stats.getStolenTaskCount() > 0);
+            });
+            thief.getLifecycleService().terminate();
+            release(blockerLatch);
+
+            Member busyMember = busy.getCluster().getLocalMember();
+            for (Future<Member> future : futures) {
+                assertEquals(busyMember, future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+            }
+        } finally {
+            release(blockerLatch);
+            release(thiefLatch);
+        }
+        assertEquals(busy.getCluster().getLocalMember(), blocker.get());
+    }
+
+    @Test
+    public void cancelledQueuedTasks_areNotExecuted() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance busy = factory.newHazelcastInstance(newConfig(1));
+        HazelcastInstance idle = factory.newHazelcastInstance(newConfig(1));
+        warmUpPartitions(busy, idle);
+        String executorName = randomString();
+        IExecutorService executorService = busy.getExecutorService(executorName);
+
+        // occupies the single thread of both members, so the queued tasks are not stolen
+        String blockerLatch = newLatch();
+        Future<Member> blocker = executorService.submitToMember(new BlockingTask(blockerLatch, null),
+                busy.getCluster().getLocalMember());
+        Future<Member> idleBlocker = executorService.submitToMember(new BlockingTask(blockerLatch, null),
+                idle.getCluster().getLocalMember());
+        String executedCounter = randomString();
+        COUNTERS.put(executedCounter, new AtomicInteger());
+        List<Future<Member>> futures = new ArrayList<Future<Member>>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            futures.add(executorService.submit(new CountingTask(executedCounter)));
+        }
+
+        try {
+            for (Future<Member> future : futures) {
+                assertTrue(future.cancel(false));
+            }
+        } finally {
+            release(blockerLatch);
+        }
+        blocker.get();
+        idleBlocker.get();
+        assertTrueAllTheTime(() -> assertEquals(0, COUNTERS.get(executedCounter).get()), 1);
+        LocalExecutorStatsImpl busyStats = (LocalExecutorStatsImpl) executorService.getLocalExecutorStats();
+        LocalExecutorStatsImpl idleStats = (LocalExecutorStatsImpl) idle.getExecutorService(executorName).getLocalExecutorStats();
+        assertEquals(TASK_COUNT, busyStats.getCancelledTaskCount() + idleStats.getCancelledTaskCount());
+        assertEquals(0, busyStats.getPendingTaskCount() + idleStats.getPendingTaskCount());
+    }
+
+    @Test
+    public void stolenTasks_cannotBeCancelled() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance busy = factory.newHazelcastInstance(newConfig(1));
+        HazelcastInstance thief = factory.newHazelcastInstance(newConfig(TASK_COUNT + 1));
+        warmUpPartitions(busy, thief);
+        final IExecutorService executorService = busy.getExecutorService(randomString());
+
+        String blockerLatch = newLatch();
+        Future<Member> blocker = executorService.submitToMember(new BlockingTask(blockerLatch, null),
+                busy.getCluster().getLocalMember());
+        String thiefLatch = newLatch();
+        String thiefUuid = thief.getCluster().getLocalMember().getUuid();
+        List<Future<Member>> futures = new ArrayList<Future<Member>>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            futures.add(executorService.submit(new BlockingTask(thiefLatch, thiefUuid)));
+        }
+
+        // the future of a stolen task is completed with a cancellation exception, but the task still runs on the thief
+        List<Future<Member>> notCancelled = new ArrayList<Future<Member>>();
+        try {
+            assertTrueEventually(() -> {
+                LocalExecutorStatsImpl stats = (LocalExecutorStatsImpl) executorService.getLocalExecutorStats();
+                assertTrue(stats.getStolenTaskCount() > 0);
+            });
+            for (Future<Member> future : futures) {
+                if (!future.cancel(false)) {
+                    notCancelled.add(future);
+                }
+            }
+        } finally {
+            release(thiefLatch);
+            release(blockerLatch);
+        }
+        assertFalse(notCancelled.isEmpty());
+        LocalExecutorStatsImpl busyStats = (LocalExecutorStatsImpl) executorService.getLocalExecutorStats();
+        LocalExecutorStatsImpl thiefStats = (LocalExecutorStatsImpl) thief.getExecutorService(executorService.getName())
+                .getLocalExecutorStats();
+        assertEquals(TASK_COUNT - notCancelled.size(), busyStats.getCancelledTaskCount() + thiefStats.getCancelledTaskCount());
+        assertEquals(notCancelled.size(), busyStats.getStolenTaskCount());
+        assertEquals(busy.getCluster().getLocalMember(), blocker.get());
+    }
+
+    private static Config newConfig(int poolSize) {
+        Config config = new Config()
+                .setProperty(EXECUTOR_WORK_STEALING_ENABLED.getName(), "true")
+                .setProperty(EXECUTOR_WORK_STEALING_INTERVAL_MILLIS.getName(), "10");
+        config.getExecutorConfig("default").setPoolSize(poolSize);
+        return config;
+    }
+
+    private static String newLatch() {
+        String latchName = randomString();
+        LATCHES.put(latchName, new CountDownLatch(1));
+        return latchName;
+    }
+
+    private static void release(String latchName) {
+        LATCHES.get(latchName).countDown();
+    }
+
+    /**
+     * Returns the member executing the task. When a latch is given, the task
+     * doesn't complete until the latch is released, either on any member or
+     * only on the member with the given UUID.
+     */
+    private static class BlockingTask implements Callable<Member>, Serializable, HazelcastInstanceAware {
+
+        private final String latchName;
+        private final String blockedMemberUuid;
+        private transient HazelcastInstance instance;
+
+        BlockingTask(String latchName, String blockedMemberUuid) {
+            this.latchName = latchName;
+            this.blockedMemberUuid = blockedMemberUuid;
+        }
+
+        @Override
+        public Member call() {
+            Member localMember = instance.getCluster().getLocalMember();
+            if (latchName != null && (blockedMemberUuid == null || blockedMemberUuid.equals(localMember.getUuid()))) {
+                awaitUninterruptibly(LATCHES.get(latchName));
+            }
+            return localMember;
+        }
+
+        @Override
+        public void setHazelcastInstance(HazelcastInstance instance) {
+            this.instance = instance;
+        }
+
+        private static void awaitUninterruptibly(CountDownLatch latch) {
+            for (; ; ) {
+                try {
+                    latch.await();
+                    return;
+                } catch (InterruptedException ignored) {
+                    // a terminated member interrupts its threads, the task should not complete there
+                }
+            }
+        }
+    }
+
+    private static class CountingTask implements Callable<Member>, Serializable, HazelcastInstanceAware {
+
+        private final String counterName;
+        private transient HazelcastInstance instance;
+
+        CountingTask(String counterName) {
+            this.counterName = counterName;
+        }
+
+        @Override
+        public Member call() {
+            COUNTERS.get(counterName).incrementAndGet();
+            return instance.getCluster().getLocalMember();
+        }
+
+        @Override
+        public void setHazelcastInstance(HazelcastInstance instance) {
+            this.instance = instance;
+        }
+    }
+}
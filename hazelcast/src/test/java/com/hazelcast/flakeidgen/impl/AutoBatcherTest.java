@@ -23,7 +23,13 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import static com.hazelcast.flakeidgen.impl.FlakeIdConcurrencyTestUtil.IDS_IN_THREAD;
@@ -78,4 +84,123 @@ public class AutoBatcherTest {
             assertTrue("Missing ID: " + i, ids.contains((long) i));
         }
     }
+
+    @Test
+    public void when_prefetchExecutor_then_nextBatchFetchedBeforeSpent() {
+        AutoBatcher prefetchingBatcher = new AutoBatcher(8, VALIDITY, new SequentialIdBatchSupplier(), Runnable::run, false);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, prefetchingBatcher.newId());
+        }
+        assertEquals(1, prefetchingBatcher.getBatchFetchCount());
+
+        // the 7th ID triggers the prefetch
+        assertEquals(6, prefetchingBatcher.newId());
+        assertEquals(2, prefetchingBatcher.getBatchFetchCount());
+
+        for (int i = 7; i < 32; i++) {
+            assertEquals(i, prefetchingBatcher.newId());
+        }
+        // only the first batch was waited for
+        assertEquals(1, prefetchingBatcher.getStallCount());
+        assertEquals(5, prefetchingBatcher.getBatchFetchCount());
+    }
+
+    @Test
+    public void when_noPrefetchExecutor_then_everyBatchWaitedFor() {
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, batcher.newId());
+        }
+
+        assertEquals(3, batcher.getStallCount());
+        assertEquals(3, batcher.getBatchFetchCount());
+    }
+
+    @Test
+    public void when_prefetchRejected_then_fetchedSynchronously() {
+        AutoBatcher prefetchingBatcher = new AutoBatcher(4, VALIDITY, new SequentialIdBatchSupplier(), command -> {
+            throw new RejectedExecutionException();
+        }, false);
+
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, prefetchingBatcher.newId());
+        }
+        assertEquals(3, prefetchingBatcher.getStallCount());
+    }
+
+    @Test
+    public void when_prefetchFails_then_fetchedSynchronously() {
+        AtomicInteger calls = new AtomicInteger();
+        SequentialIdBatchSupplier supplier = new SequentialIdBatchSupplier();
+        AutoBatcher prefetchingBatcher = new AutoBatcher(4, VALIDITY, batchSize -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("expected");
+            }
+            return supplier.newIdBatch(batchSize);
+        }, Runnable::run, false);
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, prefetchingBatcher.newId());
+        }
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void when_prefetchedBatchExpired_then_fetchNew() throws Exception {
+        AutoBatcher prefetchingBatcher = new AutoBatcher(4, 1000, new SequentialIdBatchSupplier(), Runnable::run, false);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, prefetchingBatcher.newId());
+        }
+
+        Thread.sleep(1000);
+
+        // both the current and the prefetched batch expired
+        assertEquals(8, prefetchingBatcher.newId());
+    }
+
+    @Test
+    public void when_adaptive_then_batchSizeGrowsWhenConsumedQuickly() {
+        AutoBatcher adaptiveBatcher = new AutoBatcher(10, VALIDITY, new SequentialIdBatchSupplier(), Runnable::run, true);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(adaptiveBatcher.newId()));
+        }
+
+        assertTrue("batchSize=" + adaptiveBatcher.getCurrentBatchSize(), adaptiveBatcher.getCurrentBatchSize() > 10);
+        assertTrue(adaptiveBatcher.getBatchFetchCount() < 1000 / 10);
+    }
+
+    @Test
+    public void when_notAdaptive_then_batchSizeConstant() {
+        AutoBatcher prefetchingBatcher = new AutoBatcher(10, VALIDITY, new SequentialIdBatchSupplier(), Runnable::run, false);
+
+        for (int i = 0; i < 1000; i++) {
+            prefetchingBatcher.newId();
+        }
+
+        assertEquals(10, prefetchingBatcher.getCurrentBatchSize());
+    }
+
+    @Test
+    public void concurrencySmokeTest_withPrefetch() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AutoBatcher prefetchingBatcher = new AutoBatcher(3, VALIDITY, new SequentialIdBatchSupplier(), executor, true);
+            Set<Long> ids = FlakeIdConcurrencyTestUtil.concurrentlyGenerateIds(prefetchingBatcher::newId);
+            assertEquals(NUM_THREADS * IDS_IN_THREAD, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class SequentialIdBatchSupplier implements AutoBatcher.IdBatchSupplier {
+
+        private final AtomicLong base = new AtomicLong();
+
+        @Override
+        public IdBatch newIdBatch(int batchSize) {
+            return new IdBatch(base.getAndAdd(batchSize), 1, batchSize);
+        }
+    }
 }
@@ -18,6 +18,7 @@ package com.hazelcast.flakeidgen.impl;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.monitor.LocalFlakeIdGeneratorStats;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -86,4 +87,19 @@ public class FlakeIdGenerator_MemberIntegrationTest extends HazelcastTestSupport
         assertEquals(1L, genStats.getBatchCount());
         assertTrue(genStats.getIdCount() > 0);
     }
+
+    @Test
+    public void metrics() {
+        HazelcastInstance instance = factory.newHazelcastInstance();
+
+        FlakeIdGenerator gen = instance.getFlakeIdGenerator("gen");
+        gen.newId();
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(instance).getMetricsRegistry();
+        assertEquals(1, metricsRegistry.newLongGauge("flakeIdGenerator[gen].batchFetchCount").read());
+        assertEquals(1, metricsRegistry.newLongGauge("flakeIdGenerator[gen].stallCount").read());
+
+        gen.destroy();
+        assertEquals(0, metricsRegistry.newLongGauge("flakeIdGenerator[gen].batchFetchCount").read());
+    }
 }
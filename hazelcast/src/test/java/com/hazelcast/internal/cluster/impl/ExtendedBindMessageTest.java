@@ -66,6 +66,27 @@ public class ExtendedBindMessageTest {
         assertTrue(deserialized.isReply());
     }
 
+    @Test
+    public void testSerialization_withStripeIndex() throws Exception {
+        bindMessage = new ExtendedBindMessage(ExtendedBindMessage.STRIPED_SCHEMA_VERSION, localAddresses(),
+                targetAddress, false, 3);
+        Data serialized = serializationService.toData(bindMessage);
+        ExtendedBindMessage deserialized = serializationService.toObject(serialized);
+        assertEquals(ExtendedBindMessage.STRIPED_SCHEMA_VERSION, deserialized.getSchemaVersion());
+        assertEquals(localAddresses(), deserialized.getLocalAddresses());
+        assertEquals(targetAddress, deserialized.getTargetAddress());
+        assertFalse(deserialized.isReply());
+        assertEquals(3, deserialized.getStripeIndex());
+    }
+
+    @Test
+    public void testSerialization_withoutStripeIndex_whenSchemaVersion1() throws Exception {
+        bindMessage = new ExtendedBindMessage((byte) 1, localAddresses(), targetAddress, false, 3);
+        Data serialized = serializationService.toData(bindMessage);
+        ExtendedBindMessage deserialized = serializationService.toObject(serialized);
+        assertEquals(0, deserialized.getStripeIndex());
+    }
+
     @Test
     public void testSerialization_whenBindMessageEmpty() {
         bindMessage = new ExtendedBindMessage();
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class UnsafeMemoryManagerTest {
+
+    private static final int CAPACITY = 1024;
+
+    private UnsafeMemoryManager memoryManager;
+    private MemoryAllocator malloc;
+    private MemoryAccessor mem;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UNSAFE_AVAILABLE);
+        memoryManager = new UnsafeMemoryManager(CAPACITY);
+        malloc = memoryManager.getAllocator();
+        mem = memoryManager.getAccessor();
+    }
+
+    @After
+    public void tearDown() {
+        if (memoryManager != null) {
+            memoryManager.dispose();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroCapacity() {
+        new UnsafeMemoryManager(0);
+    }
+
+    @Test
+    public void testAllocate_zeroesMemoryAndTracksUsedMemory() {
+        long address = malloc.allocate(16);
+
+        assertNotEquals(NULL_ADDRESS, address);
+        assertEquals(0, mem.getLong(address));
+        assertEquals(0, mem.getLong(address + 8));
+        assertEquals(16, memoryManager.getUsedMemory());
+
+        malloc.free(address, 16);
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testAllocate_whenCapacityExceeded_thenThrowNativeOutOfMemoryError() {
+        long address = malloc.allocate(CAPACITY);
+        try {
+            malloc.allocate(1);
+            fail("NativeOutOfMemoryError expected");
+        } catch (NativeOutOfMemoryError expected) {
+            assertEquals(CAPACITY, memoryManager.getUsedMemory());
+        } finally {
+            malloc.free(address, CAPACITY);
+        }
+    }
+
+    @Test
+    public void testReallocate_keepsContentAndZeroesExtension() {
+        long address = malloc.allocate(8);
+        mem.putLong(address, 42);
+
+        address = malloc.reallocate(address, 8, 16);
+
+        assertEquals(42, mem.getLong(address));
+        assertEquals(0, mem.getLong(address + 8));
+        assertEquals(16, memoryManager.getUsedMemory());
+
+        address = malloc.reallocate(address, 16, 8);
+        assertEquals(42, mem.getLong(address));
+        assertEquals(8, memoryManager.getUsedMemory());
+
+        malloc.free(address, 8);
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testCopyByteArray() {
+        byte[] source = {1, 2, 3, 4, 5};
+        long address = malloc.allocate(source.length);
+        mem.copyFromByteArray(source, 0, address, source.length);
+
+        byte[] target = new byte[source.length];
+        mem.copyToByteArray(address, target, 0, target.length);
+        malloc.free(address, source.length);
+
+        for (int i = 0; i < source.length; i++) {
+            assertEquals(source[i], target[i]);
+        }
+    }
+}
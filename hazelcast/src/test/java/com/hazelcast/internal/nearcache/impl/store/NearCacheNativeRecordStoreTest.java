@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheNativeRecordStoreTest {
+
+    private static final int CAPACITY = 64 * 1024;
+    private static final int VALUE_LENGTH = 1000;
+
+    private SerializationService serializationService;
+    private UnsafeMemoryManager memoryManager;
+    private NearCacheNativeRecordStore<Data, String> store;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UNSAFE_AVAILABLE);
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new UnsafeMemoryManager(CAPACITY);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+            assertEquals(0, memoryManager.getUsedMemory());
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        String value = newValue(1);
+
+        put(1, value);
+
+        assertEquals(value, store.get(key(1)));
+        assertEquals(nativeSize(value), memoryManager.getUsedMemory());
+        assertEquals(1, store.size());
+        assertEquals(1, store.getNearCacheStats().getOwnedEntryCount());
+        assertTrue(store.getNearCacheStats().getOwnedEntryMemoryCost() > nativeSize(value));
+    }
+
+    @Test
+    public void testPut_withNullValue() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+
+        put(1, null);
+
+        assertEquals(CACHED_AS_NULL, store.get(key(1)));
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testPut_whenKeyExists_thenOldValueIsFreed() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        String value = newValue(2);
+
+        put(1, newValue(1) + newValue(1));
+        put(1, value);
+
+        assertEquals(value, store.get(key(1)));
+        assertEquals(nativeSize(value), memoryManager.getUsedMemory());
+        assertEquals(1, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testInvalidate_freesMemory() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        put(1, newValue(1));
+        NearCacheNativeRecord record = store.getRecord(key(1));
+
+        store.invalidate(key(1));
+
+        assertNull(store.get(key(1)));
+        assertTrue(record.isFreed());
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryCount());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryMemoryCost());
+        assertEquals(1, store.getNearCacheStats().getInvalidations());
+    }
+
+    @Test
+    public void testClear_freesMemory() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        for (int i = 0; i < 10; i++) {
+            put(i, newValue(i));
+        }
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(10, store.getNearCacheStats().getInvalidations());
+    }
+
+    @Test
+    public void testGet_whenRecordIsFreedConcurrently_thenMiss() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        put(1, newValue(1));
+
+        store.getRecord(key(1)).free();
+
+        assertNull(store.get(key(1)));
+    }
+
+    @Test
+    public void testEviction_withEntryCountPolicy() {
+        int maxSize = 10;
+        createStore(MaxSizePolicy.ENTRY_COUNT, maxSize);
+
+        for (int i = 0; i < 50; i++) {
+            store.doEviction(false);
+            put(i, newValue(i));
+        }
+
+        assertTrue("size: " + store.size(), store.size() <= maxSize);
+        assertEquals(store.size() * nativeSize(newValue(0)), memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testEviction_withUsedNativeMemoryPercentagePolicy() {
+        createStore(MaxSizePolicy.USED_NATIVE_MEMORY_PERCENTAGE, 50);
+
+        for (int i = 0; i < 200; i++) {
+            store.doEviction(false);
+            put(i, newValue(i));
+        }
+
+        assertTrue("used memory: " + memoryManager.getUsedMemory(),
+                memoryManager.getUsedMemory() <= CAPACITY / 2 + nativeSize(newValue(0)));
+        assertTrue(store.getNearCacheStats().getEvictions() > 0);
+    }
+
+    @Test
+    public void testPut_whenNativeMemoryIsExhausted_thenEntriesAreEvicted() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 200; i++) {
+            put(i, newValue(i));
+        }
+
+        assertTrue(memoryManager.getUsedMemory() <= CAPACITY);
+        assertEquals(newValue(199), store.get(key(199)));
+        assertTrue(store.getNearCacheStats().getEvictions() > 0);
+    }
+
+    @Test
+    public void testReserveAndPublish() {
+        createStore(MaxSizePolicy.ENTRY_COUNT, 100);
+        String value = newValue(1);
+
+        long reservationId = store.tryReserveForUpdate(key(1), key(1));
+        assertNotEquals(NOT_RESERVED, reservationId);
+        assertEquals(0, memoryManager.getUsedMemory());
+
+        assertEquals(value, store.tryPublishReserved(key(1), value, reservationId, true));
+        assertEquals(value, store.get(key(1)));
+        assertEquals(nativeSize(value), memoryManager.getUsedMemory());
+    }
+
+    private void createStore(MaxSizePolicy maxSizePolicy, int size) {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaximumSizePolicy(maxSizePolicy)
+                .setSize(size);
+        NearCacheConfig config = new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.NATIVE)
+                .setEvictionConfig(evictionConfig);
+
+        store = new NearCacheNativeRecordStore<Data, String>("name", config, serializationService,
+                getClass().getClassLoader(), memoryManager);
+        store.initialize();
+    }
+
+    private void put(int key, String value) {
+        store.put(key(key), key(key), value, null);
+    }
+
+    private Data key(int key) {
+        return serializationService.toData(key);
+    }
+
+    private int nativeSize(String value) {
+        return serializationService.toData(value).totalSize();
+    }
+
+    private static String newValue(int i) {
+        StringBuilder sb = new StringBuilder(VALUE_LENGTH);
+        sb.append(i);
+        while (sb.length() < VALUE_LENGTH) {
+            sb.append('x');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertUtilityConstructor;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DirectBufferCleanerTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testConstructor() {
+        assertUtilityConstructor(DirectBufferCleaner.class);
+    }
+
+    @Test
+    public void clean_whenDirectBuffer() {
+        assertTrue(DirectBufferCleaner.clean(ByteBuffer.allocateDirect(1024)));
+    }
+
+    @Test
+    public void clean_whenMappedBuffer() throws Exception {
+        File file = tempFolder.newFile();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 1024);
+            buffer.putInt(0, 1);
+
+            assertTrue(DirectBufferCleaner.clean(buffer));
+        } finally {
+            raf.close();
+        }
+        assertTrue(file.delete());
+    }
+
+    @Test
+    public void clean_whenHeapBuffer() {
+        assertFalse(DirectBufferCleaner.clean(ByteBuffer.allocate(1024)));
+    }
+
+    @Test
+    public void clean_whenNull() {
+        assertFalse(DirectBufferCleaner.clean(null));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MerkleTreeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.PacketFiltersUtil.dropOperationsBetween;
+import static com.hazelcast.test.PacketFiltersUtil.resetPacketFiltersFrom;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapMerkleTreeAntiEntropyTest extends HazelcastTestSupport {
+
+    private static final int MERKLE_TREE_DEPTH = 8;
+    private static final int ENTRY_COUNT = 1000;
+    private static final int CHANGE_COUNT = 10;
+
+    private String mapName;
+    private HazelcastInstance primary;
+    private HazelcastInstance backup;
+
+    @Before
+    public void setup() {
+        mapName = randomMapName();
+        Config config = getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .setProperty(GroupProperty.PARTITION_BACKUP_SYNC_INTERVAL.getName(), "1");
+        // async backups, so the puts don't wait for the dropped backups
+        config.getMapConfig(mapName)
+              .setBackupCount(0)
+              .setAsyncBackupCount(1)
+              .setMerkleTreeConfig(new MerkleTreeConfig().setEnabled(true).setDepth(MERKLE_TREE_DEPTH));
+
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+        if (getPartitionService(instances[0]).getPartition(0).isLocal()) {
+            primary = instances[0];
+            backup = instances[1];
+        } else {
+            primary = instances[1];
+            backup = instances[0];
+        }
+    }
+
+    @Test
+    public void testMerkleTreesOfReplicas_whenInSync() {
+        IMap<Integer, Integer> map = primary.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < CHANGE_COUNT; i++) {
+            map.put(i, -i);
+            map.remove(CHANGE_COUNT + i);
+        }
+
+        assertReplicasInSyncEventually();
+        assertTrueEventually(() -> assertEquals(getRecordStore(primary).getMerkleTree().getNodeHash(0),
+                getRecordStore(backup).getMerkleTree().getNodeHash(0)));
+    }
+
+    @Test
+    public void testAntiEntropy_replicatesOnlyDifferingLeaves() {
+        IMap<Integer, Integer> map = primary.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        assertReplicasInSyncEventually();
+        Map<Data, Record> backupRecordsBefore = getRecords(getRecordStore(backup));
+
+        dropOperationsBetween(primary, backup, SpiDataSerializerHook.F_ID, singletonList(SpiDataSerializerHook.BACKUP));
+        Set<Integer> changedKeys = new HashSet<>();
+        for (int i = 0; i < CHANGE_COUNT; i++) {
+            map.put(i, -i);
+            map.remove(CHANGE_COUNT + i);
+            map.put(ENTRY_COUNT + i, i);
+            changedKeys.add(i);
+            changedKeys.add(CHANGE_COUNT + i);
+            changedKeys.add(ENTRY_COUNT + i);
+        }
+        resetPacketFiltersFrom(primary);
+
+        assertReplicasInSyncEventually();
+
+        SerializationService serializationService = getSerializationService(primary);
+        Set<Integer> changedLeaves = new HashSet<>();
+        for (Integer key : changedKeys) {
+            changedLeaves.add(getLeafOrder(serializationService.toData(key)));
+        }
+        RecordStore backupRecordStore = getRecordStore(backup);
+        int untouchedRecords = 0;
+        for (Map.Entry<Data, Record> entry : backupRecordsBefore.entrySet()) {
+            if (!changedLeaves.contains(getLeafOrder(entry.getKey()))) {
+                assertSame(entry.getValue(), backupRecordStore.getRecord(entry.getKey()));
+                untouchedRecords++;
+            }
+        }
+        assertTrue("No record found in the leaves which were not changed", untouchedRecords > 0);
+    }
+
+    private void assertReplicasInSyncEventually() {
+        assertTrueEventually(() -> {
+            Map<Data, Record> primaryRecords = getRecords(getRecordStore(primary));
+            Map<Data, Record> backupRecords = getRecords(getRecordStore(backup));
+            assertEquals(primaryRecords.size(), backupRecords.size());
+            for (Map.Entry<Data, Record> entry : primaryRecords.entrySet()) {
+                Record backupRecord = backupRecords.get(entry.getKey());
+                assertEquals(entry.getValue().getValue(), backupRecord == null ? null : backupRecord.getValue());
+            }
+        });
+    }
+
+    private RecordStore getRecordStore(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getPartitionContainer(0).getExistingRecordStore(mapName);
+    }
+
+    private static Map<Data, Record> getRecords(RecordStore recordStore) {
+        Map<Data, Record> records = new HashMap<>();
+        Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            records.put(record.getKey(), record);
+        }
+        return records;
+    }
+
+    private static int getLeafOrder(Data key) {
+        return MerkleTreeUtil.getLeafOrderForHash(key.hashCode(), MERKLE_TREE_DEPTH - 1);
+    }
+}
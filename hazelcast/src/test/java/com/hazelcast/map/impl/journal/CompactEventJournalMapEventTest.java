@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.journal.CompactEventJournalMapEvent.COMPRESSION_DISABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactEventJournalMapEventTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void testPackAndUnpack() {
+        Data key = serializationService.toData("key");
+        Data newValue = serializationService.toData("newValue");
+        Data oldValue = serializationService.toData(42);
+
+        CompactEventJournalMapEvent event
+                = CompactEventJournalMapEvent.pack(key, newValue, oldValue, UPDATED.getType(), COMPRESSION_DISABLED);
+
+        assertFalse(event.isCompressed());
+        assertUnpacked(event.unpack(), key, newValue, oldValue, UPDATED.getType());
+        assertEquals(key, event.getDataKey());
+        assertEquals(newValue, event.getDataNewValue());
+        assertEquals(oldValue, event.getDataOldValue());
+    }
+
+    @Test
+    public void testPackAndUnpack_withNullValues() {
+        Data key = serializationService.toData("key");
+        Data value = serializationService.toData("value");
+
+        CompactEventJournalMapEvent added = CompactEventJournalMapEvent.pack(key, value, null, ADDED.getType(), 0);
+        CompactEventJournalMapEvent removed = CompactEventJournalMapEvent.pack(key, null, value, REMOVED.getType(), 0);
+
+        assertUnpacked(added.unpack(), key, value, null, ADDED.getType());
+        assertUnpacked(removed.unpack(), key, null, value, REMOVED.getType());
+    }
+
+    @Test
+    public void testPack_sharesValueHeader() {
+        Data key = serializationService.toData("key");
+        Data newValue = serializationService.toData("newValue");
+        Data oldValue = serializationService.toData("oldValue");
+
+        CompactEventJournalMapEvent shared
+                = CompactEventJournalMapEvent.pack(key, newValue, oldValue, UPDATED.getType(), COMPRESSION_DISABLED);
+        CompactEventJournalMapEvent notShared = CompactEventJournalMapEvent.pack(key, newValue,
+                serializationService.toData(12345678L), UPDATED.getType(), COMPRESSION_DISABLED);
+
+        int separateSize = key.totalSize() + newValue.totalSize() + oldValue.totalSize();
+        assertTrue(shared.getPackedSize() < separateSize);
+        assertUnpacked(shared.unpack(), key, newValue, oldValue, UPDATED.getType());
+        assertEquals(serializationService.toData(12345678L), notShared.unpack().getDataOldValue());
+    }
+
+    @Test
+    public void testPack_compressesLargeValues() {
+        Data key = serializationService.toData("key");
+        Data newValue = serializationService.toData(repeat("newValue", 100));
+        Data oldValue = serializationService.toData(repeat("oldValue", 100));
+
+        CompactEventJournalMapEvent event = CompactEventJournalMapEvent.pack(key, newValue, oldValue, UPDATED.getType(), 100);
+
+        assertTrue(event.isCompressed());
+        assertTrue(event.getPackedSize() < newValue.totalSize() / 4);
+        assertUnpacked(event.unpack(), key, newValue, oldValue, UPDATED.getType());
+    }
+
+    @Test
+    public void testPack_doesNotCompressBelowThreshold() {
+        Data key = serializationService.toData("key");
+        Data value = serializationService.toData(repeat("value", 100));
+
+        CompactEventJournalMapEvent event = CompactEventJournalMapEvent.pack(key, value, null, ADDED.getType(), 10000);
+
+        assertFalse(event.isCompressed());
+        assertUnpacked(event.unpack(), key, value, null, ADDED.getType());
+    }
+
+    @Test
+    public void testPack_doesNotCompress_whenNotSmaller() {
+        Data key = serializationService.toData(randomBytes());
+
+        CompactEventJournalMapEvent event = CompactEventJournalMapEvent.pack(key, null, null, REMOVED.getType(), 0);
+
+        assertFalse(event.isCompressed());
+        assertUnpacked(event.unpack(), key, null, null, REMOVED.getType());
+    }
+
+    @Test
+    public void testSerialization() {
+        Data key = serializationService.toData("key");
+        Data newValue = serializationService.toData(repeat("newValue", 100));
+        Data oldValue = serializationService.toData(repeat("oldValue", 100));
+        CompactEventJournalMapEvent event = CompactEventJournalMapEvent.pack(key, newValue, oldValue, UPDATED.getType(), 0);
+
+        CompactEventJournalMapEvent deserialized = serializationService.toObject(serializationService.toData(event));
+
+        assertEquals(event, deserialized);
+        assertEquals(event.hashCode(), deserialized.hashCode());
+        assertUnpacked(deserialized.unpack(), key, newValue, oldValue, UPDATED.getType());
+    }
+
+    private static void assertUnpacked(InternalEventJournalMapEvent event, Data key, Data newValue, Data oldValue,
+                                       int eventType) {
+        assertEquals(key, event.getDataKey());
+        if (newValue == null) {
+            assertNull(event.getDataNewValue());
+        } else {
+            assertEquals(newValue, event.getDataNewValue());
+        }
+        if (oldValue == null) {
+            assertNull(event.getDataOldValue());
+        } else {
+            assertEquals(oldValue, event.getDataOldValue());
+        }
+        assertEquals(eventType, event.getEventType());
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[256];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
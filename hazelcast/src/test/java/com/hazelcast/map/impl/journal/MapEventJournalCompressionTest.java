@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapEventJournalCompressionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 50;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(GroupProperty.EVENT_JOURNAL_COMPRESSION_THRESHOLD_BYTES.getName(), "64");
+        config.getMapConfig("default")
+              .setEventJournalConfig(new EventJournalConfig().setEnabled(true));
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void testEventsReadable_whenCompressed() throws Exception {
+        MapProxyImpl<Integer, String> map = (MapProxyImpl<Integer, String>) instance.<Integer, String>getMap(randomMapName());
+        int partitionId = instance.getPartitionService().getPartition(1).getPartitionId();
+        map.put(1, value(0));
+        for (int i = 1; i < ENTRY_COUNT; i++) {
+            map.put(1, value(i));
+        }
+        map.put(2, "small");
+        map.remove(1);
+
+        List<EventJournalMapEvent<Integer, String>> events = readAll(map, partitionId);
+
+        assertEquals(ENTRY_COUNT + 1, events.size());
+        assertEquals(EntryEventType.ADDED, events.get(0).getType());
+        assertNull(events.get(0).getOldValue());
+        assertEquals(value(0), events.get(0).getNewValue());
+        for (int i = 1; i < ENTRY_COUNT; i++) {
+            EventJournalMapEvent<Integer, String> event = events.get(i);
+            assertEquals(EntryEventType.UPDATED, event.getType());
+            assertEquals(1, (int) event.getKey());
+            assertEquals(value(i - 1), event.getOldValue());
+            assertEquals(value(i), event.getNewValue());
+        }
+        EventJournalMapEvent<Integer, String> removed = events.get(ENTRY_COUNT);
+        assertEquals(EntryEventType.REMOVED, removed.getType());
+        assertEquals(value(ENTRY_COUNT - 1), removed.getOldValue());
+        assertNull(removed.getNewValue());
+    }
+
+    @Test
+    public void testEventsFilteredAndProjected_whenCompressed() throws Exception {
+        MapProxyImpl<Integer, String> map = (MapProxyImpl<Integer, String>) instance.<Integer, String>getMap(randomMapName());
+        int partitionId = instance.getPartitionService().getPartition(1).getPartitionId();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(1, value(i));
+        }
+
+        ReadResultSet<String> resultSet = map.<String>readFromEventJournal(0, 1, ENTRY_COUNT, partitionId,
+                e -> e.getType() == EntryEventType.UPDATED, EventJournalMapEvent::getNewValue).get();
+
+        assertEquals(ENTRY_COUNT - 1, resultSet.size());
+        for (int i = 0; i < resultSet.size(); i++) {
+            assertEquals(value(i + 1), resultSet.get(i));
+        }
+    }
+
+    private static List<EventJournalMapEvent<Integer, String>> readAll(MapProxyImpl<Integer, String> map, int partitionId)
+            throws Exception {
+        long newest = map.subscribeToEventJournal(partitionId).get().getNewestSequence();
+        List<EventJournalMapEvent<Integer, String>> events = new ArrayList<>();
+        long sequence = 0;
+        while (sequence <= newest) {
+            ReadResultSet<EventJournalMapEvent<Integer, String>> resultSet = map.<EventJournalMapEvent<Integer, String>>
+                    readFromEventJournal(sequence, 1, 100, partitionId, e -> e.getKey() == 1, null).get();
+            for (EventJournalMapEvent<Integer, String> event : resultSet) {
+                events.add(event);
+            }
+            sequence = resultSet.getNextSequenceToReadFrom();
+        }
+        return events;
+    }
+
+    private static String value(int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < 20; j++) {
+            sb.append("value-").append(i);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.journal.EventJournalInitialSubscriberState;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapEventJournalOverflowTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 10;
+    private static final int EVENT_COUNT = 500;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .setProperty(GroupProperty.EVENT_JOURNAL_OVERFLOW_DIR.getName(), tempFolder.getRoot().getAbsolutePath());
+        config.getMapConfig("overflow*")
+              .setEventJournalConfig(new EventJournalConfig()
+                      .setEnabled(true)
+                      .setCapacity(CAPACITY)
+                      .setOverflowMaxSizeMb(1));
+        config.getMapConfig("default")
+              .setEventJournalConfig(new EventJournalConfig()
+                      .setEnabled(true)
+                      .setCapacity(CAPACITY));
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void testOverwrittenEvents_readableFromOverflow() throws Exception {
+        MapProxyImpl<Integer, Integer> map = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap("overflow");
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        EventJournalInitialSubscriberState state = map.subscribeToEventJournal(0).get();
+        assertEquals(0, state.getOldestSequence());
+        assertEquals(EVENT_COUNT - 1, state.getNewestSequence());
+
+        int read = 0;
+        long sequence = 0;
+        while (read < EVENT_COUNT) {
+            ReadResultSet<EventJournalMapEvent<Integer, Integer>> resultSet
+                    = map.<EventJournalMapEvent<Integer, Integer>>readFromEventJournal(sequence, 1, 100, 0, null, null).get();
+            for (EventJournalMapEvent<Integer, Integer> event : resultSet) {
+                assertEquals(read, (int) event.getKey());
+                assertEquals(read, (int) event.getNewValue());
+                read++;
+            }
+            sequence = resultSet.getNextSequenceToReadFrom();
+        }
+        assertEquals(EVENT_COUNT, sequence);
+    }
+
+    @Test
+    public void testOverflowDisabled_overwrittenEventsLost() throws Exception {
+        MapProxyImpl<Integer, Integer> map = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(randomMapName());
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        EventJournalInitialSubscriberState state = map.subscribeToEventJournal(0).get();
+        assertEquals(EVENT_COUNT - CAPACITY, state.getOldestSequence());
+    }
+
+    @Test
+    public void testShutdown_removesOverflowDirectory() {
+        MapProxyImpl<Integer, Integer> map = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap("overflow");
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.put(i, i);
+        }
+        assertTrue(tempFolder.getRoot().listFiles().length > 0);
+
+        instance.shutdown();
+
+        File[] files = tempFolder.getRoot().listFiles();
+        assertFalse(files != null && files.length > 0);
+    }
+}
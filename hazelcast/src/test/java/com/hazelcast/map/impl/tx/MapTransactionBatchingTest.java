@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.test.backup.BackupAccessor;
+import com.hazelcast.transaction.TransactionContext;
+import com.hazelcast.transaction.TransactionException;
+import com.hazelcast.transaction.TransactionOptions;
+import com.hazelcast.transaction.TransactionalMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.backup.TestBackupUtils.assertBackupEntryEqualsEventually;
+import static com.hazelcast.test.backup.TestBackupUtils.assertBackupEntryNullEventually;
+import static com.hazelcast.test.backup.TestBackupUtils.newMapAccessor;
+import static com.hazelcast.transaction.TransactionOptions.TransactionType.TWO_PHASE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapTransactionBatchingTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 10;
+
+    private String mapName;
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setUp() {
+        mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).setBackupCount(1);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        local = instances[0];
+        remote = instances[1];
+        warmUpPartitions(instances);
+    }
+
+    @Test
+    public void testCommit_whenKeysOfSinglePartition() {
+        String[] keys = generateKeysBelongingToSamePartitionsOwnedBy(remote, KEY_COUNT);
+        IMap<String, String> map = local.getMap(mapName);
+        map.put(keys[0], "old");
+
+        TransactionContext context = newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap(mapName);
+        for (String key : keys) {
+            txMap.put(key, "value-" + key);
+        }
+        txMap.delete(keys[KEY_COUNT - 1]);
+        context.commitTransaction();
+
+        assertCommitted(keys);
+    }
+
+    @Test
+    public void testCommit_whenKeysOfMultiplePartitions() {
+        String[] localKeys = generateKeysBelongingToSamePartitionsOwnedBy(local, KEY_COUNT);
+        String[] remoteKeys = generateKeysBelongingToSamePartitionsOwnedBy(remote, KEY_COUNT);
+
+        TransactionContext context = newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap(mapName);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            txMap.put(localKeys[i], "value-" + localKeys[i]);
+            txMap.put(remoteKeys[i], "value-" + remoteKeys[i]);
+        }
+        txMap.delete(localKeys[KEY_COUNT - 1]);
+        txMap.delete(remoteKeys[KEY_COUNT - 1]);
+        context.commitTransaction();
+
+        assertCommitted(localKeys);
+        assertCommitted(remoteKeys);
+    }
+
+    @Test
+    public void testCommit_whenKeysOfSinglePartition_andLockLost_thenNothingCommitted() throws Exception {
+        String[] keys = generateKeysBelongingToSamePartitionsOwnedBy(remote, KEY_COUNT);
+        final IMap<String, String> map = local.getMap(mapName);
+
+        TransactionContext context = newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap(mapName);
+        for (String key : keys) {
+            txMap.put(key, "value-" + key);
+        }
+        // another thread takes over the lock of the last key
+        final String lostKey = keys[KEY_COUNT - 1];
+        map.forceUnlock(lostKey);
+        spawn(() -> map.lock(lostKey)).get();
+
+        try {
+            context.commitTransaction();
+            fail("The transaction should not be committed without owning all of its locks");
+        } catch (TransactionException expected) {
+            context.rollbackTransaction();
+        }
+
+        for (String key : keys) {
+            assertNull(map.get(key));
+        }
+    }
+
+    private TransactionContext newTransactionContext() {
+        TransactionOptions options = new TransactionOptions().setTransactionType(TWO_PHASE);
+        return local.newTransactionContext(options);
+    }
+
+    private void assertCommitted(String[] keys) {
+        IMap<String, String> map = local.getMap(mapName);
+        BackupAccessor<String, String> backupAccessor = newMapAccessor(new HazelcastInstance[]{local, remote}, mapName);
+        for (int i = 0; i < keys.length - 1; i++) {
+            assertEquals("value-" + keys[i], map.get(keys[i]));
+            assertFalse("Key remains locked!", map.isLocked(keys[i]));
+            assertBackupEntryEqualsEventually(keys[i], "value-" + keys[i], backupAccessor);
+        }
+        String deletedKey = keys[keys.length - 1];
+        assertNull(map.get(deletedKey));
+        assertFalse("Key remains locked!", map.isLocked(deletedKey));
+        assertBackupEntryNullEventually(deletedKey, backupAccessor);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.merge;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MergePolicyConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.merge.PassThroughMergePolicy;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.SplitBrainTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Merges many small batches of several maps with multiple merge groups and a single
+ * in-flight batch, and expects to see all merging entries after the merge.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ParallelMergeMapSplitBrainTest extends SplitBrainTestSupport {
+
+    private static final int MAP_COUNT = 3;
+    private static final int ENTRY_COUNT = 500;
+
+    private final String mapNamePrefix = randomMapName();
+
+    private MergeLifecycleListener mergeLifecycleListener;
+
+    @Override
+    protected Config config() {
+        MergePolicyConfig mergePolicyConfig = new MergePolicyConfig()
+                .setPolicy(PassThroughMergePolicy.class.getName())
+                .setBatchSize(10);
+
+        MapConfig mapConfig = new MapConfig(mapNamePrefix + "*")
+                .setMergePolicyConfig(mergePolicyConfig);
+
+        return super.config()
+                .setProperty(GroupProperty.MERGE_PARALLELISM.getName(), "4")
+                .setProperty(GroupProperty.MERGE_MAX_CONCURRENT_BATCHES.getName(), "1")
+                .addMapConfig(mapConfig);
+    }
+
+    @Override
+    protected int[] brains() {
+        // first half merges into second half
+        return new int[]{1, 2};
+    }
+
+    @Override
+    protected void onAfterSplitBrainCreated(HazelcastInstance[] firstBrain, HazelcastInstance[] secondBrain) {
+        mergeLifecycleListener = new MergeLifecycleListener(firstBrain.length);
+        for (HazelcastInstance instance : firstBrain) {
+            instance.getLifecycleService().addLifecycleListener(mergeLifecycleListener);
+        }
+
+        for (int i = 0; i < MAP_COUNT; i++) {
+            IMap<Integer, Integer> mapOnFirstBrain = firstBrain[0].getMap(mapNamePrefix + i);
+            IMap<Integer, Integer> mapOnSecondBrain = secondBrain[0].getMap(mapNamePrefix + i);
+            for (int key = 0; key < ENTRY_COUNT; key++) {
+                mapOnFirstBrain.put(key, key);
+                mapOnSecondBrain.put(key, -key);
+            }
+        }
+    }
+
+    @Override
+    protected void onAfterSplitBrainHealed(HazelcastInstance[] instances) {
+        mergeLifecycleListener.await();
+
+        for (int i = 0; i < MAP_COUNT; i++) {
+            IMap<Integer, Integer> map = instances[instances.length - 1].getMap(mapNamePrefix + i);
+            assertEquals(ENTRY_COUNT, map.size());
+            for (int key = 0; key < ENTRY_COUNT; key++) {
+                assertEquals(key, (int) map.get(key));
+            }
+        }
+    }
+}
@@ -24,6 +24,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.monitor.impl.LocalExecutorStatsImpl.LATENCY_BUCKET_COUNT;
+import static com.hazelcast.monitor.impl.LocalExecutorStatsImpl.getLatencyBucket;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -71,5 +74,56 @@ public class LocalExecutorStatsImplTest {
 
         assertEquals(1, localExecutorStats.getCancelledTaskCount());
         assertEquals(1, deserialized.getCancelledTaskCount());
+
+        assertArrayEquals(localExecutorStats.getStartLatencyDistribution(), deserialized.getStartLatencyDistribution());
+        assertArrayEquals(localExecutorStats.getExecutionLatencyDistribution(),
+                deserialized.getExecutionLatencyDistribution());
+    }
+
+    @Test
+    public void testStealExecution() {
+        LocalExecutorStatsImpl localExecutorStats = new LocalExecutorStatsImpl();
+        localExecutorStats.startPending();
+        localExecutorStats.startPending();
+
+        localExecutorStats.stealExecution();
+
+        assertEquals(1, localExecutorStats.getPendingTaskCount());
+        assertEquals(1, localExecutorStats.getStolenTaskCount());
+
+        LocalExecutorStatsImpl deserialized = new LocalExecutorStatsImpl();
+        deserialized.fromJson(localExecutorStats.toJson());
+        assertEquals(1, deserialized.getStolenTaskCount());
+    }
+
+    @Test
+    public void testLatencyDistribution() {
+        LocalExecutorStatsImpl localExecutorStats = new LocalExecutorStatsImpl();
+        localExecutorStats.startExecution(0);
+        localExecutorStats.startExecution(1);
+        localExecutorStats.startExecution(3);
+        localExecutorStats.finishExecution(1000);
+        localExecutorStats.finishExecution(Long.MAX_VALUE);
+
+        long[] startLatencies = localExecutorStats.getStartLatencyDistribution();
+        assertEquals(LATENCY_BUCKET_COUNT, startLatencies.length);
+        assertEquals(1, startLatencies[0]);
+        assertEquals(1, startLatencies[1]);
+        assertEquals(1, startLatencies[2]);
+
+        long[] executionLatencies = localExecutorStats.getExecutionLatencyDistribution();
+        assertEquals(1, executionLatencies[10]);
+        assertEquals(1, executionLatencies[LATENCY_BUCKET_COUNT - 1]);
+    }
+
+    @Test
+    public void testGetLatencyBucket() {
+        assertEquals(0, getLatencyBucket(-1));
+        assertEquals(0, getLatencyBucket(0));
+        assertEquals(1, getLatencyBucket(1));
+        assertEquals(2, getLatencyBucket(2));
+        assertEquals(2, getLatencyBucket(3));
+        assertEquals(3, getLatencyBucket(4));
+        assertEquals(LATENCY_BUCKET_COUNT - 1, getLatencyBucket(Long.MAX_VALUE));
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.multimap.impl.CompactRecordList.SEGMENT_CAPACITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactRecordListTest {
+
+    private final CompactRecordList list = new CompactRecordList();
+
+    @Test
+    public void testAddAndGet_acrossSegments() {
+        int count = 3 * SEGMENT_CAPACITY + 5;
+        for (int i = 0; i < count; i++) {
+            assertTrue(list.add(new MultiMapRecord(i, "value" + i)));
+        }
+
+        assertEquals(count, list.size());
+        for (int i = 0; i < count; i++) {
+            MultiMapRecord record = list.get(i);
+            assertEquals(i, record.getRecordId());
+            assertEquals("value" + i, record.getObject());
+        }
+        int i = 0;
+        for (MultiMapRecord record : list) {
+            assertEquals(i++, record.getRecordId());
+        }
+        assertEquals(count, i);
+    }
+
+    @Test
+    public void testContains_andRecordIds() {
+        list.add(new MultiMapRecord(7, "a"));
+        list.add(new MultiMapRecord(8, "b"));
+
+        assertTrue(list.contains(new MultiMapRecord("b")));
+        assertFalse(list.contains(new MultiMapRecord("c")));
+        assertEquals(1, list.indexOf(new MultiMapRecord("b")));
+        assertTrue(list.containsRecordId(7));
+        assertFalse(list.containsRecordId(9));
+    }
+
+    @Test
+    public void testRandomOperations_matchLinkedList() {
+        List<MultiMapRecord> expected = new LinkedList<MultiMapRecord>();
+        Random random = new Random(42);
+        long recordId = 0;
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                MultiMapRecord record = new MultiMapRecord(recordId++, random.nextInt(1000));
+                expected.add(record);
+                list.add(record);
+            } else if (op < 7) {
+                int index = random.nextInt(expected.size() + 1);
+                MultiMapRecord record = new MultiMapRecord(recordId++, random.nextInt(1000));
+                expected.add(index, record);
+                list.add(index, record);
+            } else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                MultiMapRecord record = new MultiMapRecord(random.nextInt(1000));
+                assertEquals(expected.remove(record), list.remove(record));
+            }
+        }
+
+        assertRecordsEqual(expected, list);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        List<MultiMapRecord> expected = new LinkedList<MultiMapRecord>();
+        for (int i = 0; i < 3 * SEGMENT_CAPACITY; i++) {
+            MultiMapRecord record = new MultiMapRecord(i, i);
+            expected.add(record);
+            list.add(record);
+        }
+
+        // removes whole segments as well as single elements
+        Iterator<MultiMapRecord> iterator = list.iterator();
+        Iterator<MultiMapRecord> expectedIterator = expected.iterator();
+        while (iterator.hasNext()) {
+            MultiMapRecord record = iterator.next();
+            assertEquals(expectedIterator.next().getRecordId(), record.getRecordId());
+            if (record.getRecordId() < SEGMENT_CAPACITY + 10 || record.getRecordId() % 3 == 0) {
+                iterator.remove();
+                expectedIterator.remove();
+            }
+        }
+
+        assertRecordsEqual(expected, list);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_failsOnConcurrentModification() {
+        list.add(new MultiMapRecord(1, 1));
+        list.add(new MultiMapRecord(2, 2));
+
+        Iterator<MultiMapRecord> iterator = list.iterator();
+        iterator.next();
+        list.add(new MultiMapRecord(3, 3));
+        iterator.next();
+    }
+
+    @Test
+    public void testSnapshot_isNotAffectedByModifications() {
+        for (int i = 0; i < 2 * SEGMENT_CAPACITY; i++) {
+            list.add(new MultiMapRecord(i, i));
+        }
+
+        CompactRecordList snapshot = list.snapshot();
+        list.remove(0);
+        list.add(SEGMENT_CAPACITY, new MultiMapRecord(-1, -1));
+        list.set(SEGMENT_CAPACITY + 10, new MultiMapRecord(-2, -2));
+        list.add(new MultiMapRecord(-3, -3));
+
+        assertEquals(2 * SEGMENT_CAPACITY, snapshot.size());
+        int i = 0;
+        for (MultiMapRecord record : snapshot) {
+            assertEquals(i, record.getRecordId());
+            assertEquals(i, record.getObject());
+            i++;
+        }
+
+        snapshot.clear();
+        assertEquals(2 * SEGMENT_CAPACITY + 1, list.size());
+        assertEquals(1L, list.get(0).getRecordId());
+    }
+
+    private static void assertRecordsEqual(List<MultiMapRecord> expected, List<MultiMapRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        Iterator<MultiMapRecord> iterator = actual.iterator();
+        for (MultiMapRecord record : expected) {
+            assertEquals(record.getRecordId(), iterator.next().getRecordId());
+        }
+        assertFalse(iterator.hasNext());
+    }
+}
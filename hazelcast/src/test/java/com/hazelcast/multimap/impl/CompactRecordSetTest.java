@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactRecordSetTest {
+
+    private final CompactRecordSet set = new CompactRecordSet();
+
+    @Test
+    public void testAdd_ignoresDuplicateValues() {
+        assertTrue(set.add(new MultiMapRecord(1, "a")));
+        assertFalse(set.add(new MultiMapRecord(2, "a")));
+        assertTrue(set.add(new MultiMapRecord(3, "b")));
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(new MultiMapRecord("a")));
+        assertTrue(set.containsRecordId(1));
+        assertFalse(set.containsRecordId(2));
+    }
+
+    @Test
+    public void testRandomOperations_matchHashSet() {
+        Map<Object, Long> expected = new HashMap<Object, Long>();
+        Random random = new Random(42);
+        long recordId = 0;
+        for (int i = 0; i < 50000; i++) {
+            Integer value = random.nextInt(5000);
+            if (random.nextInt(3) < 2) {
+                boolean added = !expected.containsKey(value);
+                if (added) {
+                    expected.put(value, recordId);
+                }
+                assertEquals(added, set.add(new MultiMapRecord(recordId++, value)));
+            } else {
+                assertEquals(expected.remove(value) != null, set.remove(new MultiMapRecord(value)));
+            }
+        }
+
+        assertRecordsEqual(expected, set);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Map<Object, Long> expected = new HashMap<Object, Long>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(new MultiMapRecord(i, i));
+            if (i % 3 != 0) {
+                expected.put(i, (long) i);
+            }
+        }
+
+        Iterator<MultiMapRecord> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if ((Integer) iterator.next().getObject() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertRecordsEqual(expected, set);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_failsOnConcurrentModification() {
+        set.add(new MultiMapRecord(1, 1));
+        set.add(new MultiMapRecord(2, 2));
+
+        Iterator<MultiMapRecord> iterator = set.iterator();
+        iterator.next();
+        set.add(new MultiMapRecord(3, 3));
+        iterator.next();
+    }
+
+    @Test
+    public void testSnapshot_isNotAffectedByModifications() {
+        for (int i = 0; i < 100; i++) {
+            set.add(new MultiMapRecord(i, i));
+        }
+
+        CompactRecordSet snapshot = set.snapshot();
+        set.remove(new MultiMapRecord(0));
+        for (int i = 100; i < 1000; i++) {
+            set.add(new MultiMapRecord(i, i));
+        }
+        snapshot.add(new MultiMapRecord(-1, -1));
+
+        assertEquals(101, snapshot.size());
+        assertTrue(snapshot.contains(new MultiMapRecord(0)));
+        assertFalse(snapshot.contains(new MultiMapRecord(100)));
+        assertEquals(999, set.size());
+        assertFalse(set.contains(new MultiMapRecord(-1)));
+    }
+
+    @Test
+    public void testEquals_hashSetOfRecords() {
+        Set<MultiMapRecord> expected = new HashSet<MultiMapRecord>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(new MultiMapRecord(i, i));
+            set.add(new MultiMapRecord(i, i));
+        }
+
+        assertEquals(expected, set);
+        assertEquals(expected.hashCode(), set.hashCode());
+    }
+
+    private static void assertRecordsEqual(Map<Object, Long> expected, Set<MultiMapRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        int count = 0;
+        for (MultiMapRecord record : actual) {
+            assertEquals(expected.get(record.getObject()), Long.valueOf(record.getRecordId()));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+}
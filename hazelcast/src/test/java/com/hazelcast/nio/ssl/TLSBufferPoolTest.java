@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TLSBufferPoolTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNegativeMaxPooledBuffers() {
+        new TLSBufferPool(-1);
+    }
+
+    @Test
+    public void take_whenEmpty_thenDirectBufferAllocated() {
+        TLSBufferPool pool = new TLSBufferPool(10);
+
+        ByteBuffer buffer = pool.take(100);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(100, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(100, buffer.limit());
+    }
+
+    @Test
+    public void take_whenReleased_thenReused() {
+        TLSBufferPool pool = new TLSBufferPool(10);
+        ByteBuffer buffer = pool.take(100);
+        buffer.putInt(1);
+        pool.release(buffer);
+
+        ByteBuffer found = pool.take(50);
+
+        assertSame(buffer, found);
+        assertEquals(0, found.position());
+        assertEquals(100, found.limit());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void take_whenPooledBufferTooSmall_thenDropped() {
+        TLSBufferPool pool = new TLSBufferPool(10);
+        ByteBuffer buffer = pool.take(100);
+        pool.release(buffer);
+
+        ByteBuffer found = pool.take(200);
+
+        assertNotSame(buffer, found);
+        assertEquals(200, found.capacity());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void release_whenHeapBuffer_thenIgnored() {
+        TLSBufferPool pool = new TLSBufferPool(10);
+
+        pool.release(ByteBuffer.allocate(100));
+
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void release_whenPoolFull_thenBufferDropped() {
+        TLSBufferPool pool = new TLSBufferPool(1);
+
+        pool.release(ByteBuffer.allocateDirect(100));
+        pool.release(ByteBuffer.allocateDirect(100));
+
+        assertEquals(1, pool.size());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.nio.ssl;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.security.KeyStore;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Creates the SSLContext used by the TLS tests and benchmarks. The keystore
+ * contains a self-signed certificate that is trusted by the same SSLContext.
+ */
+public final class TLSTestSupport {
+
+    private static final String KEYSTORE = "com/hazelcast/nio/ssl/test.keystore";
+    private static final char[] PASSWORD = "password".toCharArray();
+
+    private TLSTestSupport() {
+    }
+
+    public static SSLContext newSSLContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        InputStream in = TLSTestSupport.class.getClassLoader().getResourceAsStream(KEYSTORE);
+        try {
+            keyStore.load(in, PASSWORD);
+        } finally {
+            closeResource(in);
+        }
+
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+        return sslContext;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.networking.ChannelInitializerProvider;
+import com.hazelcast.internal.networking.ServerSocketRegistry;
+import com.hazelcast.internal.networking.nio.Select_NioNetworkingFactory;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.MockIOService;
+import com.hazelcast.nio.tcp.TcpIpNetworkingService;
+import com.hazelcast.nio.tcp.UnifiedChannelInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.net.ssl.SSLContext;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.hazelcast.instance.EndpointQualifier.MEMBER;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the packet throughput of a member connection secured by the TLS
+ * handlers with the throughput of a plain TCP member connection.
+ *
+ * Every invocation writes a batch of packets and waits until the remote side
+ * has received all of them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TLSThroughputBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int BASE_PORT = 5901;
+
+    @Param({"plain", "tls"})
+    public String transport;
+
+    @Param({"100", "10000"})
+    public int payloadSize;
+
+    private TcpIpNetworkingService networkingServiceA;
+    private TcpIpNetworkingService networkingServiceB;
+    private MetricsRegistryImpl metricsRegistryA;
+    private MetricsRegistryImpl metricsRegistryB;
+    private Connection connection;
+    private byte[] payload;
+    private final AtomicLong received = new AtomicLong();
+    private long sent;
+
+    @Setup
+    public void setup() throws Exception {
+        SSLContext sslContext = "tls".equals(transport) ? TLSTestSupport.newSSLContext() : null;
+        TLSBufferPool bufferPool = new TLSBufferPool(16);
+
+        MockIOService ioServiceA = new MockIOService(BASE_PORT);
+        MockIOService ioServiceB = new MockIOService(BASE_PORT + 1);
+        ioServiceB.packetConsumer = new Consumer<Packet>() {
+            @Override
+            public void accept(Packet packet) {
+                received.incrementAndGet();
+            }
+        };
+
+        metricsRegistryA = new MetricsRegistryImpl(ioServiceA.loggingService.getLogger(MetricsRegistryImpl.class), INFO);
+        metricsRegistryB = new MetricsRegistryImpl(ioServiceB.loggingService.getLogger(MetricsRegistryImpl.class), INFO);
+        networkingServiceA = newNetworkingService(ioServiceA, metricsRegistryA, sslContext, bufferPool);
+        networkingServiceB = newNetworkingService(ioServiceB, metricsRegistryB, sslContext, bufferPool);
+        networkingServiceA.start();
+        networkingServiceB.start();
+
+        networkingServiceA.getEndpointManager(MEMBER).getOrConnect(ioServiceB.getThisAddress());
+        while ((connection = networkingServiceA.getEndpointManager(MEMBER).getConnection(ioServiceB.getThisAddress())) == null) {
+            Thread.sleep(10);
+        }
+
+        payload = new byte[payloadSize];
+    }
+
+    @TearDown
+    public void tearDown() {
+        networkingServiceA.shutdown();
+        networkingServiceB.shutdown();
+        metricsRegistryA.shutdown();
+        metricsRegistryB.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void write() {
+        for (int k = 0; k < BATCH_SIZE; k++) {
+            connection.write(new Packet(payload));
+        }
+        sent += BATCH_SIZE;
+
+        while (received.get() < sent) {
+            Thread.yield();
+        }
+    }
+
+    private static TcpIpNetworkingService newNetworkingService(final MockIOService ioService,
+                                                               MetricsRegistryImpl metricsRegistry,
+                                                               final SSLContext sslContext,
+                                                               final TLSBufferPool bufferPool) {
+        ServerSocketRegistry registry = new ServerSocketRegistry(singletonMap(MEMBER, ioService.serverSocketChannel), true);
+        return new TcpIpNetworkingService(null,
+                ioService,
+                registry,
+                ioService.loggingService,
+                metricsRegistry,
+                new Select_NioNetworkingFactory().create(ioService, metricsRegistry),
+                new ChannelInitializerProvider() {
+                    @Override
+                    public ChannelInitializer provide(EndpointQualifier qualifier) {
+                        ChannelInitializer initializer = new UnifiedChannelInitializer(ioService);
+                        return sslContext == null ? initializer : new TLSChannelInitializer(initializer, sslContext, bufferPool);
+                    }
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TLSThroughputBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
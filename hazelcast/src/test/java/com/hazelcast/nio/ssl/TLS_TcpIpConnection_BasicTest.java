@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.nio.ssl;
+
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.nio.tcp.MockIOService;
+import com.hazelcast.nio.tcp.TcpIpConnection_AbstractBasicTest;
+import com.hazelcast.nio.tcp.UnifiedChannelInitializer;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Runs the basic connection tests over channels secured by the TLS handlers.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TLS_TcpIpConnection_BasicTest extends TcpIpConnection_AbstractBasicTest {
+
+    private SSLContext sslContext;
+    private TLSBufferPool bufferPool;
+
+    @Before
+    public void setup() throws Exception {
+        sslContext = TLSTestSupport.newSSLContext();
+        bufferPool = new TLSBufferPool(16);
+        super.setup();
+    }
+
+    @Override
+    protected ChannelInitializer newChannelInitializer(MockIOService ioService) {
+        return new TLSChannelInitializer(new UnifiedChannelInitializer(ioService), sslContext, bufferPool);
+    }
+}
@@ -144,11 +144,15 @@ public abstract class TcpIpConnection_AbstractTest extends HazelcastTestSupport
                 new ChannelInitializerProvider() {
                     @Override
                     public ChannelInitializer provide(EndpointQualifier qualifier) {
-                        return new UnifiedChannelInitializer(finalIoService);
+                        return newChannelInitializer(finalIoService);
                     }
                 });
     }
 
+    protected ChannelInitializer newChannelInitializer(MockIOService ioService) {
+        return new UnifiedChannelInitializer(ioService);
+    }
+
     // ====================== support ========================================
 
     protected TcpIpConnection connect(Address address) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpEndpointManager_StripedConnectionsTest
+        extends HazelcastTestSupport {
+
+    private static final int CONNECTIONS_PER_MEMBER = 4;
+
+    @After
+    public void after() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenPartitionOperationsSent_thenStripesConnected() {
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(newConfig());
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(newConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        final MemberViewUnifiedEndpointManager endpointManager1 = getMemberEndpointManager(hz1);
+        final MemberViewUnifiedEndpointManager endpointManager2 = getMemberEndpointManager(hz2);
+        final Address address1 = getAddress(hz1);
+        final Address address2 = getAddress(hz2);
+
+        final IMap<Integer, Integer> map = hz1.getMap(randomMapName());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    map.put(i, i);
+                }
+                assertEquals(CONNECTIONS_PER_MEMBER - 1, endpointManager1.getLiveStripeCount(address2));
+                assertEquals(CONNECTIONS_PER_MEMBER - 1, endpointManager2.getLiveStripeCount(address1));
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void whenStripeClosed_thenItsPartitionsUseRegularConnection() {
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(newConfig());
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(newConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        final MemberViewUnifiedEndpointManager endpointManager1 = getMemberEndpointManager(hz1);
+        final Address address2 = getAddress(hz2);
+
+        final IMap<Integer, Integer> map = hz1.getMap(randomMapName());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    map.put(i, i);
+                }
+                assertEquals(CONNECTIONS_PER_MEMBER - 1, endpointManager1.getLiveStripeCount(address2));
+            }
+        });
+
+        endpointManager1.getStripe(address2, 1).close("test", null);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(CONNECTIONS_PER_MEMBER - 2, endpointManager1.getLiveStripeCount(address2));
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i + 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1, (int) map.get(i));
+        }
+        // the stripe is not reconnected, its partitions don't switch connections again
+        assertEquals(CONNECTIONS_PER_MEMBER - 2, endpointManager1.getLiveStripeCount(address2));
+    }
+
+    @Test
+    public void whenMemberLeaves_thenStripesClosed() {
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(newConfig());
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(newConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        final MemberViewUnifiedEndpointManager endpointManager1 = getMemberEndpointManager(hz1);
+        final Address address2 = getAddress(hz2);
+
+        final IMap<Integer, Integer> map = hz1.getMap(randomMapName());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    map.put(i, i);
+                }
+                assertEquals(CONNECTIONS_PER_MEMBER - 1, endpointManager1.getLiveStripeCount(address2));
+            }
+        });
+
+        hz2.shutdown();
+        assertClusterSizeEventually(1, hz1);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(0, endpointManager1.getLiveStripeCount(address2));
+            }
+        });
+    }
+
+    private static Config newConfig() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.TCP_CONNECTIONS_PER_MEMBER.getName(), String.valueOf(CONNECTIONS_PER_MEMBER));
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+
+    private static MemberViewUnifiedEndpointManager getMemberEndpointManager(HazelcastInstance hz) {
+        TcpIpNetworkingService networkingService = (TcpIpNetworkingService) getNode(hz).getNetworkingService();
+        return (MemberViewUnifiedEndpointManager) networkingService.getEndpointManager(EndpointQualifier.MEMBER);
+    }
+}
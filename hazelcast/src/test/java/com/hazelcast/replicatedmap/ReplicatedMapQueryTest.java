@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReplicatedMapQueryTest extends ReplicatedMapAbstractTest {
+
+    @Test
+    public void testQuery_withoutIndex_objectFormat() {
+        testQuery(InMemoryFormat.OBJECT, false);
+    }
+
+    @Test
+    public void testQuery_withoutIndex_binaryFormat() {
+        testQuery(InMemoryFormat.BINARY, false);
+    }
+
+    @Test
+    public void testQuery_withIndex_objectFormat() {
+        testQuery(InMemoryFormat.OBJECT, true);
+    }
+
+    @Test
+    public void testQuery_withIndex_binaryFormat() {
+        testQuery(InMemoryFormat.BINARY, true);
+    }
+
+    private void testQuery(InMemoryFormat inMemoryFormat, boolean indexed) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(inMemoryFormat));
+        String mapName = randomMapName();
+        ReplicatedMap<Integer, Person> map1 = instances[0].getReplicatedMap(mapName);
+        final ReplicatedMap<Integer, Person> map2 = instances[1].getReplicatedMap(mapName);
+        if (indexed) {
+            map2.addIndex("age", true);
+        }
+        for (int i = 0; i < 100; i++) {
+            map1.put(i, new Person("name" + i, i));
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, map2.size());
+            }
+        });
+
+        Predicate<Integer, Person> predicate = Predicates.between("age", 10, 19);
+        Set<Integer> keys = map2.keySet(predicate);
+        assertEquals(10, keys.size());
+        for (int i = 10; i < 20; i++) {
+            assertTrue(keys.contains(i));
+        }
+        Collection<Person> values = map2.values(predicate);
+        assertEquals(10, values.size());
+        Set<Map.Entry<Integer, Person>> entries = map2.entrySet(predicate);
+        assertEquals(10, entries.size());
+        for (Map.Entry<Integer, Person> entry : entries) {
+            assertEquals(entry.getKey().intValue(), entry.getValue().age);
+            assertTrue(values.contains(entry.getValue()));
+        }
+
+        assertEquals(Integer.valueOf(19), map2.aggregate(Aggregators.<Map.Entry<Integer, Person>>integerMax("age"),
+                predicate));
+        assertEquals(Long.valueOf(100), map2.aggregate(Aggregators.<Map.Entry<Integer, Person>>count()));
+
+        long indexedQueryCount = getIndexes(instances[1], mapName).getIndexesStats().getIndexedQueryCount();
+        assertEquals(indexed ? 4 : 0, indexedQueryCount);
+    }
+
+    @Test
+    public void testIndex_isUpdated_onPutRemoveAndClear() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(InMemoryFormat.BINARY));
+        ReplicatedMap<Integer, Person> map = instance.getReplicatedMap(randomMapName());
+        map.addIndex("name", false);
+        Predicate<Integer, Person> predicate = Predicates.equal("name", "a");
+
+        map.put(1, new Person("a", 1));
+        map.put(2, new Person("a", 2));
+        map.put(3, new Person("b", 3));
+        assertEquals(new HashSet<Integer>(asList(1, 2)), map.keySet(predicate));
+
+        map.put(2, new Person("b", 2));
+        map.put(3, new Person("a", 3));
+        assertEquals(new HashSet<Integer>(asList(1, 3)), map.keySet(predicate));
+
+        map.remove(1);
+        assertEquals(new HashSet<Integer>(asList(3)), map.keySet(predicate));
+
+        map.clear();
+        assertEquals(0, map.keySet(predicate).size());
+        assertEquals(0, map.keySet(Predicates.equal("name", "b")).size());
+    }
+
+    @Test
+    public void testIndex_isUpdated_onReplicatedUpdates() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(InMemoryFormat.OBJECT));
+        String mapName = randomMapName();
+        ReplicatedMap<Integer, Person> map1 = instances[0].getReplicatedMap(mapName);
+        final ReplicatedMap<Integer, Person> map2 = instances[1].getReplicatedMap(mapName);
+        map2.addIndex("age", true);
+        final Predicate<Integer, Person> predicate = Predicates.greaterEqual("age", 50);
+
+        for (int i = 0; i < 100; i++) {
+            map1.put(i, new Person("name" + i, i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map1.remove(i);
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(50, map2.size());
+                assertEquals(25, map2.keySet(predicate).size());
+            }
+        });
+    }
+
+    @Test
+    public void testAddIndex_fromPartitionThread() throws Exception {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(InMemoryFormat.OBJECT));
+        final String mapName = randomMapName();
+        ReplicatedMap<Integer, Person> map = instance.getReplicatedMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Person("name" + i, i));
+        }
+
+        // the partition thread must not wait for the partitions to be indexed
+        final ReplicatedMapService service = getNodeEngineImpl(instance).getService(ReplicatedMapService.SERVICE_NAME);
+        final AtomicReference<ICompletableFuture<Void>> future = new AtomicReference<ICompletableFuture<Void>>();
+        getNodeEngineImpl(instance).getOperationService().execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return 0;
+            }
+
+            @Override
+            public void run() {
+                future.set(service.getQueryEngine().addIndex(mapName, "age", true));
+            }
+        });
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNotNull(future.get());
+            }
+        });
+        future.get().get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+
+        assertEquals(10, map.keySet(Predicates.between("age", 10, 19)).size());
+        assertEquals(1, getIndexes(instance, mapName).getIndexesStats().getIndexedQueryCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeySet_withPagingPredicate() {
+        HazelcastInstance instance = createHazelcastInstance();
+        ReplicatedMap<Integer, Person> map = instance.getReplicatedMap(randomMapName());
+        map.keySet(Predicates.<Integer, Person>pagingPredicate(10));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testEntrySet_withNullPredicate() {
+        HazelcastInstance instance = createHazelcastInstance();
+        ReplicatedMap<Integer, Person> map = instance.getReplicatedMap(randomMapName());
+        map.entrySet(null);
+    }
+
+    private static Config newConfig(InMemoryFormat inMemoryFormat) {
+        Config config = new Config();
+        config.getReplicatedMapConfig("default").setInMemoryFormat(inMemoryFormat);
+        return config;
+    }
+
+    private static Indexes getIndexes(HazelcastInstance instance, String mapName) {
+        ReplicatedMapService service = getNodeEngineImpl(instance).getService(ReplicatedMapService.SERVICE_NAME);
+        return service.getQueryEngine().getIndexes(mapName);
+    }
+
+    static class Person implements Serializable {
+
+        private final String name;
+        private final int age;
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Person person = (Person) o;
+            return age == person.age && name.equals(person.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + age;
+        }
+    }
+}
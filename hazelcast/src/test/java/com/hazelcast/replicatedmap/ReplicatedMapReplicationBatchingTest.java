@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReplicatedMapReplicationBatchingTest extends ReplicatedMapAbstractTest {
+
+    @Test
+    public void testUpdatesFromAllMembers_areReplicated() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(3).newInstances(newConfig(5, 1000));
+        final String mapName = randomMapName();
+        int keyCount = 200;
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < keyCount; i++) {
+                HazelcastInstance instance = instances[(i + round) % instances.length];
+                instance.getReplicatedMap(mapName).put(i, round * keyCount + i);
+            }
+        }
+        for (int i = 0; i < keyCount; i += 10) {
+            instances[i % instances.length].getReplicatedMap(mapName).remove(i);
+        }
+
+        final Map<Object, Object> expected = new HashMap<Object, Object>();
+        for (int i = 0; i < keyCount; i++) {
+            if (i % 10 != 0) {
+                expected.put(i, 2 * keyCount + i);
+            }
+        }
+        for (final HazelcastInstance instance : instances) {
+            assertTrueEventually(new AssertTask() {
+                @Override
+                public void run() throws Exception {
+                    ReplicatedMap<Object, Object> map = instance.getReplicatedMap(mapName);
+                    assertEquals(expected.size(), map.size());
+                    for (Map.Entry<Object, Object> entry : expected.entrySet()) {
+                        assertEquals(entry.getValue(), map.get(entry.getKey()));
+                    }
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testReadYourWrites() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(1000, 1000));
+        ReplicatedMap<String, Integer> map1 = instances[0].getReplicatedMap("default");
+        ReplicatedMap<String, Integer> map2 = instances[1].getReplicatedMap("default");
+
+        for (int i = 0; i < 100; i++) {
+            String key = generateKeyOwnedBy(instances[i % 2]);
+            ReplicatedMap<String, Integer> map = i % 2 == 0 ? map2 : map1;
+            map.put(key, i);
+            assertEquals(i, (int) map.get(key));
+        }
+    }
+
+    @Test
+    public void testUpdatesOfSameKey_areCoalesced() throws Exception {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(500, 1000));
+        final ReplicatedMap<String, Integer> map1 = instances[0].getReplicatedMap("default");
+        final ReplicatedMap<String, Integer> map2 = instances[1].getReplicatedMap("default");
+        final String key = generateKeyOwnedBy(instances[0]);
+
+        for (int i = 0; i < 100; i++) {
+            map1.put(key, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(Integer.valueOf(99), map2.get(key));
+            }
+        });
+        ReplicatedRecordStore store1 = getStore(map1, key);
+        ReplicatedRecordStore store2 = getStore(map2, key);
+        assertEquals(store1.getVersion(), store2.getVersion());
+        assertFalse(store2.isStale(store1.getVersion()));
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(instances[0]).getMetricsRegistry();
+        long batchedUpdates = metricsRegistry.newLongGauge("replicatedMap.replication.batchedUpdates").read();
+        long coalescedUpdates = metricsRegistry.newLongGauge("replicatedMap.replication.coalescedUpdates").read();
+        long sentUpdates = metricsRegistry.newLongGauge("replicatedMap.replication.sentUpdates").read();
+        assertEquals(100, batchedUpdates);
+        assertTrue(coalescedUpdates > 0);
+        assertEquals(batchedUpdates - coalescedUpdates, sentUpdates);
+        assertTrue(metricsRegistry.newLongGauge("replicatedMap.replication.sentBatches").read() > 0);
+    }
+
+    @Test
+    public void testReplicationLag_includesEveryUpdate() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(1000, 1000));
+        ReplicatedMap<String, Integer> map1 = instances[0].getReplicatedMap("default");
+        ReplicatedMap<String, Integer> map2 = instances[1].getReplicatedMap("default");
+        String[] keys = generateKeysBelongingToSamePartitionsOwnedBy(instances[0], 10);
+
+        for (int i = 0; i < keys.length; i++) {
+            map1.put(keys[i], i);
+        }
+
+        assertSizeEventually(keys.length, map2);
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(instances[0]).getMetricsRegistry();
+        long replicationLagNanos = metricsRegistry.newLongGauge("replicatedMap.replication.replicationLagNanos").read();
+        // every update waits for about the flush interval
+        assertTrue(replicationLagNanos >= keys.length * MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void testBatchIsSent_whenMaxSizeReached() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(Integer.MAX_VALUE, 10));
+        final ReplicatedMap<String, Integer> map1 = instances[0].getReplicatedMap("default");
+        final ReplicatedMap<String, Integer> map2 = instances[1].getReplicatedMap("default");
+        final String[] keys = generateKeysBelongingToSamePartitionsOwnedBy(instances[0], 10);
+
+        for (int i = 0; i < keys.length; i++) {
+            map1.put(keys[i], i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keys.length, map2.size());
+            }
+        });
+    }
+
+    private static Config newConfig(int flushIntervalMillis, int batchSize) {
+        return new Config()
+                .setProperty(GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_ENABLED.getName(), "true")
+                .setProperty(GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_FLUSH_INTERVAL_MILLIS.getName(),
+                        String.valueOf(flushIntervalMillis))
+                .setProperty(GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_SIZE.getName(), String.valueOf(batchSize));
+    }
+}
@@ -27,10 +27,14 @@ import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
+import java.io.File;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -42,6 +46,9 @@ import static org.junit.Assert.assertTrue;
 @Category(QuickTest.class)
 public class RingbufferContainerTest extends HazelcastTestSupport {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private SerializationService serializationService;
     private NodeEngineImpl nodeEngine;
 
@@ -232,6 +239,93 @@ public class RingbufferContainerTest extends HazelcastTestSupport {
         assertInstanceOf(String.class, ringbuffer.getItems()[1]);
     }
 
+    // ======================= overflow =======================
+
+    @Test
+    public void overflow_whenItemsOverwritten_thenReadable() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(10).setInMemoryFormat(InMemoryFormat.OBJECT);
+        RingbufferContainer<Object, String> container = getRingbufferContainer(config);
+        container.setOverflow(new RingbufferOverflow(tempFolder.getRoot(), 1024 * 1024, 0));
+
+        for (int i = 0; i < 30; i++) {
+            container.add("item" + i);
+        }
+
+        assertEquals(0, container.headSequence());
+        assertEquals(29, container.tailSequence());
+        assertEquals(10, container.size());
+        assertEquals(19, container.getOverflow().tailSequence());
+        assertEquals("item5", serializationService.toObject(container.readAsData(5)));
+
+        ReadResultSetImpl<String, String> result = new ReadResultSetImpl<String, String>(0, 30, serializationService, null);
+        assertEquals(30, container.readMany(0, result));
+        for (int i = 0; i < 30; i++) {
+            assertEquals("item" + i, result.get(i));
+        }
+    }
+
+    @Test
+    public void overflow_whenSetBeyondTail_thenOverwrittenItemsReadable() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(10).setInMemoryFormat(InMemoryFormat.BINARY);
+        RingbufferContainer<Data, Data> container = getRingbufferContainer(config);
+        container.setOverflow(new RingbufferOverflow(tempFolder.getRoot(), 1024 * 1024, 0));
+
+        for (int i = 0; i < 20; i++) {
+            container.set(i, toData("item" + i));
+        }
+
+        assertEquals(0, container.headSequence());
+        assertEquals("item0", serializationService.toObject(container.readAsData(0)));
+    }
+
+    @Test
+    public void overflow_whenNotPrecedingRingbuffer_thenClearedOnCleanup() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(10);
+        RingbufferContainer<Data, Data> container = getRingbufferContainer(config);
+        container.setOverflow(new RingbufferOverflow(tempFolder.getRoot(), 1024 * 1024, 0));
+        for (int i = 0; i < 20; i++) {
+            container.add(toData("item" + i));
+        }
+
+        container.setHeadSequence(15);
+        assertEquals(15, container.headSequence());
+
+        container.cleanup();
+        assertTrue(container.getOverflow().isEmpty());
+    }
+
+    @Test
+    public void overflow_whenCleared() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(10);
+        RingbufferContainer<Data, Data> container = getRingbufferContainer(config);
+        container.setOverflow(new RingbufferOverflow(tempFolder.getRoot(), 1024 * 1024, 0));
+        for (int i = 0; i < 20; i++) {
+            container.add(toData("item" + i));
+        }
+
+        container.clear();
+
+        assertTrue(container.getOverflow().isEmpty());
+        assertEquals(container.tailSequence() + 1, container.headSequence());
+    }
+
+    @Test
+    public void dispose_thenOverflowDestroyed() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(10);
+        RingbufferContainer<Data, Data> container = getRingbufferContainer(config);
+        File directory = new File(tempFolder.getRoot(), "overflow");
+        container.setOverflow(new RingbufferOverflow(directory, 1024 * 1024, 0));
+        for (int i = 0; i < 20; i++) {
+            container.add(toData("item" + i));
+        }
+        assertTrue(directory.exists());
+
+        container.dispose();
+
+        assertNull(container.getOverflow());
+        assertFalse(directory.exists());
+    }
+
     private <K, V> RingbufferContainer<K, V> getRingbufferContainer(RingbufferConfig config) {
         // partitionId is irrelevant for this test
         return new RingbufferContainer<K, V>(RingbufferService.getRingbufferNamespace(config.getName()), config, nodeEngine, 0);
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferOverflow.MIN_SEGMENT_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class RingbufferOverflowTest extends HazelcastTestSupport {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private SerializationService serializationService;
+    private File directory;
+    private RingbufferOverflow overflow;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        directory = new File(tempFolder.getRoot(), "overflow");
+        overflow = new RingbufferOverflow(directory, 4 * MIN_SEGMENT_SIZE, 0);
+    }
+
+    @After
+    public void tearDown() {
+        overflow.destroy();
+    }
+
+    @Test
+    public void whenCreated_thenEmptyAndNoDirectory() {
+        assertTrue(overflow.isEmpty());
+        assertFalse(overflow.contains(0));
+        assertEquals(0, overflow.sizeBytes());
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void append_thenRead() {
+        for (int i = 10; i < 20; i++) {
+            overflow.append(i, toData("item" + i), 0);
+        }
+
+        assertFalse(overflow.isEmpty());
+        assertEquals(10, overflow.headSequence());
+        assertEquals(19, overflow.tailSequence());
+        assertFalse(overflow.contains(9));
+        assertFalse(overflow.contains(20));
+        for (int i = 10; i < 20; i++) {
+            assertTrue(overflow.contains(i));
+            assertEquals("item" + i, serializationService.toObject(overflow.read(i)));
+        }
+        assertTrue(directory.exists());
+    }
+
+    @Test
+    public void append_whenNull() {
+        overflow.append(0, null, 0);
+
+        assertNull(overflow.read(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_whenNotContained() {
+        overflow.append(0, toData("item"), 0);
+
+        overflow.read(1);
+    }
+
+    @Test
+    public void append_whenNotContiguous_thenCleared() {
+        overflow.append(0, toData("item0"), 0);
+        overflow.append(1, toData("item1"), 0);
+
+        overflow.append(5, toData("item5"), 0);
+
+        assertEquals(5, overflow.headSequence());
+        assertEquals(5, overflow.tailSequence());
+        assertEquals("item5", serializationService.toObject(overflow.read(5)));
+    }
+
+    @Test
+    public void append_whenItemLargerThanSegment() {
+        String item = randomString() + new String(new char[2 * MIN_SEGMENT_SIZE]);
+        overflow.append(0, toData("small"), 0);
+        overflow.append(1, toData(item), 0);
+        overflow.append(2, toData("small"), 0);
+
+        assertEquals(item, serializationService.toObject(overflow.read(1)));
+        assertEquals("small", serializationService.toObject(overflow.read(2)));
+    }
+
+    @Test
+    public void append_whenMaxSizeExceeded_thenOldestSegmentsRemoved() {
+        Data item = toData(new byte[MIN_SEGMENT_SIZE / 4]);
+        for (int i = 0; i < 100; i++) {
+            overflow.append(i, item, 0);
+        }
+
+        assertTrue(overflow.sizeBytes() <= 4 * MIN_SEGMENT_SIZE);
+        assertTrue(overflow.headSequence() > 0);
+        assertEquals(99, overflow.tailSequence());
+        assertEquals(overflow.sizeBytes() / MIN_SEGMENT_SIZE, directory.listFiles().length);
+    }
+
+    @Test
+    public void cleanup_whenTimeToLiveExpired_thenSegmentsRemoved() {
+        overflow = new RingbufferOverflow(directory, 4 * MIN_SEGMENT_SIZE, 1000);
+        Data item = toData(new byte[MIN_SEGMENT_SIZE / 3]);
+        // the first two items end up in the first segment
+        overflow.append(0, item, 0);
+        overflow.append(1, item, 0);
+        overflow.append(2, item, 500);
+
+        overflow.cleanup(999);
+        assertEquals(0, overflow.headSequence());
+
+        overflow.cleanup(1000);
+        assertEquals(2, overflow.headSequence());
+
+        overflow.cleanup(1500);
+        assertTrue(overflow.isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        overflow.append(0, toData("item"), 0);
+
+        overflow.clear();
+
+        assertTrue(overflow.isEmpty());
+        assertEquals(0, overflow.sizeBytes());
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void destroy_thenDirectoryRemoved() {
+        overflow.append(0, toData("item"), 0);
+
+        overflow.destroy();
+
+        assertTrue(overflow.isEmpty());
+        assertFalse(directory.exists());
+    }
+
+    private Data toData(Object item) {
+        return serializationService.toData(item);
+    }
+}
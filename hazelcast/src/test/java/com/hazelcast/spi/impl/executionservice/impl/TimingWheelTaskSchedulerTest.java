@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.executionservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
+import com.hazelcast.scheduledexecutor.IScheduledFuture;
+import com.hazelcast.spi.impl.executionservice.InternalExecutionService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.scheduler.TimingWheel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.TIMING_WHEEL_ENABLED;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TimingWheelTaskSchedulerTest extends HazelcastTestSupport {
+
+    private static final long TICK_MILLIS = 5;
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService executor;
+    private TimingWheelTaskScheduler scheduler;
+
+    @Before
+    public void setup() {
+        final TimingWheel wheel = new TimingWheel(MILLISECONDS.toNanos(TICK_MILLIS), System.nanoTime());
+        ticker = Executors.newSingleThreadScheduledExecutor();
+        ticker.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                for (Runnable task : wheel.advance(System.nanoTime())) {
+                    task.run();
+                }
+            }
+        }, TICK_MILLIS, TICK_MILLIS, MILLISECONDS);
+        executor = Executors.newCachedThreadPool();
+        scheduler = new TimingWheelTaskScheduler(wheel, executor);
+    }
+
+    @After
+    public void tearDown() {
+        ticker.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testScheduleRunnable() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long startNanos = System.nanoTime();
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 50, MILLISECONDS);
+
+        assertOpenEventually(latch);
+        assertTrue(System.nanoTime() - startNanos >= MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testScheduleCallable() throws Exception {
+        ScheduledFuture<Future<String>> future = scheduler.schedule(() -> "result", 10, MILLISECONDS);
+
+        assertEquals("result", future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS).get());
+    }
+
+    @Test
+    public void testCancel() {
+        final AtomicInteger executions = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executions.incrementAndGet();
+            }
+        }, 50, MILLISECONDS);
+
+        assertTrue(future.getDelay(MILLISECONDS) > 0);
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        assertTrueAllTheTime(() -> assertEquals(0, executions.get()), 1);
+    }
+
+    @Test
+    public void testScheduleWithRepetition() {
+        final AtomicInteger executions = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.scheduleWithRepetition(new Runnable() {
+            @Override
+            public void run() {
+                executions.incrementAndGet();
+            }
+        }, 0, 10, MILLISECONDS);
+
+        assertTrueEventually(() -> assertTrue(executions.get() >= 3));
+        assertTrue(future.cancel(false));
+        final int executionsAfterCancel = executions.get();
+        assertTrueAllTheTime(() -> assertTrue(executions.get() <= executionsAfterCancel + 1), 1);
+    }
+
+    @Test
+    public void testScheduledExecutor_whenTimingWheelEnabled() throws Exception {
+        Config config = new Config().setProperty(TIMING_WHEEL_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        InternalExecutionService executionService = getNodeEngineImpl(instance).getExecutionService();
+        assertInstanceOf(TimingWheelTaskScheduler.class, executionService.getGlobalTaskScheduler());
+
+        IScheduledExecutorService scheduledExecutor = instance.getScheduledExecutorService(randomName());
+        IScheduledFuture<String> future = scheduledExecutor.schedule(new ResultCallable(), 10, MILLISECONDS);
+
+        assertEquals(ResultCallable.RESULT, future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+    }
+
+    private static class ResultCallable implements Callable<String>, Serializable {
+
+        static final String RESULT = "result";
+
+        @Override
+        public String call() {
+            return RESULT;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.monitor.LocalTopicStats;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.IPartitionedTopic;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionedReliableTopicTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 4;
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.getRingbufferConfig("small").setCapacity(10);
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetPartitionedTopic_whenNameNull() {
+        instances[0].getPartitionedTopic(null, PARTITION_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetPartitionedTopic_whenNameContainsPartitionKey() {
+        instances[0].getPartitionedTopic("topic@key", PARTITION_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetPartitionedTopic_whenPartitionCountNotPositive() {
+        instances[0].getPartitionedTopic(randomName(), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPublish_whenKeyNull() {
+        instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT).publish(null, "message");
+    }
+
+    @Test
+    public void testPartitions_areInDistinctPartitions() {
+        PartitionedReliableTopicProxy<String> topic = getTopic(instances[0], randomName(), 8);
+
+        Set<Integer> partitionIds = new HashSet<>();
+        for (int i = 0; i < topic.getPartitionCount(); i++) {
+            ITopic<String> partition = topic.getPartition(i);
+            assertTrue(partition.getName().startsWith(topic.getName() + "@"));
+            partitionIds.add(instances[0].getPartitionService().getPartition(partition.getPartitionKey()).getPartitionId());
+        }
+        assertEquals(topic.getPartitionCount(), partitionIds.size());
+    }
+
+    @Test
+    public void testPartitions_areSameOnAllInstances() {
+        String name = randomName();
+        PartitionedReliableTopicProxy<String> topic1 = getTopic(instances[0], name, PARTITION_COUNT);
+        PartitionedReliableTopicProxy<String> topic2 = getTopic(instances[1], name, PARTITION_COUNT);
+
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            assertEquals(topic1.getPartition(i).getName(), topic2.getPartition(i).getName());
+        }
+    }
+
+    @Test
+    public void testListener_receivesMessagesOfAllPartitions() {
+        String name = randomName();
+        IPartitionedTopic<String> topic1 = instances[0].getPartitionedTopic(name, PARTITION_COUNT);
+        IPartitionedTopic<String> topic2 = instances[1].getPartitionedTopic(name, PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        topic2.addMessageListener(listener);
+
+        for (int i = 0; i < 100; i++) {
+            topic1.publish("key" + i, "message" + i);
+        }
+
+        assertTrueEventually(() -> assertEquals(100, listener.objects.size()));
+        for (Message<String> message : listener.messages) {
+            assertEquals(name, message.getSource());
+        }
+    }
+
+    @Test
+    public void testPublish_preservesOrderPerKey() {
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        topic.addMessageListener(listener);
+
+        for (int i = 0; i < 50; i++) {
+            for (int key = 0; key < 4; key++) {
+                topic.publish(key, key + "-" + i);
+            }
+        }
+
+        assertTrueEventually(() -> assertEquals(200, listener.objects.size()));
+        for (int key = 0; key < 4; key++) {
+            List<String> messages = new ArrayList<>();
+            for (String message : listener.objects) {
+                if (message.startsWith(key + "-")) {
+                    messages.add(message);
+                }
+            }
+            assertEquals(50, messages.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(key + "-" + i, messages.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testPublish_withoutKey_preservesOrderPerThread() {
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        topic.addMessageListener(listener);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            topic.publish("message" + i);
+            expected.add("message" + i);
+        }
+
+        assertTrueEventually(() -> assertEquals(expected, listener.objects));
+    }
+
+    @Test
+    public void testPublishAll() {
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        topic.addMessageListener(listener);
+
+        List<String> messages = Arrays.asList("a", "b", "c");
+        topic.publishAll(messages);
+        topic.publishAll("key", Arrays.asList("d", "e"));
+
+        assertTrueEventually(() -> assertEquals(5, listener.objects.size()));
+        List<String> received = new ArrayList<>(listener.objects);
+        received.retainAll(messages);
+        assertEquals(messages, received);
+    }
+
+    @Test
+    public void testBatchListener_receivesBatchesOfPartitions() {
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final ReliableBatchMessageListenerMock listener = new ReliableBatchMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        topic.publishAll("key", Arrays.asList("a", "b", "c"));
+
+        assertTrueEventually(() -> assertEquals(Arrays.asList("a", "b", "c"), listener.objects));
+        for (Message<String> message : listener.messages) {
+            assertEquals(topic.getName(), message.getSource());
+        }
+    }
+
+    @Test
+    public void testRemoveMessageListener() {
+        String name = randomName();
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(name, PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        String registrationId = topic.addMessageListener(listener);
+
+        // the listener can be removed through any proxy of the topic
+        assertTrue(instances[0].getPartitionedTopic(name, PARTITION_COUNT).removeMessageListener(registrationId));
+        assertFalse(topic.removeMessageListener(registrationId));
+        assertFalse(topic.removeMessageListener("unknown"));
+
+        for (int i = 0; i < 10; i++) {
+            topic.publish("key" + i, "message" + i);
+        }
+        assertTrueAllTheTime(() -> assertTrue(listener.objects.isEmpty()), 2);
+    }
+
+    @Test
+    public void testLocalTopicStats_areAggregatedOverPartitions() {
+        IPartitionedTopic<String> topic = instances[0].getPartitionedTopic(randomName(), PARTITION_COUNT);
+        final MessageCollector listener = new MessageCollector();
+        topic.addMessageListener(listener);
+
+        for (int i = 0; i < 20; i++) {
+            topic.publish("key" + i, "message" + i);
+        }
+
+        assertTrueEventually(() -> {
+            LocalTopicStats stats = topic.getLocalTopicStats();
+            assertEquals(20, stats.getPublishOperationCount());
+            assertEquals(20, stats.getReceiveOperationCount());
+        });
+    }
+
+    @Test
+    public void testPartitionConfig_isTakenFromBaseName() {
+        PartitionedReliableTopicProxy<String> topic = getTopic(instances[0], "small", PARTITION_COUNT);
+
+        ReliableTopicProxy<String> partition = (ReliableTopicProxy<String>) topic.getPartition(0);
+        assertEquals(10, partition.ringbuffer.capacity());
+    }
+
+    @Test
+    public void testDestroy() {
+        String name = randomName();
+        PartitionedReliableTopicProxy<String> topic = getTopic(instances[0], name, PARTITION_COUNT);
+        topic.publish("key", "message");
+
+        topic.destroy();
+
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            assertEquals(0, ((ReliableTopicProxy<String>) topic.getPartition(i)).ringbuffer.size());
+        }
+    }
+
+    private static PartitionedReliableTopicProxy<String> getTopic(HazelcastInstance instance, String name, int count) {
+        return (PartitionedReliableTopicProxy<String>) instance.<String>getPartitionedTopic(name, count);
+    }
+
+    private static class MessageCollector implements MessageListener<String> {
+
+        private final List<String> objects = new CopyOnWriteArrayList<>();
+        private final List<Message<String>> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onMessage(Message<String> message) {
+            objects.add(message.getMessageObject());
+            messages.add(message);
+        }
+    }
+}
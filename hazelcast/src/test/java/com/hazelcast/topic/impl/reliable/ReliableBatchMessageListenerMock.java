@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableBatchMessageListener;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ReliableBatchMessageListenerMock extends ReliableMessageListenerMock
+        implements ReliableBatchMessageListener<String> {
+
+    public final List<Integer> batchSizes = new CopyOnWriteArrayList<Integer>();
+    public volatile RuntimeException failure;
+
+    @Override
+    public void onMessages(@Nonnull List<Message<String>> messages) {
+        if (failure != null) {
+            throw failure;
+        }
+        batchSizes.add(messages.size());
+        for (Message<String> message : messages) {
+            objects.add(message.getMessageObject());
+            this.messages.add(message);
+        }
+    }
+}
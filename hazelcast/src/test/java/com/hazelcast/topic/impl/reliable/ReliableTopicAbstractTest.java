@@ -189,6 +189,123 @@ public abstract class ReliableTopicAbstractTest extends HazelcastTestSupport {
         });
     }
 
+    @Test(expected = NullPointerException.class)
+    public void publishAll_whenNull() {
+        topic.publishAll(null);
+    }
+
+    @Test
+    public void publishAll() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final List<String> items = new ArrayList<String>();
+        for (int k = 0; k < CAPACITY; k++) {
+            items.add("" + k);
+        }
+        topic.publishAll(items);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+        assertEquals(CAPACITY, topic.getLocalTopicStats().getPublishOperationCount());
+    }
+
+    @Test
+    public void publishAll_whenMoreMessagesThanCapacity() {
+        List<String> items = new ArrayList<String>();
+        for (int k = 0; k < 2 * CAPACITY + 5; k++) {
+            items.add("" + k);
+        }
+        topic.publishAll(items);
+
+        assertEquals(items.size() - 1, topic.ringbuffer.tailSequence());
+        assertEquals(items.size(), topic.getLocalTopicStats().getPublishOperationCount());
+    }
+
+    @Test
+    public void batchListener_receivesMessagesInBatches() {
+        final ReliableBatchMessageListenerMock listener = new ReliableBatchMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final List<String> items = new ArrayList<String>();
+        for (int k = 0; k < CAPACITY; k++) {
+            items.add("" + k);
+        }
+        topic.publishAll(items);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+        int messageCount = 0;
+        for (int batchSize : listener.batchSizes) {
+            assertTrue(batchSize > 0);
+            messageCount += batchSize;
+        }
+        assertEquals(CAPACITY, messageCount);
+        assertEquals(CAPACITY, topic.getLocalTopicStats().getReceiveOperationCount());
+    }
+
+    @Test
+    public void batchListener_whenRestartedFromStoredSequence_thenContinuesAfterLastBatch() {
+        final ReliableBatchMessageListenerMock listener = new ReliableBatchMessageListenerMock();
+        String id = topic.addMessageListener(listener);
+        final List<String> items = new ArrayList<String>();
+        for (int k = 0; k < 10; k++) {
+            items.add("" + k);
+        }
+        topic.publishAll(items);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(items, Arrays.asList(listener.objects.toArray()));
+            }
+        });
+        assertEquals(topic.ringbuffer.tailSequence(), listener.storedSequence);
+        topic.removeMessageListener(id);
+
+        topic.publishAll(asList("10", "11", "12"));
+        final ReliableBatchMessageListenerMock restarted = new ReliableBatchMessageListenerMock();
+        restarted.initialSequence = listener.storedSequence + 1;
+        topic.addMessageListener(restarted);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("10", "11", "12"), Arrays.asList(restarted.objects.toArray()));
+            }
+        });
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(3, restarted.objects.size());
+            }
+        }, 1);
+    }
+
+    @Test
+    public void batchListener_whenTerminalFailure_thenCancelled() {
+        ReliableBatchMessageListenerMock listener = new ReliableBatchMessageListenerMock();
+        listener.failure = new RuntimeException("expected");
+        final String id = topic.addMessageListener(listener);
+
+        topic.publish("foo");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(topic.runnersMap.containsKey(id));
+            }
+        });
+        assertTrue(listener.objects.isEmpty());
+    }
+
     @Test
     public void testMessageFieldSetCorrectly() {
         final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
@@ -31,6 +31,7 @@ import org.junit.runner.RunWith;
 
 import java.util.concurrent.Future;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
@@ -102,6 +103,42 @@ public abstract class TopicOverloadAbstractTest extends HazelcastTestSupport {
         assertEquals(head + 1, ringbuffer.headSequence());
     }
 
+    @Test
+    public void whenError_andNoSpace_publishAll() {
+        for (int k = 0; k < ringbuffer.capacity(); k++) {
+            topic.publish("old");
+        }
+
+        long tail = ringbuffer.tailSequence();
+        long head = ringbuffer.headSequence();
+
+        try {
+            topic.publishAll(asList("new1", "new2"));
+            fail();
+        } catch (TopicOverloadException expected) {
+            ignore(expected);
+        }
+
+        assertEquals(tail, ringbuffer.tailSequence());
+        assertEquals(head, ringbuffer.headSequence());
+    }
+
+    @Test
+    public void whenDiscardOldest_whenNoSpace_publishAll() {
+        for (int k = 0; k < ringbuffer.capacity(); k++) {
+            topic.publish("old");
+        }
+
+        long tail = ringbuffer.tailSequence();
+        long head = ringbuffer.headSequence();
+
+        topic.publishAll(asList("new1", "new2"));
+
+        // check that the items have been added
+        assertEquals(tail + 2, ringbuffer.tailSequence());
+        assertEquals(head + 2, ringbuffer.headSequence());
+    }
+
     @Test
     public void whenDiscardNewest_whenNoSpace() {
         for (int k = 0; k < ringbuffer.capacity(); k++) {
@@ -28,12 +28,20 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -229,6 +237,114 @@ public class TransactionLogTest {
                 .invokeOnTarget(targetOperation.getServiceName(), targetOperation, target);
     }
 
+    @Test
+    public void commit_batchableRecordsOfSameBatch() {
+        OperationService operationService = mock(OperationService.class);
+        NodeEngine nodeEngine = mock(NodeEngine.class);
+        when(nodeEngine.getOperationService()).thenReturn(operationService);
+
+        TransactionLog log = new TransactionLog();
+        Operation operation1 = new DummyPartitionOperation();
+        Operation operation2 = new DummyPartitionOperation();
+        BatchableTransactionLogRecord record1 = mockBatchableRecord("key1", 1, "batch", operation1);
+        BatchableTransactionLogRecord record2 = mockBatchableRecord("key2", 1, "batch", operation2);
+        Operation batchOperation = new DummyPartitionOperation();
+        when(record1.newBatchOperation(asList(operation1, operation2))).thenReturn(batchOperation);
+
+        log.add(record1);
+        log.add(record2);
+        List<Future> futures = log.commit(nodeEngine);
+
+        assertEquals(1, futures.size());
+        verify(operationService, times(1)).invokeOnPartition(batchOperation.getServiceName(), batchOperation, 1);
+        verify(operationService, never()).invokeOnPartition(anyString(), eq(operation1), anyInt());
+        verify(operationService, never()).invokeOnPartition(anyString(), eq(operation2), anyInt());
+    }
+
+    @Test
+    public void prepare_batchableRecordsOfDifferentBatches() {
+        OperationService operationService = mock(OperationService.class);
+        NodeEngine nodeEngine = mock(NodeEngine.class);
+        when(nodeEngine.getOperationService()).thenReturn(operationService);
+
+        TransactionLog log = new TransactionLog();
+        Operation operation1 = new DummyPartitionOperation();
+        Operation operation2 = new DummyPartitionOperation();
+        Operation operation3 = new DummyPartitionOperation();
+        log.add(mockBatchableRecord("key1", 1, "batch", operation1));
+        log.add(mockBatchableRecord("key2", 2, "batch", operation2));
+        log.add(mockBatchableRecord("key3", 1, "otherBatch", operation3));
+        List<Future> futures = log.prepare(nodeEngine);
+
+        assertEquals(3, futures.size());
+        verify(operationService, times(1)).invokeOnPartition(operation1.getServiceName(), operation1, 1);
+        verify(operationService, times(1)).invokeOnPartition(operation2.getServiceName(), operation2, 2);
+        verify(operationService, times(1)).invokeOnPartition(operation3.getServiceName(), operation3, 1);
+    }
+
+    @Test
+    public void rollback_batchableRecordsOfSameBatch_notBatched() {
+        OperationService operationService = mock(OperationService.class);
+        NodeEngine nodeEngine = mock(NodeEngine.class);
+        when(nodeEngine.getOperationService()).thenReturn(operationService);
+
+        TransactionLog log = new TransactionLog();
+        Operation operation1 = new DummyPartitionOperation();
+        Operation operation2 = new DummyPartitionOperation();
+        log.add(mockBatchableRecord("key1", 0, "batch", operation1));
+        log.add(mockBatchableRecord("key2", 0, "batch", operation2));
+        List<Future> futures = log.rollback(nodeEngine);
+
+        assertEquals(2, futures.size());
+        verify(operationService, times(1)).invokeOnPartition(operation1.getServiceName(), operation1, 0);
+        verify(operationService, times(1)).invokeOnPartition(operation2.getServiceName(), operation2, 0);
+    }
+
+    @Test
+    public void isSingleBatch_whenEmpty() {
+        assertFalse(new TransactionLog().isSingleBatch());
+    }
+
+    @Test
+    public void isSingleBatch_whenRecordsOfSameBatch() {
+        TransactionLog log = new TransactionLog();
+        log.add(mockBatchableRecord("key1", 1, "batch", new DummyPartitionOperation()));
+        log.add(mockBatchableRecord("key2", 1, "batch", new DummyPartitionOperation()));
+
+        assertTrue(log.isSingleBatch());
+    }
+
+    @Test
+    public void isSingleBatch_whenRecordsOfDifferentPartitions() {
+        TransactionLog log = new TransactionLog();
+        log.add(mockBatchableRecord("key1", 1, "batch", new DummyPartitionOperation()));
+        log.add(mockBatchableRecord("key2", 2, "batch", new DummyPartitionOperation()));
+
+        assertFalse(log.isSingleBatch());
+    }
+
+    @Test
+    public void isSingleBatch_whenNotBatchableRecord() {
+        TransactionLog log = new TransactionLog();
+        log.add(mockBatchableRecord("key1", 1, "batch", new DummyPartitionOperation()));
+        log.add(mock(TransactionLogRecord.class));
+
+        assertFalse(log.isSingleBatch());
+    }
+
+    private static BatchableTransactionLogRecord mockBatchableRecord(Object key, int partitionId, Object batchKey,
+                                                                     Operation operation) {
+        BatchableTransactionLogRecord record = mock(BatchableTransactionLogRecord.class);
+        when(record.getKey()).thenReturn(key);
+        when(record.getPartitionId()).thenReturn(partitionId);
+        when(record.getBatchKey()).thenReturn(batchKey);
+        when(record.newPrepareOperation()).thenReturn(operation);
+        when(record.newCommitOperation()).thenReturn(operation);
+        when(record.newRollbackOperation()).thenReturn(operation);
+        operation.setPartitionId(partitionId);
+        return record;
+    }
+
     private static class DummyPartitionOperation extends Operation {
         {
             setPartitionId(0);
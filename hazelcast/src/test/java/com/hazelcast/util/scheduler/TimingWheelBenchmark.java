@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.scheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares adding and cancelling 1M pending timers on the delay queue of a
+ * {@link ScheduledThreadPoolExecutor}, which keeps the scheduled tasks of
+ * the members by default, with a {@link TimingWheel}.
+ *
+ * The delays are spread over an hour, so no timer expires during a
+ * benchmark. The time is reported per timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TimingWheelBenchmark {
+
+    private static final int TIMER_COUNT = 1000000;
+    private static final long MAX_DELAY_NANOS = SECONDS.toNanos(3600);
+    private static final long TICK_NANOS = MILLISECONDS.toNanos(10);
+
+    private final long[] delays = new long[TIMER_COUNT];
+    private final ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TIMER_COUNT];
+    private final TimingWheel.Timer[] timers = new TimingWheel.Timer[TIMER_COUNT];
+    private final Runnable task = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private ScheduledThreadPoolExecutor scheduledExecutor;
+    private TimingWheel timingWheel;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            delays[i] = SECONDS.toNanos(1) + (long) (random.nextDouble() * MAX_DELAY_NANOS);
+        }
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1);
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        timingWheel = new TimingWheel(TICK_NANOS, System.nanoTime());
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMER_COUNT)
+    public void scheduledExecutor_scheduleAndCancel() {
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            futures[i] = scheduledExecutor.schedule(task, delays[i], NANOSECONDS);
+        }
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            futures[i].cancel(false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMER_COUNT)
+    public void timingWheel_scheduleAndCancel() {
+        long now = System.nanoTime();
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            timers[i] = timingWheel.schedule(task, now + delays[i]);
+        }
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            timers[i].cancel();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TimingWheelBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
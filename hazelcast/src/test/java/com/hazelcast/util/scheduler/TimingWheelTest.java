@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.scheduler;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    private final TimingWheel wheel = new TimingWheel(TICK, 0);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenTickNotPositive_thenThrowException() {
+        new TimingWheel(0, 0);
+    }
+
+    @Test
+    public void testAdvance_whenEmpty() {
+        assertTrue(wheel.advance(100 * TICK).isEmpty());
+    }
+
+    @Test
+    public void testTaskExpires_notBeforeDeadline() {
+        Runnable task = new NoopTask();
+        wheel.schedule(task, 5 * TICK + 1);
+
+        assertTrue(wheel.advance(5 * TICK).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(singletonList(task), wheel.advance(6 * TICK));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(7 * TICK).isEmpty());
+    }
+
+    @Test
+    public void testTaskExpires_whenDeadlineAlreadyPassed() {
+        wheel.advance(10 * TICK);
+        Runnable task = new NoopTask();
+        wheel.schedule(task, 3 * TICK);
+
+        assertEquals(singletonList(task), wheel.advance(11 * TICK));
+    }
+
+    @Test
+    public void testTaskExpires_whenDeadlineOnHigherLevels() {
+        assertExpiresAtDeadline(100);
+        assertExpiresAtDeadline(5000);
+        assertExpiresAtDeadline(300000);
+    }
+
+    @Test
+    public void testTaskExpires_whenDeadlineBeyondRange() {
+        // beyond the 64^4 ticks covered by the wheel
+        assertExpiresAtDeadline((1L << 24) + 70);
+    }
+
+    @Test
+    public void testCancel() {
+        Runnable task = new NoopTask();
+        TimingWheel.Timer timer = wheel.schedule(task, 2 * TICK);
+        TimingWheel.Timer other = wheel.schedule(new NoopTask(), 2 * TICK);
+
+        assertTrue(timer.cancel());
+        assertFalse(timer.cancel());
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advance(2 * TICK).size());
+        assertFalse(other.cancel());
+    }
+
+    @Test
+    public void testCancel_whenCascaded() {
+        Runnable task = new NoopTask();
+        TimingWheel.Timer timer = wheel.schedule(task, 5000 * TICK);
+        wheel.advance(4500 * TICK);
+
+        assertTrue(timer.cancel());
+        assertTrue(wheel.advance(5000 * TICK).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRandomDeadlines() {
+        Random random = new Random();
+        int taskCount = 10000;
+        long maxDeadline = 1000000 * TICK;
+        List<DeadlineTask> tasks = new ArrayList<DeadlineTask>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            DeadlineTask task = new DeadlineTask((long) (random.nextDouble() * maxDeadline));
+            wheel.schedule(task, task.deadline);
+            tasks.add(task);
+        }
+
+        long previousNow = 0;
+        int expiredCount = 0;
+        while (previousNow <= maxDeadline + TICK) {
+            long now = previousNow + (long) (random.nextDouble() * 5000 * TICK);
+            for (Runnable runnable : wheel.advance(now)) {
+                DeadlineTask task = (DeadlineTask) runnable;
+                // expired in the first advance which reached the tick of the deadline
+                long deadlineTickStart = ceilToTick(task.deadline);
+                assertTrue(now >= deadlineTickStart);
+                assertTrue(previousNow < deadlineTickStart);
+                expiredCount++;
+            }
+            previousNow = now;
+        }
+        assertEquals(taskCount, expiredCount);
+        assertEquals(0, wheel.size());
+    }
+
+    private void assertExpiresAtDeadline(long deadlineTicks) {
+        Runnable task = new NoopTask();
+        wheel.schedule(task, deadlineTicks * TICK);
+
+        assertTrue(wheel.advance((deadlineTicks - 1) * TICK).isEmpty());
+        assertEquals(singletonList(task), wheel.advance(deadlineTicks * TICK));
+    }
+
+    private static long ceilToTick(long nanos) {
+        return (nanos + TICK - 1) / TICK * TICK;
+    }
+
+    private static class NoopTask implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    private static class DeadlineTask extends NoopTask {
+        private final long deadline;
+
+        DeadlineTask(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}